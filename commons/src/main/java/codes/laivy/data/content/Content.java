@@ -6,6 +6,7 @@ import org.jetbrains.annotations.Range;
 import org.jetbrains.annotations.Unmodifiable;
 
 import java.util.*;
+import java.util.function.Function;
 import java.util.stream.Stream;
 
 public interface Content<T> extends Iterable<T> {
@@ -178,4 +179,138 @@ public interface Content<T> extends Iterable<T> {
         }
     }
 
+    /**
+     * A content of objects identified by case-insensitive string keys, like the ids of the databases, tables and
+     * variables. The objects are kept at an immutable snapshot replaced at every change, so the lookups by key are
+     * constant-time and the reads and iterations never lock nor fail while the content changes. The changes are
+     * serialized, made for contents that are read much more than changed.
+     *
+     * @param <T> the objects type
+     * @since 2.2
+     */
+    class KeyedProvider<T> implements Content<T> {
+
+        private final @NotNull Function<T, String> key;
+        private volatile @NotNull Map<String, T> map = Collections.emptyMap();
+
+        /**
+         * @param key the key of an object, that must never change
+         */
+        public KeyedProvider(@NotNull Function<T, String> key) {
+            this.key = key;
+        }
+
+        /**
+         * @param key the key, case-insensitive
+         * @return the object with the key, or null if there's no object with it
+         */
+        public @Nullable T lookup(@NotNull String key) {
+            return map.get(key.toLowerCase(Locale.ROOT));
+        }
+
+        /**
+         * @param key the key, case-insensitive
+         * @return true if there's an object with the key
+         */
+        public boolean containsKey(@NotNull String key) {
+            return map.containsKey(key.toLowerCase(Locale.ROOT));
+        }
+
+        /**
+         * Adds an object, if there's no object with the same key.
+         *
+         * @param object the object
+         * @return true if the object was added
+         */
+        @Override
+        public synchronized boolean add(@NotNull T object) {
+            @NotNull String key = getKey(object);
+            if (map.containsKey(key)) {
+                return false;
+            }
+
+            @NotNull Map<String, T> map = new LinkedHashMap<>(this.map);
+            map.put(key, object);
+            this.map = Collections.unmodifiableMap(map);
+
+            return true;
+        }
+
+        @Override
+        public synchronized boolean remove(@NotNull T object) {
+            @NotNull String key = getKey(object);
+            if (!object.equals(map.get(key))) {
+                return false;
+            }
+
+            @NotNull Map<String, T> map = new LinkedHashMap<>(this.map);
+            map.remove(key);
+            this.map = Collections.unmodifiableMap(map);
+
+            return true;
+        }
+
+        @Override
+        public boolean contains(@NotNull T object) {
+            return object.equals(map.get(getKey(object)));
+        }
+
+        @Override
+        public boolean containsAll(@NotNull Collection<T> collection) {
+            return collection.stream().allMatch(this::contains);
+        }
+
+        @Override
+        public @Range(from = 0, to = Integer.MAX_VALUE) int size() {
+            return map.size();
+        }
+
+        @Override
+        public synchronized void clear() {
+            for (T element : map.values()) {
+                remove(element);
+            }
+        }
+
+        /**
+         * @return the objects at the current snapshot, at the order they were added
+         */
+        @Override
+        public @Unmodifiable @NotNull Collection<T> toCollection() {
+            return map.values();
+        }
+
+        @Override
+        public @NotNull Stream<T> stream() {
+            return map.values().stream();
+        }
+
+        @NotNull
+        @Override
+        public Iterator<T> iterator() {
+            return map.values().iterator();
+        }
+
+        private @NotNull String getKey(@NotNull T object) {
+            return key.apply(object).toLowerCase(Locale.ROOT);
+        }
+
+        @Override
+        public boolean equals(@Nullable Object o) {
+            if (this == o) return true;
+            if (!(o instanceof KeyedProvider<?>)) return false;
+            return Objects.equals(map, ((KeyedProvider<?>) o).map);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(map);
+        }
+
+        @Override
+        public @NotNull String toString() {
+            return map.values().toString();
+        }
+    }
+
 }
@@ -0,0 +1,205 @@
+package codes.laivy.data.content;
+
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.jetbrains.annotations.Range;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.function.LongFunction;
+
+/**
+ * A hash map with primitive {@code long} keys, the keys are stored at an open addressing array and never boxed.
+ * This class isn't thread-safe.
+ *
+ * @param <V> the values type
+ * @since 2.2
+ */
+public final class LongMap<V> {
+
+    private static final float LOAD_FACTOR = 0.5f;
+
+    private long @NotNull [] keys;
+    private @Nullable Object @NotNull [] values;
+    private int size = 0;
+
+    public LongMap() {
+        this(16);
+    }
+    public LongMap(@Range(from = 0, to = Integer.MAX_VALUE) int capacity) {
+        int length = 2;
+        while (length * LOAD_FACTOR < capacity) length <<= 1;
+
+        this.keys = new long[length];
+        this.values = new Object[length];
+    }
+
+    @Contract(pure = true)
+    public @Range(from = 0, to = Integer.MAX_VALUE) int size() {
+        return size;
+    }
+
+    @Contract(pure = true)
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public boolean containsKey(long key) {
+        return values[find(key)] != null;
+    }
+
+    public @Nullable V get(long key) {
+        return value(find(key));
+    }
+
+    /**
+     * @param key the key
+     * @param value the value, cannot be null
+     * @return the previous value of the key, or null if there's no previous value
+     */
+    public @Nullable V put(long key, @NotNull V value) {
+        int slot = find(key);
+        @Nullable V previous = value(slot);
+
+        keys[slot] = key;
+        values[slot] = value;
+
+        if (previous == null && ++size > keys.length * LOAD_FACTOR) {
+            resize(keys.length << 1);
+        }
+
+        return previous;
+    }
+
+    public @NotNull V computeIfAbsent(long key, @NotNull LongFunction<@NotNull V> function) {
+        @Nullable V value = get(key);
+
+        if (value == null) {
+            value = function.apply(key);
+            put(key, value);
+        }
+
+        return value;
+    }
+
+    public @Nullable V remove(long key) {
+        int slot = find(key);
+
+        @Nullable V previous = value(slot);
+        if (previous == null) {
+            return null;
+        }
+
+        delete(slot);
+        return previous;
+    }
+
+    /**
+     * Removes the key only if it's currently mapped to the value
+     *
+     * @param key the key
+     * @param value the expected value
+     * @return true if the key was removed, false otherwise
+     */
+    public boolean remove(long key, @NotNull Object value) {
+        int slot = find(key);
+
+        if (values[slot] == null || !values[slot].equals(value)) {
+            return false;
+        }
+
+        delete(slot);
+        return true;
+    }
+
+    public void clear() {
+        Arrays.fill(values, null);
+        size = 0;
+    }
+
+    public @NotNull Collection<V> values() {
+        @NotNull Collection<V> collection = new ArrayList<>(size);
+
+        for (int slot = 0; slot < values.length; slot++) {
+            @Nullable V value = value(slot);
+            if (value != null) collection.add(value);
+        }
+
+        return collection;
+    }
+
+    // Implementation
+
+    // The values array only holds values of the map
+    @SuppressWarnings("unchecked")
+    private @Nullable V value(int slot) {
+        return (V) values[slot];
+    }
+
+    private static int hash(long key) {
+        // Mixes the bits (fmix64 of MurmurHash3), sequential keys like auto increment rows are very common
+        key ^= key >>> 33;
+        key *= 0xff51afd7ed558ccdL;
+        key ^= key >>> 33;
+        return (int) key;
+    }
+
+    private int find(long key) {
+        int mask = keys.length - 1;
+        int slot = hash(key) & mask;
+
+        while (values[slot] != null && keys[slot] != key) {
+            slot = (slot + 1) & mask;
+        }
+
+        return slot;
+    }
+
+    private void delete(int slot) {
+        int mask = keys.length - 1;
+
+        values[slot] = null;
+        size--;
+
+        // Shifts back the next entries of the probe sequence, no tombstones are needed
+        int next = (slot + 1) & mask;
+        while (values[next] != null) {
+            int ideal = hash(keys[next]) & mask;
+
+            if (((next - ideal) & mask) >= ((next - slot) & mask)) {
+                keys[slot] = keys[next];
+                values[slot] = values[next];
+                values[next] = null;
+                slot = next;
+            }
+
+            next = (next + 1) & mask;
+        }
+    }
+
+    private void resize(int length) {
+        long @NotNull [] oldKeys = keys;
+        @Nullable Object @NotNull [] oldValues = values;
+
+        keys = new long[length];
+        values = new Object[length];
+
+        for (int index = 0; index < oldKeys.length; index++) {
+            if (oldValues[index] != null) {
+                int slot = find(oldKeys[index]);
+                keys[slot] = oldKeys[index];
+                values[slot] = oldValues[index];
+            }
+        }
+    }
+
+    @Override
+    public @NotNull String toString() {
+        return "LongMap{" +
+                "size=" + size +
+                '}';
+    }
+
+}
@@ -1,18 +1,17 @@
 package codes.laivy.data.mysql.authentication;
 
 import codes.laivy.data.Main;
+import codes.laivy.data.mysql.coherence.InvalidationBus;
 import codes.laivy.data.mysql.utils.MysqlVersion;
 import codes.laivy.data.mysql.database.MysqlDatabase;
 import org.jetbrains.annotations.*;
 
 import java.net.InetAddress;
 import java.sql.*;
+import java.util.Deque;
 import java.util.LinkedHashSet;
 import java.util.Set;
-import java.util.concurrent.CompletableFuture;
-import java.util.concurrent.Executors;
-import java.util.concurrent.ScheduledExecutorService;
-import java.util.concurrent.TimeUnit;
+import java.util.concurrent.*;
 
 public class MysqlAuthentication {
 
@@ -32,6 +31,13 @@ public class MysqlAuthentication {
     protected @Nullable ScheduledExecutorService keepAliveExecutor;
     protected @Nullable MysqlVersion version;
 
+    // The idle connections used by the transactions
+    private final @NotNull Deque<@NotNull Connection> pool = new ConcurrentLinkedDeque<>();
+    private volatile int poolSize = 4;
+    private volatile int transactionRetries = 3;
+
+    private volatile @Nullable InvalidationBus invalidationBus;
+
     public MysqlAuthentication(@NotNull String username, @Nullable String password, @NotNull InetAddress hostname, @Range(from = 0, to = 65535) int port) {
         this.username = username;
         this.password = password;
@@ -47,10 +53,30 @@ public class MysqlAuthentication {
     }
 
     /**
-     * Retrieves te connection of this authentication
+     * Retrieves te connection of this authentication, or the transaction connection if the current thread is
+     * running a transaction work of this authentication.
+     *
      * @return The authentication connection or null if isn't authenticated
      */
     public final @Nullable Connection getConnection() {
+        @Nullable Transaction transaction = Transaction.getCurrent();
+
+        if (transaction != null && transaction.getAuthentication() == this) {
+            return transaction.getConnection();
+        }
+
+        return connection;
+    }
+
+    /**
+     * Retrieves the main connection of this authentication, even if the current thread is running a transaction.
+     * Used by operations that cannot be part of a transaction.
+     *
+     * @return The authentication connection or null if isn't authenticated
+     * @since 2.2
+     */
+    @ApiStatus.Internal
+    public final @Nullable Connection getMainConnection() {
         return connection;
     }
     public final boolean isConnected() {
@@ -83,6 +109,210 @@ public class MysqlAuthentication {
         return true;
     }
 
+    /**
+     * @return the maximum amount of idle connections kept to the transactions
+     * @since 2.2
+     */
+    @Contract(pure = true)
+    public int getPoolSize() {
+        return poolSize;
+    }
+    public void setPoolSize(@Range(from = 0, to = Integer.MAX_VALUE) int poolSize) {
+        if (poolSize < 0) {
+            throw new IllegalArgumentException("The pool size cannot be negative");
+        }
+
+        this.poolSize = poolSize;
+    }
+
+    /**
+     * @return the amount of times a transaction is retried after a deadlock or a lock wait timeout
+     * @since 2.2
+     */
+    @Contract(pure = true)
+    public int getTransactionRetries() {
+        return transactionRetries;
+    }
+    public void setTransactionRetries(@Range(from = 0, to = Integer.MAX_VALUE) int transactionRetries) {
+        if (transactionRetries < 0) {
+            throw new IllegalArgumentException("The transaction retries cannot be negative");
+        }
+
+        this.transactionRetries = transactionRetries;
+    }
+
+    /**
+     * @return the started invalidation bus that publishes the changes of this authentication, or null if there's none
+     * @since 2.2
+     */
+    @Contract(pure = true)
+    public final @Nullable InvalidationBus getInvalidationBus() {
+        return invalidationBus;
+    }
+    @ApiStatus.Internal
+    public final void setInvalidationBus(@Nullable InvalidationBus invalidationBus) {
+        this.invalidationBus = invalidationBus;
+    }
+
+    /**
+     * Runs a work inside a transaction with the {@link Transaction.Isolation#REPEATABLE_READ} isolation.
+     *
+     * @param work the work
+     * @return A CompletableFuture completed after the transaction commits
+     * @see #transaction(Transaction.Isolation, Transaction.Work)
+     * @since 2.2
+     */
+    public final @NotNull CompletableFuture<Void> transaction(@NotNull Transaction.Work work) {
+        return transaction(Transaction.Isolation.REPEATABLE_READ, work);
+    }
+
+    /**
+     * Runs a work inside a transaction, using a dedicated connection that commits once after the work. If the work
+     * fails, the transaction is rolled back and the future completes exceptionally; after a deadlock (1213) or a
+     * lock wait timeout (1205) the work is retried up to {@link #getTransactionRetries()} times.
+     * <p>
+     * If the current thread is already running a transaction of this authentication, the work joins it.
+     *
+     * @param isolation the transaction isolation level
+     * @param work the work
+     * @return A CompletableFuture completed after the transaction commits
+     * @since 2.2
+     */
+    public final @NotNull CompletableFuture<Void> transaction(@NotNull Transaction.Isolation isolation, @NotNull Transaction.Work work) {
+        if (!isConnected()) {
+            throw new IllegalStateException("This authentication aren't connected");
+        }
+
+        @Nullable Transaction current = Transaction.getCurrent();
+        if (current != null && current.getAuthentication() == this) {
+            try {
+                current.run(work);
+                return CompletableFuture.completedFuture(null);
+            } catch (@NotNull Throwable throwable) {
+                @NotNull CompletableFuture<Void> future = new CompletableFuture<>();
+                future.completeExceptionally(throwable);
+                return future;
+            }
+        }
+
+        @NotNull CompletableFuture<Void> future = new CompletableFuture<>();
+
+        CompletableFuture.runAsync(() -> {
+            try {
+                for (int attempt = 0; ; attempt++) {
+                    @NotNull Connection connection = acquire();
+                    @NotNull Transaction transaction = new Transaction(this, connection, isolation, attempt);
+                    int level = Connection.TRANSACTION_NONE;
+
+                    try {
+                        level = connection.getTransactionIsolation();
+                        connection.setAutoCommit(false);
+                        connection.setTransactionIsolation(isolation.getLevel());
+
+                        transaction.run(work);
+                        connection.commit();
+                    } catch (@NotNull Throwable throwable) {
+                        try {
+                            connection.rollback();
+                        } catch (@NotNull Throwable ignore) {
+                        }
+                        transaction.rolledBack();
+
+                        int code = getErrorCode(throwable);
+                        if ((code == 1213 || code == 1205) && attempt < getTransactionRetries()) {
+                            // Waits a bit to the other transaction finish
+                            Thread.sleep(ThreadLocalRandom.current().nextInt(10, 50) * (attempt + 1L));
+                            continue;
+                        }
+
+                        throw throwable;
+                    } finally {
+                        release(connection, level);
+                    }
+
+                    transaction.committed();
+                    future.complete(null);
+                    return;
+                }
+            } catch (@NotNull Throwable throwable) {
+                future.completeExceptionally(throwable);
+            }
+        }, Main.getExecutor(getClass()));
+
+        return future;
+    }
+
+    private static int getErrorCode(@Nullable Throwable throwable) {
+        while (throwable != null) {
+            if (throwable instanceof SQLException) {
+                return ((SQLException) throwable).getErrorCode();
+            }
+            throwable = throwable.getCause();
+        }
+
+        return -1;
+    }
+
+    /**
+     * Runs a work with a dedicated connection of the transactions pool, used by the streamed queries since the
+     * mysql driver rejects any other statement of a connection while it streams a result.
+     *
+     * @param work the work
+     * @return the work result
+     * @since 2.2
+     */
+    @ApiStatus.Internal
+    @Blocking
+    public final <T> T dedicated(@NotNull Dedicated<T> work) throws SQLException {
+        if (!isConnected()) {
+            throw new IllegalStateException("This authentication aren't connected");
+        }
+
+        @NotNull Connection connection = acquire();
+        try {
+            return work.run(connection);
+        } finally {
+            release(connection, Connection.TRANSACTION_NONE);
+        }
+    }
+
+    @Blocking
+    private @NotNull Connection acquire() throws SQLException {
+        @Nullable Connection connection;
+
+        while ((connection = pool.poll()) != null) {
+            if (connection.isValid(2)) {
+                return connection;
+            }
+
+            try {
+                connection.close();
+            } catch (@NotNull Throwable ignore) {
+            }
+        }
+
+        return open();
+    }
+    // The pooled connections are restored to the autocommit and to the isolation level they had, if it was changed
+    @Blocking
+    private void release(@NotNull Connection connection, int isolation) {
+        try {
+            connection.setAutoCommit(true);
+            if (isolation != Connection.TRANSACTION_NONE) connection.setTransactionIsolation(isolation);
+
+            if (isConnected() && pool.size() < getPoolSize()) {
+                pool.offer(connection);
+                return;
+            }
+        } catch (@NotNull Throwable ignore) {
+        }
+
+        try {
+            connection.close();
+        } catch (@NotNull Throwable ignore) {
+        }
+    }
+
     /**
      * Connects to the mysql with the provided authentication details.
      *
@@ -213,8 +443,7 @@ public class MysqlAuthentication {
 
         CompletableFuture.runAsync(() -> {
             try {
-                @NotNull Connection connection = DriverManager.getConnection("jdbc:mysql://" + getHostname().getHostAddress() + ":" + getPort() + "/?autoReconnect=true&failOverReadOnly=false&verifyServerCertificate=false", getUsername(), getPassword());
-                connection.setNetworkTimeout(Executors.newFixedThreadPool(1), (int) TimeUnit.MINUTES.toMillis(30));
+                @NotNull Connection connection = open();
 
                 keepAliveExecutor = Executors.newScheduledThreadPool(1);
                 keepAliveExecutor.scheduleAtFixedRate(this::checkConnection, 0, 4, TimeUnit.MINUTES);
@@ -228,6 +457,23 @@ public class MysqlAuthentication {
         return future;
     }
 
+    /**
+     * Opens a new connection to the mysql with the authentication details, used by the authentication itself and
+     * by the transactions.
+     *
+     * @return the new connection
+     * @since 2.2
+     */
+    @Blocking
+    @ApiStatus.OverrideOnly
+    protected @NotNull Connection open() throws SQLException {
+        @NotNull Connection connection = DriverManager.getConnection("jdbc:mysql://" + getHostname().getHostAddress() + ":" + getPort() + "/?autoReconnect=true&failOverReadOnly=false&verifyServerCertificate=false", getUsername(), getPassword());
+        // The timeout is applied directly, without creating a thread per connection
+        connection.setNetworkTimeout(Runnable::run, (int) TimeUnit.MINUTES.toMillis(30));
+
+        return connection;
+    }
+
     /**
      * Unloads the authentication, releasing resources.
      *
@@ -252,6 +498,11 @@ public class MysqlAuthentication {
                         connection.commit();
                     }
 
+                    @Nullable Connection pooled;
+                    while ((pooled = pool.poll()) != null) {
+                        pooled.close();
+                    }
+
                     future.complete(null);
                 } catch (Throwable throwable) {
                     future.completeExceptionally(throwable);
@@ -304,4 +555,17 @@ public class MysqlAuthentication {
         return future;
     }
 
+    // Classes
+
+    @FunctionalInterface
+    public interface Dedicated<T> {
+        /**
+         * Runs the work with the dedicated connection, the connection must not be closed by the work.
+         *
+         * @param connection the dedicated connection
+         * @return the work result
+         */
+        T run(@NotNull Connection connection) throws SQLException;
+    }
+
 }
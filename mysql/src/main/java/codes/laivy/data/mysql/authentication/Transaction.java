@@ -0,0 +1,189 @@
+package codes.laivy.data.mysql.authentication;
+
+import codes.laivy.data.Main;
+import org.jetbrains.annotations.*;
+
+import java.sql.Connection;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.concurrent.Executor;
+
+/**
+ * An unit of work, a group of operations committed together using a dedicated connection of the authentication.
+ * <p>
+ * While the work runs, the operations called at the work thread (like {@code MysqlData#save}, {@code #create},
+ * {@code #delete} and the static {@code MysqlData#set}) uses the transaction connection and are executed
+ * synchronously at that thread, then everything is committed once when the work finishes.
+ * <p>
+ * Schema changes (like starting tables or variables) are implicitly committed by mysql, so they must be done
+ * outside the transactions.
+ *
+ * @see MysqlAuthentication#transaction(Work)
+ * @since 2.2
+ */
+public final class Transaction {
+
+    private static final @NotNull ThreadLocal<Transaction> CURRENT = new ThreadLocal<>();
+
+    // Static initializers
+
+    /**
+     * @return the transaction bound to the current thread, or null if the thread isn't running a transaction work
+     */
+    public static @Nullable Transaction getCurrent() {
+        return CURRENT.get();
+    }
+
+    /**
+     * Retrieves the executor of the operations. If the current thread is running a transaction work, the
+     * operations are executed at the thread itself to keep using the transaction connection.
+     *
+     * @param clasz the class of the operation
+     * @return the executor
+     */
+    @ApiStatus.Internal
+    public static @NotNull Executor getExecutor(@NotNull Class<?> clasz) {
+        if (getCurrent() != null) {
+            return Runnable::run;
+        } else {
+            return Main.getExecutor(clasz);
+        }
+    }
+
+    // Object
+
+    private final @NotNull MysqlAuthentication authentication;
+    private final @NotNull Connection connection;
+    private final @NotNull Isolation isolation;
+    private final int attempt;
+
+    private final @NotNull List<Runnable> commits = new LinkedList<>();
+    private final @NotNull List<Runnable> rollbacks = new LinkedList<>();
+
+    Transaction(@NotNull MysqlAuthentication authentication, @NotNull Connection connection, @NotNull Isolation isolation, int attempt) {
+        this.authentication = authentication;
+        this.connection = connection;
+        this.isolation = isolation;
+        this.attempt = attempt;
+    }
+
+    @Contract(pure = true)
+    public @NotNull MysqlAuthentication getAuthentication() {
+        return authentication;
+    }
+
+    @Contract(pure = true)
+    public @NotNull Connection getConnection() {
+        return connection;
+    }
+
+    @Contract(pure = true)
+    public @NotNull Isolation getIsolation() {
+        return isolation;
+    }
+
+    /**
+     * @return the attempt of this transaction, starting at 0 and increased every time the work is retried
+     */
+    @Contract(pure = true)
+    public int getAttempt() {
+        return attempt;
+    }
+
+    /**
+     * Adds an action executed after the transaction commits
+     *
+     * @param runnable the action
+     */
+    public void onCommit(@NotNull Runnable runnable) {
+        synchronized (commits) {
+            commits.add(runnable);
+        }
+    }
+
+    /**
+     * Adds an action executed after the transaction rolls back, including before a retry
+     *
+     * @param runnable the action
+     */
+    public void onRollback(@NotNull Runnable runnable) {
+        synchronized (rollbacks) {
+            rollbacks.add(runnable);
+        }
+    }
+
+    @Blocking
+    void run(@NotNull Work work) throws Throwable {
+        @Nullable Transaction previous = CURRENT.get();
+        CURRENT.set(this);
+
+        try {
+            work.run(this);
+        } finally {
+            if (previous != null) {
+                CURRENT.set(previous);
+            } else {
+                CURRENT.remove();
+            }
+        }
+    }
+
+    void committed() {
+        synchronized (commits) {
+            for (@NotNull Runnable runnable : commits) {
+                runnable.run();
+            }
+        }
+    }
+    void rolledBack() {
+        synchronized (rollbacks) {
+            for (@NotNull Runnable runnable : rollbacks) {
+                runnable.run();
+            }
+        }
+    }
+
+    @Override
+    public @NotNull String toString() {
+        return "Transaction{" +
+                "isolation=" + isolation +
+                ", attempt=" + attempt +
+                '}';
+    }
+
+    // Classes
+
+    @FunctionalInterface
+    public interface Work {
+        /**
+         * Runs the operations of the transaction. If this method throws, the transaction is rolled back.
+         * The work can be executed more than once if the transaction is retried.
+         *
+         * @param transaction the transaction
+         */
+        void run(@NotNull Transaction transaction) throws Throwable;
+    }
+
+    public enum Isolation {
+        READ_UNCOMMITTED(Connection.TRANSACTION_READ_UNCOMMITTED),
+        READ_COMMITTED(Connection.TRANSACTION_READ_COMMITTED),
+        REPEATABLE_READ(Connection.TRANSACTION_REPEATABLE_READ),
+        SERIALIZABLE(Connection.TRANSACTION_SERIALIZABLE),
+        ;
+
+        private final int level;
+
+        Isolation(int level) {
+            this.level = level;
+        }
+
+        /**
+         * @return the jdbc isolation level, from the {@link Connection} constants
+         */
+        @Contract(pure = true)
+        public int getLevel() {
+            return level;
+        }
+    }
+
+}
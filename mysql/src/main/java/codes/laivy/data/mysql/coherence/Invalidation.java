@@ -0,0 +1,185 @@
+package codes.laivy.data.mysql.coherence;
+
+import org.jetbrains.annotations.*;
+
+import java.io.*;
+import java.util.*;
+
+/**
+ * A change made by a node, published to the others by the {@link InvalidationBus}.
+ *
+ * @since 2.2
+ */
+public final class Invalidation {
+
+    private static final byte PROTOCOL = 1;
+
+    private final @NotNull UUID origin;
+    private final @NotNull Type type;
+
+    private final @NotNull String database;
+    private final @NotNull String table;
+
+    private final @Nullable Object @Nullable [] key;
+    private final @NotNull Map<@NotNull String, @Nullable Object> values;
+    private final @Nullable Long version;
+
+    Invalidation(@NotNull UUID origin, @NotNull Type type, @NotNull String database, @NotNull String table, @Nullable Object @Nullable [] key, @NotNull Map<@NotNull String, @Nullable Object> values, @Nullable Long version) {
+        this.origin = origin;
+        this.type = type;
+        this.database = database;
+        this.table = table;
+        this.key = key;
+        this.values = values;
+        this.version = version;
+    }
+
+    /**
+     * @return the id of the bus that published this invalidation
+     */
+    @Contract(pure = true)
+    public @NotNull UUID getOrigin() {
+        return origin;
+    }
+
+    @Contract(pure = true)
+    public @NotNull Type getType() {
+        return type;
+    }
+
+    @Contract(pure = true)
+    public @NotNull String getDatabase() {
+        return database;
+    }
+
+    @Contract(pure = true)
+    public @NotNull String getTable() {
+        return table;
+    }
+
+    /**
+     * @return the primary key values of the row, or null if the whole table is invalidated
+     */
+    @Contract(pure = true)
+    public @Nullable Object @Nullable [] getKey() {
+        return key != null ? key.clone() : null;
+    }
+
+    /**
+     * @return the new values of the changed columns, only at the patches
+     */
+    @Contract(pure = true)
+    public @NotNull @Unmodifiable Map<String, Object> getValues() {
+        return Collections.unmodifiableMap(values);
+    }
+
+    /**
+     * @return the row version after the change, if the table is versioned and the version is known
+     */
+    @Contract(pure = true)
+    public @Nullable Long getVersion() {
+        return version;
+    }
+
+    @ApiStatus.Internal
+    public byte @NotNull [] encode(@NotNull ValueCodec codec) throws IOException {
+        @NotNull ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        @NotNull DataOutputStream output = new DataOutputStream(bytes);
+
+        output.writeByte(PROTOCOL);
+        output.writeLong(origin.getMostSignificantBits());
+        output.writeLong(origin.getLeastSignificantBits());
+        output.writeByte(type.ordinal());
+        output.writeUTF(database);
+        output.writeUTF(table);
+
+        if (key != null) {
+            output.writeInt(key.length);
+            for (@Nullable Object value : key) {
+                codec.write(output, value);
+            }
+        } else {
+            output.writeInt(-1);
+        }
+
+        output.writeInt(values.size());
+        for (@NotNull Map.Entry<String, Object> entry : values.entrySet()) {
+            output.writeUTF(entry.getKey());
+            codec.write(output, entry.getValue());
+        }
+
+        output.writeBoolean(version != null);
+        if (version != null) output.writeLong(version);
+
+        output.flush();
+        return bytes.toByteArray();
+    }
+
+    @ApiStatus.Internal
+    public static @NotNull Invalidation decode(@NotNull ValueCodec codec, byte @NotNull [] message) throws IOException {
+        @NotNull DataInputStream input = new DataInputStream(new ByteArrayInputStream(message));
+
+        byte protocol = input.readByte();
+        if (protocol != PROTOCOL) {
+            throw new IOException("Unsupported invalidation protocol '" + protocol + "'");
+        }
+
+        @NotNull UUID origin = new UUID(input.readLong(), input.readLong());
+        @NotNull Type type = Type.values()[input.readByte()];
+        @NotNull String database = input.readUTF();
+        @NotNull String table = input.readUTF();
+
+        @Nullable Object @Nullable [] key = null;
+        int length = input.readInt();
+        if (length >= 0) {
+            key = new Object[length];
+            for (int index = 0; index < length; index++) {
+                key[index] = codec.read(input);
+            }
+        }
+
+        @NotNull Map<String, Object> values = new LinkedHashMap<>();
+        int size = input.readInt();
+        for (int index = 0; index < size; index++) {
+            values.put(input.readUTF(), codec.read(input));
+        }
+
+        @Nullable Long version = input.readBoolean() ? input.readLong() : null;
+
+        return new Invalidation(origin, type, database, table, key, values, version);
+    }
+
+    @Override
+    public @NotNull String toString() {
+        return "Invalidation{" +
+                "type=" + type +
+                ", database='" + database + '\'' +
+                ", table='" + table + '\'' +
+                ", key=" + Arrays.toString(key) +
+                ", values=" + values +
+                ", version=" + version +
+                '}';
+    }
+
+    // Classes
+
+    public enum Type {
+        /**
+         * The row was changed, the nodes read it again from the database
+         */
+        INVALIDATE,
+        /**
+         * The row was changed and the new values are at the message
+         */
+        PATCH,
+        /**
+         * The row was deleted
+         */
+        DELETE,
+        /**
+         * Unknown rows of the table were changed (e.g. by conditions), the nodes read all the loaded rows again
+         */
+        TABLE,
+    }
+
+}
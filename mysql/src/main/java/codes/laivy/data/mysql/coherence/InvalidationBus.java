@@ -0,0 +1,295 @@
+package codes.laivy.data.mysql.coherence;
+
+import codes.laivy.data.Main;
+import codes.laivy.data.mysql.authentication.MysqlAuthentication;
+import codes.laivy.data.mysql.authentication.Transaction;
+import codes.laivy.data.mysql.data.Key;
+import codes.laivy.data.mysql.data.MysqlData;
+import codes.laivy.data.mysql.database.MysqlDatabase;
+import codes.laivy.data.mysql.table.MysqlTable;
+import codes.laivy.data.mysql.variable.MysqlVariable;
+import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.IOException;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Keeps the loaded datas of many nodes coherent. The local writes (saves, static sets, updates and deletes) of the
+ * authentication are published to the other nodes through a {@link Transport}, then the nodes patch, read again or
+ * stop their loaded datas of the changed rows.
+ * <p>
+ * The changes made inside a {@link Transaction} are only published after it commits. The local changes that weren't
+ * saved yet are never replaced by the messages.
+ *
+ * @since 2.2
+ */
+public final class InvalidationBus {
+
+    // Static initializers
+
+    @ApiStatus.Internal
+    public static void invalidate(@NotNull MysqlTable table, @Nullable Key key) {
+        publish(table, key != null ? Invalidation.Type.INVALIDATE : Invalidation.Type.TABLE, key, Collections.emptyMap(), null);
+    }
+    @ApiStatus.Internal
+    public static void delete(@NotNull MysqlTable table, @NotNull Key key) {
+        publish(table, Invalidation.Type.DELETE, key, Collections.emptyMap(), null);
+    }
+    @ApiStatus.Internal
+    public static void patch(@NotNull MysqlTable table, @NotNull Key key, @NotNull Map<MysqlVariable<?>, Object> values, @Nullable Long version) {
+        @NotNull Map<String, Object> columns = new LinkedHashMap<>();
+        for (@NotNull Map.Entry<MysqlVariable<?>, Object> entry : values.entrySet()) {
+            columns.put(entry.getKey().getId(), entry.getValue());
+        }
+
+        publish(table, Invalidation.Type.PATCH, key, columns, version);
+    }
+
+    private static void publish(@NotNull MysqlTable table, @NotNull Invalidation.Type type, @Nullable Key key, @NotNull Map<String, Object> values, @Nullable Long version) {
+        @Nullable InvalidationBus bus = table.getDatabase().getAuthentication().getInvalidationBus();
+        if (bus == null) {
+            return;
+        }
+
+        @Nullable Object[] keys = key != null ? key.getValues().toArray() : null;
+        @NotNull Invalidation invalidation = new Invalidation(bus.getId(), type, table.getDatabase().getId(), table.getId(), keys, values, version);
+
+        @Nullable Transaction transaction = Transaction.getCurrent();
+        if (transaction != null) {
+            transaction.onCommit(() -> bus.send(invalidation));
+        } else {
+            bus.send(invalidation);
+        }
+    }
+
+    // Object
+
+    private final @NotNull UUID id = UUID.randomUUID();
+
+    private final @NotNull MysqlAuthentication authentication;
+    private final @NotNull Transport transport;
+    private final @NotNull ValueCodec codec;
+
+    // A single thread keeps the messages at the order they were published
+    private volatile @Nullable ExecutorService sender;
+
+    public InvalidationBus(@NotNull MysqlAuthentication authentication, @NotNull Transport transport) {
+        this(authentication, transport, ValueCodec.DEFAULT);
+    }
+    public InvalidationBus(@NotNull MysqlAuthentication authentication, @NotNull Transport transport, @NotNull ValueCodec codec) {
+        this.authentication = authentication;
+        this.transport = transport;
+        this.codec = codec;
+    }
+
+    /**
+     * @return the id of this bus, used to ignore its own messages
+     */
+    @Contract(pure = true)
+    public @NotNull UUID getId() {
+        return id;
+    }
+
+    @Contract(pure = true)
+    public @NotNull MysqlAuthentication getAuthentication() {
+        return authentication;
+    }
+
+    @Contract(pure = true)
+    public @NotNull Transport getTransport() {
+        return transport;
+    }
+
+    @Contract(pure = true)
+    public @NotNull ValueCodec getCodec() {
+        return codec;
+    }
+
+    public boolean isStarted() {
+        return sender != null;
+    }
+
+    /**
+     * Starts the transport and registers this bus at the authentication, an authentication has only one bus.
+     *
+     * @return A CompletableFuture representing the asynchronous start operation
+     */
+    public @NotNull CompletableFuture<Void> start() {
+        if (isStarted()) {
+            throw new IllegalStateException("The invalidation bus is already started");
+        } else if (authentication.getInvalidationBus() != null) {
+            throw new IllegalStateException("The authentication already has an invalidation bus");
+        }
+
+        @NotNull CompletableFuture<Void> future = new CompletableFuture<>();
+
+        CompletableFuture.runAsync(() -> {
+            try {
+                transport.start(this::receive);
+
+                sender = Executors.newSingleThreadExecutor(runnable -> {
+                    @NotNull Thread thread = new Thread(runnable, "Invalidation bus sender");
+                    thread.setDaemon(true);
+                    return thread;
+                });
+                authentication.setInvalidationBus(this);
+
+                future.complete(null);
+            } catch (@NotNull Throwable throwable) {
+                future.completeExceptionally(throwable);
+            }
+        }, Main.getExecutor(getClass()));
+
+        return future;
+    }
+    public @NotNull CompletableFuture<Void> stop() {
+        @Nullable ExecutorService sender = this.sender;
+        if (sender == null) {
+            throw new IllegalStateException("The invalidation bus isn't started");
+        }
+
+        @NotNull CompletableFuture<Void> future = new CompletableFuture<>();
+
+        CompletableFuture.runAsync(() -> {
+            try {
+                authentication.setInvalidationBus(null);
+                this.sender = null;
+
+                // The messages already published are still sent
+                sender.shutdown();
+                //noinspection ResultOfMethodCallIgnored
+                sender.awaitTermination(5, TimeUnit.SECONDS);
+
+                transport.close();
+                future.complete(null);
+            } catch (@NotNull Throwable throwable) {
+                future.completeExceptionally(throwable);
+            }
+        }, Main.getExecutor(getClass()));
+
+        return future;
+    }
+
+    private void send(@NotNull Invalidation invalidation) {
+        @Nullable ExecutorService sender = this.sender;
+        if (sender == null) {
+            return;
+        }
+
+        sender.execute(() -> {
+            try {
+                transport.publish(encode(invalidation));
+            } catch (@NotNull IOException ignore) {
+                // The transports are best-effort, the versioned tables still detect the lost changes when saving
+            }
+        });
+    }
+
+    private byte @NotNull [] encode(@NotNull Invalidation invalidation) throws IOException {
+        try {
+            return invalidation.encode(codec);
+        } catch (@NotNull IllegalArgumentException ignore) {
+            // The codec doesn't support a value, the nodes read the rows from the database instead
+        }
+
+        @NotNull Invalidation fallback;
+        if (invalidation.getType() == Invalidation.Type.PATCH) {
+            fallback = new Invalidation(id, Invalidation.Type.INVALIDATE, invalidation.getDatabase(), invalidation.getTable(), invalidation.getKey(), Collections.emptyMap(), null);
+        } else {
+            fallback = new Invalidation(id, Invalidation.Type.TABLE, invalidation.getDatabase(), invalidation.getTable(), null, Collections.emptyMap(), null);
+        }
+
+        try {
+            return fallback.encode(codec);
+        } catch (@NotNull IllegalArgumentException ignore) {
+            // The key isn't supported too
+            return new Invalidation(id, Invalidation.Type.TABLE, invalidation.getDatabase(), invalidation.getTable(), null, Collections.emptyMap(), null).encode(codec);
+        }
+    }
+
+    private void receive(byte @NotNull [] message) {
+        @NotNull Invalidation invalidation;
+
+        try {
+            invalidation = Invalidation.decode(codec, message);
+        } catch (@NotNull IOException exception) {
+            throw new IllegalStateException("Cannot decode invalidation message", exception);
+        }
+
+        if (invalidation.getOrigin().equals(id)) {
+            return;
+        }
+
+        @Nullable MysqlTable table = MysqlDatabase.get(authentication, invalidation.getDatabase()).flatMap(database -> database.getTables().get(invalidation.getTable())).orElse(null);
+        if (table == null || !table.isLoaded()) {
+            return;
+        }
+
+        @Nullable Object @Nullable [] values = invalidation.getKey();
+        if (invalidation.getType() == Invalidation.Type.TABLE || values == null) {
+            table.getResultCache().invalidate(null);
+            table.getLocalCache().invalidate(null);
+            table.getOffHeapStore().invalidate(null);
+
+            for (@NotNull MysqlData data : new ArrayList<>(table.getDataContent().toCollection())) {
+                if (data.isLoaded()) reload(data);
+            }
+            return;
+        }
+
+        @NotNull Key key = table.getPrimaryKey().normalize(Key.of(values));
+        @Nullable MysqlData data = table.getDataContent().get(key);
+
+        table.getResultCache().invalidate(key);
+        table.getLocalCache().invalidate(key);
+        table.getOffHeapStore().invalidate(key);
+
+        if (data == null || !data.isLoaded()) {
+            if (invalidation.getType() == Invalidation.Type.DELETE) {
+                if (data != null) data.evict();
+            } else if (table.isResident()) {
+                // The resident tables keeps the rows created by other nodes too
+                MysqlData.load(table, key);
+            }
+
+            return;
+        }
+
+        switch (invalidation.getType()) {
+            case PATCH:
+                data.patch(invalidation.getValues(), invalidation.getVersion());
+                break;
+            case DELETE:
+                data.evict();
+                break;
+            default:
+                reload(data);
+                break;
+        }
+    }
+
+    private static void reload(@NotNull MysqlData data) {
+        data.reload().thenAccept(exists -> {
+            // The row was deleted
+            if (!exists && data.isLoaded()) {
+                data.evict();
+            }
+        });
+    }
+
+    @Override
+    public @NotNull String toString() {
+        return "InvalidationBus{" +
+                "id=" + id +
+                ", transport=" + transport +
+                '}';
+    }
+
+}
@@ -0,0 +1,71 @@
+package codes.laivy.data.mysql.coherence;
+
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+/**
+ * A transport between nodes of the same process, the messages are delivered synchronously to the other
+ * transports of the same channel. Useful to tests.
+ *
+ * @since 2.2
+ */
+public final class LoopbackTransport implements Transport {
+
+    private static final @NotNull Map<@NotNull String, @NotNull Set<@NotNull LoopbackTransport>> CHANNELS = new ConcurrentHashMap<>();
+
+    private final @NotNull String channel;
+    private volatile @Nullable Consumer<byte @NotNull []> receiver;
+
+    public LoopbackTransport(@NotNull String channel) {
+        this.channel = channel;
+    }
+
+    @Contract(pure = true)
+    public @NotNull String getChannel() {
+        return channel;
+    }
+
+    @Override
+    public void start(@NotNull Consumer<byte @NotNull []> receiver) {
+        if (this.receiver != null) {
+            throw new IllegalStateException("The loopback transport is already started");
+        }
+
+        this.receiver = receiver;
+        CHANNELS.computeIfAbsent(channel, k -> ConcurrentHashMap.newKeySet()).add(this);
+    }
+
+    @Override
+    public void publish(byte @NotNull [] message) {
+        for (@NotNull LoopbackTransport transport : CHANNELS.getOrDefault(channel, ConcurrentHashMap.newKeySet())) {
+            @Nullable Consumer<byte[]> receiver = transport.receiver;
+
+            if (transport != this && receiver != null) {
+                receiver.accept(message.clone());
+            }
+        }
+    }
+
+    @Override
+    public void close() {
+        receiver = null;
+        CHANNELS.computeIfPresent(channel, (k, transports) -> {
+            transports.remove(this);
+            return transports.isEmpty() ? null : transports;
+        });
+    }
+
+    @Override
+    public @NotNull String toString() {
+        return "LoopbackTransport{" +
+                "channel='" + channel + '\'' +
+                '}';
+    }
+
+}
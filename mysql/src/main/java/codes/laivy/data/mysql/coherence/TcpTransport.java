@@ -0,0 +1,194 @@
+package codes.laivy.data.mysql.coherence;
+
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.jetbrains.annotations.Range;
+import org.jetbrains.annotations.Unmodifiable;
+
+import java.io.*;
+import java.net.*;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+/**
+ * A simple transport over TCP. Every node listens at a port and sends its messages directly to the known peers,
+ * each message is written with its length before the bytes.
+ * <p>
+ * The delivery is best-effort: the connections are opened again at the next message after a failure, and the
+ * messages sent while a peer is unreachable are lost to it.
+ *
+ * @since 2.2
+ */
+public final class TcpTransport implements Transport {
+
+    private static final int TIMEOUT = 2000;
+    private static final int MAXIMUM_LENGTH = 16 * 1024 * 1024;
+
+    private final @NotNull InetSocketAddress address;
+    private final @NotNull List<@NotNull InetSocketAddress> peers;
+
+    private final @NotNull Map<@NotNull InetSocketAddress, @NotNull Socket> connections = new ConcurrentHashMap<>();
+    private final @NotNull Set<@NotNull Socket> accepted = ConcurrentHashMap.newKeySet();
+
+    private volatile @Nullable ServerSocket server;
+
+    /**
+     * @param port the local port this node listens, at the loopback address
+     * @param peers the addresses of the other nodes
+     */
+    public TcpTransport(@Range(from = 0, to = 65535) int port, @NotNull InetSocketAddress @NotNull ... peers) {
+        this(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), peers);
+    }
+    public TcpTransport(@NotNull InetSocketAddress address, @NotNull InetSocketAddress @NotNull ... peers) {
+        this.address = address;
+        this.peers = Collections.unmodifiableList(Arrays.asList(peers.clone()));
+    }
+
+    @Contract(pure = true)
+    public @NotNull InetSocketAddress getAddress() {
+        return address;
+    }
+
+    @Contract(pure = true)
+    public @NotNull @Unmodifiable List<InetSocketAddress> getPeers() {
+        return peers;
+    }
+
+    @Override
+    public void start(@NotNull Consumer<byte @NotNull []> receiver) throws IOException {
+        if (server != null) {
+            throw new IllegalStateException("The tcp transport is already started");
+        }
+
+        @NotNull ServerSocket server = new ServerSocket();
+        server.setReuseAddress(true);
+        server.bind(address);
+        this.server = server;
+
+        thread("Tcp transport acceptor", () -> {
+            while (!server.isClosed()) {
+                try {
+                    @NotNull Socket socket = server.accept();
+                    accepted.add(socket);
+
+                    thread("Tcp transport reader", () -> read(socket, receiver));
+                } catch (@NotNull IOException ignore) {
+                    // The server was closed
+                }
+            }
+        });
+    }
+
+    private void read(@NotNull Socket socket, @NotNull Consumer<byte @NotNull []> receiver) {
+        try (@NotNull DataInputStream stream = new DataInputStream(new BufferedInputStream(socket.getInputStream()))) {
+            while (true) {
+                int length = stream.readInt();
+                if (length < 0 || length > MAXIMUM_LENGTH) {
+                    throw new IOException("Illegal message length '" + length + "'");
+                }
+
+                byte[] message = new byte[length];
+                stream.readFully(message);
+
+                try {
+                    receiver.accept(message);
+                } catch (@NotNull Throwable ignore) {
+                    // A message that cannot be handled doesn't close the connection
+                }
+            }
+        } catch (@NotNull IOException ignore) {
+            // The peer disconnected
+        } finally {
+            accepted.remove(socket);
+        }
+    }
+
+    @Override
+    public void publish(byte @NotNull [] message) throws IOException {
+        if (server == null) {
+            throw new IllegalStateException("The tcp transport isn't started");
+        }
+
+        @Nullable IOException failure = null;
+
+        synchronized (connections) {
+            for (@NotNull InetSocketAddress peer : peers) {
+                try {
+                    write(peer, message);
+                } catch (@NotNull IOException exception) {
+                    failure = exception;
+                }
+            }
+        }
+
+        if (failure != null) {
+            throw failure;
+        }
+    }
+
+    private void write(@NotNull InetSocketAddress peer, byte @NotNull [] message) throws IOException {
+        for (int attempt = 0; attempt < 2; attempt++) {
+            @Nullable Socket socket = connections.get(peer);
+
+            try {
+                if (socket == null || socket.isClosed()) {
+                    socket = new Socket();
+                    socket.setTcpNoDelay(true);
+                    socket.connect(peer, TIMEOUT);
+                    connections.put(peer, socket);
+                }
+
+                @NotNull DataOutputStream stream = new DataOutputStream(socket.getOutputStream());
+                stream.writeInt(message.length);
+                stream.write(message);
+                stream.flush();
+
+                return;
+            } catch (@NotNull IOException exception) {
+                // The connection is opened again once, it can be closed by the peer since the last message
+                connections.remove(peer);
+                if (socket != null) socket.close();
+
+                if (attempt > 0) throw exception;
+            }
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        @Nullable ServerSocket server = this.server;
+        this.server = null;
+
+        if (server != null) {
+            server.close();
+        }
+
+        synchronized (connections) {
+            for (@NotNull Socket socket : connections.values()) {
+                socket.close();
+            }
+            connections.clear();
+        }
+        for (@NotNull Socket socket : accepted) {
+            socket.close();
+        }
+        accepted.clear();
+    }
+
+    private static void thread(@NotNull String name, @NotNull Runnable runnable) {
+        @NotNull Thread thread = new Thread(runnable, name);
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    @Override
+    public @NotNull String toString() {
+        return "TcpTransport{" +
+                "address=" + address +
+                ", peers=" + peers +
+                '}';
+    }
+
+}
@@ -0,0 +1,38 @@
+package codes.laivy.data.mysql.coherence;
+
+import org.jetbrains.annotations.Blocking;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.function.Consumer;
+
+/**
+ * The way the {@link InvalidationBus invalidation buses} of the nodes exchange their messages. The transports
+ * delivers opaque messages to all the other nodes, at the same order they were published by a node.
+ *
+ * @see LoopbackTransport
+ * @see TcpTransport
+ * @since 2.2
+ */
+public interface Transport extends Closeable {
+
+    /**
+     * Starts receiving the messages of the other nodes.
+     *
+     * @param receiver the receiver of the messages, can be called by any thread
+     * @throws IOException if the transport cannot be started
+     */
+    @Blocking
+    void start(@NotNull Consumer<byte @NotNull []> receiver) throws IOException;
+
+    /**
+     * Sends a message to all the other nodes.
+     *
+     * @param message the message
+     * @throws IOException if the message cannot be sent
+     */
+    @Blocking
+    void publish(byte @NotNull [] message) throws IOException;
+
+}
@@ -0,0 +1,113 @@
+package codes.laivy.data.mysql.coherence;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.UUID;
+
+/**
+ * Writes the values of the variables and keys at the {@link Invalidation invalidation messages}.
+ * <p>
+ * If a value cannot be written, the codec throws an {@link IllegalArgumentException} and the change is published
+ * as an invalidation instead of a patch, so the other nodes read the value from the database.
+ *
+ * @since 2.2
+ */
+public interface ValueCodec {
+
+    /**
+     * The default codec, that supports null, numbers, booleans, strings, byte arrays and uuids.
+     */
+    @NotNull ValueCodec DEFAULT = new ValueCodec() {
+        @Override
+        public void write(@NotNull DataOutput output, @Nullable Object value) throws IOException {
+            if (value == null) {
+                output.writeByte(0);
+            } else if (value instanceof Integer) {
+                output.writeByte(1);
+                output.writeInt((Integer) value);
+            } else if (value instanceof Long) {
+                output.writeByte(2);
+                output.writeLong((Long) value);
+            } else if (value instanceof Double) {
+                output.writeByte(3);
+                output.writeDouble((Double) value);
+            } else if (value instanceof Float) {
+                output.writeByte(4);
+                output.writeFloat((Float) value);
+            } else if (value instanceof Boolean) {
+                output.writeByte(5);
+                output.writeBoolean((Boolean) value);
+            } else if (value instanceof String) {
+                byte[] bytes = ((String) value).getBytes(StandardCharsets.UTF_8);
+                output.writeByte(6);
+                output.writeInt(bytes.length);
+                output.write(bytes);
+            } else if (value instanceof byte[]) {
+                output.writeByte(7);
+                output.writeInt(((byte[]) value).length);
+                output.write((byte[]) value);
+            } else if (value instanceof UUID) {
+                output.writeByte(8);
+                output.writeLong(((UUID) value).getMostSignificantBits());
+                output.writeLong(((UUID) value).getLeastSignificantBits());
+            } else if (value instanceof Short) {
+                output.writeByte(9);
+                output.writeShort((Short) value);
+            } else if (value instanceof Byte) {
+                output.writeByte(10);
+                output.writeByte((Byte) value);
+            } else {
+                throw new IllegalArgumentException("Unsupported value type '" + value.getClass().getName() + "'");
+            }
+        }
+
+        @Override
+        public @Nullable Object read(@NotNull DataInput input) throws IOException {
+            byte type = input.readByte();
+
+            switch (type) {
+                case 0:
+                    return null;
+                case 1:
+                    return input.readInt();
+                case 2:
+                    return input.readLong();
+                case 3:
+                    return input.readDouble();
+                case 4:
+                    return input.readFloat();
+                case 5:
+                    return input.readBoolean();
+                case 6:
+                case 7: {
+                    byte[] bytes = new byte[input.readInt()];
+                    input.readFully(bytes);
+                    return type == 6 ? new String(bytes, StandardCharsets.UTF_8) : bytes;
+                }
+                case 8:
+                    return new UUID(input.readLong(), input.readLong());
+                case 9:
+                    return input.readShort();
+                case 10:
+                    return input.readByte();
+                default:
+                    throw new IOException("Unknown value type '" + type + "'");
+            }
+        }
+    };
+
+    /**
+     * @param output the output
+     * @param value the value
+     * @throws IllegalArgumentException if the value type isn't supported
+     */
+    void write(@NotNull DataOutput output, @Nullable Object value) throws IOException;
+
+    @Nullable Object read(@NotNull DataInput input) throws IOException;
+
+}
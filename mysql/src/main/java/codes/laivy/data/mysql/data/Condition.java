@@ -2,8 +2,12 @@ package codes.laivy.data.mysql.data;
 
 import codes.laivy.data.mysql.variable.MysqlVariable;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 import org.jetbrains.annotations.UnknownNullability;
 
+import java.util.Arrays;
+import java.util.Objects;
+
 public final class Condition<T> {
 
     public static <T> @NotNull Condition<T> of(@NotNull MysqlVariable<T> variable, @UnknownNullability T value) {
@@ -26,6 +30,19 @@ public final class Condition<T> {
         return value;
     }
 
+    @Override
+    public boolean equals(@Nullable Object object) {
+        if (this == object) return true;
+        if (!(object instanceof Condition)) return false;
+        @NotNull Condition<?> condition = (Condition<?>) object;
+        return variable.equals(condition.variable) && Objects.deepEquals(value, condition.value);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * variable.hashCode() + Arrays.deepHashCode(new Object[] { value });
+    }
+
     @Override
     public @NotNull String toString() {
         return "Condition{" +
@@ -0,0 +1,130 @@
+package codes.laivy.data.mysql.data;
+
+import codes.laivy.data.mysql.variable.MysqlVariable;
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.jetbrains.annotations.Unmodifiable;
+
+import java.util.Collections;
+import java.util.Map;
+
+/**
+ * A save of a data that found the row at another version.
+ *
+ * @see ConflictStrategy
+ * @since 2.2
+ */
+public final class Conflict {
+
+    private final @NotNull MysqlData data;
+    private final long version;
+    private final @Nullable Long currentVersion;
+    private final @NotNull Map<@NotNull MysqlVariable<?>, @Nullable Object> current;
+    private final int attempt;
+
+    Conflict(@NotNull MysqlData data, long version, @Nullable Long currentVersion, @NotNull Map<@NotNull MysqlVariable<?>, @Nullable Object> current, int attempt) {
+        this.data = data;
+        this.version = version;
+        this.currentVersion = currentVersion;
+        this.current = current;
+        this.attempt = attempt;
+    }
+
+    @Contract(pure = true)
+    public @NotNull MysqlData getData() {
+        return data;
+    }
+
+    /**
+     * @return the version of the row when the data was read or last saved
+     */
+    @Contract(pure = true)
+    public long getVersion() {
+        return version;
+    }
+
+    /**
+     * @return the current version of the row, or null if the row was deleted
+     */
+    @Contract(pure = true)
+    public @Nullable Long getCurrentVersion() {
+        return currentVersion;
+    }
+
+    /**
+     * @return the current values of the row, empty if the row was deleted
+     */
+    @Contract(pure = true)
+    public @NotNull @Unmodifiable Map<MysqlVariable<?>, Object> getCurrent() {
+        return Collections.unmodifiableMap(current);
+    }
+
+    @Contract(pure = true)
+    public boolean isDeleted() {
+        return currentVersion == null;
+    }
+
+    /**
+     * @return the amount of conflicts resolved before this one at the same save, starting at 0
+     */
+    @Contract(pure = true)
+    public int getAttempt() {
+        return attempt;
+    }
+
+    /**
+     * Puts the current values of the row at the data and accepts the current version.
+     *
+     * @param keepChanges true to keep the values of the changed variables, false to discard all the local changes
+     */
+    public void reload(boolean keepChanges) {
+        synchronized (data) {
+            for (@NotNull Map.Entry<MysqlVariable<?>, Object> entry : current.entrySet()) {
+                if (keepChanges && data.hasChanges(entry.getKey())) {
+                    continue;
+                }
+
+                data.getData().put(entry.getKey(), entry.getValue());
+                data.setChanges(entry.getKey(), false);
+            }
+
+            accept();
+        }
+
+        data.getTable().getDataContent().index(data);
+    }
+
+    /**
+     * Accepts the current version and marks all the variables of the data as changed, so all the local values
+     * are written over the row.
+     */
+    public void overwrite() {
+        synchronized (data) {
+            for (@NotNull MysqlVariable<?> variable : data.getData().keySet()) {
+                if (!data.getTable().getPrimaryKey().contains(variable)) {
+                    data.setChanges(variable, true);
+                }
+            }
+
+            accept();
+        }
+    }
+
+    private void accept() {
+        if (currentVersion != null) {
+            data.setVersion(currentVersion);
+        }
+    }
+
+    @Override
+    public @NotNull String toString() {
+        return "Conflict{" +
+                "data=" + data +
+                ", version=" + version +
+                ", current version=" + currentVersion +
+                ", attempt=" + attempt +
+                '}';
+    }
+
+}
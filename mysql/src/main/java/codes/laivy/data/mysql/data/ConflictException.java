@@ -0,0 +1,28 @@
+package codes.laivy.data.mysql.data;
+
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Thrown (through the save future) when a data cannot be saved because the row was changed by someone else
+ * and the {@link ConflictStrategy} didn't resolve it.
+ *
+ * @since 2.2
+ */
+public final class ConflictException extends IllegalStateException {
+
+    private static final long serialVersionUID = 1L;
+
+    private final @NotNull Conflict conflict;
+
+    public ConflictException(@NotNull Conflict conflict) {
+        super("The data '" + conflict.getData().getKey() + "' from table '" + conflict.getData().getTable().getId() + "' was changed at the version '" + conflict.getVersion() + "', current version is '" + conflict.getCurrentVersion() + "'");
+        this.conflict = conflict;
+    }
+
+    @Contract(pure = true)
+    public @NotNull Conflict getConflict() {
+        return conflict;
+    }
+
+}
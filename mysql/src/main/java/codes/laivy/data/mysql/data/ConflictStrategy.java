@@ -0,0 +1,54 @@
+package codes.laivy.data.mysql.data;
+
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Decides what happens when the save of a data from a {@link codes.laivy.data.mysql.table.MysqlTable#isVersioned() versioned}
+ * table finds out that the row was changed by someone else since the data was read.
+ *
+ * @see codes.laivy.data.mysql.table.MysqlTable#setConflictStrategy(ConflictStrategy)
+ * @since 2.2
+ */
+@FunctionalInterface
+public interface ConflictStrategy {
+
+    /**
+     * The save fails with a {@link ConflictException}, the data isn't changed.
+     */
+    @NotNull ConflictStrategy FAIL = conflict -> false;
+
+    /**
+     * The local changes are discarded and the data receives the current values of the row, then the save fails
+     * with a {@link ConflictException} so the changes can be applied again.
+     */
+    @NotNull ConflictStrategy RELOAD = conflict -> {
+        conflict.reload(false);
+        return false;
+    };
+
+    /**
+     * The data receives the current values of the variables that it hasn't changed, and the changed ones are
+     * saved over the current row.
+     */
+    @NotNull ConflictStrategy MERGE = conflict -> {
+        conflict.reload(true);
+        return true;
+    };
+
+    /**
+     * All the values of the data are saved over the current row, including the values that it hasn't changed.
+     */
+    @NotNull ConflictStrategy OVERWRITE = conflict -> {
+        conflict.overwrite();
+        return true;
+    };
+
+    /**
+     * Resolves a conflict, the strategy can change the data using the conflict methods before the retry.
+     *
+     * @param conflict the conflict
+     * @return true to save again against the current version of the row, false to fail the save
+     */
+    boolean resolve(@NotNull Conflict conflict);
+
+}
@@ -0,0 +1,116 @@
+package codes.laivy.data.mysql.data;
+
+import codes.laivy.data.mysql.variable.MysqlVariable;
+import codes.laivy.data.mysql.variable.Parameter;
+import codes.laivy.data.mysql.variable.type.AbstractType;
+import codes.laivy.data.mysql.variable.type.Type;
+import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.UnknownNullability;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+
+/**
+ * An assignment evaluated by the database using the current value of the column, like an increment. The expressions
+ * are applied atomically by a single {@code UPDATE}, without reading the rows first.
+ *
+ * @param <T> the variable type
+ * @since 2.2
+ */
+public final class Expression<T> {
+
+    /**
+     * @return an expression that assigns a constant value ({@code `column` = ?})
+     */
+    public static <T> @NotNull Expression<T> value(@NotNull MysqlVariable<T> variable, @UnknownNullability T value) {
+        return new Expression<>(variable, value, "?", 1);
+    }
+
+    /**
+     * @return an expression that adds an amount to the current value, null values are considered zero ({@code `column` = `column` + ?})
+     */
+    public static <T extends Number> @NotNull Expression<T> increment(@NotNull MysqlVariable<T> variable, @NotNull T amount) {
+        return new Expression<>(variable, amount, "COALESCE(`" + variable.getId() + "`, 0) + ?", 1);
+    }
+
+    /**
+     * @return an expression that keeps the greatest between the current value and the value ({@code `column` = GREATEST(`column`, ?)})
+     */
+    public static <T extends Comparable<T>> @NotNull Expression<T> greatest(@NotNull MysqlVariable<T> variable, @NotNull T value) {
+        return new Expression<>(variable, value, "COALESCE(GREATEST(`" + variable.getId() + "`, ?), ?)", 2);
+    }
+
+    /**
+     * @return an expression that keeps the least between the current value and the value ({@code `column` = LEAST(`column`, ?)})
+     */
+    public static <T extends Comparable<T>> @NotNull Expression<T> least(@NotNull MysqlVariable<T> variable, @NotNull T value) {
+        return new Expression<>(variable, value, "COALESCE(LEAST(`" + variable.getId() + "`, ?), ?)", 2);
+    }
+
+    // Object
+
+    private final @NotNull MysqlVariable<T> variable;
+    private final @UnknownNullability T value;
+
+    private final @NotNull String expression;
+    private final int parameters;
+
+    private Expression(@NotNull MysqlVariable<T> variable, @UnknownNullability T value, @NotNull String expression, int parameters) {
+        if (!(variable.getType() instanceof AbstractType) && !expression.equals("?")) {
+            throw new IllegalStateException("The variable '" + variable.getId() + "' must have a sql type to be used at expressions");
+        }
+
+        this.variable = variable;
+        this.value = value;
+        this.expression = expression;
+        this.parameters = parameters;
+    }
+
+    @Contract(pure = true)
+    public @NotNull MysqlVariable<T> getVariable() {
+        return variable;
+    }
+
+    @Contract(pure = true)
+    public @UnknownNullability T getValue() {
+        return value;
+    }
+
+    /**
+     * @return the assignment of this expression, used at the {@code SET} clause (e.g. {@code `a` = COALESCE(`a`, 0) + ?})
+     */
+    @ApiStatus.Internal
+    public @NotNull String getAssignment() {
+        return "`" + variable.getId() + "` = " + expression;
+    }
+
+    /**
+     * Sets the parameters of the expression at a statement.
+     *
+     * @param statement the statement
+     * @param index the parameter index of the first value (starting at 0)
+     * @return the parameter index after the expression values
+     */
+    @ApiStatus.Internal
+    public int set(@NotNull PreparedStatement statement, int index) throws SQLException {
+        @NotNull Type<T> type = variable.getType();
+
+        for (int parameter = 0; parameter < parameters; parameter++) {
+            type.set(Parameter.of(statement, type.isNullSupported(), index), value);
+            index++;
+        }
+
+        return index;
+    }
+
+    @Override
+    public @NotNull String toString() {
+        return "Expression{" +
+                "assignment=" + getAssignment() +
+                ", value=" + value +
+                '}';
+    }
+
+}
@@ -0,0 +1,73 @@
+package codes.laivy.data.mysql.data;
+
+import codes.laivy.data.mysql.table.Index;
+import codes.laivy.data.mysql.table.PrimaryKey;
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.jetbrains.annotations.Unmodifiable;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * The primary key value of a data, with one value for each column of the table's {@link PrimaryKey}.
+ *
+ * @since 2.2
+ */
+public final class Key {
+
+    public static @NotNull Key of(@NotNull Object @NotNull ... values) {
+        if (values.length == 0) {
+            throw new IllegalStateException("The key must have at least one value");
+        } else if (Arrays.stream(values).anyMatch(value -> value == null)) {
+            throw new IllegalStateException("The key values cannot be null");
+        }
+
+        return new Key(values.clone());
+    }
+
+    private final @NotNull Object @NotNull [] values;
+    private final @NotNull List<Object> comparable;
+
+    private Key(@NotNull Object @NotNull [] values) {
+        this.values = values;
+        this.comparable = Index.key(values);
+    }
+
+    @Contract(pure = true)
+    public @NotNull @Unmodifiable List<Object> getValues() {
+        return Collections.unmodifiableList(Arrays.asList(values));
+    }
+
+    @Contract(pure = true)
+    public @NotNull Object get(int index) {
+        return values[index];
+    }
+
+    @Contract(pure = true)
+    public int size() {
+        return values.length;
+    }
+
+    @Override
+    public boolean equals(@Nullable Object object) {
+        if (this == object) return true;
+        if (!(object instanceof Key)) return false;
+        return comparable.equals(((Key) object).comparable);
+    }
+
+    @Override
+    public int hashCode() {
+        return comparable.hashCode();
+    }
+
+    @Override
+    public @NotNull String toString() {
+        @NotNull String string = Arrays.stream(values).map(value -> value instanceof byte[] ? Arrays.toString((byte[]) value) : String.valueOf(value)).collect(Collectors.joining(", "));
+        return values.length == 1 ? string : "(" + string + ")";
+    }
+
+}
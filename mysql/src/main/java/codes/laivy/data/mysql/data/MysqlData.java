@@ -1,55 +1,94 @@
 package codes.laivy.data.mysql.data;
 
-import codes.laivy.data.Main;
 import codes.laivy.data.data.Data;
+import codes.laivy.data.mysql.authentication.MysqlAuthentication;
+import codes.laivy.data.mysql.authentication.Transaction;
+import codes.laivy.data.mysql.coherence.InvalidationBus;
 import codes.laivy.data.mysql.database.MysqlDatabase;
+import codes.laivy.data.mysql.table.Index;
+import codes.laivy.data.mysql.table.Journal;
 import codes.laivy.data.mysql.table.MysqlTable;
+import codes.laivy.data.mysql.table.PrimaryKey;
 import codes.laivy.data.mysql.table.Variables;
+import codes.laivy.data.mysql.utils.CopyOnWriteMap;
+import codes.laivy.data.mysql.utils.SingleFlight;
 import codes.laivy.data.mysql.utils.SqlUtils;
+import codes.laivy.data.mysql.variable.MysqlCounterVariable;
 import codes.laivy.data.mysql.variable.MysqlVariable;
 import codes.laivy.data.mysql.variable.Parameter;
+import codes.laivy.data.mysql.variable.type.AbstractType;
 import codes.laivy.data.mysql.variable.type.Type;
 import org.jetbrains.annotations.*;
 
 import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
+import java.sql.SQLException;
 import java.util.*;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 public final class MysqlData extends Data {
 
+    // Concurrent identical existence checks share a single query
+    private static final @NotNull SingleFlight<List<Object>> EXISTS = new SingleFlight<>();
+
     // Static methods
 
-    public static @NotNull CompletableFuture<Boolean> exists(@NotNull MysqlTable table, final int row) {
+    public static @NotNull CompletableFuture<Boolean> exists(@NotNull MysqlTable table, final long row) {
+        return exists(table, Key.of(row));
+    }
+    public static @NotNull CompletableFuture<Boolean> exists(@NotNull MysqlTable table, @NotNull Key key) {
         @Nullable Connection connection = table.getDatabase().getAuthentication().getConnection();
         if (connection == null) {
             throw new IllegalStateException("The database's authentication aren't connected");
         }
 
-        @NotNull CompletableFuture<Boolean> future = new CompletableFuture<>();
+        @NotNull PrimaryKey primaryKey = table.getPrimaryKey();
+        @NotNull Key finalKey = primaryKey.normalize(key);
+        table.getDataContent().getAccessTracker().record(finalKey);
 
-        CompletableFuture.runAsync(() -> {
-            try {
-                boolean tableExists = table.exists().join();
+        // All the rows of a resident table are at the memory
+        if (table.isResident() && table.isLoaded()) {
+            @Nullable MysqlData data = table.getDataContent().get(finalKey);
+            refreshAhead(data);
 
-                if (tableExists) {
-                    try (PreparedStatement statement = connection.prepareStatement("SELECT `row` FROM `" + table.getDatabase().getId() + "`.`" + table.getId() + "` WHERE `row` = " + row)) {
-                        ResultSet set = statement.executeQuery();
-                        future.complete(set.next());
-                        return;
-                    }
-                }
+            return CompletableFuture.completedFuture(data != null && !data.isNew);
+        }
 
-                future.complete(false);
-            } catch (@NotNull Throwable throwable) {
-                future.completeExceptionally(throwable);
+        return EXISTS.execute(Arrays.asList(table, finalKey), () -> {
+            if (table.getReadBatcher().isEnabled()) {
+                return table.getReadBatcher().read(finalKey).thenApply(Objects::nonNull);
             }
-        }, Main.getExecutor(MysqlData.class));
 
-        return future;
+            @NotNull CompletableFuture<Boolean> future = new CompletableFuture<>();
+
+            CompletableFuture.runAsync(() -> {
+                try {
+                    boolean tableExists = table.exists().join();
+
+                    if (tableExists) {
+                        try (PreparedStatement statement = connection.prepareStatement("SELECT " + primaryKey.getSelect() + " FROM `" + table.getDatabase().getId() + "`.`" + table.getId() + "` WHERE " + primaryKey.getWhere())) {
+                            primaryKey.set(statement, 0, finalKey);
+
+                            ResultSet set = statement.executeQuery();
+                            future.complete(set.next());
+                            return;
+                        }
+                    }
+
+                    future.complete(false);
+                } catch (@NotNull Throwable throwable) {
+                    future.completeExceptionally(throwable);
+                }
+            }, Transaction.getExecutor(MysqlData.class));
+
+            return future;
+        });
     }
     public static @NotNull CompletableFuture<Integer> exists(@NotNull MysqlTable table, final @NotNull Condition<?> @NotNull ... conditions) {
         @Nullable Connection connection = table.getDatabase().getAuthentication().getConnection();
@@ -78,11 +117,11 @@ public final class MysqlData extends Data {
 
                 int amount = 0;
 
-                @NotNull Set<Integer> excluded = new HashSet<>();
+                @NotNull Set<Key> excluded = new HashSet<>();
 
-                for (MysqlData data : table.getDataContent()) {
+                for (MysqlData data : resident(table)) {
                     if (data.isLoaded()) {
-                        excluded.add(data.getRow());
+                        excluded.add(data.getKey());
 
                         if (data.matches(finalConditions)) {
                             amount++;
@@ -90,17 +129,15 @@ public final class MysqlData extends Data {
                     }
                 }
 
+                if (table.isResident()) {
+                    future.complete(amount);
+                    return;
+                }
+
                 // Retrieving on database
 
-                try (PreparedStatement statement = connection.prepareStatement("SELECT `row` FROM `" + table.getDatabase().getId() + "`.`" + table.getId() + "` " + SqlUtils.buildWhereCondition(excluded, finalConditions))) {
-                    int index = 0;
-                    for (@NotNull Condition<?> condition : finalConditions) {
-                        //noinspection rawtypes
-                        @NotNull Type type = condition.getVariable().getType();
-                        //noinspection unchecked
-                        type.set(Parameter.of(statement, type.isNullSupported(), index), condition.getValue());
-                        index++;
-                    }
+                try (PreparedStatement statement = connection.prepareStatement("SELECT " + table.getPrimaryKey().getSelect() + " FROM `" + table.getDatabase().getId() + "`.`" + table.getId() + "` " + SqlUtils.buildWhereCondition(table.getPrimaryKey(), excluded.size(), finalConditions))) {
+                    SqlUtils.setParameters(statement, table.getPrimaryKey(), excluded, finalConditions);
 
                     @NotNull ResultSet set = statement.executeQuery();
                     while (set.next()) amount++;
@@ -110,7 +147,7 @@ public final class MysqlData extends Data {
             } catch (@NotNull Throwable throwable) {
                 future.completeExceptionally(throwable);
             }
-        }, Main.getExecutor(MysqlData.class));
+        }, Transaction.getExecutor(MysqlData.class));
 
         return future;
     }
@@ -135,98 +172,129 @@ public final class MysqlData extends Data {
 
         CompletableFuture.runAsync(() -> {
             try {
-                @NotNull Set<Integer> excluded = new HashSet<>();
+                @NotNull Set<Key> excluded = new HashSet<>();
                 for (MysqlData data : table.getDataContent()) {
                     if (!data.matches(finalConditions)) {
-                        excluded.add(data.row);
+                        excluded.add(data.getKey());
                     } else {
-                        data.stop(false).join();
+                        data.evict().join();
                     }
                 }
 
                 // Retrieving on database
 
-                try (PreparedStatement statement = connection.prepareStatement("DELETE FROM `" + table.getDatabase().getId() + "`.`" + table.getId() + "` " + SqlUtils.buildWhereCondition(excluded, finalConditions))) {
-                    int index = 0;
-                    for (@NotNull Condition<?> condition : finalConditions) {
-                        //noinspection rawtypes
-                        @NotNull Type type = condition.getVariable().getType();
-                        //noinspection unchecked
-                        type.set(Parameter.of(statement, type.isNullSupported(), index), condition.getValue());
-                        index++;
-                    }
+                try (PreparedStatement statement = connection.prepareStatement("DELETE FROM `" + table.getDatabase().getId() + "`.`" + table.getId() + "` " + SqlUtils.buildWhereCondition(table.getPrimaryKey(), excluded.size(), finalConditions))) {
+                    SqlUtils.setParameters(statement, table.getPrimaryKey(), excluded, finalConditions);
 
                     statement.execute();
                 }
 
+                forget(table, null);
+                InvalidationBus.invalidate(table, null);
+
                 future.complete(null);
             } catch (@NotNull Throwable throwable) {
                 future.completeExceptionally(throwable);
             }
-        }, Main.getExecutor(MysqlData.class));
+        }, Transaction.getExecutor(MysqlData.class));
 
         return future;
     }
-    public static @NotNull CompletableFuture<Void> delete(@NotNull MysqlTable table, int row) {
+    public static @NotNull CompletableFuture<Void> delete(@NotNull MysqlTable table, long row) {
+        return delete(table, Key.of(row));
+    }
+    public static @NotNull CompletableFuture<Void> delete(@NotNull MysqlTable table, @NotNull Key key) {
         @Nullable Connection connection = table.getDatabase().getAuthentication().getConnection();
         if (connection == null) {
             throw new IllegalStateException("The database's authentication aren't connected");
         }
 
+        @NotNull PrimaryKey primaryKey = table.getPrimaryKey();
+        @NotNull Key finalKey = primaryKey.normalize(key);
+
         @NotNull CompletableFuture<Void> future = new CompletableFuture<>();
 
         CompletableFuture.runAsync(() -> {
             try {
-                @NotNull Optional<MysqlData> optional = table.getDataContent().stream().filter(data -> data.getRow() == row).findFirst();
-                optional.ifPresent(data -> {
-                    if (data.isLoaded()) {
-                        data.stop(false).join();
-                    }
-                });
+                @Nullable MysqlData data = table.getDataContent().get(finalKey);
+                if (data != null) {
+                    data.evict().join();
+                }
 
                 if (table.exists().join()) {
-                    try (PreparedStatement statement = connection.prepareStatement("DELETE FROM `" + table.getDatabase().getId() + "`.`" + table.getId() + "` WHERE `row` = " + row)) {
+                    try (PreparedStatement statement = connection.prepareStatement("DELETE FROM `" + table.getDatabase().getId() + "`.`" + table.getId() + "` WHERE " + primaryKey.getWhere())) {
+                        primaryKey.set(statement, 0, finalKey);
                         statement.execute();
                     }
+
+                    forget(table, finalKey);
+                    InvalidationBus.delete(table, finalKey);
                 }
 
                 future.complete(null);
             } catch (@NotNull Throwable throwable) {
                 future.completeExceptionally(throwable);
             }
-        }, Main.getExecutor(MysqlData.class));
+        }, Transaction.getExecutor(MysqlData.class));
 
         return future;
     }
     public static @NotNull CompletableFuture<MysqlData> create(@NotNull MysqlTable table) {
+        if (!table.getPrimaryKey().isRow()) {
+            throw new IllegalStateException("The table '" + table.getId() + "' has a custom primary key, the datas must be retrieved by its keys");
+        }
+
         @NotNull CompletableFuture<MysqlData> future = new CompletableFuture<>();
 
         CompletableFuture.runAsync(() -> {
             try {
-                int row = table.getAutoIncrement().getAndIncrement(1).join();
+                long row = table.getAutoIncrement().getAndIncrement(1).join();
 
-                if (table.getDataContent().stream().anyMatch(data -> data.getRow() == row && !data.exists().join())) {
+                @Nullable MysqlData existent = table.getDataContent().get(row);
+                if (existent != null && !existent.exists().join()) {
                     throw new IllegalStateException("cannot create date because this table was illegally modified");
                 }
 
-                future.complete(retrieve(table, row));
+                future.complete(getOrCreate(table, table.getPrimaryKey().normalize(Key.of(row))));
             } catch (@NotNull Throwable throwable) {
                 future.completeExceptionally(throwable);
             }
-        }, Main.getExecutor(MysqlData.class));
+        }, Transaction.getExecutor(MysqlData.class));
 
         return future;
     }
-    public static @NotNull MysqlData retrieve(@NotNull MysqlTable table, final int row) {
-        @NotNull Optional<MysqlData> optional = table.getDataContent().stream().filter(data -> data.getRow() == row).findFirst();
+    public static @NotNull MysqlData retrieve(@NotNull MysqlTable table, final long row) {
+        return retrieve(table, Key.of(row));
+    }
 
-        if (optional.isPresent()) {
-            return optional.get();
-        }
+    /**
+     * Retrieves the data with a primary key, the data doesn't needs to exist at the database.
+     *
+     * @param table the table
+     * @param key the primary key value
+     * @return the data, not started if it's new
+     * @since 2.2
+     */
+    public static @NotNull MysqlData retrieve(@NotNull MysqlTable table, @NotNull Key key) {
+        @NotNull Key finalKey = table.getPrimaryKey().normalize(key);
+        table.getDataContent().getAccessTracker().record(finalKey);
+
+        return getOrCreate(table, finalKey);
+    }
+    // Retrieves the data of a normalized key without counting it as an access
+    private static @NotNull MysqlData getOrCreate(@NotNull MysqlTable table, @NotNull Key finalKey) {
+        synchronized (table.getDataContent()) {
+            @Nullable MysqlData data = table.getDataContent().get(finalKey);
 
-        @NotNull MysqlData data = new MysqlData(table, row);
-        table.getDataContent().add(data);
-        return data;
+            if (data == null) {
+                data = new MysqlData(table, finalKey);
+                data.isNew = true;
+
+                table.getDataContent().add(data);
+            }
+
+            return data;
+        }
     }
     public static @NotNull CompletableFuture<MysqlData[]> retrieve(@NotNull MysqlTable table) {
         @Nullable Connection connection = table.getDatabase().getAuthentication().getConnection();
@@ -245,18 +313,26 @@ public final class MysqlData extends Data {
 
                 @NotNull Set<MysqlData> datas = new HashSet<>();
 
-                for (MysqlData data : table.getDataContent()) {
+                for (MysqlData data : resident(table)) {
                     if (data.isLoaded()) {
                         datas.add(data);
                     }
                 }
 
-                try (PreparedStatement statement = connection.prepareStatement("SELECT `row` FROM `" + table.getDatabase().getId() + "`.`" + table.getId() + "` WHERE " + SqlUtils.rowNotIn(datas.stream().map(MysqlData::getRow).collect(Collectors.toSet())))) {
+                if (table.isResident()) {
+                    future.complete(datas.toArray(new MysqlData[0]));
+                    return;
+                }
+
+                @NotNull PrimaryKey primaryKey = table.getPrimaryKey();
+                @NotNull Set<Key> excluded = datas.stream().map(MysqlData::getKey).collect(Collectors.toSet());
+
+                try (PreparedStatement statement = connection.prepareStatement("SELECT " + primaryKey.getSelect() + " FROM `" + table.getDatabase().getId() + "`.`" + table.getId() + "` " + SqlUtils.buildWhereCondition(primaryKey, excluded.size()))) {
+                    SqlUtils.setParameters(statement, primaryKey, excluded);
+
                     @NotNull ResultSet set = statement.executeQuery();
                     while (set.next()) {
-                        int row = set.getInt("row");
-                        @NotNull MysqlData data = new MysqlData(table, row);
-                        datas.add(data);
+                        datas.add(getOrCreate(table, primaryKey.read(set)));
                     }
                 }
 
@@ -264,7 +340,7 @@ public final class MysqlData extends Data {
             } catch (@NotNull Throwable throwable) {
                 future.completeExceptionally(throwable);
             }
-        });
+        }, Transaction.getExecutor(MysqlData.class));
 
         return future;
     }
@@ -289,40 +365,35 @@ public final class MysqlData extends Data {
 
         CompletableFuture.runAsync(() -> {
             try {
-                @NotNull Set<Integer> excluded = new HashSet<>();
-                @NotNull Map<Integer, MysqlData> datas = new TreeMap<>(Integer::compare);
+                @NotNull PrimaryKey primaryKey = table.getPrimaryKey();
 
-                for (MysqlData data : table.getDataContent()) {
+                @NotNull Set<Key> excluded = new HashSet<>();
+                @NotNull Map<Key, MysqlData> datas = primaryKey.isRow() ? new TreeMap<>(Comparator.comparingLong(key -> (long) key.get(0))) : new LinkedHashMap<>();
+
+                for (MysqlData data : resident(table)) {
                     if (data.isLoaded()) {
-                        excluded.add(data.getRow());
+                        excluded.add(data.getKey());
 
                         if (data.matches(finalConditions)) {
-                            datas.put(data.getRow(), data);
+                            datas.put(data.getKey(), data);
                         }
                     }
                 }
 
+                if (table.isResident()) {
+                    future.complete(datas.values().toArray(new MysqlData[0]));
+                    return;
+                }
+
                 // Retrieving on database
 
-                try (PreparedStatement statement = connection.prepareStatement("SELECT `row` FROM `" + table.getDatabase().getId() + "`.`" + table.getId() + "` " + SqlUtils.buildWhereCondition(excluded, finalConditions))) {
-                    int index = 0;
-                    for (@NotNull Condition<?> condition : finalConditions) {
-                        //noinspection rawtypes
-                        @NotNull Type type = condition.getVariable().getType();
-                        //noinspection unchecked
-                        type.set(Parameter.of(statement, type.isNullSupported(), index), condition.getValue());
-                        index++;
-                    }
+                try (PreparedStatement statement = connection.prepareStatement("SELECT " + primaryKey.getSelect() + " FROM `" + table.getDatabase().getId() + "`.`" + table.getId() + "` " + SqlUtils.buildWhereCondition(primaryKey, excluded.size(), finalConditions))) {
+                    SqlUtils.setParameters(statement, primaryKey, excluded, finalConditions);
 
                     @NotNull ResultSet set = statement.executeQuery();
                     while (set.next()) {
-                        int row = set.getInt("row");
-                        @NotNull MysqlData data = new MysqlData(table, row);
-                        table.getDataContent().add(data);
-
-                        if (!datas.containsKey(row)) {
-                            datas.put(row, data);
-                        }
+                        @NotNull MysqlData data = getOrCreate(table, primaryKey.read(set));
+                        datas.putIfAbsent(data.getKey(), data);
                     }
                 }
 
@@ -330,12 +401,316 @@ public final class MysqlData extends Data {
             } catch (@NotNull Throwable throwable) {
                 future.completeExceptionally(throwable);
             }
-        }, Main.getExecutor(MysqlData.class));
+        }, Transaction.getExecutor(MysqlData.class));
+
+        return future;
+    }
+
+    /**
+     * Retrieves the data with the values of an unique index. The loaded datas are found in memory, and the
+     * others by the index at the database.
+     *
+     * @param index the unique index
+     * @param values the values of the index variables, at the same order
+     * @return A CompletableFuture with the data, or null if there's no data with these values
+     * @since 2.2
+     */
+    public static @NotNull CompletableFuture<@Nullable MysqlData> retrieve(@NotNull Index index, @NotNull Object @NotNull ... values) {
+        @NotNull MysqlTable table = index.getTable();
+        @Nullable Connection connection = table.getDatabase().getAuthentication().getConnection();
+        final @NotNull Condition<?>[] conditions = index.getConditions(values);
+
+        if (connection == null) {
+            throw new IllegalStateException("The table's authentication aren't connected");
+        } else if (!table.isLoaded() || !table.getDatabase().isLoaded()) {
+            throw new IllegalStateException("This table or database aren't loaded");
+        } else if (Arrays.stream(conditions).anyMatch(c -> !c.getVariable().isLoaded())) {
+            throw new IllegalStateException("There's index variables that hasn't loaded");
+        }
+
+        @Nullable MysqlData loaded = table.getDataContent().get(index, values);
+        if (loaded != null) {
+            table.getDataContent().getAccessTracker().record(loaded.getKey());
+            return CompletableFuture.completedFuture(loaded);
+        }
+
+        final @NotNull CompletableFuture<MysqlData> future = new CompletableFuture<>();
+
+        if (table.isResident()) {
+            CompletableFuture.runAsync(() -> {
+                try {
+                    resident(table);
+
+                    @Nullable MysqlData data = table.getDataContent().get(index, values);
+                    refreshAhead(data);
+
+                    future.complete(data);
+                } catch (@NotNull Throwable throwable) {
+                    future.completeExceptionally(throwable);
+                }
+            }, Transaction.getExecutor(MysqlData.class));
+
+            return future;
+        }
+
+        CompletableFuture.runAsync(() -> {
+            try (PreparedStatement statement = connection.prepareStatement("SELECT " + table.getPrimaryKey().getSelect() + " FROM `" + table.getDatabase().getId() + "`.`" + table.getId() + "` " + SqlUtils.buildWhereCondition(table.getPrimaryKey(), 0, conditions) + " LIMIT 1")) {
+                SqlUtils.setParameters(statement, table.getPrimaryKey(), Collections.emptySet(), conditions);
+
+                @NotNull ResultSet set = statement.executeQuery();
+
+                if (set.next()) {
+                    @NotNull MysqlData data = retrieve(table, table.getPrimaryKey().read(set));
+
+                    // The loaded datas have the current values in memory, and it doesn't matches anymore
+                    future.complete(data.isLoaded() ? null : data);
+                } else {
+                    future.complete(null);
+                }
+            } catch (@NotNull Throwable throwable) {
+                future.completeExceptionally(throwable);
+            }
+        }, Transaction.getExecutor(MysqlData.class));
+
+        return future;
+    }
+
+    /**
+     * Loads all the rows of a {@link MysqlTable#isResident() resident} table to the memory, using a single
+     * streamed query on a {@link MysqlAuthentication#dedicated(MysqlAuthentication.Dedicated) dedicated connection},
+     * so the other operations keeps using the shared connection meanwhile. The datas already loaded are kept.
+     *
+     * @param table the resident table
+     * @return the amount of datas loaded
+     * @since 2.2
+     */
+    @ApiStatus.Internal
+    @Blocking
+    public static int load(@NotNull MysqlTable table) throws SQLException {
+        // The rows that doesn't exists anymore are found again by the stream
+        for (@NotNull MysqlData data : table.getDataContent()) {
+            if (!data.isLoaded()) data.isNew = true;
+        }
+
+        return table.getDatabase().getAuthentication().dedicated(connection -> {
+            int amount = 0;
+
+            try (@NotNull PreparedStatement statement = connection.prepareStatement("SELECT * FROM `" + table.getDatabase().getId() + "`.`" + table.getId() + "`", ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY)) {
+                // The mysql driver streams the rows one by one with this fetch size
+                statement.setFetchSize(Integer.MIN_VALUE);
+                @NotNull ResultSet set = statement.executeQuery();
+
+                while (set.next()) {
+                    if (load(table, set) != null) amount++;
+                }
+            }
+
+            return amount;
+        });
+    }
+
+    /**
+     * Loads the current row of a result set with all the table columns, if the data of the row isn't loaded yet.
+     *
+     * @param table the table of the row
+     * @param set the result set at the row
+     * @return the data loaded, or null if it was already loaded
+     * @since 2.2
+     */
+    @ApiStatus.Internal
+    public static @Nullable MysqlData load(@NotNull MysqlTable table, @NotNull ResultSet set) throws SQLException {
+        @NotNull MysqlData data = getOrCreate(table, table.getPrimaryKey().read(set));
+
+        synchronized (data) {
+            if (data.isLoaded()) {
+                return null;
+            }
+
+            data.getData().clear();
+            data.getCache().clear();
+            data.version = 0;
+
+            data.read(set);
+            data.isNew = false;
+
+            data.fill();
+            data.loaded = true;
+        }
+
+        table.getDataContent().index(data);
+        return data;
+    }
+
+    /**
+     * Loads a row with known values, like the ones of a snapshot, if the data of the row isn't loaded yet.
+     *
+     * @param table the table of the row
+     * @param key the primary key value
+     * @param version the row version
+     * @param values the values of the variables
+     * @return the data loaded, or null if it was already loaded
+     * @since 2.2
+     */
+    @ApiStatus.Internal
+    public static @Nullable MysqlData load(@NotNull MysqlTable table, @NotNull Key key, long version, @NotNull Map<MysqlVariable<?>, Object> values) {
+        @NotNull MysqlData data = getOrCreate(table, table.getPrimaryKey().normalize(key));
+
+        synchronized (data) {
+            if (data.isLoaded()) {
+                return null;
+            }
+
+            data.getData().clear();
+            data.getCache().clear();
+            data.version = version;
+            data.refreshed = System.currentTimeMillis();
+
+            data.getData().putAll(values);
+            data.isNew = false;
+
+            data.fill();
+            data.loaded = true;
+        }
+
+        table.getDataContent().index(data);
+        return data;
+    }
+
+    /**
+     * Loads the row of a key from the database, if it exists and its data isn't loaded yet.
+     *
+     * @param table the table of the row
+     * @param key the primary key value
+     * @return A CompletableFuture with the data loaded, or null if the row doesn't exists or it was already loaded
+     * @since 2.2
+     */
+    @ApiStatus.Internal
+    public static @NotNull CompletableFuture<@Nullable MysqlData> load(@NotNull MysqlTable table, @NotNull Key key) {
+        @Nullable Connection connection = table.getDatabase().getAuthentication().getConnection();
+        if (connection == null) {
+            throw new IllegalStateException("The table's authentication aren't connected");
+        }
+
+        @NotNull PrimaryKey primaryKey = table.getPrimaryKey();
+        @NotNull Key finalKey = primaryKey.normalize(key);
+
+        @NotNull CompletableFuture<MysqlData> future = new CompletableFuture<>();
+
+        CompletableFuture.runAsync(() -> {
+            try (@NotNull PreparedStatement statement = connection.prepareStatement("SELECT * FROM `" + table.getDatabase().getId() + "`.`" + table.getId() + "` WHERE " + primaryKey.getWhere())) {
+                primaryKey.set(statement, 0, finalKey);
+                @NotNull ResultSet set = statement.executeQuery();
+
+                future.complete(set.next() ? load(table, set) : null);
+            } catch (@NotNull Throwable throwable) {
+                future.completeExceptionally(throwable);
+            }
+        }, Transaction.getExecutor(MysqlData.class));
 
         return future;
     }
 
-    public static <T> @NotNull CompletableFuture<Void> set(@NotNull MysqlVariable<T> variable, @UnknownNullability T value, final int row) {
+    // The existence checks and reads in flight of a written row (or of the whole table) are detached, and its cached results removed
+    private static void forget(@NotNull MysqlTable table, @Nullable Key key) {
+        EXISTS.forget(flight -> flight.get(0).equals(table) && (key == null || flight.get(1).equals(key)));
+        MysqlDataCache.forget(table, key);
+        table.getResultCache().invalidate(key);
+        table.getLocalCache().invalidate(key);
+        table.getOffHeapStore().invalidate(key);
+
+        // The results cached before the commit have the old values
+        @Nullable Transaction transaction = Transaction.getCurrent();
+        if (transaction != null) transaction.onCommit(() -> {
+            table.getResultCache().invalidate(key);
+            table.getLocalCache().invalidate(key);
+            table.getOffHeapStore().invalidate(key);
+        });
+    }
+
+    // The columns written by the saves, the counters are committed by their flushes
+    private @NotNull Set<String> getValueColumns() {
+        @NotNull Set<String> columns = new HashSet<>();
+
+        for (@NotNull MysqlVariable<?> variable : getTable().getVariables()) {
+            if (!(variable instanceof MysqlCounterVariable)) columns.add(variable.getId().toLowerCase());
+        }
+
+        return columns;
+    }
+    // Commits the journaled changes saved at the database, only after the transaction commits if there's one
+    private void commit(long sequence, @Nullable Set<String> columns) {
+        @Nullable Transaction transaction = Transaction.getCurrent();
+
+        if (transaction != null) {
+            transaction.onCommit(() -> getTable().getJournal().commit(getKey(), sequence, columns));
+        } else {
+            getTable().getJournal().commit(getKey(), sequence, columns);
+        }
+    }
+
+    // The value rolled back is read again at the same step the delta is pending again, for the counter readers
+    private void restore(@NotNull Connection connection, @NotNull Expression<?> expression, @NotNull LongAdder pending, long delta) {
+        try {
+            if (isLoaded()) {
+                refresh(connection, getTable(), Collections.singleton(this), new Expression<?>[] { expression }, false, () -> pending.add(delta));
+                return;
+            }
+        } catch (@NotNull Throwable ignore) {
+        }
+
+        pending.add(delta);
+    }
+    // The increment of the counter by the delta, at the counter number type
+    private static <T extends Number> @NotNull Expression<T> getIncrement(@NotNull MysqlCounterVariable<T> variable, long delta) {
+        return Expression.increment(variable, Objects.requireNonNull(variable.getType().get(delta)));
+    }
+
+    // Reloads a row of a resident table in background when it's read after the soft ttl, the readers doesn't wait for it
+    static void refreshAhead(@Nullable MysqlData data) {
+        if (data == null || !data.isLoaded() || !data.getTable().isResident() || Transaction.getCurrent() != null) {
+            return;
+        }
+
+        long soft = data.getTable().getResultCache().getSoftTtl();
+        if (soft == 0 || System.currentTimeMillis() - data.refreshed < soft || !data.refreshing.compareAndSet(false, true)) {
+            return;
+        }
+
+        try {
+            data.reload().whenComplete((exists, throwable) -> {
+                data.refreshing.set(false);
+
+                // The row was deleted
+                if (exists != null && !exists && data.isLoaded()) {
+                    data.evict();
+                }
+            });
+        } catch (@NotNull Throwable throwable) {
+            data.refreshing.set(false);
+        }
+    }
+
+    // The datas of a resident table, the ones stopped manually are loaded again to keep the table at the memory
+    static @NotNull Collection<MysqlData> resident(@NotNull MysqlTable table) {
+        @NotNull Collection<MysqlData> datas = table.getDataContent().toCollection();
+
+        if (table.isResident()) for (@NotNull MysqlData data : datas) {
+            if (!data.isLoaded() && !data.isNew) {
+                try {
+                    data.start().join();
+                } catch (@NotNull IllegalStateException ignore) {
+                    // Started concurrently
+                }
+            }
+        }
+
+        return datas;
+    }
+
+    public static <T> @NotNull CompletableFuture<Void> set(@NotNull MysqlVariable<T> variable, @UnknownNullability T value, final long row) {
+        return set(variable, value, Key.of(row));
+    }
+    public static <T> @NotNull CompletableFuture<Void> set(@NotNull MysqlVariable<T> variable, @UnknownNullability T value, final @NotNull Key key) {
         @NotNull MysqlTable table = variable.getTable();
         @Nullable Connection connection = table.getDatabase().getAuthentication().getConnection();
 
@@ -343,8 +718,13 @@ public final class MysqlData extends Data {
             throw new IllegalStateException("The table's authentication aren't connected");
         } else if (!table.isLoaded() || !table.getDatabase().isLoaded()) {
             throw new IllegalStateException("This table or database aren't loaded");
+        } else if (table.getPrimaryKey().contains(variable)) {
+            throw new IllegalStateException("The primary key variable '" + variable.getId() + "' cannot be changed");
         }
 
+        @NotNull PrimaryKey primaryKey = table.getPrimaryKey();
+        @NotNull Key finalKey = primaryKey.normalize(key);
+
         final @NotNull CompletableFuture<Void> future = new CompletableFuture<>();
 
         CompletableFuture.runAsync(() -> {
@@ -353,20 +733,29 @@ public final class MysqlData extends Data {
                     throw new IllegalStateException("This variable doesn't exists");
                 }
 
-                for (MysqlData data : variable.getTable().getDataContent().stream().filter(data -> data.isLoaded() && data.getRow() == row).collect(Collectors.toList())) {
+                @Nullable MysqlData data = table.getDataContent().get(finalKey);
+                if (data != null && data.isLoaded()) {
                     data.set(variable, value);
                 }
 
-                try (PreparedStatement statement = connection.prepareStatement("UPDATE `" + variable.getDatabase().getId() + "`.`" + variable.getTable().getId() + "` SET `" + variable.getId() + "` = ? WHERE `row` = " + row)) {
+                try (PreparedStatement statement = connection.prepareStatement("UPDATE `" + variable.getDatabase().getId() + "`.`" + variable.getTable().getId() + "` SET `" + variable.getId() + "` = ?" + getFillAssignments(table, Collections.singleton(variable)) + getVersionAssignment(table) + " WHERE " + primaryKey.getWhere())) {
                     variable.getType().set(Parameter.of(statement, variable.getType().isNullSupported(), 0), value);
+                    primaryKey.set(statement, 1, finalKey);
                     statement.execute();
                 }
 
+                if (table.isVersioned() && data != null && data.isLoaded()) {
+                    refresh(connection, table, Collections.singleton(data), new Expression<?>[] { Expression.value(variable, value) }, true, null);
+                }
+
+                forget(table, finalKey);
+                InvalidationBus.patch(table, finalKey, Collections.singletonMap(variable, value), null);
+
                 future.complete(null);
             } catch (@NotNull Throwable throwable) {
                 future.completeExceptionally(throwable);
             }
-        }, Main.getExecutor(MysqlData.class));
+        }, Transaction.getExecutor(MysqlData.class));
 
         return future;
     }
@@ -386,17 +775,20 @@ public final class MysqlData extends Data {
             throw new IllegalStateException("There's conditions with variables that aren't from the table '" + table.getId() + "'");
         } else if (Arrays.stream(finalConditions).anyMatch(c -> !c.getVariable().isLoaded())) {
             throw new IllegalStateException("There's conditions with variables that hasn't loaded");
+        } else if (table.getPrimaryKey().contains(variable)) {
+            throw new IllegalStateException("The primary key variable '" + variable.getId() + "' cannot be changed");
         }
 
         final @NotNull CompletableFuture<Void> future = new CompletableFuture<>();
 
         CompletableFuture.runAsync(() -> {
             try {
-                for (MysqlData data : variable.getTable().getDataContent().stream().filter(data -> data.isLoaded() && data.matches(conditions)).collect(Collectors.toList())) {
+                @NotNull List<MysqlData> loaded = variable.getTable().getDataContent().stream().filter(data -> data.isLoaded() && data.matches(conditions)).collect(Collectors.toList());
+                for (MysqlData data : loaded) {
                     data.set(variable, value);
                 }
 
-                try (PreparedStatement statement = connection.prepareStatement("UPDATE `" + variable.getDatabase().getId() + "`.`" + variable.getTable().getId() + "` SET `" + variable.getId() + "` = ? " + SqlUtils.buildWhereCondition(new LinkedHashSet<>(), finalConditions))) {
+                try (PreparedStatement statement = connection.prepareStatement("UPDATE `" + variable.getDatabase().getId() + "`.`" + variable.getTable().getId() + "` SET `" + variable.getId() + "` = ?" + getFillAssignments(table, Collections.singleton(variable)) + getVersionAssignment(table) + " " + SqlUtils.buildWhereCondition(table.getPrimaryKey(), 0, finalConditions))) {
                     variable.getType().set(Parameter.of(statement, variable.getType().isNullSupported(), 0), value);
 
                     int index = 1;
@@ -411,81 +803,483 @@ public final class MysqlData extends Data {
                     statement.execute();
                 }
 
+                if (table.isVersioned() && !loaded.isEmpty()) {
+                    refresh(connection, table, loaded, new Expression<?>[] { Expression.value(variable, value) }, true, null);
+                }
+
+                forget(table, null);
+                InvalidationBus.invalidate(table, null);
+
                 future.complete(null);
             } catch (@NotNull Throwable throwable) {
                 future.completeExceptionally(throwable);
             }
-        }, Main.getExecutor(MysqlData.class));
+        }, Transaction.getExecutor(MysqlData.class));
 
         return future;
     }
 
-    // Object
-
-    private final @NotNull Map<@NotNull MysqlVariable<?>, @Nullable Object> data = new HashMap<>();
-
-    private final @NotNull Map<@NotNull String, @Nullable Object> cache = new HashMap<>();
-    private final @NotNull Set<@NotNull String> changed = new HashSet<>();
-
-    private final @NotNull MysqlTable table;
-    private final int row;
+    // Expressions
 
-    private MysqlData(@NotNull MysqlTable table, int row) {
-        this.table = table;
-        this.row = row;
+    public static @NotNull CompletableFuture<Boolean> update(@NotNull MysqlTable table, final long row, @NotNull Expression<?> @NotNull ... expressions) {
+        return update(table, Key.of(row), expressions);
     }
 
-    @ApiStatus.Internal
-    public @NotNull Map<MysqlVariable<?>, Object> getData() {
-        return data;
-    }
-    @ApiStatus.Internal
-    public @NotNull Map<String, Object> getCache() {
-        return cache;
+    /**
+     * Applies expressions (like increments) atomically at the row of a key, with a single {@code UPDATE} and without
+     * reading the row first. If the data is loaded, the new values are read back to its memory.
+     *
+     * @param table the table
+     * @param key the primary key value
+     * @param expressions the expressions
+     * @return A CompletableFuture with true if the row exists, false otherwise
+     * @since 2.2
+     */
+    public static @NotNull CompletableFuture<Boolean> update(@NotNull MysqlTable table, @NotNull Key key, @NotNull Expression<?> @NotNull ... expressions) {
+        return update(table, key, null, expressions);
     }
+    // The flushed action runs together with the values read back, so the readers never see a flushed delta twice
+    private static @NotNull CompletableFuture<Boolean> update(@NotNull MysqlTable table, @NotNull Key key, @Nullable Runnable flushed, @NotNull Expression<?> @NotNull ... expressions) {
+        @Nullable Connection connection = table.getDatabase().getAuthentication().getConnection();
+        checkExpressions(connection, table, expressions);
 
-    public int getRow() {
-        return row;
-    }
+        @NotNull PrimaryKey primaryKey = table.getPrimaryKey();
+        @NotNull Key finalKey = primaryKey.normalize(key);
 
-    @Contract(pure = true)
-    public @NotNull MysqlDatabase getDatabase() {
-        return getTable().getDatabase();
-    }
+        final @NotNull CompletableFuture<Boolean> future = new CompletableFuture<>();
 
-    @Contract(pure = true)
-    public @NotNull MysqlTable getTable() {
-        return table;
-    }
+        CompletableFuture.runAsync(() -> {
+            try {
+                int amount;
 
-    @Override
-    public @UnknownNullability Object get(@NotNull String id) {
-        if (!isLoaded()) {
-            throw new IllegalStateException("You cannot retrieve values of a unloaded data");
-        }
+                try (@NotNull PreparedStatement statement = connection.prepareStatement("UPDATE `" + table.getDatabase().getId() + "`.`" + table.getId() + "` SET " + getAssignments(table, expressions) + " WHERE " + primaryKey.getWhere())) {
+                    int index = 0;
+                    for (@NotNull Expression<?> expression : expressions) {
+                        index = expression.set(statement, index);
+                    }
+                    primaryKey.set(statement, index, finalKey);
 
-        @NotNull Optional<MysqlVariable<?>> optional = getTable().getVariables().getById(id);
+                    amount = statement.executeUpdate();
+                }
 
-        if (!optional.isPresent() || !getData().containsKey(optional.get())) {
-            throw new IllegalStateException("There's no variable with id '" + id + "' at data '" + getRow() + "' from table '" + getTable().getId() + "'");
-        }
+                @Nullable MysqlData data = table.getDataContent().get(finalKey);
+                if (amount > 0 && data != null && data.isLoaded()) {
+                    refresh(connection, table, Collections.singleton(data), expressions, true, flushed);
+                }
+                if (amount > 0) {
+                    forget(table, finalKey);
+                    InvalidationBus.invalidate(table, finalKey);
+                }
 
-        @NotNull MysqlVariable<?> variable = optional.get();
-        return getData().get(variable);
-    }
-    public <T> @UnknownNullability T get(@NotNull MysqlVariable<T> variable) {
-        if (!isLoaded()) {
-            throw new IllegalStateException("This data aren't loaded");
-        } else if (!getData().containsKey(variable)) {
-            throw new IllegalStateException("There's no variable with id '" + variable.getId() + "' at data '" + getRow() + "' from table '" + getTable().getId() + "'");
-        }
+                future.complete(amount > 0);
+            } catch (@NotNull Throwable throwable) {
+                future.completeExceptionally(throwable);
+            }
+        }, Transaction.getExecutor(MysqlData.class));
 
-        //noinspection unchecked
-        return (T) get(variable.getId());
+        return future;
     }
 
-    @Override
-    public void set(@NotNull String id, @UnknownNullability Object object) {
+    /**
+     * Applies expressions (like increments) atomically at the rows that matches the conditions, with a single
+     * {@code UPDATE} and without reading the rows first. The loaded datas that matches the conditions have the new
+     * values read back to their memory.
+     *
+     * @param table the table
+     * @param expressions the expressions
+     * @param conditions the conditions
+     * @return A CompletableFuture with the amount of rows that matches the conditions
+     * @since 2.2
+     */
+    public static @NotNull CompletableFuture<Integer> update(@NotNull MysqlTable table, @NotNull Expression<?> @NotNull [] expressions, final @NotNull Condition<?> @NotNull ... conditions) {
+        @Nullable Connection connection = table.getDatabase().getAuthentication().getConnection();
+        final @NotNull Condition<?>[] finalConditions = Stream.of(conditions).distinct().toArray(Condition[]::new);
+
+        checkExpressions(connection, table, expressions);
+        checkConditions(table, finalConditions);
+
+        final @NotNull CompletableFuture<Integer> future = new CompletableFuture<>();
+
+        CompletableFuture.runAsync(() -> {
+            try {
+                @NotNull List<MysqlData> loaded = table.getDataContent().stream().filter(data -> data.isLoaded() && data.matches(finalConditions)).collect(Collectors.toList());
+                int amount;
+
+                try (@NotNull PreparedStatement statement = connection.prepareStatement("UPDATE `" + table.getDatabase().getId() + "`.`" + table.getId() + "` SET " + getAssignments(table, expressions) + " " + SqlUtils.buildWhereCondition(table.getPrimaryKey(), 0, finalConditions))) {
+                    int index = 0;
+                    for (@NotNull Expression<?> expression : expressions) {
+                        index = expression.set(statement, index);
+                    }
+                    setConditions(statement, index, finalConditions);
+
+                    amount = statement.executeUpdate();
+                }
+
+                if (amount > 0 && !loaded.isEmpty()) {
+                    refresh(connection, table, loaded, expressions, true, null);
+                }
+                if (amount > 0) {
+                    forget(table, null);
+                    InvalidationBus.invalidate(table, null);
+                }
+
+                future.complete(amount);
+            } catch (@NotNull Throwable throwable) {
+                future.completeExceptionally(throwable);
+            }
+        }, Transaction.getExecutor(MysqlData.class));
+
+        return future;
+    }
+
+    public static <T> @NotNull CompletableFuture<Boolean> compareAndSet(@NotNull MysqlVariable<T> variable, @UnknownNullability T expected, @UnknownNullability T value, final long row) {
+        return compareAndSet(variable, expected, value, Key.of(row));
+    }
+
+    /**
+     * Changes the value of a variable at the row of a key only if the current value at the database is the
+     * expected one, atomically. If the data is loaded, the current value is read back to its memory.
+     *
+     * @param variable the variable
+     * @param expected the expected current value
+     * @param value the new value
+     * @param key the primary key value
+     * @return A CompletableFuture with true if the value was changed, false otherwise
+     * @since 2.2
+     */
+    public static <T> @NotNull CompletableFuture<Boolean> compareAndSet(@NotNull MysqlVariable<T> variable, @UnknownNullability T expected, @UnknownNullability T value, final @NotNull Key key) {
+        @NotNull MysqlTable table = variable.getTable();
+        @Nullable Connection connection = table.getDatabase().getAuthentication().getConnection();
+        @NotNull Expression<?>[] expressions = new Expression<?>[] { Expression.value(variable, value) };
+
+        checkExpressions(connection, table, expressions);
+
+        @NotNull PrimaryKey primaryKey = table.getPrimaryKey();
+        @NotNull Key finalKey = primaryKey.normalize(key);
+
+        final @NotNull CompletableFuture<Boolean> future = new CompletableFuture<>();
+
+        CompletableFuture.runAsync(() -> {
+            try {
+                int amount;
+
+                try (@NotNull PreparedStatement statement = connection.prepareStatement("UPDATE `" + table.getDatabase().getId() + "`.`" + table.getId() + "` SET " + getAssignments(table, expressions) + " WHERE " + primaryKey.getWhere() + " AND `" + variable.getId() + "` <=> ?")) {
+                    int index = expressions[0].set(statement, 0);
+                    index = primaryKey.set(statement, index, finalKey);
+                    variable.getType().set(Parameter.of(statement, variable.getType().isNullSupported(), index), expected);
+
+                    amount = statement.executeUpdate();
+                }
+
+                // The current value is read even if it fails, the loaded value can be outdated
+                @Nullable MysqlData data = table.getDataContent().get(finalKey);
+                if (data != null && data.isLoaded()) {
+                    refresh(connection, table, Collections.singleton(data), expressions, amount > 0, null);
+                }
+                if (amount > 0) {
+                    forget(table, finalKey);
+                    InvalidationBus.patch(table, finalKey, Collections.singletonMap(variable, value), null);
+                }
+
+                future.complete(amount > 0);
+            } catch (@NotNull Throwable throwable) {
+                future.completeExceptionally(throwable);
+            }
+        }, Transaction.getExecutor(MysqlData.class));
+
+        return future;
+    }
+
+    /**
+     * Changes the value of a variable at the rows that matches the conditions and have the expected value at the
+     * database, atomically. The loaded datas that matches the conditions have the current value read back to their memory.
+     *
+     * @param variable the variable
+     * @param expected the expected current value
+     * @param value the new value
+     * @param conditions the conditions
+     * @return A CompletableFuture with the amount of rows changed
+     * @since 2.2
+     */
+    public static <T> @NotNull CompletableFuture<Integer> compareAndSet(@NotNull MysqlVariable<T> variable, @UnknownNullability T expected, @UnknownNullability T value, final @NotNull Condition<?> @NotNull ... conditions) {
+        @NotNull MysqlTable table = variable.getTable();
+        @Nullable Connection connection = table.getDatabase().getAuthentication().getConnection();
+        @NotNull Expression<?>[] expressions = new Expression<?>[] { Expression.value(variable, value) };
+        final @NotNull Condition<?>[] finalConditions = Stream.of(conditions).distinct().toArray(Condition[]::new);
+
+        checkExpressions(connection, table, expressions);
+        checkConditions(table, finalConditions);
+
+        final @NotNull CompletableFuture<Integer> future = new CompletableFuture<>();
+
+        CompletableFuture.runAsync(() -> {
+            try {
+                @NotNull List<MysqlData> loaded = table.getDataContent().stream().filter(data -> data.isLoaded() && data.matches(finalConditions)).collect(Collectors.toList());
+                int amount;
+
+                try (@NotNull PreparedStatement statement = connection.prepareStatement("UPDATE `" + table.getDatabase().getId() + "`.`" + table.getId() + "` SET " + getAssignments(table, expressions) + " " + SqlUtils.buildWhereCondition(table.getPrimaryKey(), 0, finalConditions) + " AND `" + variable.getId() + "` <=> ?")) {
+                    int index = expressions[0].set(statement, 0);
+                    index = setConditions(statement, index, finalConditions);
+                    variable.getType().set(Parameter.of(statement, variable.getType().isNullSupported(), index), expected);
+
+                    amount = statement.executeUpdate();
+                }
+
+                if (!loaded.isEmpty()) {
+                    refresh(connection, table, loaded, expressions, false, null);
+                }
+                if (amount > 0) {
+                    forget(table, null);
+                    InvalidationBus.invalidate(table, null);
+                }
+
+                future.complete(amount);
+            } catch (@NotNull Throwable throwable) {
+                future.completeExceptionally(throwable);
+            }
+        }, Transaction.getExecutor(MysqlData.class));
+
+        return future;
+    }
+
+    @Contract("null, _, _ -> fail")
+    private static void checkExpressions(@Nullable Connection connection, @NotNull MysqlTable table, @NotNull Expression<?> @NotNull [] expressions) {
+        if (connection == null) {
+            throw new IllegalStateException("The table's authentication aren't connected");
+        } else if (!table.isLoaded() || !table.getDatabase().isLoaded()) {
+            throw new IllegalStateException("This table or database aren't loaded");
+        } else if (expressions.length == 0) {
+            throw new IllegalStateException("The expressions array cannot be empty");
+        } else if (Arrays.stream(expressions).anyMatch(e -> !e.getVariable().getTable().equals(table))) {
+            throw new IllegalStateException("There's expressions with variables that aren't from the table '" + table.getId() + "'");
+        } else if (Arrays.stream(expressions).anyMatch(e -> !e.getVariable().isLoaded())) {
+            throw new IllegalStateException("There's expressions with variables that hasn't loaded");
+        } else if (Arrays.stream(expressions).map(e -> e.getVariable().getId().toLowerCase()).distinct().count() != expressions.length) {
+            throw new IllegalStateException("There's more than one expression for the same variable");
+        } else for (@NotNull Expression<?> expression : expressions) {
+            if (table.getPrimaryKey().contains(expression.getVariable())) {
+                throw new IllegalStateException("The primary key variable '" + expression.getVariable().getId() + "' cannot be changed");
+            }
+        }
+    }
+    private static void checkConditions(@NotNull MysqlTable table, @NotNull Condition<?> @NotNull [] conditions) {
+        if (conditions.length == 0) {
+            throw new IllegalStateException("The conditions array cannot be empty");
+        } else if (Arrays.stream(conditions).anyMatch(c -> !c.getVariable().getTable().equals(table))) {
+            throw new IllegalStateException("There's conditions with variables that aren't from the table '" + table.getId() + "'");
+        } else if (Arrays.stream(conditions).anyMatch(c -> !c.getVariable().isLoaded())) {
+            throw new IllegalStateException("There's conditions with variables that hasn't loaded");
+        }
+    }
+
+    private static @NotNull String getAssignments(@NotNull MysqlTable table, @NotNull Expression<?> @NotNull [] expressions) {
+        @NotNull List<MysqlVariable<?>> variables = Arrays.stream(expressions).map(Expression::getVariable).collect(Collectors.toList());
+        return Arrays.stream(expressions).map(Expression::getAssignment).collect(Collectors.joining(", ")) + getFillAssignments(table, variables) + getVersionAssignment(table);
+    }
+    // The writes clear the backfill marks of the variables, so the backfill keeps the written values
+    private static @NotNull String getFillAssignments(@NotNull MysqlTable table, @NotNull Collection<? extends MysqlVariable<?>> variables) {
+        return table.getSchema().getFillColumns(variables).stream().map(column -> ", `" + column + "` = FALSE").collect(Collectors.joining());
+    }
+    // Every write increases the version of the versioned rows, so the other nodes can detect it
+    private static @NotNull String getVersionAssignment(@NotNull MysqlTable table) {
+        return table.isVersioned() ? ", `row_version` = `row_version` + 1" : "";
+    }
+    private static int setConditions(@NotNull PreparedStatement statement, int index, @NotNull Condition<?> @NotNull [] conditions) throws SQLException {
+        for (@NotNull Condition<?> condition : conditions) {
+            SqlUtils.setParameter(statement, index, condition.getVariable(), condition.getValue());
+            index++;
+        }
+
+        return index;
+    }
+
+    /**
+     * Reads the current values of the expressions variables to the loaded datas, the values aren't marked as changed
+     * since they're the same at the database. If the rows were written, the new row version is accepted only if
+     * nobody else changed the row before, otherwise the next save of the data detects the conflict. The flushed
+     * action, if any, runs at the same step the values are replaced for the counter readers.
+     */
+    @Blocking
+    private static void refresh(@NotNull Connection connection, @NotNull MysqlTable table, @NotNull Collection<MysqlData> datas, @NotNull Expression<?> @NotNull [] expressions, boolean written, @Nullable Runnable flushed) throws SQLException {
+        @NotNull PrimaryKey primaryKey = table.getPrimaryKey();
+        @NotNull String columns = Arrays.stream(expressions).map(e -> "`" + e.getVariable().getId() + "`").collect(Collectors.joining(", ")) + (table.isVersioned() ? ", `row_version`" : "");
+
+        try (@NotNull PreparedStatement statement = connection.prepareStatement("SELECT " + primaryKey.getSelect() + ", " + columns + " FROM `" + table.getDatabase().getId() + "`.`" + table.getId() + "` WHERE " + primaryKey.getIn(datas.size()))) {
+            int index = 0;
+            for (@NotNull MysqlData data : datas) {
+                index = primaryKey.set(statement, index, data.getKey());
+            }
+
+            @NotNull ResultSet set = statement.executeQuery();
+            while (set.next()) {
+                @Nullable MysqlData data = table.getDataContent().get(primaryKey.read(set));
+                if (data == null || !data.isLoaded()) {
+                    continue;
+                }
+
+                synchronized (data) {
+                    @NotNull Map<MysqlVariable<?>, Object> values = new HashMap<>();
+
+                    for (@NotNull Expression<?> expression : expressions) {
+                        @NotNull MysqlVariable<?> variable = expression.getVariable();
+
+                        values.put(variable, variable.getType().get(set.getObject(variable.getId())));
+                        data.setChanges(variable, false);
+                    }
+
+                    // An odd stamp makes the counter readers to wait the saved values and the pending deltas
+                    data.stamp++;
+                    try {
+                        data.getData().putAll(values);
+                        if (flushed != null) flushed.run();
+                    } finally {
+                        data.stamp++;
+                    }
+
+                    if (table.isVersioned() && written && set.getLong("row_version") == data.version + 1) {
+                        data.version++;
+                    }
+                }
+
+                table.getDataContent().index(data);
+            }
+        }
+    }
+
+    // Object
+
+    // The values are read without locks from immutable snapshots, the changes are made with the monitor of this data
+    private final @NotNull CopyOnWriteMap<@NotNull MysqlVariable<?>, @Nullable Object> data = new CopyOnWriteMap<>(this);
+
+    private final @NotNull CopyOnWriteMap<@NotNull String, @Nullable Object> cache = new CopyOnWriteMap<>(this);
+    private final @NotNull Set<@NotNull String> changed = ConcurrentHashMap.newKeySet();
+
+    // The pending deltas of the counter variables, not written yet
+    private final @NotNull Map<@NotNull MysqlCounterVariable<?>, @NotNull LongAdder> counters = new ConcurrentHashMap<>();
+    // Changed (with the monitor of this data) before and after the saved values and the pending deltas are changed together
+    private volatile long stamp = 0;
+
+    // The row version read or written by this data, only used by versioned tables
+    private volatile long version = 0;
+
+    // The last time that the row was read, used by the refresh-ahead of the resident tables
+    private volatile long refreshed = 0;
+    private final @NotNull AtomicBoolean refreshing = new AtomicBoolean(false);
+
+    private final @NotNull MysqlTable table;
+    private final @NotNull Key key;
+
+    private MysqlData(@NotNull MysqlTable table, @NotNull Key key) {
+        this.table = table;
+        this.key = key;
+    }
+
+    @ApiStatus.Internal
+    public @NotNull Map<MysqlVariable<?>, Object> getData() {
+        return data;
+    }
+    @ApiStatus.Internal
+    public @NotNull Map<String, Object> getCache() {
+        return cache;
+    }
+
+    /**
+     * @return the primary key value of this data
+     * @since 2.2
+     */
+    @Contract(pure = true)
+    public @NotNull Key getKey() {
+        return key;
+    }
+
+    /**
+     * @return the row of this data
+     * @throws IllegalStateException if the table has a custom primary key
+     */
+    public long getRow() {
+        if (!getTable().getPrimaryKey().isRow()) {
+            throw new IllegalStateException("The table '" + getTable().getId() + "' has a custom primary key, use #getKey instead");
+        }
+
+        return (long) getKey().get(0);
+    }
+
+    /**
+     * @return the version of the row when this data was read or last saved, always 0 if the table isn't versioned
+     * @see MysqlTable#isVersioned()
+     * @since 2.2
+     */
+    @Contract(pure = true)
+    public long getVersion() {
+        return version;
+    }
+    void setVersion(long version) {
+        this.version = version;
+    }
+
+    @Contract(pure = true)
+    public @NotNull MysqlDatabase getDatabase() {
+        return getTable().getDatabase();
+    }
+
+    @Contract(pure = true)
+    public @NotNull MysqlTable getTable() {
+        return table;
+    }
+
+    @Override
+    public @UnknownNullability Object get(@NotNull String id) {
+        if (!isLoaded()) {
+            throw new IllegalStateException("You cannot retrieve values of a unloaded data");
+        }
+
+        @NotNull Optional<MysqlVariable<?>> optional = getTable().getVariables().getById(id);
+        @NotNull Map<MysqlVariable<?>, Object> values = data.snapshot();
+
+        if (!optional.isPresent() || !values.containsKey(optional.get())) {
+            throw new IllegalStateException("There's no variable with id '" + id + "' at data '" + getKey() + "' from table '" + getTable().getId() + "'");
+        }
+
+        return get(optional.get(), values);
+    }
+    public <T> @UnknownNullability T get(@NotNull MysqlVariable<T> variable) {
+        if (!isLoaded()) {
+            throw new IllegalStateException("This data aren't loaded");
+        }
+
+        @NotNull Map<MysqlVariable<?>, Object> values = data.snapshot();
+        if (!values.containsKey(variable)) {
+            throw new IllegalStateException("There's no variable with id '" + variable.getId() + "' at data '" + getKey() + "' from table '" + getTable().getId() + "'");
+        }
+
+        @SuppressWarnings("unchecked")
+        @UnknownNullability T value = (T) get(variable, values);
+        return value;
+    }
+    // The counters have the pending delta added to the saved value, read again if a flush changed both meanwhile
+    private @Nullable Object get(@NotNull MysqlVariable<?> variable, @NotNull Map<MysqlVariable<?>, Object> values) {
+        @Nullable LongAdder pending = variable instanceof MysqlCounterVariable ? counters.get(variable) : null;
+        if (pending == null) {
+            return values.get(variable);
+        }
+
+        while (true) {
+            long stamp = this.stamp;
+            @Nullable Object value = data.snapshot().get(variable);
+
+            if (value != null) {
+                value = variable.getType().get(((Number) value).longValue() + pending.sum());
+            }
+            if ((stamp & 1) == 0 && stamp == this.stamp) {
+                return value;
+            }
+
+            Thread.yield();
+        }
+    }
+
+    @Override
+    public void set(@NotNull String id, @UnknownNullability Object object) {
         if (!isLoaded()) {
             throw new IllegalStateException("You cannot change values of a unloaded data");
         }
@@ -493,28 +1287,182 @@ public final class MysqlData extends Data {
         @Nullable MysqlVariable<?> variable = getTable().getVariables().getById(id).orElse(null);
 
         if (variable == null || !getData().containsKey(variable)) {
-            throw new IllegalStateException("There's no variable with id '" + id + "' at data '" + getRow() + "' from table '" + getTable().getId() + "'");
+            throw new IllegalStateException("There's no variable with id '" + id + "' at data '" + getKey() + "' from table '" + getTable().getId() + "'");
         } else if (object == null && !variable.isNullable()) {
             throw new IllegalStateException("The variable value of '" + variable.getId() + "' is null, but variable doesn't supports null values");
+        } else if (getTable().getPrimaryKey().contains(variable)) {
+            throw new IllegalStateException("The primary key variable '" + variable.getId() + "' cannot be changed");
         }
 
+        @Nullable Object value = variable.getType().get(object);
+        getTable().getJournal().check(getKey(), variable, value);
+
         synchronized (this) {
-            getData().put(variable, variable.getType().get(object));
+            getData().put(variable, value);
             setChanges(variable, true);
+            getTable().getJournal().set(getKey(), variable, value);
+
+            // The value is absolute, the pending increments are discarded
+            //noinspection SuspiciousMethodCalls
+            counters.remove(variable);
         }
+
+        getTable().getDataContent().index(this);
     }
     public <T> void set(@NotNull MysqlVariable<T> variable, @UnknownNullability T object) {
         if (!isLoaded()) {
             throw new IllegalStateException("This data aren't loaded");
         } else if (!getData().containsKey(variable)) {
-            throw new IllegalStateException("There's no variable with id '" + variable.getId() + "' at data '" + getRow() + "' from table '" + getTable().getId() + "'");
+            throw new IllegalStateException("There's no variable with id '" + variable.getId() + "' at data '" + getKey() + "' from table '" + getTable().getId() + "'");
         }
 
         set(variable.getId(), object);
     }
 
+    /**
+     * Changes many variables at once, the concurrent readers see all the new values or none of them.
+     *
+     * @param values the new values by the variable ids
+     * @throws IllegalStateException if a variable doesn't exist, is part of the primary key or doesn't supports a null value
+     * @since 2.2
+     */
+    public void set(@NotNull Map<@NotNull String, @UnknownNullability Object> values) {
+        if (!isLoaded()) {
+            throw new IllegalStateException("You cannot change values of a unloaded data");
+        }
+
+        @NotNull Map<MysqlVariable<?>, Object> converted = new LinkedHashMap<>();
+        for (@NotNull Map.Entry<String, Object> entry : values.entrySet()) {
+            @Nullable MysqlVariable<?> variable = getTable().getVariables().getById(entry.getKey()).orElse(null);
+
+            if (variable == null || !getData().containsKey(variable)) {
+                throw new IllegalStateException("There's no variable with id '" + entry.getKey() + "' at data '" + getKey() + "' from table '" + getTable().getId() + "'");
+            } else if (entry.getValue() == null && !variable.isNullable()) {
+                throw new IllegalStateException("The variable value of '" + variable.getId() + "' is null, but variable doesn't supports null values");
+            } else if (getTable().getPrimaryKey().contains(variable)) {
+                throw new IllegalStateException("The primary key variable '" + variable.getId() + "' cannot be changed");
+            }
+
+            @Nullable Object value = variable.getType().get(entry.getValue());
+            getTable().getJournal().check(getKey(), variable, value);
+
+            converted.put(variable, value);
+        }
+
+        synchronized (this) {
+            data.putAll(converted);
+
+            for (@NotNull Map.Entry<MysqlVariable<?>, Object> entry : converted.entrySet()) {
+                setChanges(entry.getKey(), true);
+                getTable().getJournal().set(getKey(), entry.getKey(), entry.getValue());
+
+                //noinspection SuspiciousMethodCalls
+                counters.remove(entry.getKey());
+            }
+        }
+
+        getTable().getDataContent().index(this);
+    }
+
     public boolean hasChanges() {
-        return !changed.isEmpty();
+        return !changed.isEmpty() || counters.values().stream().anyMatch(pending -> pending.sum() != 0);
+    }
+
+    public boolean hasChanges(@NotNull MysqlVariable<?> variable) {
+        return changed.contains(variable.getId().toLowerCase());
+    }
+
+    public void increment(@NotNull MysqlCounterVariable<?> variable) {
+        increment(variable, 1);
+    }
+
+    /**
+     * Increments a counter variable in memory, without locks. The accumulated delta is written at the next
+     * {@link #save()} or {@link #flushCounters()}.
+     *
+     * @param variable the counter variable
+     * @param amount the amount, can be negative
+     * @since 2.2
+     */
+    public void increment(@NotNull MysqlCounterVariable<?> variable, long amount) {
+        if (!isLoaded()) {
+            throw new IllegalStateException("This data aren't loaded");
+        } else if (!getData().containsKey(variable)) {
+            throw new IllegalStateException("There's no variable with id '" + variable.getId() + "' at data '" + getKey() + "' from table '" + getTable().getId() + "'");
+        }
+
+        // The increment is journaled with the journal lock, the flushes read their deltas and sequences with it
+        @NotNull Journal journal = getTable().getJournal();
+        synchronized (journal) {
+            journal.increment(getKey(), variable, amount);
+            counters.computeIfAbsent(variable, k -> new LongAdder()).add(amount);
+        }
+    }
+
+    /**
+     * Writes the pending deltas of the counter variables, each one as {@code `column` = `column` + delta}.
+     * The deltas of a data that doesn't exist at the database yet are kept until it's created.
+     *
+     * @return A CompletableFuture representing the asynchronous flush operation
+     * @since 2.2
+     */
+    public @NotNull CompletableFuture<Void> flushCounters() {
+        if (getDatabase().getAuthentication().getConnection() == null) {
+            throw new IllegalStateException("The database's authentication aren't connected");
+        }
+
+        @NotNull CompletableFuture<Void> future = new CompletableFuture<>();
+
+        CompletableFuture.runAsync(() -> {
+            try {
+                @NotNull Journal journal = getTable().getJournal();
+
+                for (@NotNull Map.Entry<MysqlCounterVariable<?>, LongAdder> entry : counters.entrySet()) {
+                    @NotNull Set<String> column = Collections.singleton(entry.getKey().getId().toLowerCase());
+
+                    // The increments made while flushing stay at the adder to the next flush, and the journaled
+                    // increments of the delta are exactly the ones up to the sequence
+                    @NotNull LongAdder pending = entry.getValue();
+                    long sequence;
+                    long delta;
+
+                    synchronized (journal) {
+                        sequence = journal.getSequence();
+                        delta = pending.sum();
+                    }
+
+                    if (delta == 0) {
+                        commit(sequence, column);
+                        continue;
+                    }
+
+                    // The delta is only discarded after the update, together with the value read back if the data is loaded
+                    @NotNull AtomicBoolean discarded = new AtomicBoolean(false);
+                    @NotNull Runnable discard = () -> {
+                        if (discarded.compareAndSet(false, true)) pending.add(-delta);
+                    };
+
+                    @NotNull Expression<?> expression = getIncrement(entry.getKey(), delta);
+
+                    if (update(getTable(), getKey(), discard, expression).join()) {
+                        discard.run();
+                        commit(sequence, column);
+
+                        // The delta is pending again if the transaction rolls back
+                        @Nullable Transaction transaction = Transaction.getCurrent();
+                        if (transaction != null) {
+                            transaction.onRollback(() -> restore(transaction.getConnection(), expression, pending, delta));
+                        }
+                    }
+                }
+
+                future.complete(null);
+            } catch (@NotNull Throwable throwable) {
+                future.completeExceptionally(throwable);
+            }
+        }, Transaction.getExecutor(getClass()));
+
+        return future;
     }
     public void setChanges(@NotNull MysqlVariable<?> variable, boolean flag) {
         if (!getTable().getVariables().contains(variable)) {
@@ -542,59 +1490,224 @@ public final class MysqlData extends Data {
                     throw new IllegalStateException("The table of this data aren't loaded or created");
                 }
 
-                getData().clear();
-                getCache().clear();
+                synchronized (this) {
+                    getData().clear();
+                    getCache().clear();
+                    version = 0;
 
-                if (exists().join()) {
-                    try (@NotNull PreparedStatement statement = connection.prepareStatement("SELECT * FROM `" + getDatabase().getId() + "`.`" + getTable().getId() + "` WHERE `row` = " + getRow())) {
-                        ResultSet set = statement.executeQuery();
-                        set.next();
+                    // The rows at the local cache doesn't need the database
+                    @Nullable Map<String, Object> cached = getTable().getLocalCache().get(getKey());
 
-                        for (int row = 1; row <= set.getMetaData().getColumnCount(); row++) {
-                            @NotNull String columnName = set.getMetaData().getColumnName(row);
-                            @Nullable Object object = set.getObject(row);
+                    if (cached != null && (!getTable().isVersioned() || cached.containsKey("row_version"))) {
+                        read(cached);
+                        isNew = false;
+                    } else if (exists().join()) {
+                        try (@NotNull PreparedStatement statement = connection.prepareStatement("SELECT * FROM `" + getDatabase().getId() + "`.`" + getTable().getId() + "` WHERE " + getTable().getPrimaryKey().getWhere())) {
+                            getTable().getPrimaryKey().set(statement, 0, getKey());
+                            ResultSet set = statement.executeQuery();
+                            set.next();
 
-                            if (columnName.equalsIgnoreCase("row")) {
-                                continue;
-                            }
+                            read(set);
 
-                            @NotNull Optional<MysqlVariable<?>> variableOptional = getTable().getVariables().getById(columnName);
-                            if (variableOptional.isPresent()) {
-                                @NotNull MysqlVariable<?> variable = variableOptional.get();
-                                getData().put(variable, variable.getType().get(object));
-                            } else {
-                                getCache().put(columnName.toLowerCase(), object);
+                            if (set.next()) {
+                                throw new IllegalStateException("Multiples datas with the same key '" + getKey() + "' on table '" + getTable() + "'");
                             }
                         }
 
-                        if (set.next()) {
-                            throw new IllegalStateException("Multiples datas with the same id '" + getRow() + "' on table '" + getTable() + "'");
-                        }
+                        isNew = false;
+                    } else {
+                        isNew = true;
                     }
 
-                    isNew = false;
-                } else {
-                    isNew = true;
+                    fill();
+                    loaded = true;
+                }
+
+                getTable().getDataContent().index(this);
+
+                future.complete(null);
+            } catch (Throwable throwable) {
+                future.completeExceptionally(throwable);
+            }
+        }, Transaction.getExecutor(getClass()));
+
+        return future;
+    }
+
+    // Reads the current row of a result set to the memory
+    private void read(@NotNull ResultSet set) throws SQLException {
+        @NotNull Map<String, Object> columns = new HashMap<>();
+
+        for (int column = 1; column <= set.getMetaData().getColumnCount(); column++) {
+            columns.put(set.getMetaData().getColumnName(column), set.getObject(column));
+        }
+
+        read(columns);
+    }
+    // Reads the columns of a row cached locally to the memory, all at once
+    private void read(@NotNull Map<String, Object> columns) {
+        refreshed = System.currentTimeMillis();
+
+        @NotNull Map<MysqlVariable<?>, Object> values = new HashMap<>();
+        @NotNull Map<String, Object> cache = new HashMap<>();
+
+        for (@NotNull Map.Entry<String, Object> entry : columns.entrySet()) {
+            @NotNull String columnName = entry.getKey();
+
+            if (columnName.equalsIgnoreCase("row") || columnName.equalsIgnoreCase("row_updated") || columnName.toLowerCase().startsWith("row_fill_")) {
+                continue;
+            } else if (getTable().isVersioned() && columnName.equalsIgnoreCase("row_version")) {
+                version = ((Number) Objects.requireNonNull(entry.getValue())).longValue();
+                continue;
+            }
+
+            @NotNull Optional<MysqlVariable<?>> variableOptional = getTable().getVariables().getById(columnName);
+            if (variableOptional.isPresent()) {
+                @NotNull MysqlVariable<?> variable = variableOptional.get();
+                values.put(variable, variable.getType().get(entry.getValue()));
+            } else {
+                cache.put(columnName.toLowerCase(), entry.getValue());
+            }
+        }
+
+        getData().putAll(values);
+        getCache().putAll(cache);
+    }
+    // The columns of this loaded data, to be cached locally
+    private @NotNull Map<String, Object> getColumns() {
+        @NotNull Map<String, Object> columns = new HashMap<>(getCache());
+
+        for (@NotNull Map.Entry<MysqlVariable<?>, Object> entry : getData().entrySet()) {
+            columns.put(entry.getKey().getId().toLowerCase(), entry.getValue());
+        }
+        if (getTable().isVersioned()) {
+            columns.put("row_version", version);
+        }
+
+        return columns;
+    }
+    // The loaded variables without values receive their default values
+    private void fill() {
+        data.update(values -> {
+            for (MysqlVariable<?> variable : getTable().getVariables()) {
+                if (variable.isLoaded() && !values.containsKey(variable)) {
+                    values.put(variable, variable.getDefaultValue());
                 }
+            }
+
+            // The primary key variables always have the key values
+            @NotNull List<MysqlVariable<?>> keys = getTable().getPrimaryKey().getVariables();
+            for (int index = 0; index < keys.size(); index++) {
+                if (keys.get(index).isLoaded()) {
+                    values.put(keys.get(index), getKey().get(index));
+                }
+            }
+        });
+    }
+
+    /**
+     * Reads the row of this loaded data again, the variables changed locally keep their values.
+     *
+     * @return A CompletableFuture with true if the row exists, false otherwise
+     * @since 2.2
+     */
+    public @NotNull CompletableFuture<Boolean> reload() {
+        @Nullable Connection connection = getDatabase().getAuthentication().getConnection();
+        if (connection == null) {
+            throw new IllegalStateException("The database's authentication aren't connected");
+        } else if (!isLoaded()) {
+            throw new IllegalStateException("This data aren't loaded");
+        }
+
+        @NotNull CompletableFuture<Boolean> future = new CompletableFuture<>();
+
+        CompletableFuture.runAsync(() -> {
+            try {
+                try (@NotNull PreparedStatement statement = connection.prepareStatement("SELECT * FROM `" + getDatabase().getId() + "`.`" + getTable().getId() + "` WHERE " + getTable().getPrimaryKey().getWhere())) {
+                    getTable().getPrimaryKey().set(statement, 0, getKey());
+                    @NotNull ResultSet set = statement.executeQuery();
+
+                    if (!set.next()) {
+                        future.complete(false);
+                        return;
+                    }
+                    refreshed = System.currentTimeMillis();
+
+                    synchronized (this) {
+                        @NotNull Map<MysqlVariable<?>, Object> values = new HashMap<>();
+                        @NotNull Map<String, Object> cache = new HashMap<>();
+
+                        for (int column = 1; column <= set.getMetaData().getColumnCount(); column++) {
+                            @NotNull String columnName = set.getMetaData().getColumnName(column);
+
+                            if (columnName.equalsIgnoreCase("row") || columnName.equalsIgnoreCase("row_updated") || columnName.toLowerCase().startsWith("row_fill_")) {
+                                continue;
+                            } else if (getTable().isVersioned() && columnName.equalsIgnoreCase("row_version")) {
+                                version = set.getLong(column);
+                                continue;
+                            }
 
-                for (MysqlVariable<?> variable : getTable().getVariables()) {
-                    if (variable.isLoaded()) {
-                        if (!getData().containsKey(variable)) {
-                            getData().put(variable, variable.getDefaultValue());
+                            @NotNull Optional<MysqlVariable<?>> optional = getTable().getVariables().getById(columnName);
+                            if (!optional.isPresent()) {
+                                cache.put(columnName.toLowerCase(), set.getObject(column));
+                            } else if (getData().containsKey(optional.get()) && !hasChanges(optional.get())) {
+                                values.put(optional.get(), optional.get().getType().get(set.getObject(column)));
+                            }
                         }
+
+                        getData().putAll(values);
+                        getCache().putAll(cache);
                     }
                 }
 
-                loaded = true;
-                future.complete(null);
-            } catch (Throwable throwable) {
+                isNew = false;
+                getTable().getDataContent().index(this);
+
+                future.complete(true);
+            } catch (@NotNull Throwable throwable) {
                 future.completeExceptionally(throwable);
             }
-        }, Main.getExecutor(getClass()));
+        }, Transaction.getExecutor(getClass()));
 
         return future;
     }
 
+    /**
+     * Applies the values of a change made by another node, the variables changed locally keep their values.
+     * The version is only accepted if it's the next one, or if the values are the complete row and there's no
+     * local changes, otherwise the next save detects the missed changes.
+     *
+     * @param values the new values by the variable ids
+     * @param version the row version after the change, or null if unknown
+     */
+    @ApiStatus.Internal
+    public void patch(@NotNull Map<String, Object> values, @Nullable Long version) {
+        if (!isLoaded()) {
+            return;
+        }
+
+        synchronized (this) {
+            @NotNull Map<MysqlVariable<?>, Object> patched = new HashMap<>();
+
+            for (@NotNull Map.Entry<String, Object> entry : values.entrySet()) {
+                @NotNull Optional<MysqlVariable<?>> optional = getTable().getVariables().getById(entry.getKey());
+
+                if (optional.isPresent() && getData().containsKey(optional.get()) && !hasChanges(optional.get())) {
+                    patched.put(optional.get(), optional.get().getType().get(entry.getValue()));
+                }
+            }
+            getData().putAll(patched);
+
+            boolean complete = changed.isEmpty() && getData().keySet().stream().allMatch(variable -> values.containsKey(variable.getId()) || getTable().getPrimaryKey().contains(variable) || !(variable.getType() instanceof AbstractType));
+
+            if (version != null && getTable().isVersioned() && (version == this.version + 1 || (complete && version > this.version))) {
+                this.version = version;
+            }
+        }
+
+        getTable().getDataContent().index(this);
+    }
+
     public @NotNull CompletableFuture<Void> stop(boolean save) {
         @Nullable Connection connection = getDatabase().getAuthentication().getConnection();
         if (connection == null) {
@@ -608,9 +1721,18 @@ public final class MysqlData extends Data {
         CompletableFuture.runAsync(() -> {
             try {
                 loaded = false;
+                getTable().getDataContent().index(this);
 
                 if (save) save().join();
+                else getTable().getJournal().commit(getKey(), getTable().getJournal().getSequence(), null);
+
+                // The saved values are kept at the local cache, to be read again without the database
+                if (changed.isEmpty() && counters.isEmpty() && !isNew) {
+                    getTable().getLocalCache().put(getKey(), getColumns(), getTable().getLocalCache().getGeneration());
+                }
+
                 changed.clear();
+                counters.clear();
 
                 getData().clear();
                 getCache().clear();
@@ -619,13 +1741,26 @@ public final class MysqlData extends Data {
             } catch (Throwable throwable) {
                 future.completeExceptionally(throwable);
             }
-        }, Main.getExecutor(getClass()));
+        }, Transaction.getExecutor(getClass()));
 
         return future;
     }
 
     @Override
     public @NotNull CompletableFuture<Void> save() {
+        return save(getTable().getConflictStrategy());
+    }
+
+    /**
+     * Saves the changes of this data. If the table is {@link MysqlTable#isVersioned() versioned}, the row is only
+     * updated if it still has the version of this data, otherwise the strategy resolves the conflict or the future
+     * fails with a {@link ConflictException}.
+     *
+     * @param strategy the conflict strategy of this save
+     * @return A CompletableFuture representing the asynchronous save operation
+     * @since 2.2
+     */
+    public @NotNull CompletableFuture<Void> save(@NotNull ConflictStrategy strategy) {
         @Nullable Connection connection = getDatabase().getAuthentication().getConnection();
         if (connection == null) {
             throw new IllegalStateException("The database's authentication aren't connected");
@@ -639,44 +1774,87 @@ public final class MysqlData extends Data {
                     throw new IllegalStateException("The table of this data aren't loaded or created");
                 }
 
+                long sequence = getTable().getJournal().getSequence();
+                keepChanges();
+
                 if (!exists().join()) {
                     create().join();
-                } else {
-                    @NotNull Set<MysqlVariable<?>> variables = new LinkedHashSet<>(getData().keySet());
-                    variables.removeIf(variable -> !changed.contains(variable.getId().toLowerCase()) || !variable.exists().join());
+                } else for (int attempt = 0; ; attempt++) {
+                    boolean versioned = getTable().isVersioned();
+                    long expected = version;
+
+                    // The values are written as they're now, the changes made while saving are kept to the next save
+                    @NotNull Map<MysqlVariable<?>, Object> written = getChanges();
 
-                    if (!variables.isEmpty()) {
-                        @NotNull StringBuilder builder = new StringBuilder("UPDATE `" + getDatabase().getId() + "`.`" + getTable().getId() + "` SET ");
+                    @NotNull Set<MysqlVariable<?>> variables = new LinkedHashSet<>(written.keySet());
+                    variables.removeIf(variable -> !variable.exists().join());
 
-                        int row = 0;
-                        for (MysqlVariable<?> variable : variables) {
-                            if (row > 0) builder.append(",");
-                            builder.append("`").append(variable.getId()).append("` = ?");
+                    if (variables.isEmpty()) {
+                        clearChanges(written);
+                        break;
+                    }
+
+                    @NotNull StringBuilder builder = new StringBuilder("UPDATE `" + getDatabase().getId() + "`.`" + getTable().getId() + "` SET ");
+
+                    int row = 0;
+                    for (MysqlVariable<?> variable : variables) {
+                        if (row > 0) builder.append(",");
+                        builder.append("`").append(variable.getId()).append("` = ?");
+                        row++;
+                    }
+
+                    builder.append(getFillAssignments(getTable(), variables));
+                    if (versioned) builder.append(",`row_version` = `row_version` + 1");
+                    builder.append(" WHERE ").append(getTable().getPrimaryKey().getWhere());
+                    if (versioned) builder.append(" AND `row_version` = ?");
+
+                    int amount;
+
+                    try (@NotNull PreparedStatement statement = connection.prepareStatement(builder.toString())) {
+                        row = 0;
+                        for (@NotNull MysqlVariable<?> variable : variables) {
+                            SqlUtils.setParameter(statement, row, variable, written.get(variable));
                             row++;
                         }
+                        row = getTable().getPrimaryKey().set(statement, row, getKey());
+                        if (versioned) statement.setLong(row + 1, expected);
 
-                        builder.append(" WHERE `row` = ").append(getRow());
+                        amount = statement.executeUpdate();
+                    }
 
-                        try (@NotNull PreparedStatement statement = connection.prepareStatement(builder.toString())) {
-                            row = 0;
-                            //noinspection rawtypes
-                            for (MysqlVariable variable : variables) {
-                                //noinspection unchecked
-                                variable.getType().set(Parameter.of(statement, variable.getType().isNullSupported(), row), getData().get(variable));
-                                row++;
-                            }
+                    if (!versioned || amount > 0) {
+                        if (versioned) version = expected + 1;
 
-                            statement.execute();
+                        @NotNull Map<MysqlVariable<?>, Object> values = new LinkedHashMap<>();
+                        for (@NotNull MysqlVariable<?> variable : variables) {
+                            values.put(variable, written.get(variable));
                         }
+                        forget(getTable(), getKey());
+                        InvalidationBus.patch(getTable(), getKey(), values, versioned ? version : null);
+
+                        clearChanges(written);
+                        break;
+                    }
+
+                    // Someone else changed the row since this data read it
+                    @NotNull Conflict conflict = conflict(connection, expected, attempt);
+
+                    if (!strategy.resolve(conflict)) {
+                        throw new ConflictException(conflict);
+                    } else if (conflict.isDeleted()) {
+                        create().join();
+                        break;
                     }
                 }
 
-                changed.clear();
+                flushCounters().join();
+                commit(sequence, getValueColumns());
+
                 future.complete(null);
             } catch (@NotNull Throwable throwable) {
                 future.completeExceptionally(throwable);
             }
-        }, Main.getExecutor(getClass()));
+        }, Transaction.getExecutor(getClass()));
 
         return future;
     }
@@ -691,30 +1869,52 @@ public final class MysqlData extends Data {
 
         CompletableFuture.runAsync(() -> {
             try {
-                @NotNull StringBuilder variableString = new StringBuilder();
-                @NotNull StringBuilder valueString = new StringBuilder();
+                long sequence = getTable().getJournal().getSequence();
+                keepChanges();
+
+                @NotNull PrimaryKey primaryKey = getTable().getPrimaryKey();
+                @NotNull List<String> columns = new LinkedList<>();
                 @NotNull Variables variables = getTable().getVariables();
 
+                @NotNull Map<MysqlVariable<?>, Object> values;
+                @NotNull Map<String, Object> cache;
+                @NotNull Map<MysqlVariable<?>, Object> written;
+
+                synchronized (this) {
+                    values = data.snapshot();
+                    cache = this.cache.snapshot();
+                    written = getChanges();
+                }
+
+                if (primaryKey.isRow()) {
+                    columns.add("`row`");
+                }
+                @NotNull List<MysqlVariable<?>> inserted = new LinkedList<>();
                 for (MysqlVariable<?> variable : variables) {
-                    variableString.append(",");
-                    variableString.append("`").append(variable.getId()).append("`");
-                    valueString.append(",?");
+                    columns.add("`" + variable.getId() + "`");
+                    inserted.add(variable);
                 }
 
-                try (@NotNull PreparedStatement statement = connection.prepareStatement("INSERT INTO `" + getDatabase().getId() + "`.`" + getTable().getId() + "` (`row`" + variableString + ") VALUES (" + getRow() + valueString + ")")) {
-                    int row = 0;
-                    //noinspection rawtypes
-                    for (MysqlVariable variable : variables) {
-                        @NotNull Object object = variable.getDefaultValue();
-
-                        if (getData().containsKey(variable)) {
-                            object = getData().get(variable);
-                        } else if (getCache().containsKey(variable.getId().toLowerCase())) {
-                            object = getCache().get(variable.getId().toLowerCase());
+                @NotNull List<String> parameters = new LinkedList<>(Collections.nCopies(columns.size(), "?"));
+                for (@NotNull String fill : getTable().getSchema().getFillColumns(inserted)) {
+                    columns.add("`" + fill + "`");
+                    parameters.add("FALSE");
+                }
+
+                try (@NotNull PreparedStatement statement = connection.prepareStatement("INSERT INTO `" + getDatabase().getId() + "`.`" + getTable().getId() + "` (" + String.join(",", columns) + ") VALUES (" + String.join(",", parameters) + ")")) {
+                    int row = primaryKey.isRow() ? primaryKey.set(statement, 0, getKey()) : 0;
+                    for (@NotNull MysqlVariable<?> variable : inserted) {
+                        @Nullable Object object = variable.getDefaultValue();
+
+                        if (primaryKey.contains(variable)) {
+                            object = getKey().get(primaryKey.getVariables().indexOf(variable));
+                        } else if (values.containsKey(variable)) {
+                            object = values.get(variable);
+                        } else if (cache.containsKey(variable.getId().toLowerCase())) {
+                            object = cache.get(variable.getId().toLowerCase());
                         }
 
-                        //noinspection unchecked
-                        variable.getType().set(Parameter.of(statement, variable.getType().isNullSupported(), row), object);
+                        SqlUtils.setParameter(statement, row, variable, object);
 
                         row++;
                     }
@@ -722,18 +1922,115 @@ public final class MysqlData extends Data {
                     statement.execute();
                 }
 
-                changed.clear();
+                version = 0;
+                clearChanges(written);
+                commit(sequence, getValueColumns());
+
+                isNew = false;
+                @Nullable Transaction transaction = Transaction.getCurrent();
+                if (transaction != null) transaction.onRollback(() -> isNew = true);
+
+                forget(getTable(), getKey());
+                InvalidationBus.invalidate(getTable(), getKey());
                 future.complete(null);
             } catch (@NotNull Throwable throwable) {
                 future.completeExceptionally(throwable);
             }
-        });
+        }, Transaction.getExecutor(getClass()));
 
         return future;
     }
 
     public @NotNull CompletableFuture<Boolean> exists() {
-        return exists(getTable(), getRow());
+        return exists(getTable(), getKey());
+    }
+
+    /**
+     * Marks this data as deleted from the database, stopping it without saving if it's loaded.
+     *
+     * @return A CompletableFuture representing the asynchronous stop operation
+     * @since 2.2
+     */
+    @ApiStatus.Internal
+    public @NotNull CompletableFuture<Void> evict() {
+        isNew = true;
+
+        if (isLoaded()) {
+            return stop(false);
+        } else {
+            return CompletableFuture.completedFuture(null);
+        }
+    }
+
+    // The current values of the changed variables
+    private @NotNull Map<MysqlVariable<?>, Object> getChanges() {
+        synchronized (this) {
+            @NotNull Map<MysqlVariable<?>, Object> values = data.snapshot();
+            @NotNull Map<MysqlVariable<?>, Object> changes = new LinkedHashMap<>();
+
+            for (@NotNull Map.Entry<MysqlVariable<?>, Object> entry : values.entrySet()) {
+                if (changed.contains(entry.getKey().getId().toLowerCase())) {
+                    changes.put(entry.getKey(), entry.getValue());
+                }
+            }
+
+            return changes;
+        }
+    }
+    // Unmarks the written variables, except the ones changed again after they were read
+    private void clearChanges(@NotNull Map<MysqlVariable<?>, Object> written) {
+        synchronized (this) {
+            @NotNull Map<MysqlVariable<?>, Object> values = data.snapshot();
+
+            for (@NotNull Map.Entry<MysqlVariable<?>, Object> entry : written.entrySet()) {
+                if (Objects.equals(values.get(entry.getKey()), entry.getValue())) {
+                    changed.remove(entry.getKey().getId().toLowerCase());
+                }
+            }
+
+            // The variables without values aren't written
+            @NotNull Set<String> ids = values.keySet().stream().map(variable -> variable.getId().toLowerCase()).collect(Collectors.toSet());
+            changed.retainAll(ids);
+        }
+    }
+
+    // If the current transaction rolls back, the changes are written again at the next save
+    private void keepChanges() {
+        @Nullable Transaction transaction = Transaction.getCurrent();
+
+        if (transaction != null && !changed.isEmpty()) {
+            @NotNull Set<String> saved = new HashSet<>(changed);
+            long version = this.version;
+
+            transaction.onRollback(() -> {
+                changed.addAll(saved);
+                this.version = version;
+            });
+        }
+    }
+
+    // Reads the current row of a failed versioned save
+    @Blocking
+    private @NotNull Conflict conflict(@NotNull Connection connection, long expected, int attempt) throws SQLException {
+        @NotNull Map<MysqlVariable<?>, Object> current = new HashMap<>();
+        @Nullable Long version = null;
+
+        try (@NotNull PreparedStatement statement = connection.prepareStatement("SELECT * FROM `" + getDatabase().getId() + "`.`" + getTable().getId() + "` WHERE " + getTable().getPrimaryKey().getWhere())) {
+            getTable().getPrimaryKey().set(statement, 0, getKey());
+            @NotNull ResultSet set = statement.executeQuery();
+
+            if (set.next()) {
+                version = set.getLong("row_version");
+
+                for (@NotNull MysqlVariable<?> variable : getData().keySet()) {
+                    if (variable.getType() instanceof AbstractType && !getTable().getPrimaryKey().contains(variable)) {
+                        current.put(variable, variable.getType().get(set.getObject(variable.getId())));
+                    }
+                }
+            }
+        }
+
+        return new Conflict(this, expected, version, current, attempt);
     }
 
     public @NotNull CompletableFuture<Boolean> delete() {
@@ -751,8 +2048,12 @@ public final class MysqlData extends Data {
                 }
 
                 if (getTable().exists().join()) {
-                    try (PreparedStatement statement = connection.prepareStatement("DELETE FROM `" + getDatabase().getId() + "`.`" + getTable().getId() + "` WHERE `row` = " + getRow())) {
+                    try (PreparedStatement statement = connection.prepareStatement("DELETE FROM `" + getDatabase().getId() + "`.`" + getTable().getId() + "` WHERE " + getTable().getPrimaryKey().getWhere())) {
+                        getTable().getPrimaryKey().set(statement, 0, getKey());
                         statement.execute();
+
+                        forget(getTable(), getKey());
+                        InvalidationBus.delete(getTable(), getKey());
                         future.complete(true);
                         return;
                     }
@@ -762,7 +2063,7 @@ public final class MysqlData extends Data {
             } catch (@NotNull Throwable throwable) {
                 future.completeExceptionally(throwable);
             }
-        }, Main.getExecutor(getClass()));
+        }, Transaction.getExecutor(getClass()));
 
         return future;
     }
@@ -788,18 +2089,18 @@ public final class MysqlData extends Data {
         if (this == object) return true;
         if (!(object instanceof MysqlData)) return false;
         MysqlData data = (MysqlData) object;
-        return getRow() == data.getRow() && Objects.equals(getTable(), data.getTable());
+        return getKey().equals(data.getKey()) && Objects.equals(getTable(), data.getTable());
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(getTable(), getRow());
+        return Objects.hash(getTable(), getKey());
     }
 
     @Override
     public @NotNull String toString() {
         return "MysqlData{" +
-                "row=" + row + "," +
+                "key=" + key + "," +
                 "is new=" + isNew +
                 '}';
     }
@@ -1,11 +1,13 @@
 package codes.laivy.data.mysql.data;
 
-import codes.laivy.data.Main;
+import codes.laivy.data.mysql.authentication.Transaction;
+import codes.laivy.data.mysql.table.Index;
+import codes.laivy.data.mysql.table.LocalCache;
 import codes.laivy.data.mysql.table.MysqlTable;
+import codes.laivy.data.mysql.table.PrimaryKey;
+import codes.laivy.data.mysql.utils.SingleFlight;
 import codes.laivy.data.mysql.utils.SqlUtils;
 import codes.laivy.data.mysql.variable.MysqlVariable;
-import codes.laivy.data.mysql.variable.Parameter;
-import codes.laivy.data.mysql.variable.type.Type;
 import org.jetbrains.annotations.Contract;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
@@ -14,16 +16,28 @@ import org.jetbrains.annotations.UnknownNullability;
 import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
+import java.sql.SQLException;
 import java.util.*;
 import java.util.concurrent.CompletableFuture;
-import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 public final class MysqlDataCache {
 
+    // Concurrent identical reads share a single query
+    private static final @NotNull SingleFlight<List<Object>> GETS = new SingleFlight<>();
+    private static final @NotNull SingleFlight<List<Object>> RETRIEVES = new SingleFlight<>();
+
+    // The cached result of a key without row
+    private static final @NotNull Object MISSING = new Object();
+    // The values that must be read from the database
+    private static final @NotNull Object UNKNOWN = new Object();
+
     // Static initializers
 
-    public static <T> @UnknownNullability CompletableFuture<T> get(@NotNull MysqlVariable<T> variable, int row) {
+    public static <T> @UnknownNullability CompletableFuture<T> get(@NotNull MysqlVariable<T> variable, long row) {
+        return get(variable, Key.of(row));
+    }
+    public static <T> @UnknownNullability CompletableFuture<T> get(@NotNull MysqlVariable<T> variable, @NotNull Key key) {
         @NotNull MysqlTable table = variable.getTable();
         @Nullable Connection connection = table.getDatabase().getAuthentication().getConnection();
 
@@ -33,7 +47,85 @@ public final class MysqlDataCache {
             throw new IllegalStateException("This table or database aren't loaded");
         }
 
-        @NotNull CompletableFuture<T> future = new CompletableFuture<>();
+        @NotNull Key finalKey = table.getPrimaryKey().normalize(key);
+        table.getDataContent().getAccessTracker().record(finalKey);
+
+        return GETS.execute(Arrays.asList(variable, finalKey), () -> {
+            @Nullable MysqlData loaded = table.getDataContent().get(finalKey);
+            @NotNull CompletableFuture<Object> future;
+            @Nullable Object stored;
+
+            // The loaded datas and resident tables are read from the memory, without the cache
+            if ((loaded != null && loaded.isLoaded()) || table.isResident()) {
+                future = fetch(variable, finalKey, connection);
+            } else if ((stored = stored(variable, finalKey)) != UNKNOWN) {
+                future = CompletableFuture.completedFuture(stored);
+            } else {
+                future = table.getResultCache().get(Arrays.asList("get", variable.getId().toLowerCase(), finalKey), finalKey, () -> local(variable, finalKey, connection));
+            }
+
+            return future.thenApply(value -> {
+                if (value == MISSING) {
+                    throw new IllegalStateException("There's no data with key '" + finalKey + "' to retrieve");
+                }
+
+                @SuppressWarnings("unchecked")
+                @UnknownNullability T result = (T) value;
+                return result;
+            });
+        });
+    }
+    // Reads a value from the off heap store, or UNKNOWN if it must be read from the database
+    private static @Nullable Object stored(@NotNull MysqlVariable<?> variable, @NotNull Key key) {
+        @Nullable Optional<Map<String, Object>> stored = variable.getTable().getOffHeapStore().get(key);
+
+        //noinspection OptionalAssignedToNull
+        if (stored == null) {
+            return UNKNOWN;
+        } else if (!stored.isPresent()) {
+            return MISSING;
+        } else if (!stored.get().containsKey(variable.getId().toLowerCase())) {
+            return UNKNOWN;
+        }
+
+        return variable.getType().get(stored.get().get(variable.getId().toLowerCase()));
+    }
+    // Reads a value from the local cache, or from the database if the row isn't there
+    private static @NotNull CompletableFuture<Object> local(@NotNull MysqlVariable<?> variable, @NotNull Key key, @NotNull Connection connection) {
+        @NotNull LocalCache local = variable.getTable().getLocalCache();
+        @Nullable MysqlData loaded = variable.getTable().getDataContent().get(key);
+
+        if (!local.isEnabled() || (loaded != null && loaded.isLoaded())) {
+            return fetch(variable, key, connection);
+        }
+
+        return CompletableFuture.supplyAsync(() -> local.get(key), Transaction.getExecutor(MysqlDataCache.class)).thenCompose(row -> {
+            if (row != null && row.containsKey(variable.getId().toLowerCase())) {
+                return CompletableFuture.completedFuture(variable.getType().get(row.get(variable.getId().toLowerCase())));
+            }
+
+            return fetch(variable, key, connection);
+        });
+    }
+    // Reads the value of a variable, or MISSING if there's no row with the key
+    private static @NotNull CompletableFuture<Object> fetch(@NotNull MysqlVariable<?> variable, @NotNull Key key, @NotNull Connection connection) {
+        @NotNull MysqlTable table = variable.getTable();
+        @NotNull PrimaryKey primaryKey = table.getPrimaryKey();
+
+        @Nullable MysqlData loaded = table.getDataContent().get(key);
+        if (table.getReadBatcher().isEnabled() && (loaded == null || !loaded.isLoaded()) && !table.isResident()) {
+            return table.getReadBatcher().read(key).thenApply(row -> {
+                if (row == null) {
+                    return MISSING;
+                } else if (!row.containsKey(variable.getId().toLowerCase())) {
+                    throw new IllegalStateException("This variable doesn't exists");
+                }
+
+                return variable.getType().get(row.get(variable.getId().toLowerCase()));
+            });
+        }
+
+        @NotNull CompletableFuture<Object> future = new CompletableFuture<>();
 
         CompletableFuture.runAsync(() -> {
             try {
@@ -41,24 +133,26 @@ public final class MysqlDataCache {
                     throw new IllegalStateException("This variable doesn't exists");
                 }
 
-                for (MysqlData data : variable.getTable().getDataContent().stream().filter(data -> data.isLoaded() && data.getRow() == row).collect(Collectors.toList())) {
+                @Nullable MysqlData data = table.getDataContent().get(key);
+                if (data != null && data.isLoaded()) {
+                    MysqlData.refreshAhead(data);
                     future.complete(data.get(variable));
                     return;
+                } else if (table.isResident() && !MysqlData.exists(table, key).join()) {
+                    future.complete(MISSING);
+                    return;
                 }
 
-                try (PreparedStatement statement = connection.prepareStatement("SELECT `" + variable.getId() + "` FROM `" + variable.getDatabase().getId() + "`.`" + variable.getTable().getId() + "` WHERE `row` = " + row)) {
+                try (PreparedStatement statement = connection.prepareStatement("SELECT `" + variable.getId() + "` FROM `" + variable.getDatabase().getId() + "`.`" + variable.getTable().getId() + "` WHERE " + primaryKey.getWhere())) {
+                    primaryKey.set(statement, 0, key);
                     @NotNull ResultSet set = statement.executeQuery();
 
-                    if (set.next()) {
-                        future.complete(variable.getType().get(set.getObject(1)));
-                    } else {
-                        throw new IllegalStateException("There's no data with row '" + row + "' to retrieve");
-                    }
+                    future.complete(set.next() ? variable.getType().get(set.getObject(1)) : MISSING);
                 }
             } catch (@NotNull Throwable throwable) {
                 future.completeExceptionally(throwable);
             }
-        });
+        }, Transaction.getExecutor(MysqlDataCache.class));
 
         return future;
     }
@@ -74,14 +168,22 @@ public final class MysqlDataCache {
             map.put(entry.getKey().getId().toLowerCase(), entry.getValue());
         }
 
-        return new MysqlDataCache(data.getTable(), data.getRow(), map);
+        return new MysqlDataCache(data.getTable(), data.getKey(), map);
     }
 
     // TODO: 08/11/2023 Add a retrieve method that limits the columns
 
-    public static @NotNull CompletableFuture<@Nullable MysqlDataCache> retrieve(@NotNull MysqlTable table, int row) {
+    // The reads in flight of a written row (or of the whole table) doesn't have the new values
+    static void forget(@NotNull MysqlTable table, @Nullable Key key) {
+        GETS.forget(flight -> ((MysqlVariable<?>) flight.get(0)).getTable().equals(table) && (key == null || flight.get(1).equals(key)));
+        RETRIEVES.forget(flight -> flight.get(0).equals(table) && (key == null || flight.get(1).equals(key)));
+    }
+
+    public static @NotNull CompletableFuture<@Nullable MysqlDataCache> retrieve(@NotNull MysqlTable table, long row) {
+        return retrieve(table, Key.of(row));
+    }
+    public static @NotNull CompletableFuture<@Nullable MysqlDataCache> retrieve(@NotNull MysqlTable table, @NotNull Key key) {
         @Nullable Connection connection = table.getDatabase().getAuthentication().getConnection();
-        @NotNull CompletableFuture<MysqlDataCache> future = new CompletableFuture<>();
 
         if (connection == null) {
             throw new IllegalStateException("The table's authentication aren't connected");
@@ -89,29 +191,162 @@ public final class MysqlDataCache {
             throw new IllegalStateException("This table or database aren't loaded");
         }
 
+        @NotNull PrimaryKey primaryKey = table.getPrimaryKey();
+        @NotNull Key finalKey = primaryKey.normalize(key);
+        table.getDataContent().getAccessTracker().record(finalKey);
+
+        return RETRIEVES.execute(Arrays.asList(table, finalKey), () -> {
+            @NotNull CompletableFuture<@Nullable Map<String, Object>> future;
+
+            @Nullable Optional<Map<String, Object>> stored = table.getOffHeapStore().get(finalKey);
+
+            //noinspection OptionalAssignedToNull
+            if (table.isResident()) {
+                future = row(table, finalKey, connection);
+            } else if (stored != null) {
+                future = CompletableFuture.completedFuture(stored.orElse(null));
+            } else if (table.getOffHeapStore().isEnabled()) {
+                // The rows read are stored outside the heap, instead of the result cache
+                long generation = table.getOffHeapStore().getGeneration();
+
+                future = local(table, finalKey, connection).thenApply(row -> {
+                    table.getOffHeapStore().put(finalKey, row, generation);
+                    return row;
+                });
+            } else {
+                future = table.getResultCache().get(Arrays.asList("row", finalKey), finalKey, () -> local(table, finalKey, connection));
+            }
+
+            return future.thenApply(row -> row != null ? new MysqlDataCache(table, finalKey, row) : null);
+        });
+    }
+    // Reads the columns of a row from the local cache, or from the database caching them locally
+    private static @NotNull CompletableFuture<@Nullable Map<String, Object>> local(@NotNull MysqlTable table, @NotNull Key key, @NotNull Connection connection) {
+        @NotNull LocalCache local = table.getLocalCache();
+        if (!local.isEnabled()) {
+            return row(table, key, connection);
+        }
+
+        long generation = local.getGeneration();
+
+        return CompletableFuture.supplyAsync(() -> local.get(key), Transaction.getExecutor(MysqlDataCache.class)).thenCompose(cached -> {
+            if (cached != null) {
+                return CompletableFuture.completedFuture(cached);
+            }
+
+            return row(table, key, connection).thenApply(row -> {
+                if (row != null) local.put(key, row, generation);
+                return row;
+            });
+        });
+    }
+    // Reads the columns of a row, or null if there's no row with the key
+    private static @NotNull CompletableFuture<@Nullable Map<String, Object>> row(@NotNull MysqlTable table, @NotNull Key key, @NotNull Connection connection) {
+        @NotNull PrimaryKey primaryKey = table.getPrimaryKey();
+
+        if (table.getReadBatcher().isEnabled() && !table.isResident()) {
+            return table.getReadBatcher().read(key);
+        }
+
+        @NotNull CompletableFuture<Map<String, Object>> future = new CompletableFuture<>();
+
         CompletableFuture.runAsync(() -> {
             try {
-                try (PreparedStatement statement = connection.prepareStatement("SELECT * FROM `" + table.getDatabase().getId() + "`.`" + table.getId() + "` WHERE `row` = " + row)) {
-                    @NotNull Map<String, Object> datas = new HashMap<>();
+                // The rows of a resident table are copied from the memory
+                if (table.isResident()) {
+                    @Nullable MysqlData data = table.getDataContent().get(key);
+
+                    if (!MysqlData.exists(table, key).join()) {
+                        future.complete(null);
+                        return;
+                    } else if (data != null && data.isLoaded()) {
+                        MysqlData.refreshAhead(data);
+                        future.complete(copy(data).getData());
+                        return;
+                    }
+                }
+
+                try (PreparedStatement statement = connection.prepareStatement("SELECT * FROM `" + table.getDatabase().getId() + "`.`" + table.getId() + "` WHERE " + primaryKey.getWhere())) {
+                    primaryKey.set(statement, 0, key);
                     @NotNull ResultSet set = statement.executeQuery();
 
-                    if (set.next()) {
-                        for (int columnRow = 2; columnRow <= set.getMetaData().getColumnCount(); columnRow++) {
-                            @NotNull String columnName = set.getMetaData().getColumnName(columnRow);
-                            @Nullable Object object = set.getObject(columnRow);
+                    future.complete(set.next() ? read(table, set) : null);
+                }
+            } catch (@NotNull Throwable throwable) {
+                future.completeExceptionally(throwable);
+            }
+        }, Transaction.getExecutor(MysqlDataCache.class));
 
-                            datas.put(columnName, object);
-                        }
+        return future;
+    }
+    /**
+     * Retrieves the data cache with the values of an unique index. The loaded datas are copied from memory, and
+     * the others are found by the index at the database.
+     *
+     * @param index the unique index
+     * @param values the values of the index variables, at the same order
+     * @return A CompletableFuture with the data cache, or null if there's no data with these values
+     * @since 2.2
+     */
+    public static @NotNull CompletableFuture<@Nullable MysqlDataCache> retrieve(@NotNull Index index, @NotNull Object @NotNull ... values) {
+        @NotNull MysqlTable table = index.getTable();
+        @Nullable Connection connection = table.getDatabase().getAuthentication().getConnection();
+        final @NotNull Condition<?>[] conditions = index.getConditions(values);
 
-                        future.complete(new MysqlDataCache(table, row, datas));
-                    } else {
+        if (connection == null) {
+            throw new IllegalStateException("The table's authentication aren't connected");
+        } else if (!table.isLoaded() || !table.getDatabase().isLoaded()) {
+            throw new IllegalStateException("This table or database aren't loaded");
+        }
+
+        @Nullable MysqlData loaded = table.getDataContent().get(index, values);
+        if (loaded != null) {
+            return CompletableFuture.completedFuture(copy(loaded));
+        }
+
+        @NotNull CompletableFuture<MysqlDataCache> future = new CompletableFuture<>();
+
+        if (table.isResident()) {
+            CompletableFuture.runAsync(() -> {
+                try {
+                    MysqlData.resident(table);
+
+                    @Nullable MysqlData data = table.getDataContent().get(index, values);
+                    MysqlData.refreshAhead(data);
+
+                    future.complete(data != null ? copy(data) : null);
+                } catch (@NotNull Throwable throwable) {
+                    future.completeExceptionally(throwable);
+                }
+            }, Transaction.getExecutor(MysqlDataCache.class));
+
+            return future;
+        }
+
+        CompletableFuture.runAsync(() -> {
+            try (PreparedStatement statement = connection.prepareStatement("SELECT * FROM `" + table.getDatabase().getId() + "`.`" + table.getId() + "` " + SqlUtils.buildWhereCondition(table.getPrimaryKey(), 0, conditions) + " LIMIT 1")) {
+                SqlUtils.setParameters(statement, table.getPrimaryKey(), Collections.emptySet(), conditions);
+
+                @NotNull ResultSet set = statement.executeQuery();
+
+                if (set.next()) {
+                    @NotNull Key key = table.getPrimaryKey().read(set);
+                    @Nullable MysqlData data = table.getDataContent().get(key);
+
+                    // The loaded datas have the current values in memory, and it doesn't matches anymore
+                    if (data != null && data.isLoaded()) {
                         future.complete(null);
+                        return;
                     }
+
+                    future.complete(new MysqlDataCache(table, key, read(table, set)));
+                } else {
+                    future.complete(null);
                 }
             } catch (@NotNull Throwable throwable) {
                 future.completeExceptionally(throwable);
             }
-        });
+        }, Transaction.getExecutor(MysqlDataCache.class));
 
         return future;
     }
@@ -134,63 +369,87 @@ public final class MysqlDataCache {
 
             CompletableFuture.runAsync(() -> {
                 try {
-                    @NotNull Set<Integer> excluded = new HashSet<>();
-                    @NotNull Map<Integer, Map<String, Object>> datas = new HashMap<>();
+                    @NotNull PrimaryKey primaryKey = table.getPrimaryKey();
+
+                    @NotNull Set<Key> excluded = new HashSet<>();
+                    @NotNull Map<Key, Map<String, Object>> datas = new HashMap<>();
 
-                    for (MysqlData data : table.getDataContent()) {
+                    for (MysqlData data : MysqlData.resident(table)) {
                         if (data.isLoaded()) {
-                            excluded.add(data.getRow());
+                            excluded.add(data.getKey());
 
                             if (data.matches(finalConditions)) {
                                 for (Map.Entry<MysqlVariable<?>, Object> entry : data.getData().entrySet()) {
-                                    datas.computeIfAbsent(data.getRow(), k -> new HashMap<>()).put(entry.getKey().getId().toLowerCase(), entry.getValue());
+                                    datas.computeIfAbsent(data.getKey(), k -> new HashMap<>()).put(entry.getKey().getId().toLowerCase(), entry.getValue());
                                 }
                             }
                         }
                     }
 
-                    // Retrieving on database
+                    // Retrieving on database, the resident tables are completely at the memory
 
-                    try (PreparedStatement statement = connection.prepareStatement("SELECT * FROM `" + table.getDatabase().getId() + "`.`" + table.getId() + "` " + SqlUtils.buildWhereCondition(excluded, finalConditions))) {
-                        int index = 0;
-                        for (@NotNull Condition<?> condition : finalConditions) {
-                            //noinspection rawtypes
-                            @NotNull Type type = condition.getVariable().getType();
-                            //noinspection unchecked
-                            type.set(Parameter.of(statement, type.isNullSupported(), index), condition.getValue());
-                            index++;
+                    if (table.isResident()) {
+                        // Everything is at the memory
+                    } else if (table.getResultCache().isEnabled()) {
+                        // The cached rows are all the rows matching at the database, the loaded datas have priority
+                        @NotNull Map<Key, Map<String, Object>> rows = table.getResultCache().get(Arrays.asList("conditions", Arrays.asList(finalConditions)), null, () -> rows(table, connection, finalConditions)).join();
+
+                        for (Map.Entry<Key, Map<String, Object>> entry : rows.entrySet()) {
+                            if (!excluded.contains(entry.getKey())) {
+                                datas.putIfAbsent(entry.getKey(), entry.getValue());
+                            }
                         }
+                    } else try (PreparedStatement statement = connection.prepareStatement("SELECT * FROM `" + table.getDatabase().getId() + "`.`" + table.getId() + "` " + SqlUtils.buildWhereCondition(primaryKey, excluded.size(), finalConditions))) {
+                        SqlUtils.setParameters(statement, primaryKey, excluded, finalConditions);
 
                         @NotNull ResultSet set = statement.executeQuery();
                         while (set.next()) {
-                            int row = set.getInt("row");
+                            @NotNull Key key = primaryKey.read(set);
 
-                            if (!datas.containsKey(row)) {
-                                datas.put(row, new HashMap<>());
-
-                                for (int columnRow = 2; columnRow <= set.getMetaData().getColumnCount(); columnRow++) {
-                                    @NotNull String columnName = set.getMetaData().getColumnName(columnRow);
-                                    @Nullable Object object = set.getObject(columnRow);
-
-                                    datas.get(row).put(columnName, object);
-                                }
+                            if (!datas.containsKey(key)) {
+                                datas.put(key, read(table, set));
                             }
                         }
                     }
 
                     @NotNull Set<MysqlDataCache> caches = new HashSet<>();
-                    for (Map.Entry<Integer, Map<String, Object>> entry : datas.entrySet()) {
+                    for (Map.Entry<Key, Map<String, Object>> entry : datas.entrySet()) {
                         caches.add(new MysqlDataCache(table, entry.getKey(), entry.getValue()));
                     }
                     future.complete(caches.toArray(new MysqlDataCache[0]));
                 } catch (@NotNull Throwable throwable) {
                     future.completeExceptionally(throwable);
                 }
-            }, Main.getExecutor(MysqlData.class));
+            }, Transaction.getExecutor(MysqlData.class));
 
             return future;
         }
     }
+    // Reads all the rows matching the conditions at the database
+    private static @NotNull CompletableFuture<Map<Key, Map<String, Object>>> rows(@NotNull MysqlTable table, @NotNull Connection connection, @NotNull Condition<?> @NotNull [] conditions) {
+        @NotNull CompletableFuture<Map<Key, Map<String, Object>>> future = new CompletableFuture<>();
+
+        CompletableFuture.runAsync(() -> {
+            @NotNull PrimaryKey primaryKey = table.getPrimaryKey();
+
+            try (PreparedStatement statement = connection.prepareStatement("SELECT * FROM `" + table.getDatabase().getId() + "`.`" + table.getId() + "` " + SqlUtils.buildWhereCondition(primaryKey, 0, conditions))) {
+                SqlUtils.setParameters(statement, primaryKey, Collections.emptySet(), conditions);
+
+                @NotNull Map<Key, Map<String, Object>> rows = new LinkedHashMap<>();
+                @NotNull ResultSet set = statement.executeQuery();
+
+                while (set.next()) {
+                    rows.put(primaryKey.read(set), read(table, set));
+                }
+
+                future.complete(Collections.unmodifiableMap(rows));
+            } catch (@NotNull Throwable throwable) {
+                future.completeExceptionally(throwable);
+            }
+        }, Transaction.getExecutor(MysqlDataCache.class));
+
+        return future;
+    }
     public static @NotNull CompletableFuture<MysqlDataCache[]> retrieve(@NotNull MysqlTable table) {
         @Nullable Connection connection = table.getDatabase().getAuthentication().getConnection();
 
@@ -203,58 +462,70 @@ public final class MysqlDataCache {
 
             CompletableFuture.runAsync(() -> {
                 try {
-                    @NotNull Map<Integer, Map<String, Object>> datas = new HashMap<>();
+                    @NotNull PrimaryKey primaryKey = table.getPrimaryKey();
+                    @NotNull Map<Key, Map<String, Object>> datas = new HashMap<>();
 
-                    for (MysqlData data : table.getDataContent()) {
+                    for (MysqlData data : MysqlData.resident(table)) {
                         if (data.isLoaded()) {
-                            datas.put(data.getRow(), data.getCache());
+                            datas.put(data.getKey(), copy(data).getData());
                         }
                     }
 
-                    // Retrieving on database
+                    // Retrieving on database, the resident tables are completely at the memory
+
+                    if (!table.isResident()) try (PreparedStatement statement = connection.prepareStatement("SELECT * FROM `" + table.getDatabase().getId() + "`.`" + table.getId() + "` " + SqlUtils.buildWhereCondition(primaryKey, datas.size()))) {
+                        SqlUtils.setParameters(statement, primaryKey, datas.keySet());
 
-                    try (PreparedStatement statement = connection.prepareStatement("SELECT * FROM `" + table.getDatabase().getId() + "`.`" + table.getId() + "` WHERE " + SqlUtils.rowNotIn(datas.keySet()))) {
                         @NotNull ResultSet set = statement.executeQuery();
                         while (set.next()) {
-                            int row = set.getInt("row");
-
-                            if (!datas.containsKey(row)) {
-                                datas.put(row, new HashMap<>());
+                            @NotNull Key key = primaryKey.read(set);
 
-                                for (int columnRow = 2; columnRow <= set.getMetaData().getColumnCount(); columnRow++) {
-                                    @NotNull String columnName = set.getMetaData().getColumnName(columnRow);
-                                    @Nullable Object object = set.getObject(columnRow);
-
-                                    datas.get(row).put(columnName.toLowerCase(), object);
-                                }
+                            if (!datas.containsKey(key)) {
+                                datas.put(key, read(table, set));
                             }
                         }
                     }
 
                     @NotNull Set<MysqlDataCache> caches = new HashSet<>();
-                    for (Map.Entry<Integer, Map<String, Object>> entry : datas.entrySet()) {
+                    for (Map.Entry<Key, Map<String, Object>> entry : datas.entrySet()) {
                         caches.add(new MysqlDataCache(table, entry.getKey(), entry.getValue()));
                     }
                     future.complete(caches.toArray(new MysqlDataCache[0]));
                 } catch (@NotNull Throwable throwable) {
                     future.completeExceptionally(throwable);
                 }
-            }, Main.getExecutor(MysqlData.class));
+            }, Transaction.getExecutor(MysqlData.class));
 
             return future;
         }
     }
 
+    private static @NotNull Map<String, Object> read(@NotNull MysqlTable table, @NotNull ResultSet set) throws SQLException {
+        @NotNull Map<String, Object> datas = new HashMap<>();
+
+        for (int column = 1; column <= set.getMetaData().getColumnCount(); column++) {
+            @NotNull String columnName = set.getMetaData().getColumnName(column);
+
+            if (table.getPrimaryKey().isRow() && columnName.equalsIgnoreCase("row")) {
+                continue;
+            }
+
+            datas.put(columnName.toLowerCase(), set.getObject(column));
+        }
+
+        return datas;
+    }
+
     // Object
 
     private final @NotNull MysqlTable table;
-    private final int row;
+    private final @NotNull Key key;
 
     private final @NotNull Map<@NotNull String, @Nullable Object> data;
 
-    MysqlDataCache(@NotNull MysqlTable table, int row, @NotNull Map<@NotNull String, @Nullable Object> data) {
+    MysqlDataCache(@NotNull MysqlTable table, @NotNull Key key, @NotNull Map<@NotNull String, @Nullable Object> data) {
         this.table = table;
-        this.row = row;
+        this.key = key;
         this.data = new HashMap<>();
 
         for (Map.Entry<@NotNull String, @Nullable Object> entry : data.entrySet()) {
@@ -266,8 +537,25 @@ public final class MysqlDataCache {
         return table;
     }
 
-    public int getRow() {
-        return row;
+    /**
+     * @return the primary key value of this data
+     * @since 2.2
+     */
+    @Contract(pure = true)
+    public @NotNull Key getKey() {
+        return key;
+    }
+
+    /**
+     * @return the row of this data
+     * @throws IllegalStateException if the table has a custom primary key
+     */
+    public long getRow() {
+        if (!getTable().getPrimaryKey().isRow()) {
+            throw new IllegalStateException("The table '" + getTable().getId() + "' has a custom primary key, use #getKey instead");
+        }
+
+        return (long) getKey().get(0);
     }
 
     @Contract(pure = true)
@@ -285,7 +573,7 @@ public final class MysqlDataCache {
         }
     }
     public <T> @NotNull CompletableFuture<Void> set(@NotNull MysqlVariable<T> variable, @UnknownNullability T value) {
-        return MysqlData.set(variable, value, getRow());
+        return MysqlData.set(variable, value, getKey());
     }
 
 }
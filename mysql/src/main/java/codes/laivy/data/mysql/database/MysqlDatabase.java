@@ -1,8 +1,8 @@
 package codes.laivy.data.mysql.database;
 
 import codes.laivy.data.Database;
-import codes.laivy.data.Main;
 import codes.laivy.data.mysql.authentication.MysqlAuthentication;
+import codes.laivy.data.mysql.authentication.Transaction;
 import codes.laivy.data.mysql.data.MysqlData;
 import codes.laivy.data.mysql.table.MysqlTable;
 import codes.laivy.data.mysql.utils.SqlUtils;
@@ -30,9 +30,7 @@ public final class MysqlDatabase extends Database {
      * @return An Optional containing the MysqlDatabase if found, else an empty Optional
      */
     public static @NotNull Optional<MysqlDatabase> get(@NotNull MysqlAuthentication authentication, @NotNull String id) {
-        return authentication.getDatabases().stream()
-                .filter(db -> db.getId().equalsIgnoreCase(id))
-                .findFirst();
+        return Optional.ofNullable(authentication.getDatabases().lookup(id));
     }
 
     public static @NotNull MysqlDatabase getOrCreate(@NotNull MysqlAuthentication authentication, @NotNull String id) {
@@ -96,7 +94,7 @@ public final class MysqlDatabase extends Database {
             } catch (Throwable throwable) {
                 future.completeExceptionally(throwable);
             }
-        }, Main.getExecutor(getClass()));
+        }, Transaction.getExecutor(getClass()));
 
         return future;
     }
@@ -125,7 +123,7 @@ public final class MysqlDatabase extends Database {
             } catch (Throwable throwable) {
                 future.completeExceptionally(throwable);
             }
-        }, Main.getExecutor(getClass()));
+        }, Transaction.getExecutor(getClass()));
 
         return future;
     }
@@ -141,6 +139,9 @@ public final class MysqlDatabase extends Database {
     }
 
     public @NotNull CompletableFuture<Boolean> create() {
+        if (Transaction.getCurrent() != null) {
+            throw new IllegalStateException("The database '" + getId() + "' cannot be created inside a transaction, its DDL statements would commit the transaction");
+        }
         if (getAuthentication().getConnection() == null) {
             throw new IllegalStateException("This authentication aren't connected");
         }
@@ -163,13 +164,16 @@ public final class MysqlDatabase extends Database {
                     future.completeExceptionally(throwable);
                 }
             }
-        }, Main.getExecutor(getClass()));
+        }, Transaction.getExecutor(getClass()));
 
         return future;
     }
 
     @Override
     public @NotNull CompletableFuture<Void> delete() {
+        if (Transaction.getCurrent() != null) {
+            throw new IllegalStateException("The database '" + getId() + "' cannot be deleted inside a transaction, its DDL statements would commit the transaction");
+        }
         if (getAuthentication().getConnection() == null) {
             throw new IllegalStateException("This authentication aren't connected");
         }
@@ -192,7 +196,7 @@ public final class MysqlDatabase extends Database {
             } catch (Throwable throwable) {
                 future.completeExceptionally(throwable);
             }
-        }, Main.getExecutor(getClass()));
+        }, Transaction.getExecutor(getClass()));
 
         return future;
     }
@@ -209,7 +213,7 @@ public final class MysqlDatabase extends Database {
                     }
                 }
             }
-        }, Main.getExecutor(getClass()));
+        }, Transaction.getExecutor(getClass()));
 
         return future;
     }
@@ -258,7 +262,7 @@ public final class MysqlDatabase extends Database {
             } catch (@NotNull Throwable throwable) {
                 future.completeExceptionally(throwable);
             }
-        }, Main.getExecutor(getClass()));
+        }, Transaction.getExecutor(getClass()));
 
         return future;
     }
@@ -4,19 +4,15 @@ import codes.laivy.data.content.Content;
 import codes.laivy.data.mysql.table.MysqlTable;
 import org.jetbrains.annotations.Contract;
 import org.jetbrains.annotations.NotNull;
-import org.jetbrains.annotations.Unmodifiable;
 
-import java.util.Collection;
-import java.util.HashSet;
-import java.util.Iterator;
 import java.util.Optional;
 
-public class Tables extends Content.SetProvider<MysqlTable> {
+public class Tables extends Content.KeyedProvider<MysqlTable> {
 
     private final @NotNull MysqlDatabase database;
 
     public Tables(@NotNull MysqlDatabase table) {
-        super(new HashSet<>());
+        super(MysqlTable::getId);
         this.database = table;
     }
 
@@ -31,9 +27,7 @@ public class Tables extends Content.SetProvider<MysqlTable> {
             throw new IllegalStateException("The database aren't loaded");
         }
 
-        synchronized (this) {
-            return super.add(object);
-        }
+        return super.add(object);
     }
 
     @Override
@@ -42,29 +36,14 @@ public class Tables extends Content.SetProvider<MysqlTable> {
             throw new IllegalStateException("The table aren't loaded");
         }
 
-        synchronized (this) {
-            return super.remove(object);
-        }
+        return super.remove(object);
     }
 
     public boolean contains(@NotNull String id) {
-        return stream().anyMatch(table -> table.getId().equalsIgnoreCase(id));
+        return containsKey(id);
     }
     public @NotNull Optional<MysqlTable> get(@NotNull String id) {
-        return stream().filter(table -> table.getId().equalsIgnoreCase(id)).findFirst();
+        return Optional.ofNullable(lookup(id));
     }
 
-    @Override
-    public @NotNull Iterator<MysqlTable> iterator() {
-        synchronized (this) {
-            return super.iterator();
-        }
-    }
-
-    @Override
-    public @Unmodifiable @NotNull Collection<MysqlTable> toCollection() {
-        synchronized (this) {
-            return super.toCollection();
-        }
-    }
 }
@@ -0,0 +1,182 @@
+package codes.laivy.data.mysql.table;
+
+import codes.laivy.data.mysql.data.Key;
+import org.jetbrains.annotations.*;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Counts the accesses of the rows of a table by their primary keys, with counters that decays by half at every
+ * {@link #getHalfLife() half life}, so the recent accesses weights more than the old ones. The hottest rows are used
+ * by the {@link Preloader preloader} of the table.
+ * <p>
+ * The accesses are only tracked while the preloader of the table has a file. When there's more keys than the
+ * {@link #getCapacity() capacity}, the coldest half of them is discarded, except the key just accessed.
+ *
+ * @since 2.2
+ */
+public final class AccessTracker {
+
+    private final @NotNull DataContent content;
+
+    private volatile long halfLife = 600_000;
+    private volatile int capacity = 10_000;
+
+    private final @NotNull Map<Key, Counter> counters = new ConcurrentHashMap<>();
+
+    AccessTracker(@NotNull DataContent content) {
+        this.content = content;
+    }
+
+    @Contract(pure = true)
+    public @NotNull DataContent getContent() {
+        return content;
+    }
+
+    /**
+     * @return true if the accesses are being tracked
+     */
+    public boolean isEnabled() {
+        return getContent().getTable().getPreloader().getFile() != null;
+    }
+
+    /**
+     * @return the time in milliseconds that makes the counters to decay by half, 10 minutes by default
+     */
+    @Contract(pure = true)
+    public long getHalfLife() {
+        return halfLife;
+    }
+    public void setHalfLife(long halfLife) {
+        if (halfLife < 1) {
+            throw new IllegalArgumentException("The access half life must be positive");
+        }
+
+        this.halfLife = halfLife;
+    }
+
+    /**
+     * @return the maximum amount of tracked keys
+     */
+    @Contract(pure = true)
+    public int getCapacity() {
+        return capacity;
+    }
+    public void setCapacity(int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("The access tracker capacity must be positive");
+        }
+
+        this.capacity = capacity;
+    }
+
+    /**
+     * @return the amount of tracked keys
+     */
+    public int size() {
+        return counters.size();
+    }
+
+    /**
+     * Records an access of a row.
+     *
+     * @param key the normalized primary key of the row
+     */
+    @ApiStatus.Internal
+    public void record(@NotNull Key key) {
+        if (!isEnabled()) {
+            return;
+        }
+
+        long now = System.currentTimeMillis();
+        counters.compute(key, (k, counter) -> {
+            if (counter == null) return new Counter(1, now);
+
+            counter.score = counter.getScore(now, getHalfLife()) + 1;
+            counter.time = now;
+            return counter;
+        });
+
+        getContent().getTable().getPreloader().hit(key);
+
+        if (counters.size() > getCapacity()) {
+            prune(key);
+        }
+    }
+
+    /**
+     * @param key the normalized primary key of the row
+     * @return the current decayed score of a row, 0 if it wasn't accessed
+     */
+    public double getScore(@NotNull Key key) {
+        @Nullable Counter counter = counters.get(key);
+        return counter != null ? counter.getScore(System.currentTimeMillis(), getHalfLife()) : 0;
+    }
+
+    /**
+     * @param amount the maximum amount of keys
+     * @return the keys with the highest scores, from the hottest to the coldest
+     */
+    public @NotNull List<Key> getTop(int amount) {
+        long now = System.currentTimeMillis();
+        @NotNull List<Map.Entry<Key, Double>> scores = new ArrayList<>();
+
+        for (@NotNull Map.Entry<Key, Counter> entry : counters.entrySet()) {
+            scores.add(new AbstractMap.SimpleEntry<>(entry.getKey(), entry.getValue().getScore(now, getHalfLife())));
+        }
+        scores.sort(Map.Entry.<Key, Double>comparingByValue().reversed());
+
+        @NotNull List<Key> keys = new ArrayList<>();
+        for (@NotNull Map.Entry<Key, Double> entry : scores.subList(0, Math.min(amount, scores.size()))) {
+            keys.add(entry.getKey());
+        }
+
+        return keys;
+    }
+
+    public void clear() {
+        counters.clear();
+    }
+
+    // The recorded key is kept, otherwise a new hot key would be discarded before it accumulates accesses
+    private synchronized void prune(@NotNull Key recorded) {
+        if (counters.size() <= getCapacity()) {
+            // Already pruned by another thread
+            return;
+        }
+
+        @NotNull Set<Key> keep = new HashSet<>(getTop(getCapacity() / 2));
+        keep.add(recorded);
+
+        counters.keySet().retainAll(keep);
+    }
+
+    @Override
+    public @NotNull String toString() {
+        return "AccessTracker{" +
+                "halfLife=" + halfLife +
+                ", capacity=" + capacity +
+                ", size=" + size() +
+                '}';
+    }
+
+    // Classes
+
+    private static final class Counter {
+
+        private volatile double score;
+        private volatile long time;
+
+        private Counter(double score, long time) {
+            this.score = score;
+            this.time = time;
+        }
+
+        private double getScore(long now, long halfLife) {
+            return score * Math.pow(0.5, (double) Math.max(0, now - time) / halfLife);
+        }
+
+    }
+
+}
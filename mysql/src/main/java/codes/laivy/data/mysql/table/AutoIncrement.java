@@ -1,6 +1,6 @@
 package codes.laivy.data.mysql.table;
 
-import codes.laivy.data.Main;
+import codes.laivy.data.mysql.authentication.Transaction;
 import org.jetbrains.annotations.ApiStatus;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
@@ -12,26 +12,26 @@ import java.util.concurrent.CompletableFuture;
 
 public interface AutoIncrement {
 
-    default @NotNull CompletableFuture<Integer> getAndIncrement(int increment) {
-        @NotNull CompletableFuture<Integer> future = new CompletableFuture<>();
+    default @NotNull CompletableFuture<Long> getAndIncrement(long increment) {
+        @NotNull CompletableFuture<Long> future = new CompletableFuture<>();
 
         CompletableFuture.runAsync(() -> {
             try {
-                int value = getAmount().join();
+                long value = getAmount().join();
                 setAmount(value + increment).join();
 
                 future.complete(value);
             } catch (@NotNull Throwable throwable) {
                 future.completeExceptionally(throwable);
             }
-        }, Main.getExecutor(getClass()));
+        }, Transaction.getExecutor(getClass()));
 
         return future;
     }
 
-    @NotNull CompletableFuture<Integer> getAmount();
+    @NotNull CompletableFuture<Long> getAmount();
 
-    @NotNull CompletableFuture<Void> setAmount(int value);
+    @NotNull CompletableFuture<Void> setAmount(long value);
 
     // Static initializers
 
@@ -39,13 +39,13 @@ public interface AutoIncrement {
     static @NotNull AutoIncrement of(@NotNull MysqlTable table) {
         return new AutoIncrement() {
             @Override
-            public @NotNull CompletableFuture<Integer> getAmount() {
-                @Nullable Connection connection = table.getDatabase().getAuthentication().getConnection();
+            public @NotNull CompletableFuture<Long> getAmount() {
+                @Nullable Connection connection = table.getDatabase().getAuthentication().getMainConnection();
                 if (connection == null) {
                     throw new IllegalStateException("The database's authentication aren't connected");
                 }
 
-                @NotNull CompletableFuture<Integer> future = new CompletableFuture<>();
+                @NotNull CompletableFuture<Long> future = new CompletableFuture<>();
 
                 CompletableFuture.runAsync(() -> {
                     try {
@@ -56,19 +56,20 @@ public interface AutoIncrement {
                                 throw new IllegalStateException("the table '" + table.getId() + "' doesn't exists");
                             }
 
-                            future.complete(set.getInt("auto_increment"));
+                            future.complete(set.getLong("auto_increment"));
                         }
                     } catch (@NotNull Throwable throwable) {
                         future.completeExceptionally(throwable);
                     }
-                }, Main.getExecutor(getClass()));
+                }, Transaction.getExecutor(getClass()));
 
                 return future;
             }
 
             @Override
-            public @NotNull CompletableFuture<Void> setAmount(int value) {
-                @Nullable Connection connection = table.getDatabase().getAuthentication().getConnection();
+            public @NotNull CompletableFuture<Void> setAmount(long value) {
+                // The auto increment changes are schema changes, they cannot be part of a transaction
+                @Nullable Connection connection = table.getDatabase().getAuthentication().getMainConnection();
                 if (connection == null) {
                     throw new IllegalStateException("The database's authentication aren't connected");
                 }
@@ -78,7 +79,7 @@ public interface AutoIncrement {
                 CompletableFuture.runAsync(() -> {
                     try {
                         try (@NotNull PreparedStatement statement = connection.prepareStatement("ALTER TABLE `" + table.getDatabase().getId() + "`.`" + table.getId() + "` AUTO_INCREMENT = ?;")) {
-                            statement.setInt(1, value);
+                            statement.setLong(1, value);
                             statement.execute();
                         }
 
@@ -86,7 +87,7 @@ public interface AutoIncrement {
                     } catch (@NotNull Throwable throwable) {
                         future.completeExceptionally(throwable);
                     }
-                }, Main.getExecutor(getClass()));
+                }, Transaction.getExecutor(getClass()));
 
                 return future;
             }
@@ -1,19 +1,31 @@
 package codes.laivy.data.mysql.table;
 
 import codes.laivy.data.content.Content;
+import codes.laivy.data.content.LongMap;
 import codes.laivy.data.mysql.data.Condition;
+import codes.laivy.data.mysql.data.Key;
 import codes.laivy.data.mysql.data.MysqlData;
-import org.jetbrains.annotations.Contract;
-import org.jetbrains.annotations.NotNull;
-import org.jetbrains.annotations.Unmodifiable;
+import codes.laivy.data.mysql.variable.MysqlVariable;
+import org.jetbrains.annotations.*;
 
-import java.util.Collection;
-import java.util.HashSet;
-import java.util.Iterator;
+import java.util.*;
+import java.util.stream.Stream;
 
 public final class DataContent extends Content.SetProvider<MysqlData> {
 
     private final @NotNull MysqlTable table;
+    // The datas of the tables with the row primary key are mapped by the primitive row, without boxing
+    private final @NotNull LongMap<@NotNull MysqlData> rows = new LongMap<>();
+    private final @NotNull Map<@NotNull Key, @NotNull MysqlData> keys = new HashMap<>();
+
+    // The loaded datas mapped by their unique keys, built at the first lookup of each unique index
+    private final @NotNull Map<@NotNull Index, @NotNull Map<@NotNull List<Object>, @NotNull MysqlData>> uniques = new HashMap<>();
+    private final @NotNull Map<@NotNull MysqlData, @NotNull Map<@NotNull Index, @NotNull List<Object>>> uniqueKeys = new HashMap<>();
+
+    private final @NotNull AccessTracker accessTracker = new AccessTracker(this);
+
+    // The immutable snapshot of the datas iterated, built at the first iteration after a change
+    private volatile @Nullable Collection<@NotNull MysqlData> snapshot;
 
     public DataContent(@NotNull MysqlTable table) {
         super(new HashSet<>());
@@ -25,6 +37,15 @@ public final class DataContent extends Content.SetProvider<MysqlData> {
         return table;
     }
 
+    /**
+     * @return the access frequencies of the rows of this content
+     * @since 2.2
+     */
+    @Contract(pure = true)
+    public @NotNull AccessTracker getAccessTracker() {
+        return accessTracker;
+    }
+
     @Override
     public boolean add(@NotNull MysqlData object) {
         if (!getTable().isLoaded()) {
@@ -32,17 +53,62 @@ public final class DataContent extends Content.SetProvider<MysqlData> {
         }
 
         synchronized (this) {
-            return super.add(object);
+            if (super.add(object)) {
+                snapshot = null;
+
+                if (isRow(object.getKey())) {
+                    rows.put(((Number) object.getKey().get(0)).longValue(), object);
+                } else {
+                    keys.put(object.getKey(), object);
+                }
+                return true;
+            }
+            return false;
         }
     }
 
-    public boolean contains(int row) {
+    public boolean contains(long row) {
+        return get(row) != null;
+    }
+    public boolean contains(@NotNull Key key) {
+        return get(key) != null;
+    }
+
+    /**
+     * Retrieves the data with a primary key, in constant time.
+     *
+     * @param key the primary key value
+     * @return the data, or null if there's no data with that key
+     * @since 2.2
+     */
+    public @Nullable MysqlData get(@NotNull Key key) {
         if (!getTable().isLoaded()) {
             throw new IllegalStateException("The table aren't loaded");
         }
 
+        if (isRow(key)) {
+            return get(((Number) key.get(0)).longValue());
+        }
+
         synchronized (this) {
-            return stream().anyMatch(d -> d.getRow() == row);
+            return keys.get(key);
+        }
+    }
+
+    /**
+     * Retrieves the data with a row, in constant time and without boxing the row.
+     *
+     * @param row the row
+     * @return the data, or null if there's no data with that row
+     * @since 2.2
+     */
+    public @Nullable MysqlData get(long row) {
+        if (!getTable().isLoaded()) {
+            throw new IllegalStateException("The table aren't loaded");
+        }
+
+        synchronized (this) {
+            return rows.get(row);
         }
     }
     public boolean contains(@NotNull Condition<?> @NotNull ... conditions) {
@@ -51,7 +117,7 @@ public final class DataContent extends Content.SetProvider<MysqlData> {
         }
 
         synchronized (this) {
-            return stream().anyMatch(d -> d.isLoaded() && d.matches(conditions));
+            return set.stream().anyMatch(d -> d.isLoaded() && d.matches(conditions));
         }
     }
 
@@ -62,21 +128,156 @@ public final class DataContent extends Content.SetProvider<MysqlData> {
         }
 
         synchronized (this) {
-            return super.remove(object);
+            deindex(object);
+            if (isRow(object.getKey())) {
+                rows.remove(((Number) object.getKey().get(0)).longValue(), object);
+            } else {
+                keys.remove(object.getKey(), object);
+            }
+
+            if (super.remove(object)) {
+                snapshot = null;
+                return true;
+            }
+            return false;
+        }
+    }
+
+    /**
+     * Retrieves a loaded data by the values of an unique index, in constant time.
+     *
+     * @param index the unique index
+     * @param values the values of the index variables, at the same order
+     * @return the loaded data with these values, or null if there's no loaded data with them
+     * @since 2.2
+     */
+    public synchronized @Nullable MysqlData get(@NotNull Index index, @Nullable Object @NotNull ... values) {
+        if (!index.isUnique()) {
+            throw new IllegalStateException("The index '" + index.getId() + "' isn't unique");
+        } else if (index.getColumns().size() != values.length) {
+            throw new IllegalStateException("The index '" + index.getId() + "' has " + index.getColumns().size() + " variables, but " + values.length + " values are provided");
+        }
+
+        @NotNull List<Object> key = Index.key(values);
+        @Nullable MysqlData data = uniques.computeIfAbsent(index, this::build).get(key);
+
+        if (data != null && (!data.isLoaded() || !key.equals(getKey(index, data)))) {
+            return null;
         }
+
+        return data;
     }
 
+    /**
+     * Updates the unique keys of a data, must be called every time the values of a data changes.
+     *
+     * @param data the data
+     * @since 2.2
+     */
+    @ApiStatus.Internal
+    public synchronized void index(@NotNull MysqlData data) {
+        deindex(data);
+
+        if (!data.isLoaded()) {
+            return;
+        }
+
+        for (@NotNull Map.Entry<Index, Map<List<Object>, MysqlData>> entry : uniques.entrySet()) {
+            @Nullable List<Object> key = getKey(entry.getKey(), data);
+
+            if (key != null) {
+                entry.getValue().put(key, data);
+                uniqueKeys.computeIfAbsent(data, k -> new HashMap<>()).put(entry.getKey(), key);
+            }
+        }
+    }
+
+    /**
+     * Discards the unique keys of an index that isn't declared anymore.
+     *
+     * @param index the index
+     * @since 2.2
+     */
+    @ApiStatus.Internal
+    public synchronized void unindex(@NotNull Index index) {
+        if (uniques.remove(index) != null) {
+            for (@NotNull Map<Index, List<Object>> map : uniqueKeys.values()) {
+                map.remove(index);
+            }
+        }
+    }
+
+    private boolean isRow(@NotNull Key key) {
+        return key.size() == 1 && getTable().getPrimaryKey().isRow();
+    }
+
+    private void deindex(@NotNull MysqlData data) {
+        @Nullable Map<Index, List<Object>> current = uniqueKeys.remove(data);
+
+        if (current != null) for (@NotNull Map.Entry<Index, List<Object>> entry : current.entrySet()) {
+            @Nullable Map<List<Object>, MysqlData> map = uniques.get(entry.getKey());
+            if (map != null) map.remove(entry.getValue(), data);
+        }
+    }
+
+    private @NotNull Map<List<Object>, MysqlData> build(@NotNull Index index) {
+        @NotNull Map<List<Object>, MysqlData> map = new HashMap<>();
+
+        for (@NotNull MysqlData data : set) {
+            @Nullable List<Object> key = data.isLoaded() ? getKey(index, data) : null;
+
+            if (key != null) {
+                map.put(key, data);
+                uniqueKeys.computeIfAbsent(data, k -> new HashMap<>()).put(index, key);
+            }
+        }
+
+        return map;
+    }
+
+    private static @Nullable List<Object> getKey(@NotNull Index index, @NotNull MysqlData data) {
+        @Nullable Object @NotNull [] values = new Object[index.getColumns().size()];
+
+        int position = 0;
+        for (@NotNull Index.Column column : index.getColumns()) {
+            @NotNull MysqlVariable<?> variable = column.getVariable();
+
+            // Null values aren't unique
+            if (!data.getData().containsKey(variable) || (values[position] = data.getData().get(variable)) == null) {
+                return null;
+            }
+
+            position++;
+        }
+
+        return Index.key(values);
+    }
+
+    // The iterations are made over a snapshot, the datas are added and removed while they're iterated. The snapshot is
+    // kept until the next change, so only the first iteration after a change copies the datas
+
     @Override
     public @NotNull Iterator<MysqlData> iterator() {
-        synchronized (this) {
-            return super.iterator();
-        }
+        return toCollection().iterator();
+    }
+
+    @Override
+    public @NotNull Stream<MysqlData> stream() {
+        return toCollection().stream();
     }
 
     @Override
     public @Unmodifiable @NotNull Collection<MysqlData> toCollection() {
+        @Nullable Collection<MysqlData> snapshot = this.snapshot;
+        if (snapshot != null) {
+            return snapshot;
+        }
+
         synchronized (this) {
-            return super.toCollection();
+            if (this.snapshot == null) {
+                this.snapshot = Collections.unmodifiableList(new ArrayList<>(set));
+            }
+            return this.snapshot;
         }
     }
 }
@@ -0,0 +1,344 @@
+package codes.laivy.data.mysql.table;
+
+import codes.laivy.data.mysql.authentication.Transaction;
+import codes.laivy.data.mysql.data.Key;
+import codes.laivy.data.mysql.data.MysqlData;
+import codes.laivy.data.mysql.utils.SqlUtils;
+import codes.laivy.data.mysql.variable.MysqlVariable;
+import codes.laivy.data.mysql.variable.type.AbstractType;
+import org.jetbrains.annotations.*;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Timestamp;
+import java.util.*;
+import java.util.concurrent.*;
+
+/**
+ * Keeps the loaded datas of a read-mostly table fresh without reading them again. When enabled, the table has a
+ * {@code row_updated} column maintained by the database at every insert and update, and the deleted keys are
+ * recorded at a tombstones table by a trigger. Every sync reads only the rows changed and deleted since the last
+ * watermark, then patches or stops the loaded datas of them.
+ * <p>
+ * The sync reads again the changes of the last {@link #getOverlap() overlap} milliseconds before the watermark, so
+ * transactions that commit a bit after their timestamp aren't missed. Enabling it requires the {@code TRIGGER} privilege.
+ *
+ * @since 2.2
+ */
+public final class DeltaSync {
+
+    // The definition of the change time column
+    static final @NotNull String DEFINITION = "TIMESTAMP(6) NOT NULL DEFAULT CURRENT_TIMESTAMP(6) ON UPDATE CURRENT_TIMESTAMP(6)";
+
+    private static final @NotNull ScheduledExecutorService SCHEDULER = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        @NotNull Thread thread = new Thread(runnable, "Mysql delta sync");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final @NotNull MysqlTable table;
+
+    private volatile boolean enabled = false;
+    private volatile long interval = 5000;
+    private volatile long overlap = 2000;
+    private volatile long tombstoneRetention = TimeUnit.DAYS.toMillis(1);
+
+    private volatile @Nullable Timestamp watermark;
+    private volatile long pruned = 0;
+    private volatile @Nullable ScheduledFuture<?> task;
+
+    DeltaSync(@NotNull MysqlTable table) {
+        this.table = table;
+    }
+
+    @Contract(pure = true)
+    public @NotNull MysqlTable getTable() {
+        return table;
+    }
+
+    @Contract(pure = true)
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Enables the delta sync of the table, it must be changed before the table start.
+     *
+     * @param enabled true to enable the delta sync
+     */
+    public void setEnabled(boolean enabled) {
+        if (getTable().isLoaded()) {
+            throw new IllegalStateException("The delta sync of the table '" + getTable().getId() + "' cannot be changed while it's loaded");
+        }
+
+        this.enabled = enabled;
+    }
+
+    /**
+     * @return the interval in milliseconds between the automatic syncs, or 0 if they're disabled
+     */
+    @Contract(pure = true)
+    public long getInterval() {
+        return interval;
+    }
+    public void setInterval(@Range(from = 0, to = Long.MAX_VALUE) long interval) {
+        if (interval < 0) {
+            throw new IllegalArgumentException("The delta sync interval cannot be negative");
+        }
+
+        this.interval = interval;
+    }
+
+    /**
+     * @return the milliseconds before the watermark that are read again at every sync
+     */
+    @Contract(pure = true)
+    public long getOverlap() {
+        return overlap;
+    }
+    public void setOverlap(@Range(from = 0, to = Long.MAX_VALUE) long overlap) {
+        if (overlap < 0) {
+            throw new IllegalArgumentException("The delta sync overlap cannot be negative");
+        }
+
+        this.overlap = overlap;
+    }
+
+    /**
+     * @return the milliseconds the tombstones are kept, the nodes that doesn't sync during this time can miss deletions
+     */
+    @Contract(pure = true)
+    public long getTombstoneRetention() {
+        return tombstoneRetention;
+    }
+    public void setTombstoneRetention(@Range(from = 1, to = Long.MAX_VALUE) long tombstoneRetention) {
+        if (tombstoneRetention <= 0) {
+            throw new IllegalArgumentException("The tombstone retention must be positive");
+        }
+
+        this.tombstoneRetention = tombstoneRetention;
+    }
+
+    /**
+     * @return the database time of the newest change already synchronized, or null if it hasn't synced yet
+     */
+    @Contract(pure = true)
+    public @Nullable Timestamp getWatermark() {
+        return watermark;
+    }
+
+    /**
+     * @return the id of the table that keeps the deleted keys
+     */
+    @Contract(pure = true)
+    public @NotNull String getTombstones() {
+        return "_" + Integer.toHexString(getTable().getId().toLowerCase().hashCode()) + "_tombstones";
+    }
+
+    @ApiStatus.Internal
+    @NotNull CompletableFuture<Void> start() {
+        @Nullable Connection connection = getTable().getDatabase().getAuthentication().getConnection();
+        if (connection == null) {
+            throw new IllegalStateException("The database's authentication aren't connected");
+        }
+
+        @NotNull CompletableFuture<Void> future = new CompletableFuture<>();
+
+        CompletableFuture.runAsync(() -> {
+            try {
+                @NotNull PrimaryKey primaryKey = getTable().getPrimaryKey();
+                @NotNull String database = "`" + getTable().getDatabase().getId() + "`";
+                @NotNull String tombstones = database + ".`" + getTombstones() + "`";
+
+                @NotNull List<String> definitions = new LinkedList<>();
+                if (primaryKey.isRow()) {
+                    definitions.add("`row` BIGINT NOT NULL");
+                } else for (@NotNull MysqlVariable<?> variable : primaryKey.getVariables()) {
+                    definitions.add("`" + variable.getId() + "` " + Schema.getDefinition(variable));
+                }
+                definitions.add("`row_deleted` TIMESTAMP(6) NOT NULL DEFAULT CURRENT_TIMESTAMP(6) ON UPDATE CURRENT_TIMESTAMP(6)");
+                definitions.add(primaryKey.getDefinition());
+                definitions.add("KEY `row_deleted` (`row_deleted`)");
+
+                try (@NotNull PreparedStatement statement = connection.prepareStatement("CREATE TABLE IF NOT EXISTS " + tombstones + " (" + String.join(", ", definitions) + ")")) {
+                    statement.execute();
+                }
+
+                @NotNull String olds = String.join(", ", primaryKey.getColumns().stream().map(column -> "OLD.`" + column + "`").toArray(String[]::new));
+                try (@NotNull PreparedStatement statement = connection.prepareStatement("CREATE TRIGGER " + database + ".`_" + Integer.toHexString(getTable().getId().toLowerCase().hashCode()) + "_tombstone` AFTER DELETE ON " + database + ".`" + getTable().getId() + "` FOR EACH ROW INSERT INTO " + tombstones + " (" + primaryKey.getSelect() + ") VALUES (" + olds + ") ON DUPLICATE KEY UPDATE `row_deleted` = CURRENT_TIMESTAMP(6)")) {
+                    statement.execute();
+                } catch (@NotNull Throwable throwable) {
+                    // The trigger already exists
+                    if (SqlUtils.getErrorCode(throwable) != 1359) {
+                        throw throwable;
+                    }
+                }
+
+                watermark = null;
+                sync().join();
+
+                if (getInterval() > 0) {
+                    task = SCHEDULER.scheduleWithFixedDelay(() -> {
+                        try {
+                            if (getTable().isLoaded()) sync().join();
+                        } catch (@NotNull Throwable ignore) {
+                            // The changes are read at the next sync, since the watermark doesn't change
+                        }
+                    }, getInterval(), getInterval(), TimeUnit.MILLISECONDS);
+                }
+
+                future.complete(null);
+            } catch (@NotNull Throwable throwable) {
+                future.completeExceptionally(throwable);
+            }
+        }, Transaction.getExecutor(getClass()));
+
+        return future;
+    }
+
+    @ApiStatus.Internal
+    void stop() {
+        @Nullable ScheduledFuture<?> task = this.task;
+        if (task != null) {
+            task.cancel(false);
+            this.task = null;
+        }
+    }
+
+    /**
+     * Reads the rows changed and deleted since the watermark, then patches the loaded datas of the changed rows and
+     * stops the loaded datas of the deleted ones. The variables changed locally keep their values.
+     *
+     * @return A CompletableFuture with the amount of loaded datas patched or stopped
+     */
+    public @NotNull CompletableFuture<Integer> sync() {
+        @Nullable Connection connection = getTable().getDatabase().getAuthentication().getConnection();
+        if (connection == null) {
+            throw new IllegalStateException("The database's authentication aren't connected");
+        } else if (!isEnabled()) {
+            throw new IllegalStateException("The delta sync of the table '" + getTable().getId() + "' isn't enabled");
+        }
+
+        @NotNull CompletableFuture<Integer> future = new CompletableFuture<>();
+
+        CompletableFuture.runAsync(() -> {
+            try {
+                synchronized (this) {
+                    future.complete(sync(connection));
+                }
+            } catch (@NotNull Throwable throwable) {
+                future.completeExceptionally(throwable);
+            }
+        }, Transaction.getExecutor(getClass()));
+
+        return future;
+    }
+
+    @Blocking
+    private int sync(@NotNull Connection connection) throws Throwable {
+        @NotNull PrimaryKey primaryKey = getTable().getPrimaryKey();
+        @NotNull DataContent content = getTable().getDataContent();
+        @NotNull String database = "`" + getTable().getDatabase().getId() + "`";
+
+        @Nullable Timestamp watermark = this.watermark;
+
+        // The first sync only starts the watermark, the loaded datas were just read
+        if (watermark == null) {
+            try (@NotNull PreparedStatement statement = connection.prepareStatement("SELECT CURRENT_TIMESTAMP(6)")) {
+                @NotNull ResultSet set = statement.executeQuery();
+                set.next();
+
+                this.watermark = set.getTimestamp(1);
+            }
+
+            return 0;
+        }
+
+        @NotNull Timestamp from = new Timestamp(watermark.getTime() - getOverlap());
+        @NotNull Timestamp newest = watermark;
+        @NotNull Set<Key> changed = new HashSet<>();
+        int amount = 0;
+
+        try (@NotNull PreparedStatement statement = connection.prepareStatement("SELECT * FROM " + database + ".`" + getTable().getId() + "` WHERE `row_updated` >= ?")) {
+            statement.setTimestamp(1, from);
+            @NotNull ResultSet set = statement.executeQuery();
+
+            while (set.next()) {
+                @NotNull Key key = primaryKey.read(set);
+                @NotNull Timestamp updated = set.getTimestamp("row_updated");
+                if (updated.after(newest)) newest = updated;
+
+                changed.add(key);
+                getTable().getResultCache().invalidate(key);
+                getTable().getLocalCache().invalidate(key);
+                getTable().getOffHeapStore().invalidate(key);
+
+                @Nullable MysqlData data = content.get(key);
+                if (data == null || !data.isLoaded()) {
+                    // The resident tables keeps the rows created by other nodes too
+                    if (getTable().isResident() && MysqlData.load(getTable(), set) != null) {
+                        amount++;
+                    }
+
+                    continue;
+                }
+
+                @NotNull Map<String, Object> values = new HashMap<>();
+                for (@NotNull MysqlVariable<?> variable : new ArrayList<>(data.getData().keySet())) {
+                    if (variable.getType() instanceof AbstractType && !primaryKey.contains(variable)) {
+                        values.put(variable.getId(), set.getObject(variable.getId()));
+                    }
+                }
+
+                data.patch(values, getTable().isVersioned() ? set.getLong("row_version") : null);
+                amount++;
+            }
+        }
+
+        // Tombstones, the keys that were created again are kept
+        try (@NotNull PreparedStatement statement = connection.prepareStatement("SELECT * FROM " + database + ".`" + getTombstones() + "` WHERE `row_deleted` >= ?")) {
+            statement.setTimestamp(1, from);
+            @NotNull ResultSet set = statement.executeQuery();
+
+            while (set.next()) {
+                @NotNull Key key = primaryKey.read(set);
+                @NotNull Timestamp deleted = set.getTimestamp("row_deleted");
+                if (deleted.after(newest)) newest = deleted;
+
+                getTable().getResultCache().invalidate(key);
+                getTable().getLocalCache().invalidate(key);
+                getTable().getOffHeapStore().invalidate(key);
+
+                @Nullable MysqlData data = content.get(key);
+                if (!changed.contains(key) && data != null && data.isLoaded()) {
+                    data.evict().join();
+                    amount++;
+                }
+            }
+        }
+
+        this.watermark = newest;
+
+        // Removes the old tombstones once every tenth of the retention
+        if (System.currentTimeMillis() - pruned >= getTombstoneRetention() / 10) {
+            try (@NotNull PreparedStatement statement = connection.prepareStatement("DELETE FROM " + database + ".`" + getTombstones() + "` WHERE `row_deleted` < ?")) {
+                statement.setTimestamp(1, new Timestamp(newest.getTime() - getTombstoneRetention()));
+                statement.execute();
+            }
+
+            pruned = System.currentTimeMillis();
+        }
+
+        return amount;
+    }
+
+    @Override
+    public @NotNull String toString() {
+        return "DeltaSync{" +
+                "enabled=" + enabled +
+                ", watermark=" + watermark +
+                '}';
+    }
+
+}
@@ -0,0 +1,252 @@
+package codes.laivy.data.mysql.table;
+
+import codes.laivy.data.mysql.data.Condition;
+import codes.laivy.data.mysql.variable.MysqlVariable;
+import codes.laivy.data.mysql.variable.type.AbstractType;
+import org.jetbrains.annotations.*;
+
+import java.nio.ByteBuffer;
+import java.util.*;
+
+/**
+ * Represents an index declaration of a table, with one (single) or more (composite) variables.
+ * <p>
+ * The declared indexes are created and reconciled with the table at the schema synchronizations, and the
+ * unique ones allow retrieving data by its unique key in constant time.
+ *
+ * @since 2.2
+ */
+public final class Index {
+
+    // Static initializers
+
+    public static @NotNull Index of(@NotNull String id, boolean unique, @NotNull MysqlVariable<?> @NotNull ... variables) {
+        return new Index(id, unique, Arrays.stream(variables).map(Column::of).toArray(Column[]::new));
+    }
+    public static @NotNull Index of(@NotNull String id, boolean unique, @NotNull Column @NotNull ... columns) {
+        return new Index(id, unique, columns);
+    }
+
+    public static @NotNull Index unique(@NotNull String id, @NotNull MysqlVariable<?> @NotNull ... variables) {
+        return of(id, true, variables);
+    }
+    public static @NotNull Index unique(@NotNull String id, @NotNull Column @NotNull ... columns) {
+        return of(id, true, columns);
+    }
+
+    /**
+     * Converts the values of an index into a key that can be compared, byte arrays are compared by its content.
+     *
+     * @param values the index values
+     * @return the comparable key
+     */
+    @ApiStatus.Internal
+    public static @NotNull List<Object> key(@Nullable Object @NotNull ... values) {
+        @NotNull List<Object> key = new ArrayList<>(values.length);
+
+        for (@Nullable Object value : values) {
+            if (value instanceof byte[]) {
+                key.add(ByteBuffer.wrap((byte[]) value));
+            } else {
+                key.add(value);
+            }
+        }
+
+        return key;
+    }
+
+    // Object
+
+    private final @NotNull String id;
+    private final boolean unique;
+    private final @NotNull Column @NotNull [] columns;
+
+    private Index(@NotNull String id, boolean unique, @NotNull Column @NotNull [] columns) {
+        this.id = id;
+        this.unique = unique;
+        this.columns = columns;
+
+        if (!id.matches("^[a-zA-Z0-9_]{0,63}$")) {
+            throw new IllegalStateException("This index id '" + id + "' doesn't follows the regex '^[a-zA-Z0-9_]{0,63}$'");
+        } else if (id.equalsIgnoreCase("primary")) {
+            throw new IllegalStateException("Illegal index id '" + id + "'");
+        } else if (columns.length == 0) {
+            throw new IllegalStateException("The index '" + id + "' must have at least one variable");
+        } else if (Arrays.stream(columns).map(column -> column.getVariable().getTable()).distinct().count() > 1) {
+            throw new IllegalStateException("The variables of the index '" + id + "' must be from the same table");
+        } else if (Arrays.stream(columns).map(column -> column.getVariable().getId().toLowerCase()).distinct().count() != columns.length) {
+            throw new IllegalStateException("The index '" + id + "' has duplicated variables");
+        }
+    }
+
+    @Contract(pure = true)
+    public @NotNull String getId() {
+        return id;
+    }
+
+    @Contract(pure = true)
+    public boolean isUnique() {
+        return unique;
+    }
+
+    @Contract(pure = true)
+    public @NotNull MysqlTable getTable() {
+        return columns[0].getVariable().getTable();
+    }
+
+    @Contract(pure = true)
+    public @NotNull @Unmodifiable List<Column> getColumns() {
+        return Collections.unmodifiableList(Arrays.asList(columns));
+    }
+
+    /**
+     * Converts the values of this unique index into conditions, used to find the data with them.
+     *
+     * @param values the values of the index variables, at the same order
+     * @return the conditions
+     */
+    @ApiStatus.Internal
+    public @NotNull Condition<?> @NotNull [] getConditions(@Nullable Object @NotNull ... values) {
+        if (!isUnique()) {
+            throw new IllegalStateException("The index '" + getId() + "' isn't unique");
+        } else if (values.length != columns.length) {
+            throw new IllegalStateException("The index '" + getId() + "' has " + columns.length + " variables, but " + values.length + " values are provided");
+        } else if (Arrays.stream(values).anyMatch(Objects::isNull)) {
+            throw new IllegalStateException("The unique keys cannot have null values");
+        }
+
+        @NotNull Condition<?> @NotNull [] conditions = new Condition<?>[columns.length];
+        for (int index = 0; index < columns.length; index++) {
+            @SuppressWarnings("unchecked")
+            @NotNull MysqlVariable<Object> variable = (MysqlVariable<Object>) columns[index].getVariable();
+            conditions[index] = Condition.of(variable, values[index]);
+        }
+
+        return conditions;
+    }
+
+    public boolean contains(@NotNull MysqlVariable<?> variable) {
+        return Arrays.stream(columns).anyMatch(column -> column.getVariable().equals(variable));
+    }
+
+    /**
+     * Generates the index definition, used at the {@code CREATE TABLE} and {@code ALTER TABLE} statements.
+     *
+     * @return the index definition (e.g. {@code UNIQUE INDEX `id` (`a`, `b`(16))})
+     */
+    public @NotNull String getDefinition() {
+        @NotNull StringBuilder builder = new StringBuilder(isUnique() ? "UNIQUE INDEX `" : "INDEX `").append(getId()).append("` (");
+
+        int index = 0;
+        for (@NotNull Column column : columns) {
+            if (index > 0) builder.append(", ");
+            builder.append("`").append(column.getVariable().getId()).append("`");
+
+            if (column.getLength() != null) {
+                builder.append("(").append(column.getLength()).append(")");
+            }
+
+            index++;
+        }
+
+        return builder.append(")").toString();
+    }
+
+    /**
+     * Checks if an index that currently exists at the database has the same definition of this declaration.
+     *
+     * @param key the existent index
+     * @return true if both have the same uniqueness, columns and prefix lengths
+     */
+    public boolean matches(@NotNull Schema.TableKey key) {
+        if (key.isUnique() != isUnique() || key.getColumns().size() != columns.length) {
+            return false;
+        }
+
+        for (int index = 0; index < columns.length; index++) {
+            if (!key.getColumns().get(index).equalsIgnoreCase(columns[index].getVariable().getId())) {
+                return false;
+            } else if (!Objects.equals(key.getLengths().get(index), columns[index].getLength())) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    @Override
+    public boolean equals(@Nullable Object object) {
+        if (this == object) return true;
+        if (!(object instanceof Index)) return false;
+        Index index = (Index) object;
+        return getId().equalsIgnoreCase(index.getId()) && Objects.equals(getTable(), index.getTable());
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(getId().toLowerCase(), getTable());
+    }
+
+    @Override
+    public @NotNull String toString() {
+        return "Index{" +
+                "id='" + id + '\'' +
+                ", unique=" + unique +
+                ", columns=" + Arrays.toString(columns) +
+                '}';
+    }
+
+    // Classes
+
+    public static final class Column {
+
+        public static @NotNull Column of(@NotNull MysqlVariable<?> variable) {
+            return new Column(variable, null);
+        }
+
+        /**
+         * Creates an index column that only indexes the first characters (or bytes) of the values.
+         * It's required for TEXT and BLOB variables.
+         *
+         * @param variable the variable
+         * @param length the prefix length
+         * @return the index column
+         */
+        public static @NotNull Column of(@NotNull MysqlVariable<?> variable, @Range(from = 1, to = Integer.MAX_VALUE) int length) {
+            return new Column(variable, length);
+        }
+
+        private final @NotNull MysqlVariable<?> variable;
+        private final @Nullable Integer length;
+
+        private Column(@NotNull MysqlVariable<?> variable, @Nullable Integer length) {
+            this.variable = variable;
+            this.length = length;
+
+            if (length != null && length < 1) {
+                throw new IllegalStateException("Illegal prefix length '" + length + "' for the index of variable '" + variable.getId() + "'");
+            } else if (length == null && variable.getType() instanceof AbstractType && ((AbstractType<?>) variable.getType()).isIndexPrefixRequired()) {
+                throw new IllegalStateException("The variable '" + variable.getId() + "' requires a prefix length to be indexed");
+            }
+        }
+
+        @Contract(pure = true)
+        public @NotNull MysqlVariable<?> getVariable() {
+            return variable;
+        }
+
+        /**
+         * @return the prefix length, or null if the entire values are indexed
+         */
+        @Contract(pure = true)
+        public @Nullable Integer getLength() {
+            return length;
+        }
+
+        @Override
+        public @NotNull String toString() {
+            return variable.getId() + (length != null ? "(" + length + ")" : "");
+        }
+    }
+
+}
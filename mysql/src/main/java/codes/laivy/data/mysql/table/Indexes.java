@@ -0,0 +1,83 @@
+package codes.laivy.data.mysql.table;
+
+import codes.laivy.data.content.Content;
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Unmodifiable;
+
+import java.util.*;
+
+/**
+ * The index declarations of a table. The declared indexes are created (or recreated, if they have a different
+ * definition) at the next schema synchronization, like the table start or a variable start. Indexes that exists at
+ * the database but aren't declared here are never dropped.
+ *
+ * @since 2.2
+ */
+public final class Indexes extends Content.SetProvider<Index> {
+
+    private final @NotNull MysqlTable table;
+
+    public Indexes(@NotNull MysqlTable table) {
+        super(new LinkedHashSet<>());
+        this.table = table;
+    }
+
+    @Contract(pure = true)
+    public @NotNull MysqlTable getTable() {
+        return table;
+    }
+
+    public void addAll(@NotNull Index @NotNull ... indexes) {
+        for (@NotNull Index index : indexes) {
+            add(index);
+        }
+    }
+
+    @Override
+    public boolean add(@NotNull Index object) {
+        if (!object.getTable().equals(getTable())) {
+            throw new IllegalStateException("Illegal index table '" + object.getId() + "'");
+        }
+
+        synchronized (this) {
+            if (stream().anyMatch(index -> index.getId().equalsIgnoreCase(object.getId()))) {
+                throw new IllegalStateException("An index with id '" + object.getId() + "' already are declared at table '" + getTable().getId() + "'");
+            }
+
+            return super.add(object);
+        }
+    }
+
+    @Override
+    public boolean remove(@NotNull Index object) {
+        synchronized (this) {
+            if (super.remove(object)) {
+                getTable().getDataContent().unindex(object);
+                return true;
+            }
+            return false;
+        }
+    }
+
+    public boolean contains(@NotNull String id) {
+        return get(id).isPresent();
+    }
+
+    public @NotNull Optional<Index> get(@NotNull String id) {
+        return toCollection().stream().filter(index -> index.getId().equalsIgnoreCase(id)).findFirst();
+    }
+
+    @Override
+    public @NotNull Iterator<Index> iterator() {
+        return toCollection().iterator();
+    }
+
+    @Override
+    public @Unmodifiable @NotNull Collection<Index> toCollection() {
+        synchronized (this) {
+            return Collections.unmodifiableList(new ArrayList<>(set));
+        }
+    }
+
+}
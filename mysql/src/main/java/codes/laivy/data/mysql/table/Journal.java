@@ -0,0 +1,593 @@
+package codes.laivy.data.mysql.table;
+
+import codes.laivy.data.mysql.coherence.ValueCodec;
+import codes.laivy.data.mysql.data.Key;
+import codes.laivy.data.mysql.data.MysqlData;
+import codes.laivy.data.mysql.variable.MysqlCounterVariable;
+import codes.laivy.data.mysql.variable.MysqlVariable;
+import org.jetbrains.annotations.*;
+
+import java.io.*;
+import java.nio.BufferOverflowException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.*;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.CRC32;
+
+/**
+ * A local append-only journal of the changes made to the loaded datas of a table that aren't saved yet, so they
+ * aren't lost if the application crashes before the datas are saved.
+ * <p>
+ * Every {@code MysqlData#set} and {@code MysqlData#increment} call appends the change to a memory mapped file
+ * before returning, and the file is synchronized to the disk at every {@link #getSyncInterval() sync interval}.
+ * The changes are committed when the data is saved, and the file is truncated when there's no more changes to
+ * commit. When the table starts, the changes not committed are applied to their datas and saved again.
+ * <p>
+ * While the journal is enabled, the changes with values or keys unsupported by the {@link ValueCodec#DEFAULT default
+ * codec} are rejected with an {@link IllegalStateException}, since they couldn't be recovered after a crash. The file
+ * is compacted into a sibling file that atomically replaces it, so it always has every change not committed.
+ *
+ * @since 2.2
+ */
+public final class Journal {
+
+    private static final @NotNull ScheduledExecutorService SCHEDULER = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        @NotNull Thread thread = new Thread(runnable, "Mysql journal");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private static final int MAGIC = 0x4C444A4E;
+    private static final byte FORMAT = 1;
+    // The magic and the format
+    private static final int HEADER = 5;
+
+    private static final byte SET = 1;
+    private static final byte INCREMENT = 2;
+    private static final byte COMMIT = 3;
+
+    private final @NotNull MysqlTable table;
+
+    private volatile @Nullable Path file;
+    private volatile long syncInterval = 100;
+    private volatile int capacity = 16 * 1024 * 1024;
+
+    private @Nullable FileChannel channel;
+    private @Nullable MappedByteBuffer buffer;
+    private @Nullable ScheduledFuture<?> syncer;
+    private boolean dirty = false;
+    private boolean replaying = false;
+
+    private long sequence = 0;
+    // The changes not committed yet of every data, at the order they were made
+    private final @NotNull Map<Key, List<Change>> changes = new LinkedHashMap<>();
+
+    Journal(@NotNull MysqlTable table) {
+        this.table = table;
+    }
+
+    @Contract(pure = true)
+    public @NotNull MysqlTable getTable() {
+        return table;
+    }
+
+    /**
+     * @return true if the changes are being journaled
+     */
+    public synchronized boolean isEnabled() {
+        return buffer != null && !replaying;
+    }
+
+    /**
+     * @return the journal file, or null (default) if the journal is disabled
+     */
+    @Contract(pure = true)
+    public @Nullable Path getFile() {
+        return file;
+    }
+    public void setFile(@Nullable Path file) {
+        if (getTable().isLoaded()) {
+            throw new IllegalStateException("The journal file of the table '" + getTable().getId() + "' cannot be changed while it's loaded");
+        }
+
+        this.file = file;
+    }
+
+    /**
+     * @return the time in milliseconds between the synchronizations of the file to the disk, 0 to synchronize at every change
+     */
+    @Contract(pure = true)
+    public long getSyncInterval() {
+        return syncInterval;
+    }
+    public void setSyncInterval(long syncInterval) {
+        if (syncInterval < 0) {
+            throw new IllegalArgumentException("The journal sync interval cannot be negative");
+        } else if (getTable().isLoaded()) {
+            throw new IllegalStateException("The journal sync interval of the table '" + getTable().getId() + "' cannot be changed while it's loaded");
+        }
+
+        this.syncInterval = syncInterval;
+    }
+
+    /**
+     * @return the initial size in bytes of the mapped file, it grows if the changes not committed doesn't fit
+     */
+    @Contract(pure = true)
+    public int getCapacity() {
+        return capacity;
+    }
+    public void setCapacity(int capacity) {
+        if (capacity < 1024) {
+            throw new IllegalArgumentException("The journal capacity must have at least 1024 bytes");
+        }
+
+        this.capacity = capacity;
+    }
+
+    /**
+     * @return the sequence of the last change, a commit with it commits all the changes made before
+     */
+    @ApiStatus.Internal
+    public synchronized long getSequence() {
+        return sequence;
+    }
+
+    /**
+     * @return the amount of datas with changes not committed
+     */
+    public synchronized int size() {
+        return changes.size();
+    }
+
+    /**
+     * Checks if a change of a variable value can be journaled, called before the data changes.
+     *
+     * @param key the key of the data
+     * @param variable the variable
+     * @param value the new value
+     * @throws IllegalStateException if the journal is enabled and the value or the key aren't supported
+     */
+    @ApiStatus.Internal
+    public void check(@NotNull Key key, @NotNull MysqlVariable<?> variable, @Nullable Object value) {
+        if (!isEnabled()) {
+            return;
+        }
+
+        try {
+            new Change(0, SET, variable.getId().toLowerCase(), value).encode(key);
+        } catch (@NotNull IllegalArgumentException | IOException exception) {
+            throw new IllegalStateException("The change of the variable '" + variable.getId() + "' cannot be journaled at the table '" + getTable().getId() + "'", exception);
+        }
+    }
+
+    /**
+     * Appends a change of a variable value.
+     *
+     * @param key the key of the data
+     * @param variable the variable
+     * @param value the new value
+     */
+    @ApiStatus.Internal
+    public synchronized void set(@NotNull Key key, @NotNull MysqlVariable<?> variable, @Nullable Object value) {
+        if (!isEnabled()) {
+            return;
+        }
+
+        @NotNull String column = variable.getId().toLowerCase();
+        @NotNull Change change = new Change(sequence + 1, SET, column, value);
+
+        append(key, change);
+        sequence++;
+
+        // The value is absolute, the older changes of the variable are replaced
+        @NotNull List<Change> list = changes.computeIfAbsent(key, k -> new ArrayList<>());
+        list.removeIf(c -> c.column.equals(column));
+        list.add(change);
+    }
+
+    /**
+     * Appends an increment of a counter variable.
+     *
+     * @param key the key of the data
+     * @param variable the counter variable
+     * @param amount the amount incremented
+     */
+    @ApiStatus.Internal
+    public synchronized void increment(@NotNull Key key, @NotNull MysqlCounterVariable<?> variable, long amount) {
+        if (!isEnabled()) {
+            return;
+        }
+
+        @NotNull Change change = new Change(sequence + 1, INCREMENT, variable.getId().toLowerCase(), amount);
+
+        append(key, change);
+        sequence++;
+
+        changes.computeIfAbsent(key, k -> new ArrayList<>()).add(change);
+    }
+
+    /**
+     * Commits the changes of a data saved at the database, truncating the file if there's no more changes.
+     *
+     * @param key the key of the data
+     * @param sequence the {@link #getSequence() sequence} read before the save, the changes made after aren't committed
+     * @param columns the committed variable ids in lowercase, or null to commit all the variables
+     */
+    @ApiStatus.Internal
+    public synchronized void commit(@NotNull Key key, long sequence, @Nullable Set<String> columns) {
+        @Nullable List<Change> list = changes.get(key);
+        if (buffer == null || list == null) {
+            return;
+        }
+
+        list.removeIf(change -> change.sequence <= sequence && (columns == null || columns.contains(change.column)));
+
+        if (list.isEmpty()) {
+            changes.remove(key);
+        }
+
+        if (changes.isEmpty()) {
+            truncate();
+        } else {
+            append(key, new Change(sequence, COMMIT, null, columns));
+        }
+    }
+
+    /**
+     * Opens the journal file, and saves the changes not committed of the last execution.
+     *
+     * @return the amount of datas saved again
+     */
+    @ApiStatus.Internal
+    @Blocking
+    public int open() throws IOException {
+        @Nullable Path file = getFile();
+        if (file == null) {
+            return 0;
+        }
+
+        @NotNull Map<Key, List<Change>> replay;
+
+        synchronized (this) {
+            channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, Math.max(getCapacity(), channel.size()));
+
+            read();
+            replay = new LinkedHashMap<>();
+            for (@NotNull Map.Entry<Key, List<Change>> entry : changes.entrySet()) {
+                replay.put(entry.getKey(), new ArrayList<>(entry.getValue()));
+            }
+
+            if (getSyncInterval() > 0) {
+                syncer = SCHEDULER.scheduleWithFixedDelay(this::sync, getSyncInterval(), getSyncInterval(), TimeUnit.MILLISECONDS);
+            }
+        }
+
+        // The changes are applied without journaling them again, they're committed by the saves
+        int amount = 0;
+
+        for (@NotNull Map.Entry<Key, List<Change>> entry : replay.entrySet()) {
+            @NotNull MysqlData data = MysqlData.retrieve(getTable(), entry.getKey());
+
+            synchronized (this) {
+                replaying = true;
+            }
+
+            try {
+                if (!data.isLoaded()) data.start().join();
+
+                for (@NotNull Change change : entry.getValue()) {
+                    @Nullable MysqlVariable<?> variable = getTable().getVariables().getById(change.column).orElse(null);
+                    if (variable == null || !data.getData().containsKey(variable)) {
+                        continue;
+                    }
+
+                    if (change.type == SET) {
+                        data.set(variable.getId(), change.value);
+                    } else if (variable instanceof MysqlCounterVariable) {
+                        data.increment((MysqlCounterVariable<?>) variable, (long) Objects.requireNonNull(change.value));
+                    }
+                }
+            } finally {
+                synchronized (this) {
+                    replaying = false;
+                }
+            }
+
+            data.save().join();
+            amount++;
+        }
+
+        return amount;
+    }
+
+    /**
+     * Synchronizes and closes the journal file, called when the table stops.
+     */
+    @ApiStatus.Internal
+    public synchronized void close() {
+        if (syncer != null) {
+            syncer.cancel(false);
+            syncer = null;
+        }
+
+        if (buffer != null) {
+            if (changes.isEmpty()) truncate();
+            buffer.force();
+            buffer = null;
+        }
+
+        if (channel != null) try {
+            channel.close();
+        } catch (@NotNull IOException ignore) {
+        } finally {
+            channel = null;
+        }
+
+        changes.clear();
+    }
+
+    /**
+     * Synchronizes the appended changes to the disk.
+     */
+    public synchronized void sync() {
+        if (buffer != null && dirty) {
+            buffer.force();
+            dirty = false;
+        }
+    }
+
+    // Reads the changes not committed of the file, the records after a partial write are discarded
+    private void read() {
+        @NotNull MappedByteBuffer buffer = Objects.requireNonNull(this.buffer);
+        changes.clear();
+
+        if (buffer.getInt(0) != MAGIC || buffer.get(4) != FORMAT) {
+            truncate();
+            return;
+        }
+
+        buffer.position(HEADER);
+
+        while (buffer.remaining() >= 8) {
+            int start = buffer.position();
+            int length = buffer.getInt();
+            int checksum = buffer.getInt();
+
+            if (length <= 0 || length > buffer.remaining()) {
+                buffer.position(start);
+                break;
+            }
+
+            byte @NotNull [] bytes = new byte[length];
+            buffer.get(bytes);
+
+            @NotNull CRC32 crc = new CRC32();
+            crc.update(bytes);
+            if ((int) crc.getValue() != checksum) {
+                buffer.position(start);
+                break;
+            }
+
+            try (@NotNull DataInputStream input = new DataInputStream(new ByteArrayInputStream(bytes))) {
+                byte type = input.readByte();
+                long sequence = input.readLong();
+
+                @NotNull Object[] values = new Object[getTable().getPrimaryKey().getColumns().size()];
+                for (int index = 0; index < values.length; index++) {
+                    values[index] = ValueCodec.DEFAULT.read(input);
+                }
+                @NotNull Key key = getTable().getPrimaryKey().normalize(Key.of(values));
+
+                this.sequence = Math.max(this.sequence, sequence);
+
+                if (type == COMMIT) {
+                    @Nullable Set<String> columns = null;
+                    int amount = input.readInt();
+
+                    if (amount >= 0) {
+                        columns = new HashSet<>();
+                        for (int index = 0; index < amount; index++) columns.add(input.readUTF());
+                    }
+
+                    @Nullable List<Change> list = changes.get(key);
+                    if (list != null) {
+                        @Nullable Set<String> committed = columns;
+                        list.removeIf(change -> change.sequence <= sequence && (committed == null || committed.contains(change.column)));
+                        if (list.isEmpty()) changes.remove(key);
+                    }
+                } else {
+                    @NotNull String column = input.readUTF();
+                    @Nullable Object value = type == SET ? ValueCodec.DEFAULT.read(input) : (Object) input.readLong();
+
+                    @NotNull List<Change> list = changes.computeIfAbsent(key, k -> new ArrayList<>());
+                    if (type == SET) list.removeIf(change -> change.column.equals(column));
+                    list.add(new Change(sequence, type, column, value));
+                }
+            } catch (@NotNull IOException | RuntimeException ignore) {
+                // An unreadable record, the records after it are discarded
+                buffer.position(start);
+                break;
+            }
+        }
+
+        // The next append starts here, the remaining bytes are the end marker
+        if (buffer.remaining() >= 4) buffer.putInt(buffer.position(), 0);
+    }
+
+    // Appends a record to the file
+    private void append(@NotNull Key key, @NotNull Change change) {
+        @NotNull MappedByteBuffer buffer = Objects.requireNonNull(this.buffer);
+        byte @NotNull [] bytes;
+
+        try {
+            bytes = change.encode(key);
+        } catch (@NotNull IllegalArgumentException | IOException exception) {
+            throw new IllegalStateException("Cannot journal the change of the table '" + getTable().getId() + "', its values aren't supported", exception);
+        }
+
+        @NotNull CRC32 crc = new CRC32();
+        crc.update(bytes);
+
+        if (buffer.remaining() < bytes.length + 12) {
+            compact(bytes.length + 12);
+            buffer = Objects.requireNonNull(this.buffer);
+        }
+
+        try {
+            buffer.putInt(bytes.length);
+            buffer.putInt((int) crc.getValue());
+            buffer.put(bytes);
+            // The end marker, overwritten by the next record
+            buffer.putInt(buffer.position(), 0);
+
+            if (getSyncInterval() == 0) {
+                buffer.force();
+            } else {
+                dirty = true;
+            }
+        } catch (@NotNull BufferOverflowException | IndexOutOfBoundsException exception) {
+            throw new IllegalStateException("Cannot append the change to the journal of the table '" + getTable().getId() + "'", exception);
+        }
+    }
+
+    // Writes only the changes not committed to a sibling file, growing it if they doesn't fit, and replaces the file
+    // with it; a crash or a failure while compacting leaves the file as it was
+    private void compact(int needed) {
+        @NotNull Path file = Objects.requireNonNull(getFile());
+        @NotNull Path temporary = file.resolveSibling(file.getFileName() + ".tmp");
+
+        try {
+            int size = HEADER + needed + 4;
+            @NotNull List<byte[]> records = new ArrayList<>();
+
+            for (@NotNull Map.Entry<Key, List<Change>> entry : changes.entrySet()) {
+                for (@NotNull Change change : entry.getValue()) {
+                    byte @NotNull [] bytes = change.encode(entry.getKey());
+                    records.add(bytes);
+                    size += bytes.length + 8;
+                }
+            }
+
+            long capacity = Objects.requireNonNull(buffer).capacity();
+            if (size > capacity) capacity = Math.max(capacity * 2, size);
+
+            int position;
+
+            try (@NotNull FileChannel compacted = FileChannel.open(temporary, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+                @NotNull MappedByteBuffer mapped = compacted.map(FileChannel.MapMode.READ_WRITE, 0, capacity);
+                mapped.putInt(MAGIC);
+                mapped.put(FORMAT);
+
+                for (byte @NotNull [] bytes : records) {
+                    @NotNull CRC32 crc = new CRC32();
+                    crc.update(bytes);
+
+                    mapped.putInt(bytes.length);
+                    mapped.putInt((int) crc.getValue());
+                    mapped.put(bytes);
+                }
+                mapped.putInt(mapped.position(), 0);
+                mapped.force();
+
+                position = mapped.position();
+            }
+
+            try {
+                Files.move(temporary, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (@NotNull AtomicMoveNotSupportedException ignore) {
+                Files.move(temporary, file, StandardCopyOption.REPLACE_EXISTING);
+            }
+
+            // The old file is released only after it was replaced
+            Objects.requireNonNull(channel).close();
+            channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, capacity);
+            buffer.position(position);
+            dirty = false;
+        } catch (@NotNull IOException exception) {
+            try {
+                Files.deleteIfExists(temporary);
+            } catch (@NotNull IOException ignore) {
+            }
+
+            throw new UncheckedIOException("Cannot compact the journal of the table '" + getTable().getId() + "'", exception);
+        }
+    }
+
+    private void truncate() {
+        @NotNull MappedByteBuffer buffer = Objects.requireNonNull(this.buffer);
+
+        buffer.putInt(0, MAGIC);
+        buffer.put(4, FORMAT);
+        buffer.putInt(HEADER, 0);
+        buffer.position(HEADER);
+
+        dirty = true;
+    }
+
+    @Override
+    public @NotNull String toString() {
+        return "Journal{" +
+                "file=" + file +
+                ", syncInterval=" + syncInterval +
+                ", capacity=" + capacity +
+                ", size=" + size() +
+                '}';
+    }
+
+    // Classes
+
+    private static final class Change {
+
+        private final long sequence;
+        private final byte type;
+        private final @UnknownNullability String column;
+        private final @Nullable Object value;
+
+        private Change(long sequence, byte type, @UnknownNullability String column, @Nullable Object value) {
+            this.sequence = sequence;
+            this.type = type;
+            this.column = column;
+            this.value = value;
+        }
+
+        private byte @NotNull [] encode(@NotNull Key key) throws IOException {
+            @NotNull ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            @NotNull DataOutputStream output = new DataOutputStream(bytes);
+
+            output.writeByte(type);
+            output.writeLong(sequence);
+            for (@Nullable Object value : key.getValues()) {
+                ValueCodec.DEFAULT.write(output, value);
+            }
+
+            if (type == COMMIT) {
+                @SuppressWarnings("unchecked")
+                @Nullable Set<String> columns = (Set<String>) value;
+                output.writeInt(columns == null ? -1 : columns.size());
+                if (columns != null) for (@NotNull String column : columns) output.writeUTF(column);
+            } else if (type == INCREMENT) {
+                output.writeUTF(column);
+                output.writeLong((long) Objects.requireNonNull(value));
+            } else {
+                output.writeUTF(column);
+                ValueCodec.DEFAULT.write(output, value);
+            }
+
+            return bytes.toByteArray();
+        }
+
+    }
+
+}
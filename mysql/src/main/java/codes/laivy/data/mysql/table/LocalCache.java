@@ -0,0 +1,248 @@
+package codes.laivy.data.mysql.table;
+
+import codes.laivy.data.mysql.authentication.Transaction;
+import codes.laivy.data.mysql.coherence.ValueCodec;
+import codes.laivy.data.mysql.data.Key;
+import org.jetbrains.annotations.*;
+
+import java.io.*;
+import java.nio.file.Path;
+import java.sql.*;
+import java.util.*;
+
+/**
+ * A second level cache of the rows of a table at a local SQLite file, between the memory and the database. The rows
+ * read by the {@code MysqlDataCache#retrieve} calls and the datas stopped are written to the file, and read from it
+ * instead of the database until the {@link #getTtl() ttl}, so an unloaded row costs a local disk read instead of a
+ * network round trip.
+ * <p>
+ * The database is still the source of truth, the writes made by the library, the invalidation bus and the delta
+ * sync invalidate the rows of this cache together with the {@link ResultCache result cache}. The rows with values
+ * unsupported by the {@link ValueCodec#DEFAULT default codec} aren't cached.
+ * <p>
+ * It requires the {@code org.xerial:sqlite-jdbc} driver at the classpath.
+ *
+ * @since 2.2
+ */
+public final class LocalCache {
+
+    private final @NotNull MysqlTable table;
+
+    private volatile @Nullable Path file;
+    private volatile long ttl = 600_000;
+
+    private @Nullable Connection connection;
+    // Increased at every invalidation, the rows read before it aren't cached
+    private long generation = 0;
+
+    LocalCache(@NotNull MysqlTable table) {
+        this.table = table;
+    }
+
+    @Contract(pure = true)
+    public @NotNull MysqlTable getTable() {
+        return table;
+    }
+
+    /**
+     * @return true if the rows are cached at the local file
+     */
+    public boolean isEnabled() {
+        return getFile() != null && getTable().isLoaded() && !getTable().isResident() && Transaction.getCurrent() == null;
+    }
+
+    /**
+     * @return the SQLite file, or null (default) if the local cache is disabled
+     */
+    @Contract(pure = true)
+    public @Nullable Path getFile() {
+        return file;
+    }
+    public synchronized void setFile(@Nullable Path file) {
+        if (getTable().isLoaded()) {
+            throw new IllegalStateException("The local cache file of the table '" + getTable().getId() + "' cannot be changed while it's loaded");
+        }
+
+        this.file = file;
+    }
+
+    /**
+     * @return the time in milliseconds that the rows are kept at the file
+     */
+    @Contract(pure = true)
+    public long getTtl() {
+        return ttl;
+    }
+    public void setTtl(long ttl) {
+        if (ttl < 1) {
+            throw new IllegalArgumentException("The local cache ttl must be positive");
+        }
+
+        this.ttl = ttl;
+    }
+
+    /**
+     * Reads a cached row.
+     *
+     * @param key the normalized primary key of the row
+     * @return the columns of the row with lowercase names, or null if the row isn't cached or expired
+     */
+    @ApiStatus.Internal
+    @Blocking
+    public synchronized @Nullable Map<String, Object> get(@NotNull Key key) {
+        if (!isEnabled()) {
+            return null;
+        }
+
+        try (@NotNull PreparedStatement statement = getConnection().prepareStatement("SELECT `columns` FROM `" + getName() + "` WHERE `key` = ? AND `time` > ?")) {
+            statement.setBytes(1, encode(key));
+            statement.setLong(2, System.currentTimeMillis() - getTtl());
+
+            @NotNull ResultSet set = statement.executeQuery();
+            if (!set.next()) {
+                return null;
+            }
+
+            @NotNull DataInputStream input = new DataInputStream(new ByteArrayInputStream(set.getBytes(1)));
+            @NotNull Map<String, Object> columns = new HashMap<>();
+
+            for (int amount = input.readInt(); amount > 0; amount--) {
+                columns.put(input.readUTF(), ValueCodec.DEFAULT.read(input));
+            }
+
+            return columns;
+        } catch (@NotNull IllegalArgumentException | SQLException | IOException ignore) {
+            // The row is read from the database
+            return null;
+        }
+    }
+
+    /**
+     * @return the current generation, that must be read before reading a row from the database to cache it
+     */
+    @ApiStatus.Internal
+    public synchronized long getGeneration() {
+        return generation;
+    }
+
+    /**
+     * Writes a row to the cache, replacing the current one.
+     *
+     * @param key the normalized primary key of the row
+     * @param columns the columns of the row with lowercase names
+     * @param generation the generation read before the row, the row isn't cached if there was invalidations after it
+     */
+    @ApiStatus.Internal
+    @Blocking
+    public synchronized void put(@NotNull Key key, @NotNull Map<String, Object> columns, long generation) {
+        if (!isEnabled() || this.generation != generation) {
+            return;
+        }
+
+        try {
+            @NotNull ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            @NotNull DataOutputStream output = new DataOutputStream(bytes);
+            @NotNull Map<String, Object> row = new TreeMap<>(columns);
+            row.remove("row_updated");
+
+            output.writeInt(row.size());
+            for (@NotNull Map.Entry<String, Object> entry : row.entrySet()) {
+                output.writeUTF(entry.getKey());
+                ValueCodec.DEFAULT.write(output, entry.getValue());
+            }
+
+            try (@NotNull PreparedStatement statement = getConnection().prepareStatement("INSERT OR REPLACE INTO `" + getName() + "` (`key`, `time`, `columns`) VALUES (?, ?, ?)")) {
+                statement.setBytes(1, encode(key));
+                statement.setLong(2, System.currentTimeMillis());
+                statement.setBytes(3, bytes.toByteArray());
+                statement.execute();
+            }
+        } catch (@NotNull IllegalArgumentException | SQLException | IOException ignore) {
+            // Unsupported values, the row is read from the database
+            invalidate(key);
+        }
+    }
+
+    /**
+     * Removes a row from the cache.
+     *
+     * @param key the normalized primary key of the row, or null to remove all the rows
+     */
+    @ApiStatus.Internal
+    @Blocking
+    public synchronized void invalidate(@Nullable Key key) {
+        generation++;
+
+        if (getFile() == null || !getTable().isLoaded()) {
+            return;
+        }
+
+        try (@NotNull PreparedStatement statement = getConnection().prepareStatement("DELETE FROM `" + getName() + "`" + (key != null ? " WHERE `key` = ?" : ""))) {
+            if (key != null) statement.setBytes(1, encode(key));
+            statement.execute();
+        } catch (@NotNull IllegalArgumentException | SQLException | IOException ignore) {
+            // Nothing cached to remove
+        }
+    }
+
+    public void clear() {
+        invalidate(null);
+    }
+
+    /**
+     * Closes the local file, called when the table stops.
+     */
+    @ApiStatus.Internal
+    public synchronized void close() {
+        if (connection != null) try {
+            connection.close();
+        } catch (@NotNull SQLException ignore) {
+        } finally {
+            connection = null;
+        }
+    }
+
+    private @NotNull Connection getConnection() throws SQLException {
+        @Nullable Path file = getFile();
+        if (file == null) {
+            throw new IllegalStateException("The local cache of the table '" + getTable().getId() + "' is disabled");
+        }
+
+        if (connection == null || connection.isClosed()) {
+            connection = DriverManager.getConnection("jdbc:sqlite:" + file.toAbsolutePath());
+
+            try (@NotNull Statement statement = connection.createStatement()) {
+                statement.execute("PRAGMA journal_mode=WAL");
+                statement.execute("PRAGMA synchronous=NORMAL");
+                statement.execute("CREATE TABLE IF NOT EXISTS `" + getName() + "` (`key` BLOB PRIMARY KEY, `time` INTEGER NOT NULL, `columns` BLOB NOT NULL)");
+            }
+        }
+
+        return connection;
+    }
+
+    // The same file can be shared by the tables
+    private @NotNull String getName() {
+        return getTable().getDatabase().getId() + "." + getTable().getId();
+    }
+
+    private static byte @NotNull [] encode(@NotNull Key key) throws IOException {
+        @NotNull ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        @NotNull DataOutputStream output = new DataOutputStream(bytes);
+
+        for (@Nullable Object value : key.getValues()) {
+            ValueCodec.DEFAULT.write(output, value);
+        }
+
+        return bytes.toByteArray();
+    }
+
+    @Override
+    public @NotNull String toString() {
+        return "LocalCache{" +
+                "file=" + file +
+                ", ttl=" + ttl +
+                '}';
+    }
+
+}
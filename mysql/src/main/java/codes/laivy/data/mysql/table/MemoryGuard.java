@@ -0,0 +1,381 @@
+package codes.laivy.data.mysql.table;
+
+import codes.laivy.data.mysql.authentication.Transaction;
+import codes.laivy.data.mysql.data.Key;
+import codes.laivy.data.mysql.data.MysqlData;
+import codes.laivy.data.mysql.data.MysqlDataCache;
+import codes.laivy.data.mysql.variable.MysqlVariable;
+import codes.laivy.data.mysql.variable.type.Type;
+import codes.laivy.data.mysql.variable.type.provider.*;
+import org.jetbrains.annotations.*;
+
+import javax.management.NotificationEmitter;
+import javax.management.NotificationListener;
+import java.lang.management.*;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Estimates the heap retained by the loaded datas and the cached results of a table, and evicts the coldest datas
+ * when the old generation of the heap crosses the {@link #getWatermark() watermark}.
+ * <p>
+ * The estimates are computed from the column types and the sizes of the values, for a 64-bit JVM with compressed
+ * references, they're meant to compare and size the caches, not to be exact.
+ * <p>
+ * The old generation is watched by its usage thresholds and the garbage collection notifications, shared by all the
+ * tables of the JVM. Under pressure, the {@link #getRatio() ratio} of the loaded datas with the lowest
+ * {@link AccessTracker access scores} are saved and stopped, and the cached results are discarded. The datas of
+ * {@link MysqlTable#isResident() resident tables} and the new datas aren't evicted.
+ *
+ * @since 2.2
+ */
+public final class MemoryGuard {
+
+    // The estimated sizes of the objects, in bytes
+    private static final int DATA = 400;
+    private static final int ENTRY = 40;
+
+    private static final @NotNull Set<MemoryGuard> GUARDS = ConcurrentHashMap.newKeySet();
+    private static @Nullable MemoryPoolMXBean pool;
+    private static boolean listening = false;
+    private static boolean thresholds = false;
+
+    /**
+     * @return the usage of the old generation of the heap from 0 to 1, or 0 if it's unknown
+     */
+    public static double getUsage() {
+        @Nullable MemoryPoolMXBean pool = getPool();
+        if (pool == null || pool.getUsage().getMax() <= 0) {
+            return 0;
+        }
+
+        return (double) pool.getUsage().getUsed() / pool.getUsage().getMax();
+    }
+
+    // The tenured pool is the heap pool that supports both usage thresholds
+    private static synchronized @Nullable MemoryPoolMXBean getPool() {
+        if (pool == null) for (@NotNull MemoryPoolMXBean bean : ManagementFactory.getMemoryPoolMXBeans()) {
+            if (bean.getType() == MemoryType.HEAP && bean.isUsageThresholdSupported() && bean.isCollectionUsageThresholdSupported()) {
+                pool = bean;
+            }
+        }
+
+        return pool;
+    }
+
+    private static synchronized void listen() {
+        if (listening) {
+            return;
+        }
+        listening = true;
+
+        @NotNull NotificationListener listener = (notification, handback) -> pressure();
+
+        ((NotificationEmitter) ManagementFactory.getMemoryMXBean()).addNotificationListener(listener, null, null);
+        for (@NotNull GarbageCollectorMXBean collector : ManagementFactory.getGarbageCollectorMXBeans()) {
+            if (collector instanceof NotificationEmitter) {
+                ((NotificationEmitter) collector).addNotificationListener(listener, null, null);
+            }
+        }
+    }
+
+    // The thresholds are the lowest watermark of the loaded tables, or disabled without them
+    private static synchronized void update() {
+        @Nullable MemoryPoolMXBean pool = getPool();
+        if (pool == null || pool.getUsage().getMax() <= 0) {
+            return;
+        }
+
+        double watermark = GUARDS.stream().mapToDouble(MemoryGuard::getWatermark).filter(value -> value > 0).min().orElse(0);
+        if (watermark == 0 && !thresholds) {
+            // The thresholds of the pool are only changed if a table uses them
+            return;
+        }
+        thresholds = watermark > 0;
+
+        long threshold = (long) (pool.getUsage().getMax() * watermark);
+
+        pool.setUsageThreshold(threshold);
+        pool.setCollectionUsageThreshold(threshold);
+    }
+
+    private static void pressure() {
+        double usage = getUsage();
+
+        for (@NotNull MemoryGuard guard : GUARDS) {
+            if (guard.getWatermark() > 0 && usage >= guard.getWatermark()) {
+                guard.evict();
+            }
+        }
+    }
+
+    // Object
+
+    private final @NotNull MysqlTable table;
+
+    private volatile double watermark = 0;
+    private volatile double ratio = 0.25;
+
+    private final @NotNull AtomicBoolean evicting = new AtomicBoolean(false);
+    private final @NotNull AtomicLong evicted = new AtomicLong();
+    private final @NotNull AtomicLong pressures = new AtomicLong();
+
+    MemoryGuard(@NotNull MysqlTable table) {
+        this.table = table;
+    }
+
+    @Contract(pure = true)
+    public @NotNull MysqlTable getTable() {
+        return table;
+    }
+
+    /**
+     * @return true if the datas are evicted under memory pressure
+     */
+    public boolean isEnabled() {
+        return getWatermark() > 0 && getTable().isLoaded() && !getTable().isResident();
+    }
+
+    /**
+     * @return the usage of the old generation from 0 to 1 that evicts the datas, or 0 (default) if they're never evicted
+     */
+    @Contract(pure = true)
+    public double getWatermark() {
+        return watermark;
+    }
+    public void setWatermark(double watermark) {
+        if (watermark < 0 || watermark >= 1) {
+            throw new IllegalArgumentException("The memory watermark must be between 0 and 1");
+        }
+
+        this.watermark = watermark;
+        if (GUARDS.contains(this)) update();
+    }
+
+    /**
+     * @return the fraction of the loaded datas evicted at every pressure, 0.25 by default
+     */
+    @Contract(pure = true)
+    public double getRatio() {
+        return ratio;
+    }
+    public void setRatio(double ratio) {
+        if (ratio <= 0 || ratio > 1) {
+            throw new IllegalArgumentException("The eviction ratio must be between 0 and 1");
+        }
+
+        this.ratio = ratio;
+    }
+
+    /**
+     * @return the estimated bytes retained by the loaded datas
+     */
+    public long getDataBytes() {
+        long bytes = 0;
+
+        for (@NotNull MysqlData data : getTable().getDataContent().toCollection()) {
+            if (data.isLoaded()) {
+                bytes += sizeOf(data);
+            }
+        }
+
+        return bytes;
+    }
+
+    /**
+     * @return the estimated bytes retained by the cached results
+     */
+    public long getCacheBytes() {
+        return getTable().getResultCache().getRetainedBytes();
+    }
+
+    /**
+     * @return the estimated bytes retained by the loaded datas and the cached results
+     */
+    public long getRetainedBytes() {
+        return getDataBytes() + getCacheBytes();
+    }
+
+    /**
+     * @return the amount of datas evicted under memory pressure
+     */
+    public long getEvicted() {
+        return evicted.get();
+    }
+
+    /**
+     * @return the amount of times that the datas were evicted under memory pressure
+     */
+    public long getPressures() {
+        return pressures.get();
+    }
+
+    /**
+     * Watches the memory pressure, called when the table starts.
+     */
+    @ApiStatus.Internal
+    public void start() {
+        GUARDS.add(this);
+
+        listen();
+        update();
+    }
+
+    /**
+     * Stops watching the memory pressure, called when the table stops.
+     */
+    @ApiStatus.Internal
+    public void stop() {
+        if (GUARDS.remove(this)) update();
+    }
+
+    /**
+     * Saves and stops the coldest loaded datas, and discards the cached results. Only one eviction runs at a time.
+     *
+     * @return A CompletableFuture with the amount of evicted datas
+     */
+    @ApiStatus.Internal
+    public @NotNull CompletableFuture<Integer> evict() {
+        if (!isEnabled() || !evicting.compareAndSet(false, true)) {
+            return CompletableFuture.completedFuture(0);
+        }
+
+        return CompletableFuture.supplyAsync(() -> {
+            try {
+                pressures.incrementAndGet();
+                getTable().getResultCache().clear();
+
+                @NotNull DataContent content = getTable().getDataContent();
+                @NotNull List<MysqlData> datas = new ArrayList<>();
+
+                for (@NotNull MysqlData data : content.toCollection()) {
+                    try {
+                        if (data.isLoaded() && !data.isNew()) {
+                            datas.add(data);
+                        }
+                    } catch (@NotNull IllegalStateException ignore) {
+                        // Stopped meanwhile
+                    }
+                }
+
+                @NotNull Map<Key, Double> scores = new HashMap<>();
+                for (@NotNull MysqlData data : datas) {
+                    scores.put(data.getKey(), content.getAccessTracker().getScore(data.getKey()));
+                }
+                datas.sort(Comparator.comparingDouble(data -> scores.get(data.getKey())));
+
+                int amount = 0;
+                for (@NotNull MysqlData data : datas.subList(0, (int) Math.ceil(datas.size() * getRatio()))) {
+                    try {
+                        // The changes are saved before the values are discarded
+                        data.stop(true).join();
+                    } catch (@NotNull Throwable ignore) {
+                        // The data is kept
+                        continue;
+                    }
+
+                    synchronized (content) {
+                        if (!data.isLoaded()) {
+                            content.remove(data);
+                            amount++;
+                        }
+                    }
+                }
+
+                evicted.addAndGet(amount);
+                return amount;
+            } finally {
+                evicting.set(false);
+            }
+        }, Transaction.getExecutor(getClass()));
+    }
+
+    /**
+     * @param data the data
+     * @return the estimated bytes retained by the data, from the types of its variables
+     */
+    public static long sizeOf(@NotNull MysqlData data) {
+        long bytes = DATA;
+
+        // The values are snapshots, iterated without locks
+        for (@NotNull Map.Entry<MysqlVariable<?>, Object> entry : data.getData().entrySet()) {
+            bytes += ENTRY + sizeOf(entry.getKey().getType(), entry.getValue());
+        }
+        for (@Nullable Object value : data.getCache().values()) {
+            bytes += ENTRY + sizeOf(value);
+        }
+
+        return bytes;
+    }
+
+    // The fixed width types doesn't needs the values to be measured
+    private static long sizeOf(@NotNull Type<?> type, @Nullable Object value) {
+        if (value == null || type instanceof MysqlBooleanType) {
+            // The booleans are shared instances
+            return 0;
+        } else if (type instanceof MysqlIntType || type instanceof MysqlFloatType) {
+            return 16;
+        } else if (type instanceof MysqlLongType || type instanceof MysqlDoubleType) {
+            return 24;
+        } else if (type instanceof MysqlUuidType) {
+            return 32;
+        }
+
+        return sizeOf(value);
+    }
+
+    /**
+     * @param value the value, a column value or a cached result
+     * @return the estimated bytes retained by the value
+     */
+    static long sizeOf(@Nullable Object value) {
+        if (value == null || value instanceof Boolean) {
+            return 0;
+        } else if (value instanceof Long || value instanceof Double) {
+            return 24;
+        } else if (value instanceof Number || value instanceof Character) {
+            return 16;
+        } else if (value instanceof UUID) {
+            return 32;
+        } else if (value instanceof String) {
+            return align(40 + 2L * ((String) value).length());
+        } else if (value instanceof byte[]) {
+            return align(16 + ((byte[]) value).length);
+        } else if (value instanceof Object[]) {
+            long bytes = align(16 + 4L * ((Object[]) value).length);
+            for (@Nullable Object element : (Object[]) value) bytes += sizeOf(element);
+            return bytes;
+        } else if (value instanceof Collection) {
+            long bytes = 48;
+            for (@Nullable Object element : (Collection<?>) value) bytes += 8 + sizeOf(element);
+            return bytes;
+        } else if (value instanceof Map) {
+            long bytes = 48;
+            for (@NotNull Map.Entry<?, ?> entry : ((Map<?, ?>) value).entrySet()) bytes += ENTRY + sizeOf(entry.getValue());
+            return bytes;
+        } else if (value instanceof MysqlDataCache) {
+            return 32 + sizeOf(((MysqlDataCache) value).getData());
+        } else if (value instanceof Key) {
+            return 16 + sizeOf(((Key) value).getValues());
+        }
+
+        return 16;
+    }
+
+    private static long align(long bytes) {
+        return (bytes + 7) & -8;
+    }
+
+    @Override
+    public @NotNull String toString() {
+        return "MemoryGuard{" +
+                "watermark=" + watermark +
+                ", ratio=" + ratio +
+                ", evicted=" + evicted +
+                '}';
+    }
+
+}
@@ -1,24 +1,33 @@
 package codes.laivy.data.mysql.table;
 
-import codes.laivy.data.Main;
+import codes.laivy.data.mysql.authentication.Transaction;
+import codes.laivy.data.mysql.data.ConflictStrategy;
 import codes.laivy.data.mysql.data.MysqlData;
 import codes.laivy.data.mysql.database.MysqlDatabase;
 import codes.laivy.data.mysql.utils.SqlUtils;
 import codes.laivy.data.mysql.variable.MysqlVariable;
+import codes.laivy.data.mysql.variable.type.AbstractType;
 import org.jetbrains.annotations.ApiStatus;
 import org.jetbrains.annotations.Contract;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
+import java.io.IOException;
 import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
-import java.util.HashSet;
-import java.util.Objects;
-import java.util.concurrent.CompletableFuture;
+import java.util.*;
+import java.util.concurrent.*;
 
 public class MysqlTable {
 
+    // Triggers the periodic flush of the counter variables, the flush itself runs at the table executor
+    private static final @NotNull ScheduledExecutorService COUNTERS = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        @NotNull Thread thread = new Thread(runnable, "Mysql counters flusher");
+        thread.setDaemon(true);
+        return thread;
+    });
+
     private final @NotNull String id;
     private final @NotNull MysqlDatabase database;
 
@@ -26,6 +35,26 @@ public class MysqlTable {
     private final @NotNull DataContent dataContent;
 
     private final @NotNull AutoIncrement autoIncrement;
+    private final @NotNull Schema schema;
+    private final @NotNull Indexes indexes;
+    private final @NotNull DeltaSync deltaSync;
+    private final @NotNull ReadBatcher readBatcher;
+    private final @NotNull ResultCache resultCache;
+    private final @NotNull Snapshot snapshot;
+    private final @NotNull Preloader preloader;
+    private final @NotNull LocalCache localCache;
+    private final @NotNull Journal journal;
+    private final @NotNull OffHeapStore offHeapStore;
+    private final @NotNull MemoryGuard memoryGuard;
+
+    private volatile @NotNull PrimaryKey primaryKey = PrimaryKey.row();
+
+    private volatile boolean versioned = false;
+    private volatile boolean resident = false;
+    private volatile @NotNull ConflictStrategy conflictStrategy = ConflictStrategy.FAIL;
+
+    private volatile long counterFlushInterval = 1000;
+    private volatile @Nullable ScheduledFuture<?> counterFlusher;
 
     protected boolean isNew = false;
 
@@ -38,6 +67,17 @@ public class MysqlTable {
         this.variables = variables;
         this.dataContent = dataContent;
         this.autoIncrement = autoIncrement;
+        this.schema = new Schema(this);
+        this.indexes = new Indexes(this);
+        this.deltaSync = new DeltaSync(this);
+        this.readBatcher = new ReadBatcher(this);
+        this.resultCache = new ResultCache(this);
+        this.snapshot = new Snapshot(this);
+        this.preloader = new Preloader(this);
+        this.localCache = new LocalCache(this);
+        this.journal = new Journal(this);
+        this.offHeapStore = new OffHeapStore(this);
+        this.memoryGuard = new MemoryGuard(this);
 
         if (!id.matches("^[a-zA-Z0-9_]{0,63}$")) {
             throw new IllegalStateException("This table name '" + id + "' doesn't follows the regex '^[a-zA-Z0-9_]{0,63}$'");
@@ -50,6 +90,17 @@ public class MysqlTable {
         this.variables = new Variables(this);
         this.dataContent = new DataContent(this);
         this.autoIncrement = AutoIncrement.of(this);
+        this.schema = new Schema(this);
+        this.indexes = new Indexes(this);
+        this.deltaSync = new DeltaSync(this);
+        this.readBatcher = new ReadBatcher(this);
+        this.resultCache = new ResultCache(this);
+        this.snapshot = new Snapshot(this);
+        this.preloader = new Preloader(this);
+        this.localCache = new LocalCache(this);
+        this.journal = new Journal(this);
+        this.offHeapStore = new OffHeapStore(this);
+        this.memoryGuard = new MemoryGuard(this);
 
         if (!id.matches("^[a-zA-Z0-9_]{0,63}$")) {
             throw new IllegalStateException("This table name '" + id + "' doesn't follows the regex '^[a-zA-Z0-9_]{0,63}$'");
@@ -57,6 +108,9 @@ public class MysqlTable {
     }
 
     public final @NotNull CompletableFuture<Void> start() {
+        if (Transaction.getCurrent() != null) {
+            throw new IllegalStateException("The mysql table '" + getId() + "' cannot be started inside a transaction, its DDL statements would commit the transaction");
+        }
         if (isLoaded()) {
             throw new IllegalStateException("The mysql table '" + getId() + "' is already loaded");
         }
@@ -73,22 +127,74 @@ public class MysqlTable {
                 }
 
                 getDatabase().getTables().add(this);
+                getSchema().reload().join();
 
                 loaded = true;
 
+                // Synchronizes all the default variables at once
+                @NotNull List<MysqlVariable<?>> defaults = new LinkedList<>();
                 for (MysqlVariable<?> variable : getVariables().getDefault()) {
-                    variable.start().join();
+                    if (!variable.isLoaded()) {
+                        defaults.add(variable);
+                    }
+                }
+
+                // The columns of a new table are created with the table itself
+                @NotNull Set<MysqlVariable<?>> created = getSchema().sync(defaults).join();
+                for (MysqlVariable<?> variable : defaults) {
+                    variable.start(isNew || created.contains(variable)).join();
+                }
+
+                // The changes lost by the last execution are saved before the rows are read
+                getJournal().open();
+
+                if (getDeltaSync().isEnabled()) {
+                    getDeltaSync().start().join();
+                }
+
+                // After the watermark, so the rows changed while loading are synchronized again
+                if (isResident()) {
+                    MysqlData.load(this);
+                } else try {
+                    getSnapshot().load();
+                } catch (@NotNull IOException ignore) {
+                    // Unreadable snapshot, the datas are read from the database when they're used
+                }
+
+                // All the rows outside the heap, for the point reads
+                getOffHeapStore().load();
+
+                // The hot rows that the snapshot doesn't have
+                if (!isResident()) try {
+                    getPreloader().load();
+                } catch (@NotNull IOException ignore) {
+                    // Unreadable file, the rows are read when they're used
+                }
+
+                getMemoryGuard().start();
+
+                if (getCounterFlushInterval() > 0) {
+                    counterFlusher = COUNTERS.scheduleWithFixedDelay(() -> {
+                        try {
+                            if (isLoaded()) flushCounters().join();
+                        } catch (@NotNull Throwable ignore) {
+                            // The deltas are kept at the datas and written at the next flush
+                        }
+                    }, getCounterFlushInterval(), getCounterFlushInterval(), TimeUnit.MILLISECONDS);
                 }
 
                 future.complete(null);
             } catch (@NotNull Throwable throwable) {
                 future.completeExceptionally(throwable);
             }
-        }, Main.getExecutor(getClass()));
+        }, Transaction.getExecutor(getClass()));
 
         return future;
     }
     public final @NotNull CompletableFuture<Void> stop() {
+        if (Transaction.getCurrent() != null) {
+            throw new IllegalStateException("The mysql table '" + getId() + "' cannot be stopped inside a transaction, its DDL statements would commit the transaction");
+        }
         if (!isLoaded()) {
             throw new IllegalStateException("The mysql table '" + getId() + "' is not loaded");
         }
@@ -97,6 +203,35 @@ public class MysqlTable {
 
         CompletableFuture.runAsync(() -> {
             try {
+                @Nullable ScheduledFuture<?> flusher = counterFlusher;
+                if (flusher != null) {
+                    flusher.cancel(false);
+                    counterFlusher = null;
+                }
+                getDeltaSync().stop();
+                getMemoryGuard().stop();
+
+                // The snapshot has the saved values
+                if (getSnapshot().getFile() != null) {
+                    for (@NotNull MysqlData data : new HashSet<>(getDataContent().toCollection())) {
+                        if (data.isLoaded()) {
+                            data.save().join();
+                        }
+                    }
+
+                    try {
+                        getSnapshot().write();
+                    } catch (@NotNull IOException ignore) {
+                        // The next start reads the rows from the database
+                    }
+                }
+
+                try {
+                    getPreloader().write();
+                } catch (@NotNull IOException ignore) {
+                    // The next start doesn't preloads the rows
+                }
+
                 for (@NotNull MysqlData data : new HashSet<>(getDataContent().toCollection())) {
                     if (data.isLoaded()) {
                         data.stop(true).join();
@@ -112,18 +247,26 @@ public class MysqlTable {
                 getVariables().clear();
 
                 getDatabase().getTables().remove(this);
+                getSchema().invalidate();
 
                 loaded = false;
+                getLocalCache().close();
+                getJournal().close();
+                getOffHeapStore().clear();
+
                 future.complete(null);
             } catch (@NotNull Throwable throwable) {
                 future.completeExceptionally(throwable);
             }
-        }, Main.getExecutor(getClass()));
+        }, Transaction.getExecutor(getClass()));
 
         return future;
     }
 
     public @NotNull CompletableFuture<Boolean> create() {
+        if (Transaction.getCurrent() != null) {
+            throw new IllegalStateException("The mysql table '" + getId() + "' cannot be created inside a transaction, its DDL statements would commit the transaction");
+        }
         @Nullable Connection connection = getDatabase().getAuthentication().getConnection();
         if (connection == null) {
             throw new IllegalStateException("The database's authentication aren't connected");
@@ -132,8 +275,42 @@ public class MysqlTable {
         @NotNull CompletableFuture<Boolean> future = new CompletableFuture<>();
 
         CompletableFuture.runAsync(() -> {
-            try (PreparedStatement statement = getDatabase().getAuthentication().getConnection().prepareStatement("CREATE TABLE IF NOT EXISTS `" + getDatabase().getId() + "`.`" + getId() + "` (`row` INT(11) NOT NULL AUTO_INCREMENT PRIMARY KEY);")) {
+            // All the default variables are declared at the same statement
+            @NotNull List<String> definitions = new LinkedList<>();
+
+            if (getPrimaryKey().isRow()) {
+                definitions.add("`row` BIGINT NOT NULL AUTO_INCREMENT");
+            }
+            if (isVersioned()) {
+                definitions.add("`row_version` BIGINT NOT NULL DEFAULT 0");
+            }
+            if (getDeltaSync().isEnabled()) {
+                definitions.add("`row_updated` " + DeltaSync.DEFINITION);
+            }
+
+            for (@NotNull MysqlVariable<?> variable : getVariables().getDefault()) {
+                if (variable.getType() instanceof AbstractType) {
+                    definitions.add("`" + variable.getId() + "` " + Schema.getDefinition(variable));
+                }
+            }
+
+            definitions.add(getPrimaryKey().getDefinition());
+            if (getDeltaSync().isEnabled()) {
+                definitions.add("KEY `row_updated` (`row_updated`)");
+            }
+
+            // The indexes that only have default variables are also created with the table
+            for (@NotNull Index index : getIndexes()) {
+                if (index.getColumns().stream().allMatch(column -> column.getVariable().getType() instanceof AbstractType && getVariables().getDefault().contains(column.getVariable()))) {
+                    definitions.add(index.getDefinition());
+                }
+            }
+
+            @NotNull String query = "CREATE TABLE IF NOT EXISTS `" + getDatabase().getId() + "`.`" + getId() + "` (" + String.join(", ", definitions) + ");";
+
+            try (PreparedStatement statement = connection.prepareStatement(query)) {
                 statement.execute();
+                getSchema().invalidate();
 
                 future.complete(true);
             } catch (@NotNull Throwable throwable) {
@@ -143,11 +320,14 @@ public class MysqlTable {
                     future.completeExceptionally(throwable);
                 }
             }
-        }, Main.getExecutor(getClass()));
+        }, Transaction.getExecutor(getClass()));
 
         return future;
     }
     public @NotNull CompletableFuture<Boolean> delete() {
+        if (Transaction.getCurrent() != null) {
+            throw new IllegalStateException("The mysql table '" + getId() + "' cannot be deleted inside a transaction, its DDL statements would commit the transaction");
+        }
         @Nullable Connection connection = getDatabase().getAuthentication().getConnection();
         if (connection == null) {
             throw new IllegalStateException("The database's authentication aren't connected");
@@ -163,6 +343,12 @@ public class MysqlTable {
 
                 statement.execute();
 
+                if (getDeltaSync().isEnabled()) {
+                    try (PreparedStatement tombstones = getDatabase().getAuthentication().getConnection().prepareStatement("DROP TABLE IF EXISTS `" + getDatabase().getId() + "`.`" + getDeltaSync().getTombstones() + "`")) {
+                        tombstones.execute();
+                    }
+                }
+
                 future.complete(true);
             } catch (@NotNull Throwable throwable) {
                 if (SqlUtils.getErrorCode(throwable) == 1051) {
@@ -171,7 +357,7 @@ public class MysqlTable {
                     future.completeExceptionally(throwable);
                 }
             }
-        }, Main.getExecutor(getClass()));
+        }, Transaction.getExecutor(getClass()));
 
         return future;
     }
@@ -198,7 +384,7 @@ public class MysqlTable {
             } catch (@NotNull Throwable throwable) {
                 future.completeExceptionally(throwable);
             }
-        }, Main.getExecutor(getClass()));
+        }, Transaction.getExecutor(getClass()));
 
         return future;
     }
@@ -208,6 +394,240 @@ public class MysqlTable {
         return autoIncrement;
     }
 
+    @Contract(pure = true)
+    public final @NotNull Schema getSchema() {
+        return schema;
+    }
+
+    @Contract(pure = true)
+    public final @NotNull PrimaryKey getPrimaryKey() {
+        return primaryKey;
+    }
+
+    /**
+     * Changes the primary key of this table, the variables of the key are also added to the default variables.
+     * It must be changed before the table start, and doesn't change the primary key of existing tables.
+     *
+     * @param primaryKey the primary key
+     * @since 2.2
+     */
+    public final void setPrimaryKey(@NotNull PrimaryKey primaryKey) {
+        if (isLoaded()) {
+            throw new IllegalStateException("The primary key of the table '" + getId() + "' cannot be changed while it's loaded");
+        } else if (primaryKey.getVariables().stream().anyMatch(variable -> !variable.getTable().equals(this))) {
+            throw new IllegalStateException("There's primary key variables that aren't from the table '" + getId() + "'");
+        }
+
+        for (@NotNull MysqlVariable<?> variable : primaryKey.getVariables()) {
+            getVariables().getDefault().add(variable);
+        }
+
+        this.primaryKey = primaryKey;
+    }
+
+    /**
+     * @return true if the rows of this table have a {@code row_version} column, used to detect concurrent changes
+     * @since 2.2
+     */
+    @Contract(pure = true)
+    public final boolean isVersioned() {
+        return versioned;
+    }
+
+    /**
+     * Enables the optimistic concurrency of this table. A {@code row_version} column is maintained by the library and
+     * increased at every write, the datas are saved only if the row still has the version they have read, otherwise the
+     * {@link #getConflictStrategy() conflict strategy} decides what happens. It must be changed before the table start.
+     *
+     * @param versioned true to enable the version column
+     * @since 2.2
+     */
+    public final void setVersioned(boolean versioned) {
+        if (isLoaded()) {
+            throw new IllegalStateException("The versioning of the table '" + getId() + "' cannot be changed while it's loaded");
+        }
+
+        this.versioned = versioned;
+    }
+
+    /**
+     * @return true if all the rows of this table are kept at the memory while it's loaded
+     * @since 2.2
+     */
+    @Contract(pure = true)
+    public final boolean isResident() {
+        return resident;
+    }
+
+    /**
+     * Enables the fully cached mode of this table. All the rows are loaded with a single streamed query when the
+     * table starts, the reads and condition queries are answered by the memory and the writes go through to the
+     * database. The rows written by other nodes are only seen with the {@link DeltaSync delta sync} or the
+     * invalidation bus. It must be changed before the table start.
+     *
+     * @param resident true to keep all the rows at the memory
+     * @since 2.2
+     */
+    public final void setResident(boolean resident) {
+        if (isLoaded()) {
+            throw new IllegalStateException("The resident mode of the table '" + getId() + "' cannot be changed while it's loaded");
+        } else if (resident && getOffHeapStore().isConfigured()) {
+            throw new IllegalStateException("The table '" + getId() + "' cannot be resident with the off heap store enabled");
+        }
+
+        this.resident = resident;
+    }
+
+    /**
+     * @return the default strategy used when a save conflicts, {@link ConflictStrategy#FAIL} by default
+     * @since 2.2
+     */
+    @Contract(pure = true)
+    public final @NotNull ConflictStrategy getConflictStrategy() {
+        return conflictStrategy;
+    }
+    public final void setConflictStrategy(@NotNull ConflictStrategy conflictStrategy) {
+        this.conflictStrategy = conflictStrategy;
+    }
+
+    /**
+     * @return the interval in milliseconds between the automatic flushes of the counter variables, or 0 if disabled
+     * @since 2.2
+     */
+    @Contract(pure = true)
+    public final long getCounterFlushInterval() {
+        return counterFlushInterval;
+    }
+
+    /**
+     * Changes the interval between the automatic flushes of the {@link codes.laivy.data.mysql.variable.MysqlCounterVariable counter variables}
+     * of the loaded datas. It must be changed before the table start.
+     *
+     * @param counterFlushInterval the interval in milliseconds, or 0 to flush only when the datas are saved
+     * @since 2.2
+     */
+    public final void setCounterFlushInterval(long counterFlushInterval) {
+        if (isLoaded()) {
+            throw new IllegalStateException("The counter flush interval of the table '" + getId() + "' cannot be changed while it's loaded");
+        } else if (counterFlushInterval < 0) {
+            throw new IllegalArgumentException("The counter flush interval cannot be negative");
+        }
+
+        this.counterFlushInterval = counterFlushInterval;
+    }
+
+    /**
+     * Writes the pending deltas of the counter variables of all the loaded datas of this table
+     *
+     * @return A CompletableFuture representing the asynchronous flush operation
+     * @since 2.2
+     */
+    public @NotNull CompletableFuture<Void> flushCounters() {
+        if (!isLoaded()) {
+            throw new IllegalStateException("The mysql table '" + getId() + "' is not loaded");
+        }
+
+        @NotNull CompletableFuture<Void> future = new CompletableFuture<>();
+
+        CompletableFuture.runAsync(() -> {
+            try {
+                for (@NotNull MysqlData data : new HashSet<>(getDataContent().toCollection())) {
+                    if (data.isLoaded()) {
+                        data.flushCounters().join();
+                    }
+                }
+
+                future.complete(null);
+            } catch (@NotNull Throwable throwable) {
+                future.completeExceptionally(throwable);
+            }
+        }, Transaction.getExecutor(getClass()));
+
+        return future;
+    }
+
+    @Contract(pure = true)
+    public final @NotNull DeltaSync getDeltaSync() {
+        return deltaSync;
+    }
+
+    /**
+     * @return the batcher of the point reads of this table, disabled by default
+     * @since 2.2
+     */
+    @Contract(pure = true)
+    public final @NotNull ReadBatcher getReadBatcher() {
+        return readBatcher;
+    }
+
+    /**
+     * @return the cache of the read query results of this table, disabled by default
+     * @since 2.2
+     */
+    @Contract(pure = true)
+    public final @NotNull ResultCache getResultCache() {
+        return resultCache;
+    }
+
+    /**
+     * @return the snapshot of the loaded datas written when this table stops, disabled by default
+     * @since 2.2
+     */
+    @Contract(pure = true)
+    public final @NotNull Snapshot getSnapshot() {
+        return snapshot;
+    }
+
+    /**
+     * @return the preloader of the hottest rows of this table, disabled by default
+     * @since 2.2
+     */
+    @Contract(pure = true)
+    public final @NotNull Preloader getPreloader() {
+        return preloader;
+    }
+
+    /**
+     * @return the second level cache of the rows of this table at a local file, disabled by default
+     * @since 2.2
+     */
+    @Contract(pure = true)
+    public final @NotNull LocalCache getLocalCache() {
+        return localCache;
+    }
+
+    /**
+     * @return the journal of the changes not saved of this table, disabled by default
+     * @since 2.2
+     */
+    @Contract(pure = true)
+    public final @NotNull Journal getJournal() {
+        return journal;
+    }
+
+    /**
+     * @return the store of the rows of this table outside the heap, disabled by default
+     * @since 2.2
+     */
+    @Contract(pure = true)
+    public final @NotNull OffHeapStore getOffHeapStore() {
+        return offHeapStore;
+    }
+
+    /**
+     * @return the memory footprint estimates of this table and its eviction under memory pressure, disabled by default
+     * @since 2.2
+     */
+    @Contract(pure = true)
+    public final @NotNull MemoryGuard getMemoryGuard() {
+        return memoryGuard;
+    }
+
+    @Contract(pure = true)
+    public final @NotNull Indexes getIndexes() {
+        return indexes;
+    }
+
     @Contract(pure = true)
     public final @NotNull String getId() {
         return id;
@@ -244,7 +664,7 @@ public class MysqlTable {
             } catch (@NotNull Throwable throwable) {
                 future.completeExceptionally(throwable);
             }
-        }, Main.getExecutor(getClass()));
+        }, Transaction.getExecutor(getClass()));
 
         return future;
     }
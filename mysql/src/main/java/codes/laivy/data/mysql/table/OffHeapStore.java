@@ -0,0 +1,687 @@
+package codes.laivy.data.mysql.table;
+
+import codes.laivy.data.mysql.authentication.Transaction;
+import codes.laivy.data.mysql.coherence.ValueCodec;
+import codes.laivy.data.mysql.data.Key;
+import org.jetbrains.annotations.*;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.util.*;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Keeps all the rows of a table outside the java heap, at direct buffers, so a large cached table doesn't increase
+ * the heap size and the garbage collector pauses. The {@code MysqlDataCache#get} and {@code MysqlDataCache#retrieve}
+ * point reads are answered from it, decoding only the row read.
+ * <p>
+ * The direct buffers are {@link #getSlabSize() slabs} divided in slots with power of two sizes, every row is written
+ * compactly at a single slot together with its key, and the slots of the removed or changed rows are reused by the
+ * next rows of the same size. The heap only keeps two primitive arrays indexing the slots by the key hashes, the
+ * keys are compared with the copies at the slots.
+ * <p>
+ * The rows invalidated by the writes, the invalidation bus or the delta sync are read again from the database at
+ * the next access. The rows with values unsupported by the {@link ValueCodec#DEFAULT default codec}, or bigger than
+ * a slab, are always read from the database.
+ * <p>
+ * The store is the alternative to the {@link MysqlTable#isResident() resident mode} for the tables too big for the
+ * heap, they cannot be enabled together: a resident table answers the condition queries with the indexes of its
+ * loaded datas, that must be at the heap anyway.
+ *
+ * @since 2.2
+ */
+public final class OffHeapStore {
+
+    // The smallest slot has 16 bytes
+    private static final int MIN_CLASS = 4;
+
+    private final @NotNull MysqlTable table;
+
+    private volatile boolean enabled = false;
+    private volatile int slabSize = 1024 * 1024;
+    private volatile long maxSize = 256L * 1024 * 1024;
+
+    private final @NotNull ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private final @NotNull List<ByteBuffer> slabs = new ArrayList<>();
+    private long position = 0;
+    private final @NotNull Map<Integer, long[]> free = new HashMap<>();
+    private final @NotNull Map<Integer, Integer> freeSizes = new HashMap<>();
+
+    private @NotNull List<String> columns = Collections.emptyList();
+    // The slot addresses of the rows
+    private final @NotNull Hashes addresses = new Hashes();
+    // The rows that must be read from the database again, a hash collision only reads a row from the database
+    private final @NotNull Hashes unknown = new Hashes();
+    // True if all the rows of the table are at the store, except the unknown ones
+    private boolean complete = false;
+    private long used = 0;
+    // Increased at every invalidation, the rows read before it aren't stored
+    private long generation = 0;
+
+    OffHeapStore(@NotNull MysqlTable table) {
+        this.table = table;
+    }
+
+    @Contract(pure = true)
+    public @NotNull MysqlTable getTable() {
+        return table;
+    }
+
+    /**
+     * @return true if the point reads of the table are answered by the store
+     */
+    public boolean isEnabled() {
+        return enabled && getTable().isLoaded() && !getTable().isResident() && Transaction.getCurrent() == null;
+    }
+    public void setEnabled(boolean enabled) {
+        if (getTable().isLoaded()) {
+            throw new IllegalStateException("The off heap store of the table '" + getTable().getId() + "' cannot be enabled or disabled while it's loaded");
+        } else if (enabled && getTable().isResident()) {
+            throw new IllegalStateException("The off heap store cannot be enabled at the resident table '" + getTable().getId() + "'");
+        }
+
+        this.enabled = enabled;
+    }
+    // The configured flag, checked by the resident mode
+    boolean isConfigured() {
+        return enabled;
+    }
+
+    /**
+     * @return the size in bytes of each direct buffer, also the maximum size of a row
+     */
+    @Contract(pure = true)
+    public int getSlabSize() {
+        return slabSize;
+    }
+    public void setSlabSize(int slabSize) {
+        if (slabSize < 1024 || Integer.bitCount(slabSize) != 1) {
+            throw new IllegalArgumentException("The off heap slab size must be a power of two with at least 1024 bytes");
+        } else if (getTable().isLoaded()) {
+            throw new IllegalStateException("The off heap slab size of the table '" + getTable().getId() + "' cannot be changed while it's loaded");
+        }
+
+        this.slabSize = slabSize;
+    }
+
+    /**
+     * @return the maximum amount of bytes allocated outside the heap, the rows that doesn't fit are read from the database
+     */
+    @Contract(pure = true)
+    public long getMaxSize() {
+        return maxSize;
+    }
+    public void setMaxSize(long maxSize) {
+        if (maxSize < 1) {
+            throw new IllegalArgumentException("The off heap maximum size must be positive");
+        }
+
+        this.maxSize = maxSize;
+    }
+
+    /**
+     * @return the amount of rows at the store
+     */
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return addresses.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * @return the amount of bytes allocated outside the heap
+     */
+    public long getAllocated() {
+        lock.readLock().lock();
+        try {
+            return (long) slabs.size() * getSlabSize();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * @return the amount of bytes of the slots used by the rows
+     */
+    public long getUsed() {
+        lock.readLock().lock();
+        try {
+            return used;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * @return the current generation, that must be read before reading a row from the database to store it
+     */
+    @ApiStatus.Internal
+    public long getGeneration() {
+        lock.readLock().lock();
+        try {
+            return generation;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Reads all the rows of the table to the store with a single streamed query, called when the table starts. The
+     * query streams on a dedicated connection, so the other operations keeps using the shared connection meanwhile.
+     *
+     * @return the amount of rows stored
+     */
+    @ApiStatus.Internal
+    @Blocking
+    public int load() throws SQLException {
+        if (!isEnabled()) {
+            return 0;
+        }
+
+        clear();
+        long generation = getGeneration();
+
+        getTable().getDatabase().getAuthentication().dedicated(connection -> {
+            try (@NotNull PreparedStatement statement = connection.prepareStatement("SELECT * FROM `" + getTable().getDatabase().getId() + "`.`" + getTable().getId() + "`", ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY)) {
+                // The mysql driver streams the rows one by one with this fetch size
+                statement.setFetchSize(Integer.MIN_VALUE);
+                @NotNull ResultSet set = statement.executeQuery();
+
+                // The stored column names, read once for all the rows (or null at the row column)
+                @NotNull ResultSetMetaData metadata = set.getMetaData();
+                @Nullable String[] names = new String[metadata.getColumnCount()];
+
+                for (int column = 1; column <= names.length; column++) {
+                    @NotNull String name = metadata.getColumnName(column);
+
+                    if (!getTable().getPrimaryKey().isRow() || !name.equalsIgnoreCase("row")) {
+                        names[column - 1] = name.toLowerCase();
+                    }
+                }
+
+                while (set.next()) {
+                    @NotNull Map<String, Object> row = new HashMap<>();
+
+                    for (int column = 1; column <= names.length; column++) {
+                        if (names[column - 1] != null) {
+                            row.put(names[column - 1], set.getObject(column));
+                        }
+                    }
+
+                    put(getTable().getPrimaryKey().read(set), row, generation);
+                }
+            }
+
+            return null;
+        });
+
+        lock.writeLock().lock();
+        try {
+            // The rows that didn't fit are unknown, but an invalidation while loading may have removed any row
+            this.complete = this.generation == generation;
+            return addresses.size();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Reads a row from the store.
+     *
+     * @param key the normalized primary key of the row
+     * @return the columns of the row with lowercase names, an empty optional if the row doesn't exists, or null if the row must be read from the database
+     */
+    @ApiStatus.Internal
+    @SuppressWarnings("OptionalAssignedToNull")
+    public @Nullable Optional<Map<String, Object>> get(@NotNull Key key) {
+        if (!isEnabled()) {
+            return null;
+        }
+
+        byte @NotNull [] encoded;
+        try {
+            encoded = encode(key);
+        } catch (@NotNull IllegalArgumentException | IOException ignore) {
+            return null;
+        }
+        long hash = hash(encoded);
+
+        lock.readLock().lock();
+        try {
+            int slot = find(encoded, hash);
+
+            if (slot < 0) {
+                return complete && unknown.first(hash) < 0 ? Optional.empty() : null;
+            }
+
+            long address = addresses.getValue(slot);
+            @NotNull ByteBuffer slab = slabs.get((int) (address >>> 32)).duplicate();
+            slab.position((int) address + 8 + encoded.length);
+
+            byte @NotNull [] bytes = new byte[slab.getInt((int) address) - 4 - encoded.length];
+            slab.get(bytes);
+
+            @NotNull DataInputStream input = new DataInputStream(new ByteArrayInputStream(bytes));
+            @Nullable Object @NotNull [] values = new Object[columns.size()];
+            for (int index = 0; index < values.length; index++) {
+                values[index] = ValueCodec.DEFAULT.read(input);
+            }
+
+            return Optional.of(new Row(columns, values));
+        } catch (@NotNull IOException exception) {
+            throw new UncheckedIOException(exception);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Writes a row read from the database to the store, replacing the current one.
+     *
+     * @param key the normalized primary key of the row
+     * @param row the columns of the row with lowercase names, or null if the row doesn't exists
+     * @param generation the generation read before the row, the row isn't stored if there was invalidations after it
+     * @return true if the row was stored, false if it must be read from the database
+     */
+    @ApiStatus.Internal
+    public boolean put(@NotNull Key key, @Nullable Map<String, Object> row, long generation) {
+        if (!isEnabled()) {
+            return false;
+        }
+
+        byte @NotNull [] encoded;
+        try {
+            encoded = encode(key);
+        } catch (@NotNull IllegalArgumentException | IOException ignore) {
+            return false;
+        }
+        long hash = hash(encoded);
+
+        lock.writeLock().lock();
+        try {
+            if (this.generation != generation) {
+                return false;
+            } else if (row == null) {
+                remove(encoded, hash);
+                unknown.remove(hash);
+                return true;
+            }
+
+            @NotNull Map<String, Object> values = new TreeMap<>(row);
+            values.remove("row_updated");
+            if (getTable().getPrimaryKey().isRow()) values.remove("row");
+
+            if (!columns.equals(new ArrayList<>(values.keySet()))) {
+                // Another schema, the rows stored are read from the database again
+                release();
+                columns = Collections.unmodifiableList(new ArrayList<>(values.keySet()));
+                complete = false;
+            }
+
+            remove(encoded, hash);
+
+            // The length of the record, the key and the values
+            @NotNull ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            @NotNull DataOutputStream output = new DataOutputStream(bytes);
+            output.writeInt(0);
+            output.writeInt(encoded.length);
+            output.write(encoded);
+            for (@Nullable Object value : values.values()) {
+                ValueCodec.DEFAULT.write(output, value);
+            }
+
+            byte @NotNull [] record = bytes.toByteArray();
+            ByteBuffer.wrap(record).putInt(0, record.length - 4);
+
+            long address = allocate(record.length);
+            if (address < 0) {
+                unknown.add(hash);
+                return false;
+            }
+
+            @NotNull ByteBuffer slab = slabs.get((int) (address >>> 32)).duplicate();
+            slab.position((int) address);
+            slab.put(record);
+
+            addresses.put(hash, address);
+            unknown.remove(hash);
+            return true;
+        } catch (@NotNull IllegalArgumentException | IOException ignore) {
+            // Unsupported values
+            unknown.add(hash);
+            return false;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Marks a row to be read from the database again, releasing its slot.
+     *
+     * @param key the normalized primary key of the row, or null to read all the rows again
+     */
+    @ApiStatus.Internal
+    public void invalidate(@Nullable Key key) {
+        byte @Nullable [] encoded = null;
+        if (key != null) try {
+            encoded = encode(key);
+        } catch (@NotNull IllegalArgumentException | IOException ignore) {
+            // The unsupported keys are never stored
+        }
+
+        lock.writeLock().lock();
+        try {
+            generation++;
+
+            if (key == null) {
+                release();
+                complete = false;
+            } else if (encoded != null) {
+                long hash = hash(encoded);
+                remove(encoded, hash);
+                unknown.add(hash);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Releases all the rows and the direct buffers, called when the table stops.
+     */
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            release();
+            complete = false;
+            slabs.clear();
+            position = 0;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Must be called with the write lock
+    private void release() {
+        addresses.clear();
+        unknown.clear();
+        free.clear();
+        freeSizes.clear();
+        used = 0;
+
+        // The slabs are kept, the next rows are written from the start
+        position = 0;
+    }
+    private void remove(byte @NotNull [] key, long hash) {
+        int slot = find(key, hash);
+        if (slot < 0) {
+            return;
+        }
+
+        long address = addresses.getValue(slot);
+        addresses.remove(slot);
+
+        @NotNull ByteBuffer slab = slabs.get((int) (address >>> 32));
+        int sizeClass = getSizeClass(slab.getInt((int) address) + 4);
+        used -= 1 << sizeClass;
+
+        int amount = freeSizes.getOrDefault(sizeClass, 0);
+        long @NotNull [] stack = free.computeIfAbsent(sizeClass, k -> new long[16]);
+        if (amount == stack.length) {
+            free.put(sizeClass, stack = Arrays.copyOf(stack, amount * 2));
+        }
+
+        stack[amount] = address;
+        freeSizes.put(sizeClass, amount + 1);
+    }
+    // Returns the address of a free slot, or -1 if there's no space
+    private long allocate(int length) {
+        int sizeClass = getSizeClass(length);
+        int size = 1 << sizeClass;
+
+        if (size > getSlabSize()) {
+            return -1;
+        }
+
+        int amount = freeSizes.getOrDefault(sizeClass, 0);
+        if (amount > 0) {
+            freeSizes.put(sizeClass, amount - 1);
+            used += size;
+            return free.get(sizeClass)[amount - 1];
+        }
+
+        // The slots are aligned to their sizes, so they never crosses the end of a slab
+        int slab = (int) (position / getSlabSize());
+        int offset = (int) (position % getSlabSize());
+        offset = (offset + size - 1) & -size;
+
+        if (offset + size > getSlabSize()) {
+            slab++;
+            offset = 0;
+        }
+
+        if (slab >= slabs.size()) {
+            if ((long) (slabs.size() + 1) * getSlabSize() > getMaxSize()) {
+                return -1;
+            }
+
+            slabs.add(ByteBuffer.allocateDirect(getSlabSize()));
+        }
+
+        position = (long) slab * getSlabSize() + offset + size;
+        used += size;
+        return ((long) slab << 32) | offset;
+    }
+
+    // Returns the index slot of the row with the key, or -1 if it isn't stored
+    private int find(byte @NotNull [] key, long hash) {
+        for (int slot = addresses.first(hash); slot >= 0; slot = addresses.next(hash, slot)) {
+            long address = addresses.getValue(slot);
+            @NotNull ByteBuffer slab = slabs.get((int) (address >>> 32));
+            int offset = (int) address;
+
+            if (slab.getInt(offset + 4) != key.length) {
+                continue;
+            }
+
+            int index = 0;
+            while (index < key.length && slab.get(offset + 8 + index) == key[index]) index++;
+
+            if (index == key.length) {
+                return slot;
+            }
+        }
+
+        return -1;
+    }
+
+    private static byte @NotNull [] encode(@NotNull Key key) throws IOException {
+        @NotNull ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        @NotNull DataOutputStream output = new DataOutputStream(bytes);
+
+        for (@Nullable Object value : key.getValues()) {
+            ValueCodec.DEFAULT.write(output, value);
+        }
+
+        return bytes.toByteArray();
+    }
+    // The 64 bits FNV-1a hash
+    private static long hash(byte @NotNull [] bytes) {
+        long hash = 0xcbf29ce484222325L;
+        for (byte value : bytes) {
+            hash = (hash ^ (value & 0xff)) * 0x100000001b3L;
+        }
+
+        return hash;
+    }
+
+    private static int getSizeClass(int length) {
+        return Math.max(MIN_CLASS, 32 - Integer.numberOfLeadingZeros(length - 1));
+    }
+
+    @Override
+    public @NotNull String toString() {
+        return "OffHeapStore{" +
+                "enabled=" + enabled +
+                ", slabSize=" + slabSize +
+                ", maxSize=" + maxSize +
+                ", size=" + size() +
+                ", used=" + getUsed() +
+                '}';
+    }
+
+    // Classes
+
+    // An open addressing table of 64 bits hashes to positive values, with linear probing; a hash can have many values
+    private static final class Hashes {
+
+        private static final long EMPTY = -1;
+        private static final long REMOVED = -2;
+
+        private long @NotNull [] hashes = new long[16];
+        private long @NotNull [] values = newValues(16);
+        private int size = 0;
+        // The values and the removed marks
+        private int used = 0;
+
+        private static long @NotNull [] newValues(int capacity) {
+            long @NotNull [] values = new long[capacity];
+            Arrays.fill(values, EMPTY);
+            return values;
+        }
+        private int getStart(long hash) {
+            return (int) (hash ^ (hash >>> 32)) & (values.length - 1);
+        }
+
+        public int size() {
+            return size;
+        }
+
+        // Returns the first slot with the hash, or -1
+        public int first(long hash) {
+            return next(hash, getStart(hash) - 1);
+        }
+        // Returns the next slot with the hash after the slot, or -1
+        public int next(long hash, int slot) {
+            for (int index = (slot + 1) & (values.length - 1); values[index] != EMPTY; index = (index + 1) & (values.length - 1)) {
+                if (values[index] >= 0 && hashes[index] == hash) {
+                    return index;
+                }
+            }
+
+            return -1;
+        }
+        public long getValue(int slot) {
+            return values[slot];
+        }
+
+        public void put(long hash, long value) {
+            if ((used + 1) * 2 > values.length) {
+                long @NotNull [] hashes = this.hashes;
+                long @NotNull [] values = this.values;
+
+                // Grows only if the values need it, the removed marks are discarded
+                int capacity = (size + 1) * 4 > values.length ? values.length * 2 : values.length;
+                this.hashes = new long[capacity];
+                this.values = newValues(capacity);
+                size = used = 0;
+
+                for (int index = 0; index < values.length; index++) {
+                    if (values[index] >= 0) put(hashes[index], values[index]);
+                }
+            }
+
+            int index = getStart(hash);
+            while (values[index] >= 0) index = (index + 1) & (values.length - 1);
+
+            if (values[index] == EMPTY) used++;
+            hashes[index] = hash;
+            values[index] = value;
+            size++;
+        }
+        public void remove(int slot) {
+            values[slot] = REMOVED;
+            size--;
+        }
+
+        // The values are only used to mark the hashes at a set
+        public void add(long hash) {
+            if (first(hash) < 0) put(hash, 0);
+        }
+        public void remove(long hash) {
+            for (int slot = first(hash); slot >= 0; slot = next(hash, slot)) remove(slot);
+        }
+
+        public void clear() {
+            hashes = new long[16];
+            values = newValues(16);
+            size = used = 0;
+        }
+
+    }
+
+    // A read only view of the values decoded from a slot, the columns are sorted
+    private static final class Row extends AbstractMap<String, Object> {
+
+        private final @NotNull List<String> columns;
+        private final @Nullable Object @NotNull [] values;
+
+        private Row(@NotNull List<String> columns, @Nullable Object @NotNull [] values) {
+            this.columns = columns;
+            this.values = values;
+        }
+
+        @Override
+        public boolean containsKey(@Nullable Object key) {
+            return key instanceof String && Collections.binarySearch(columns, (String) key) >= 0;
+        }
+
+        @Override
+        public @Nullable Object get(@Nullable Object key) {
+            int index = key instanceof String ? Collections.binarySearch(columns, (String) key) : -1;
+            return index >= 0 ? values[index] : null;
+        }
+
+        @Override
+        public @NotNull Set<Entry<String, Object>> entrySet() {
+            return new AbstractSet<Entry<String, Object>>() {
+                @Override
+                public @NotNull Iterator<Entry<String, Object>> iterator() {
+                    return new Iterator<Entry<String, Object>>() {
+                        private int index = 0;
+
+                        @Override
+                        public boolean hasNext() {
+                            return index < values.length;
+                        }
+
+                        @Override
+                        public @NotNull Entry<String, Object> next() {
+                            if (!hasNext()) throw new NoSuchElementException();
+
+                            @NotNull Entry<String, Object> entry = new SimpleImmutableEntry<>(columns.get(index), values[index]);
+                            index++;
+                            return entry;
+                        }
+                    };
+                }
+
+                @Override
+                public int size() {
+                    return values.length;
+                }
+            };
+        }
+
+    }
+
+}
@@ -0,0 +1,352 @@
+package codes.laivy.data.mysql.table;
+
+import codes.laivy.data.mysql.authentication.Transaction;
+import codes.laivy.data.mysql.coherence.ValueCodec;
+import codes.laivy.data.mysql.data.Key;
+import codes.laivy.data.mysql.data.MysqlData;
+import org.jetbrains.annotations.*;
+
+import java.io.*;
+import java.nio.file.*;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Loads the hottest rows of a table when it starts, so the first accesses after a restart doesn't need to wait for
+ * the database. The rows are ranked by the {@link DataContent#getAccessTracker() access tracker} and the
+ * {@link #getTopK() top keys} are written to the preloader file when the table stops.
+ * <p>
+ * The rows are read with batched {@code IN} queries by up to {@link #getConcurrency() concurrency} parallel
+ * queries, limited to {@link #getRateLimit() rate limit} rows per second to don't overload the database at the
+ * start. The {@link #getHitRate() hit rate} shows how many of the preloaded rows were used after it.
+ *
+ * @since 2.2
+ */
+public final class Preloader {
+
+    private static final int MAGIC = 0x4C44504C;
+    private static final byte FORMAT = 1;
+
+    private final @NotNull MysqlTable table;
+
+    private volatile @Nullable Path file;
+    private volatile int topK = 1000;
+    private volatile int batchSize = 100;
+    private volatile int concurrency = 1;
+    private volatile int rateLimit = 0;
+
+    // The preloaded rows that weren't accessed yet
+    private final @NotNull Set<Key> pending = ConcurrentHashMap.newKeySet();
+    private final @NotNull AtomicInteger preloaded = new AtomicInteger();
+    private final @NotNull AtomicInteger hits = new AtomicInteger();
+
+    Preloader(@NotNull MysqlTable table) {
+        this.table = table;
+    }
+
+    @Contract(pure = true)
+    public @NotNull MysqlTable getTable() {
+        return table;
+    }
+
+    /**
+     * @return the file with the hottest keys, or null (default) if the preloading and the access tracking are disabled
+     */
+    @Contract(pure = true)
+    public @Nullable Path getFile() {
+        return file;
+    }
+    public void setFile(@Nullable Path file) {
+        this.file = file;
+    }
+
+    /**
+     * @return the maximum amount of keys written at the file
+     */
+    @Contract(pure = true)
+    public int getTopK() {
+        return topK;
+    }
+    public void setTopK(int topK) {
+        if (topK < 1) {
+            throw new IllegalArgumentException("The preloader top keys amount must be positive");
+        }
+
+        this.topK = topK;
+    }
+
+    /**
+     * @return the amount of rows read by each query
+     */
+    @Contract(pure = true)
+    public int getBatchSize() {
+        return batchSize;
+    }
+    public void setBatchSize(int batchSize) {
+        if (batchSize < 1) {
+            throw new IllegalArgumentException("The preloader batch size must be positive");
+        }
+
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * @return the maximum amount of queries executed at the same time
+     */
+    @Contract(pure = true)
+    public int getConcurrency() {
+        return concurrency;
+    }
+    public void setConcurrency(int concurrency) {
+        if (concurrency < 1) {
+            throw new IllegalArgumentException("The preloader concurrency must be positive");
+        }
+
+        this.concurrency = concurrency;
+    }
+
+    /**
+     * @return the maximum amount of rows read per second, 0 (default) if unlimited
+     */
+    @Contract(pure = true)
+    public int getRateLimit() {
+        return rateLimit;
+    }
+    public void setRateLimit(int rateLimit) {
+        if (rateLimit < 0) {
+            throw new IllegalArgumentException("The preloader rate limit cannot be negative");
+        }
+
+        this.rateLimit = rateLimit;
+    }
+
+    /**
+     * @return the amount of rows loaded by the last preload
+     */
+    public int getPreloaded() {
+        return preloaded.get();
+    }
+
+    /**
+     * @return the amount of preloaded rows accessed after the preload
+     */
+    public int getHits() {
+        return hits.get();
+    }
+
+    /**
+     * @return the fraction of the preloaded rows accessed after the preload, 0 if no rows was preloaded
+     */
+    public double getHitRate() {
+        int preloaded = getPreloaded();
+        return preloaded == 0 ? 0 : (double) getHits() / preloaded;
+    }
+
+    /**
+     * Writes the hottest keys to the preloader file, the keys with values unsupported by the
+     * {@link ValueCodec#DEFAULT default codec} are skipped. The file is kept if there's no accesses.
+     *
+     * @return the amount of keys written
+     */
+    @ApiStatus.Internal
+    @Blocking
+    public int write() throws IOException {
+        @Nullable Path file = getFile();
+        @NotNull List<Key> keys = getTable().getDataContent().getAccessTracker().getTop(getTopK());
+
+        if (file == null || keys.isEmpty()) {
+            return 0;
+        }
+
+        @NotNull Path temporary = file.resolveSibling(file.getFileName() + ".tmp");
+        int amount = 0;
+
+        try (@NotNull DataOutputStream output = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temporary)))) {
+            output.writeInt(MAGIC);
+            output.writeByte(FORMAT);
+            output.writeUTF(getTable().getPrimaryKey().getColumns().toString());
+
+            for (@NotNull Key key : keys) {
+                @NotNull ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+                @NotNull DataOutputStream row = new DataOutputStream(bytes);
+
+                try {
+                    for (@Nullable Object value : key.getValues()) {
+                        ValueCodec.DEFAULT.write(row, value);
+                    }
+                } catch (@NotNull IllegalArgumentException ignore) {
+                    continue;
+                }
+
+                output.writeBoolean(true);
+                bytes.writeTo(output);
+                amount++;
+            }
+
+            output.writeBoolean(false);
+        }
+
+        try {
+            Files.move(temporary, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (@NotNull AtomicMoveNotSupportedException ignore) {
+            Files.move(temporary, file, StandardCopyOption.REPLACE_EXISTING);
+        }
+
+        return amount;
+    }
+
+    /**
+     * Loads the rows of the keys at the preloader file, the rows already loaded or deleted are ignored.
+     *
+     * @return the amount of datas loaded
+     */
+    @ApiStatus.Internal
+    @Blocking
+    public int load() throws IOException {
+        @Nullable Path file = getFile();
+        if (file == null || !Files.isRegularFile(file)) {
+            return 0;
+        }
+
+        @Nullable Connection connection = getTable().getDatabase().getAuthentication().getConnection();
+        if (connection == null) {
+            throw new IllegalStateException("The table's authentication aren't connected");
+        }
+
+        @NotNull PrimaryKey primaryKey = getTable().getPrimaryKey();
+        @NotNull List<Key> keys = new ArrayList<>();
+
+        try (@NotNull DataInputStream input = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+            if (input.readInt() != MAGIC || input.readByte() != FORMAT || !input.readUTF().equals(primaryKey.getColumns().toString())) {
+                // Another format or primary key, the file is ignored
+                return 0;
+            }
+
+            int columns = primaryKey.getColumns().size();
+
+            while (input.readBoolean()) {
+                @NotNull Object[] values = new Object[columns];
+                for (int index = 0; index < columns; index++) {
+                    values[index] = ValueCodec.DEFAULT.read(input);
+                }
+
+                @NotNull Key key = primaryKey.normalize(Key.of(values));
+                @Nullable MysqlData data = getTable().getDataContent().get(key);
+
+                if (data == null || !data.isLoaded()) {
+                    keys.add(key);
+                }
+            }
+        }
+
+        @NotNull Queue<List<Key>> batches = new ConcurrentLinkedQueue<>();
+        for (int start = 0; start < keys.size(); start += getBatchSize()) {
+            batches.add(keys.subList(start, Math.min(keys.size(), start + getBatchSize())));
+        }
+
+        pending.clear();
+        preloaded.set(0);
+        hits.set(0);
+
+        @NotNull String select = "SELECT * FROM `" + getTable().getDatabase().getId() + "`.`" + getTable().getId() + "` WHERE ";
+        @NotNull Pacer pacer = new Pacer(getRateLimit());
+        @NotNull List<CompletableFuture<Void>> workers = new ArrayList<>();
+
+        for (int worker = 0; worker < Math.min(getConcurrency(), batches.size()); worker++) {
+            workers.add(CompletableFuture.runAsync(() -> {
+                @Nullable List<Key> batch;
+
+                while ((batch = batches.poll()) != null) {
+                    pacer.acquire(batch.size());
+
+                    try (@NotNull PreparedStatement statement = connection.prepareStatement(select + primaryKey.getIn(batch.size()))) {
+                        int index = 0;
+                        for (@NotNull Key key : batch) index = primaryKey.set(statement, index, key);
+
+                        @NotNull ResultSet set = statement.executeQuery();
+                        while (set.next()) {
+                            @Nullable MysqlData data = MysqlData.load(getTable(), set);
+
+                            if (data != null) {
+                                pending.add(data.getKey());
+                                preloaded.incrementAndGet();
+                            }
+                        }
+                    } catch (@NotNull Throwable throwable) {
+                        throw new RuntimeException("Cannot preload the rows of the table '" + getTable().getId() + "'", throwable);
+                    }
+                }
+            }, Transaction.getExecutor(Preloader.class)));
+        }
+
+        CompletableFuture.allOf(workers.toArray(new CompletableFuture<?>[0])).join();
+        return getPreloaded();
+    }
+
+    /**
+     * Counts the first access of a preloaded row.
+     *
+     * @param key the normalized primary key of the row
+     */
+    @ApiStatus.Internal
+    void hit(@NotNull Key key) {
+        if (!pending.isEmpty() && pending.remove(key)) {
+            hits.incrementAndGet();
+        }
+    }
+
+    @Override
+    public @NotNull String toString() {
+        return "Preloader{" +
+                "file=" + file +
+                ", topK=" + topK +
+                ", batchSize=" + batchSize +
+                ", concurrency=" + concurrency +
+                ", rateLimit=" + rateLimit +
+                ", preloaded=" + getPreloaded() +
+                ", hits=" + getHits() +
+                '}';
+    }
+
+    // Classes
+
+    // Spaces the queries to don't exceed the rows per second
+    private static final class Pacer {
+
+        private final int rate;
+        private long next = System.nanoTime();
+
+        private Pacer(int rate) {
+            this.rate = rate;
+        }
+
+        private void acquire(int rows) {
+            if (rate == 0) {
+                return;
+            }
+
+            long wait;
+            synchronized (this) {
+                long now = System.nanoTime();
+                long start = Math.max(next, now);
+
+                next = start + rows * 1_000_000_000L / rate;
+                wait = start - now;
+            }
+
+            if (wait > 0) try {
+                Thread.sleep(wait / 1_000_000, (int) (wait % 1_000_000));
+            } catch (@NotNull InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+    }
+
+}
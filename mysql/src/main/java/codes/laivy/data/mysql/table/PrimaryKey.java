@@ -0,0 +1,252 @@
+package codes.laivy.data.mysql.table;
+
+import codes.laivy.data.mysql.data.Key;
+import codes.laivy.data.mysql.utils.SqlUtils;
+import codes.laivy.data.mysql.variable.MysqlVariable;
+import codes.laivy.data.mysql.variable.type.AbstractType;
+import org.jetbrains.annotations.*;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.*;
+import java.util.stream.Collectors;
+
+/**
+ * The primary key declaration of a table. By default, the tables have an auto increment {@code row} column, but
+ * it can be replaced by one (natural key, like an uuid) or more (composite key) variables of the table.
+ * <p>
+ * The datas of the table are addressed by its {@link Key} values.
+ *
+ * @since 2.2
+ */
+public final class PrimaryKey {
+
+    private static final @NotNull PrimaryKey ROW = new PrimaryKey(new MysqlVariable<?>[0]);
+
+    // Static initializers
+
+    /**
+     * @return the default primary key, an auto increment {@code row} column
+     */
+    public static @NotNull PrimaryKey row() {
+        return ROW;
+    }
+
+    public static @NotNull PrimaryKey of(@NotNull MysqlVariable<?> @NotNull ... variables) {
+        if (variables.length == 0) {
+            throw new IllegalStateException("The primary key must have at least one variable");
+        } else if (Arrays.stream(variables).map(MysqlVariable::getTable).distinct().count() > 1) {
+            throw new IllegalStateException("The variables of the primary key must be from the same table");
+        } else if (Arrays.stream(variables).map(variable -> variable.getId().toLowerCase()).distinct().count() != variables.length) {
+            throw new IllegalStateException("The primary key has duplicated variables");
+        }
+
+        for (@NotNull MysqlVariable<?> variable : variables) {
+            if (!(variable.getType() instanceof AbstractType)) {
+                throw new IllegalStateException("The primary key variable '" + variable.getId() + "' must have a sql type");
+            } else if (((AbstractType<?>) variable.getType()).isIndexPrefixRequired()) {
+                throw new IllegalStateException("The primary key variable '" + variable.getId() + "' cannot be a TEXT or BLOB");
+            } else if (variable.isNullable()) {
+                throw new IllegalStateException("The primary key variable '" + variable.getId() + "' cannot be nullable");
+            }
+        }
+
+        return new PrimaryKey(variables.clone());
+    }
+
+    // Object
+
+    private final @NotNull MysqlVariable<?> @NotNull [] variables;
+
+    private PrimaryKey(@NotNull MysqlVariable<?> @NotNull [] variables) {
+        this.variables = variables;
+    }
+
+    /**
+     * @return true if this is the default auto increment {@code row} primary key
+     */
+    @Contract(pure = true)
+    public boolean isRow() {
+        return variables.length == 0;
+    }
+
+    /**
+     * @return the variables of the primary key, empty if it's the {@code row} primary key
+     */
+    @Contract(pure = true)
+    public @NotNull @Unmodifiable List<MysqlVariable<?>> getVariables() {
+        return Collections.unmodifiableList(Arrays.asList(variables));
+    }
+
+    @Contract(pure = true)
+    public @NotNull @Unmodifiable List<String> getColumns() {
+        if (isRow()) {
+            return Collections.singletonList("row");
+        } else {
+            return Collections.unmodifiableList(Arrays.stream(variables).map(MysqlVariable::getId).collect(Collectors.toList()));
+        }
+    }
+
+    public boolean contains(@NotNull MysqlVariable<?> variable) {
+        return Arrays.asList(variables).contains(variable);
+    }
+
+    /**
+     * @return the primary key definition used at the {@code CREATE TABLE} statement
+     */
+    public @NotNull String getDefinition() {
+        return "PRIMARY KEY (" + getSelect() + ")";
+    }
+
+    /**
+     * Converts the values of a key into the types of the primary key variables.
+     *
+     * @param key the key
+     * @return the normalized key
+     */
+    public @NotNull Key normalize(@NotNull Key key) {
+        if (key.size() != getColumns().size()) {
+            throw new IllegalStateException("The primary key has " + getColumns().size() + " columns, but the key '" + key + "' has " + key.size() + " values");
+        }
+
+        @NotNull Object @NotNull [] values = new Object[key.size()];
+        for (int index = 0; index < values.length; index++) {
+            if (isRow()) {
+                values[index] = ((Number) key.get(index)).longValue();
+            } else {
+                values[index] = Objects.requireNonNull(variables[index].getType().get(key.get(index)));
+            }
+        }
+
+        return Key.of(values);
+    }
+
+    // Sql utilities
+
+    /**
+     * @return the primary key columns separated by commas (e.g. {@code `a`, `b`})
+     */
+    @ApiStatus.Internal
+    public @NotNull String getSelect() {
+        return getColumns().stream().map(column -> "`" + column + "`").collect(Collectors.joining(", "));
+    }
+
+    /**
+     * @return the condition that matches a key (e.g. {@code `a` = ? AND `b` = ?})
+     */
+    @ApiStatus.Internal
+    public @NotNull String getWhere() {
+        return getColumns().stream().map(column -> "`" + column + "` = ?").collect(Collectors.joining(" AND "));
+    }
+
+    /**
+     * @param operator the comparison operator
+     * @return the comparison of the primary key with a key, ordered as the primary key (e.g. {@code (`a`, `b`) > (?, ?)})
+     */
+    @ApiStatus.Internal
+    public @NotNull String getComparison(@NotNull String operator) {
+        return getTuple() + " " + operator + " " + getParameters();
+    }
+
+    /**
+     * @param amount the amount of keys
+     * @return the condition that excludes an amount of keys (e.g. {@code (`a`, `b`) NOT IN ((?, ?), (?, ?))})
+     */
+    @ApiStatus.Internal
+    public @NotNull String getNotIn(int amount) {
+        if (amount == 0) {
+            return "TRUE";
+        }
+
+        return getTuple() + " NOT IN (" + String.join(", ", Collections.nCopies(amount, getParameters())) + ")";
+    }
+
+    /**
+     * @param amount the amount of keys
+     * @return the condition that matches an amount of keys (e.g. {@code (`a`, `b`) IN ((?, ?), (?, ?))})
+     */
+    @ApiStatus.Internal
+    public @NotNull String getIn(int amount) {
+        if (amount == 0) {
+            return "FALSE";
+        }
+
+        return getTuple() + " IN (" + String.join(", ", Collections.nCopies(amount, getParameters())) + ")";
+    }
+
+    /**
+     * Sets the values of a key at a statement.
+     *
+     * @param statement the statement
+     * @param index the parameter index of the first value (starting at 0)
+     * @param key the key
+     * @return the parameter index after the key values
+     */
+    @ApiStatus.Internal
+    public int set(@NotNull PreparedStatement statement, int index, @NotNull Key key) throws SQLException {
+        if (key.size() != getColumns().size()) {
+            throw new IllegalStateException("The primary key has " + getColumns().size() + " columns, but the key '" + key + "' has " + key.size() + " values");
+        }
+
+        for (int position = 0; position < key.size(); position++) {
+            if (isRow()) {
+                statement.setLong(index + 1, ((Number) key.get(position)).longValue());
+            } else {
+                SqlUtils.setParameter(statement, index, variables[position], key.get(position));
+            }
+
+            index++;
+        }
+
+        return index;
+    }
+
+    /**
+     * Reads the key of the current row of a result set, that must contain all the primary key columns.
+     *
+     * @param set the result set
+     * @return the key
+     */
+    @ApiStatus.Internal
+    public @NotNull Key read(@NotNull ResultSet set) throws SQLException {
+        if (isRow()) {
+            return Key.of(set.getLong("row"));
+        }
+
+        @NotNull Object @NotNull [] values = new Object[variables.length];
+        for (int index = 0; index < variables.length; index++) {
+            values[index] = Objects.requireNonNull(variables[index].getType().get(set.getObject(variables[index].getId())));
+        }
+
+        return Key.of(values);
+    }
+
+    private @NotNull String getTuple() {
+        return getColumns().size() == 1 ? getSelect() : "(" + getSelect() + ")";
+    }
+    private @NotNull String getParameters() {
+        @NotNull String parameters = String.join(", ", Collections.nCopies(getColumns().size(), "?"));
+        return getColumns().size() == 1 ? parameters : "(" + parameters + ")";
+    }
+
+    @Override
+    public boolean equals(@Nullable Object object) {
+        if (this == object) return true;
+        if (!(object instanceof PrimaryKey)) return false;
+        return Arrays.equals(variables, ((PrimaryKey) object).variables);
+    }
+
+    @Override
+    public int hashCode() {
+        return Arrays.hashCode(variables);
+    }
+
+    @Override
+    public @NotNull String toString() {
+        return "PrimaryKey{" +
+                "columns=" + getColumns() +
+                '}';
+    }
+
+}
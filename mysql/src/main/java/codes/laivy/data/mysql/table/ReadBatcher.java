@@ -0,0 +1,192 @@
+package codes.laivy.data.mysql.table;
+
+import codes.laivy.data.mysql.authentication.Transaction;
+import codes.laivy.data.mysql.data.Key;
+import org.jetbrains.annotations.*;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.util.*;
+import java.util.concurrent.*;
+
+/**
+ * Batches the point reads of a table, like the {@code MysqlDataCache#get} and {@code MysqlData#exists} calls. When
+ * enabled, the keys requested during a {@link #getWindow() window} are read together with a single
+ * {@code WHERE `row` IN (...)} query, and the future of every caller is completed with the row of its key. The
+ * batch is executed earlier if it reaches the {@link #getMaxSize() maximum size}.
+ * <p>
+ * The reads made inside a {@link Transaction} are never batched, since they must use the transaction connection.
+ *
+ * @since 2.2
+ */
+public final class ReadBatcher {
+
+    private static final @NotNull ScheduledExecutorService SCHEDULER = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        @NotNull Thread thread = new Thread(runnable, "Mysql read batcher");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final @NotNull MysqlTable table;
+
+    private volatile long window = 0;
+    private volatile int maxSize = 100;
+
+    private final @NotNull Object lock = new Object();
+    private @NotNull Map<Key, CompletableFuture<@Nullable Map<String, Object>>> pending = new LinkedHashMap<>();
+
+    ReadBatcher(@NotNull MysqlTable table) {
+        this.table = table;
+    }
+
+    @Contract(pure = true)
+    public @NotNull MysqlTable getTable() {
+        return table;
+    }
+
+    /**
+     * @return true if the point reads of the table are batched
+     */
+    public boolean isEnabled() {
+        return getWindow() > 0 && getTable().isLoaded() && Transaction.getCurrent() == null;
+    }
+
+    /**
+     * @return the time in milliseconds that the reads wait for other ones before the batch is executed, 0 (default) if the batching is disabled
+     */
+    @Contract(pure = true)
+    public long getWindow() {
+        return window;
+    }
+    public void setWindow(long window) {
+        if (window < 0) {
+            throw new IllegalArgumentException("The batch window cannot be negative");
+        }
+
+        this.window = window;
+    }
+
+    /**
+     * @return the amount of keys that executes the batch before the window ends
+     */
+    @Contract(pure = true)
+    public int getMaxSize() {
+        return maxSize;
+    }
+    public void setMaxSize(int maxSize) {
+        if (maxSize < 1) {
+            throw new IllegalArgumentException("The batch maximum size must be positive");
+        }
+
+        this.maxSize = maxSize;
+    }
+
+    /**
+     * Reads the row of a key with the next batch.
+     *
+     * @param key the normalized primary key
+     * @return A CompletableFuture with the columns of the row (lower case), or null if the row doesn't exists
+     */
+    @ApiStatus.Internal
+    public @NotNull CompletableFuture<@Nullable Map<String, Object>> read(@NotNull Key key) {
+        @NotNull CompletableFuture<Map<String, Object>> future;
+        @Nullable Map<Key, CompletableFuture<Map<String, Object>>> full = null;
+
+        synchronized (lock) {
+            @Nullable CompletableFuture<Map<String, Object>> current = pending.get(key);
+
+            if (current != null) {
+                future = current;
+            } else {
+                future = new CompletableFuture<>();
+
+                if (pending.isEmpty()) {
+                    SCHEDULER.schedule(() -> execute(), getWindow(), TimeUnit.MILLISECONDS);
+                }
+                pending.put(key, future);
+
+                if (pending.size() >= getMaxSize()) {
+                    full = pending;
+                    pending = new LinkedHashMap<>();
+                }
+            }
+        }
+
+        if (full != null) {
+            execute(full);
+        }
+
+        // A caller completing its own future doesn't affects the others
+        return future.thenApply(row -> row);
+    }
+
+    private void execute() {
+        @NotNull Map<Key, CompletableFuture<Map<String, Object>>> batch;
+
+        synchronized (lock) {
+            batch = pending;
+            pending = new LinkedHashMap<>();
+        }
+
+        if (!batch.isEmpty()) {
+            execute(batch);
+        }
+    }
+    private void execute(@NotNull Map<Key, CompletableFuture<Map<String, Object>>> batch) {
+        CompletableFuture.runAsync(() -> {
+            try {
+                @Nullable Connection connection = getTable().getDatabase().getAuthentication().getConnection();
+                if (connection == null) {
+                    throw new IllegalStateException("The table's authentication aren't connected");
+                }
+
+                @NotNull PrimaryKey primaryKey = getTable().getPrimaryKey();
+
+                try (@NotNull PreparedStatement statement = connection.prepareStatement("SELECT * FROM `" + getTable().getDatabase().getId() + "`.`" + getTable().getId() + "` WHERE " + primaryKey.getIn(batch.size()))) {
+                    int index = 0;
+                    for (@NotNull Key key : batch.keySet()) {
+                        index = primaryKey.set(statement, index, key);
+                    }
+
+                    @NotNull ResultSet set = statement.executeQuery();
+                    while (set.next()) {
+                        @Nullable CompletableFuture<Map<String, Object>> future = batch.get(primaryKey.read(set));
+                        if (future == null) continue;
+
+                        @NotNull Map<String, Object> row = new HashMap<>();
+                        for (int column = 1; column <= set.getMetaData().getColumnCount(); column++) {
+                            @NotNull String columnName = set.getMetaData().getColumnName(column);
+
+                            if (primaryKey.isRow() && columnName.equalsIgnoreCase("row")) {
+                                continue;
+                            }
+
+                            row.put(columnName.toLowerCase(), set.getObject(column));
+                        }
+
+                        future.complete(row);
+                    }
+                }
+
+                // The keys without rows
+                for (@NotNull CompletableFuture<Map<String, Object>> future : batch.values()) {
+                    future.complete(null);
+                }
+            } catch (@NotNull Throwable throwable) {
+                for (@NotNull CompletableFuture<Map<String, Object>> future : batch.values()) {
+                    future.completeExceptionally(throwable);
+                }
+            }
+        }, Transaction.getExecutor(getClass()));
+    }
+
+    @Override
+    public @NotNull String toString() {
+        return "ReadBatcher{" +
+                "window=" + window +
+                ", maxSize=" + maxSize +
+                '}';
+    }
+
+}
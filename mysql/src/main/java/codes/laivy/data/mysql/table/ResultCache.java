@@ -0,0 +1,284 @@
+package codes.laivy.data.mysql.table;
+
+import codes.laivy.data.mysql.authentication.Transaction;
+import codes.laivy.data.mysql.data.Key;
+import org.jetbrains.annotations.*;
+
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
+
+/**
+ * Caches the results of the read queries of a table, like the {@code MysqlDataCache#get} and
+ * {@code MysqlDataCache#retrieve} calls, keyed by the query and its parameters. The results without rows are cached
+ * too. The entries expire after the {@link #getTtl() ttl}, and the least recently used ones are removed when the
+ * cache is full.
+ * <p>
+ * The writes made by the library invalidate the entries of the written row and all the condition queries of the
+ * table, the changes received by the invalidation bus or the delta sync too.
+ * <p>
+ * With a {@link #getSoftTtl() soft ttl}, the entries older than it are still returned immediately while a single
+ * background query refreshes them, only the entries older than the ttl make the readers wait. The soft ttl also
+ * refreshes the rows of a {@link MysqlTable#isResident() resident table} read after it.
+ * <p>
+ * Every reader receives its own copy of the mutable parts of a result, like the rows, arrays and blobs.
+ *
+ * @since 2.2
+ */
+public final class ResultCache {
+
+    private final @NotNull MysqlTable table;
+
+    private volatile long ttl = 0;
+    private volatile long softTtl = 0;
+    private volatile int maxSize = 1000;
+
+    private final @NotNull Map<List<Object>, CachedResult> entries = new LinkedHashMap<List<Object>, CachedResult>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(@NotNull Map.Entry<List<Object>, CachedResult> eldest) {
+            return size() > getMaxSize();
+        }
+    };
+    // Increased at every invalidation, the results read before it aren't cached
+    private long generation = 0;
+
+    ResultCache(@NotNull MysqlTable table) {
+        this.table = table;
+    }
+
+    @Contract(pure = true)
+    public @NotNull MysqlTable getTable() {
+        return table;
+    }
+
+    /**
+     * @return true if the read queries of the table are cached
+     */
+    public boolean isEnabled() {
+        return getTtl() > 0 && getTable().isLoaded() && Transaction.getCurrent() == null;
+    }
+
+    /**
+     * @return the time in milliseconds that the results are kept, 0 (default) if the cache is disabled
+     */
+    @Contract(pure = true)
+    public long getTtl() {
+        return ttl;
+    }
+    public void setTtl(long ttl) {
+        if (ttl < 0) {
+            throw new IllegalArgumentException("The cache ttl cannot be negative");
+        }
+
+        this.ttl = ttl;
+        if (ttl == 0) clear();
+    }
+
+    /**
+     * @return the age in milliseconds that makes the results to be refreshed in background, 0 (default) if they're only refreshed after the ttl
+     */
+    @Contract(pure = true)
+    public long getSoftTtl() {
+        return softTtl;
+    }
+    public void setSoftTtl(long softTtl) {
+        if (softTtl < 0) {
+            throw new IllegalArgumentException("The cache soft ttl cannot be negative");
+        }
+
+        this.softTtl = softTtl;
+    }
+
+    /**
+     * @return the maximum amount of cached results
+     */
+    @Contract(pure = true)
+    public int getMaxSize() {
+        return maxSize;
+    }
+    public void setMaxSize(int maxSize) {
+        if (maxSize < 1) {
+            throw new IllegalArgumentException("The cache maximum size must be positive");
+        }
+
+        this.maxSize = maxSize;
+    }
+
+    /**
+     * @return the amount of cached results, including the expired ones not removed yet
+     */
+    public int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    /**
+     * @return the estimated bytes retained by the cached results
+     */
+    public long getRetainedBytes() {
+        synchronized (entries) {
+            long bytes = 0;
+
+            for (@NotNull CachedResult entry : entries.values()) {
+                bytes += 64 + MemoryGuard.sizeOf(entry.value);
+            }
+
+            return bytes;
+        }
+    }
+
+    /**
+     * Returns the cached result of a query, or executes it and caches the result.
+     *
+     * @param query the query and its parameters
+     * @param row the key of the row read by the query, or null if the query depends on all the rows of the table
+     * @param loader executes the query
+     * @return A CompletableFuture with the result
+     */
+    @ApiStatus.Internal
+    public <V> @NotNull CompletableFuture<V> get(@NotNull List<Object> query, @Nullable Key row, @NotNull Supplier<@NotNull CompletableFuture<V>> loader) {
+        if (!isEnabled()) {
+            return loader.get();
+        }
+
+        long generation;
+        @Nullable CachedResult stale = null;
+
+        synchronized (entries) {
+            @Nullable CachedResult entry = entries.get(query);
+            long age = entry != null ? System.currentTimeMillis() - entry.time : 0;
+
+            if (entry != null && age < getTtl()) {
+                if (getSoftTtl() == 0 || age < getSoftTtl() || entry.refreshing) {
+                    return completed(entry.value);
+                }
+
+                // Only one reader refreshes the entry
+                entry.refreshing = true;
+                stale = entry;
+            } else if (entry != null) {
+                entries.remove(query);
+            }
+
+            generation = this.generation;
+        }
+
+        @NotNull CompletableFuture<V> future;
+
+        try {
+            future = loader.get().thenApply(value -> {
+                synchronized (entries) {
+                    if (this.generation == generation) {
+                        entries.put(query, new CachedResult(row, copy(value)));
+                    }
+                }
+
+                return value;
+            });
+        } catch (@NotNull Throwable throwable) {
+            if (stale == null) throw throwable;
+            future = new CompletableFuture<>();
+            future.completeExceptionally(throwable);
+        }
+
+        if (stale != null) {
+            // The stale value is returned while the refresh runs, it's tried again at the next read if it fails
+            @NotNull CachedResult entry = stale;
+            future.whenComplete((value, throwable) -> {
+                if (throwable != null) synchronized (entries) {
+                    entry.refreshing = false;
+                }
+            });
+
+            return completed(entry.value);
+        }
+
+        return future;
+    }
+
+    // The cached values are results of the same query, so they have its result type
+    @SuppressWarnings("unchecked")
+    private static <V> @NotNull CompletableFuture<V> completed(@Nullable Object value) {
+        return CompletableFuture.completedFuture((V) copy(value));
+    }
+    // The cached results are copied when stored and read, so a caller changing its result doesn't change the others
+    private static @Nullable Object copy(@Nullable Object value) {
+        if (value instanceof Map) {
+            @NotNull Map<Object, Object> map = new LinkedHashMap<>();
+            for (@NotNull Map.Entry<?, ?> entry : ((Map<?, ?>) value).entrySet()) {
+                map.put(entry.getKey(), copy(entry.getValue()));
+            }
+            return map;
+        } else if (value instanceof List) {
+            @NotNull List<Object> list = new ArrayList<>();
+            for (@Nullable Object element : (List<?>) value) {
+                list.add(copy(element));
+            }
+            return list;
+        } else if (value instanceof Object[]) {
+            @Nullable Object @NotNull [] array = ((Object[]) value).clone();
+            for (int index = 0; index < array.length; index++) {
+                array[index] = copy(array[index]);
+            }
+            return array;
+        } else if (value instanceof byte[]) {
+            return ((byte[]) value).clone();
+        } else if (value instanceof Date) {
+            return ((Date) value).clone();
+        }
+
+        // The other column values are immutable
+        return value;
+    }
+
+    /**
+     * Invalidates the results of a written row and all the condition queries.
+     *
+     * @param row the key of the written row, or null to invalidate all the results
+     */
+    @ApiStatus.Internal
+    public void invalidate(@Nullable Key row) {
+        synchronized (entries) {
+            generation++;
+
+            if (row == null) {
+                entries.clear();
+            } else {
+                entries.values().removeIf(entry -> entry.row == null || entry.row.equals(row));
+            }
+        }
+    }
+
+    public void clear() {
+        invalidate(null);
+    }
+
+    @Override
+    public @NotNull String toString() {
+        return "ResultCache{" +
+                "ttl=" + ttl +
+                ", softTtl=" + softTtl +
+                ", maxSize=" + maxSize +
+                ", size=" + size() +
+                '}';
+    }
+
+    // Classes
+
+    private static final class CachedResult {
+
+        private final @Nullable Key row;
+        private final @Nullable Object value;
+        private final long time = System.currentTimeMillis();
+
+        private boolean refreshing = false;
+
+        private CachedResult(@Nullable Key row, @Nullable Object value) {
+            this.row = row;
+            this.value = value;
+        }
+
+    }
+
+}
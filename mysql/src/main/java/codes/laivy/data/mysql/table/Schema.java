@@ -0,0 +1,774 @@
+package codes.laivy.data.mysql.table;
+
+import codes.laivy.data.mysql.authentication.Transaction;
+import codes.laivy.data.mysql.data.Key;
+import codes.laivy.data.mysql.utils.MysqlVersion;
+import codes.laivy.data.mysql.utils.SqlUtils;
+import codes.laivy.data.mysql.variable.MysqlVariable;
+import codes.laivy.data.mysql.variable.type.AbstractType;
+import org.jetbrains.annotations.*;
+
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * Keeps a snapshot of the column and index definitions of a table and synchronizes the declared variables and
+ * indexes with it.
+ * <p>
+ * The current columns are read only once, and the variables are compared against them; only the real
+ * differences are applied, all together in a single {@code ALTER TABLE} statement.
+ *
+ * @since 2.2
+ */
+public final class Schema {
+
+    private final @NotNull MysqlTable table;
+    private volatile @Nullable Map<@NotNull String, @NotNull Column> columns;
+    private volatile @Nullable Map<@NotNull String, @NotNull TableKey> keys;
+
+    private final @NotNull Map<@NotNull MysqlVariable<?>, @NotNull CompletableFuture<Void>> backfills = new ConcurrentHashMap<>();
+    private volatile int backfillChunkSize = 1000;
+
+    public Schema(@NotNull MysqlTable table) {
+        this.table = table;
+    }
+
+    @Contract(pure = true)
+    public @NotNull MysqlTable getTable() {
+        return table;
+    }
+
+    /**
+     * Retrieves the column definitions of the table, using the snapshot if it's already read.
+     *
+     * @return A CompletableFuture with the columns mapped by their lower case names
+     * @since 2.2
+     */
+    public @NotNull CompletableFuture<@Unmodifiable Map<String, Column>> getColumns() {
+        @Nullable Map<String, Column> columns = this.columns;
+
+        if (columns != null) {
+            return CompletableFuture.completedFuture(columns);
+        } else {
+            return reload();
+        }
+    }
+
+    /**
+     * Retrieves the index definitions of the table, using the snapshot if it's already read.
+     * The primary key isn't included.
+     *
+     * @return A CompletableFuture with the indexes mapped by their lower case names
+     * @since 2.2
+     */
+    public @NotNull CompletableFuture<@Unmodifiable Map<String, TableKey>> getKeys() {
+        @Nullable Map<String, TableKey> keys = this.keys;
+
+        if (keys != null && columns != null) {
+            return CompletableFuture.completedFuture(keys);
+        } else {
+            return reload().thenApply(columns -> this.keys);
+        }
+    }
+
+    /**
+     * Reads again the column and index definitions of the table from the database, replacing the snapshot.
+     *
+     * @return A CompletableFuture with the columns mapped by their lower case names
+     * @since 2.2
+     */
+    public @NotNull CompletableFuture<@Unmodifiable Map<String, Column>> reload() {
+        @Nullable Connection connection = getTable().getDatabase().getAuthentication().getConnection();
+        if (connection == null) {
+            throw new IllegalStateException("The database's authentication aren't connected");
+        }
+
+        @NotNull CompletableFuture<Map<String, Column>> future = new CompletableFuture<>();
+
+        CompletableFuture.runAsync(() -> {
+            try (@NotNull PreparedStatement statement = connection.prepareStatement("SELECT `COLUMN_NAME`, `COLUMN_TYPE`, `IS_NULLABLE`, `COLUMN_DEFAULT` FROM `information_schema`.`COLUMNS` WHERE `TABLE_SCHEMA` = ? AND `TABLE_NAME` = ? ORDER BY `ORDINAL_POSITION`")) {
+                statement.setString(1, getTable().getDatabase().getId());
+                statement.setString(2, getTable().getId());
+
+                @NotNull Map<String, Column> columns = new LinkedHashMap<>();
+                @NotNull ResultSet set = statement.executeQuery();
+
+                while (set.next()) {
+                    @NotNull Column column = new Column(set.getString(1), set.getString(2), set.getString(3).equalsIgnoreCase("YES"), set.getString(4));
+                    columns.put(column.getName().toLowerCase(), column);
+                }
+
+                this.keys = readKeys(connection);
+                this.columns = Collections.unmodifiableMap(columns);
+                future.complete(this.columns);
+            } catch (@NotNull Throwable throwable) {
+                future.completeExceptionally(throwable);
+            }
+        }, Transaction.getExecutor(getClass()));
+
+        return future;
+    }
+
+    @Blocking
+    private @NotNull Map<String, TableKey> readKeys(@NotNull Connection connection) throws Throwable {
+        try (@NotNull PreparedStatement statement = connection.prepareStatement("SELECT `INDEX_NAME`, `NON_UNIQUE`, `COLUMN_NAME`, `SUB_PART` FROM `information_schema`.`STATISTICS` WHERE `TABLE_SCHEMA` = ? AND `TABLE_NAME` = ? AND `INDEX_NAME` <> 'PRIMARY' ORDER BY `INDEX_NAME`, `SEQ_IN_INDEX`")) {
+            statement.setString(1, getTable().getDatabase().getId());
+            statement.setString(2, getTable().getId());
+
+            @NotNull Map<String, TableKey> keys = new LinkedHashMap<>();
+            @NotNull ResultSet set = statement.executeQuery();
+
+            while (set.next()) {
+                @NotNull String name = set.getString(1);
+                boolean unique = set.getInt(2) == 0;
+                @Nullable Integer length = set.getObject(4) != null ? set.getInt(4) : null;
+
+                keys.computeIfAbsent(name.toLowerCase(), k -> new TableKey(name, unique)).add(set.getString(3), length);
+            }
+
+            return Collections.unmodifiableMap(keys);
+        }
+    }
+
+    /**
+     * Discards the columns snapshot, the next operation will read it again from the database.
+     *
+     * @since 2.2
+     */
+    @ApiStatus.Internal
+    public void invalidate() {
+        columns = null;
+        keys = null;
+    }
+
+    /**
+     * Synchronizes the columns of the variables with the table at the database.
+     * Missing columns are added and columns with a different definition are modified, everything at a single
+     * {@code ALTER TABLE}. Columns that already matches the variables doesn't generate any statement.
+     * <p>
+     * The declared indexes whose variables have columns are also reconciled at the same statement.
+     *
+     * @param variables the variables to synchronize
+     * @return A CompletableFuture with the variables that had their columns created
+     * @since 2.2
+     */
+    public @NotNull CompletableFuture<@NotNull Set<MysqlVariable<?>>> sync(@NotNull Collection<MysqlVariable<?>> variables) {
+        if (Transaction.getCurrent() != null) {
+            throw new IllegalStateException("The schema of the table '" + getTable().getId() + "' cannot be synchronized inside a transaction, its DDL statements would commit the transaction");
+        }
+        @Nullable Connection connection = getTable().getDatabase().getAuthentication().getConnection();
+        if (connection == null) {
+            throw new IllegalStateException("The database's authentication aren't connected");
+        } else if (variables.stream().anyMatch(variable -> !variable.getTable().equals(getTable()))) {
+            throw new IllegalStateException("There's variables that aren't from the table '" + getTable().getId() + "'");
+        }
+
+        @NotNull CompletableFuture<Set<MysqlVariable<?>>> future = new CompletableFuture<>();
+
+        CompletableFuture.runAsync(() -> {
+            try {
+                @NotNull Map<String, Column> columns = getColumns().join();
+                @NotNull Map<String, TableKey> keys = getKeys().join();
+
+                @NotNull Set<MysqlVariable<?>> created = new LinkedHashSet<>();
+                @NotNull List<MysqlVariable<?>> fills = new LinkedList<>();
+                @NotNull List<MysqlVariable<?>> others = new LinkedList<>();
+                @NotNull List<Clause> clauses = new LinkedList<>();
+
+                for (@NotNull MysqlVariable<?> variable : variables) {
+                    if (!(variable.getType() instanceof AbstractType)) {
+                        others.add(variable);
+                        continue;
+                    }
+
+                    @SuppressWarnings("unchecked")
+                    @NotNull AbstractType<Object> type = (AbstractType<Object>) variable.getType();
+                    @Nullable Column column = columns.get(variable.getId().toLowerCase());
+                    @NotNull String definition = getDefinition(variable);
+
+                    @Nullable String expression = type.getDefaultExpression(variable.getDefaultValue());
+
+                    if (column == null) {
+                        clauses.add(new Clause("ADD COLUMN `" + variable.getId() + "` " + definition, true));
+                        created.add(variable);
+
+                        // Without a DEFAULT clause, the rows existing now are marked to be backfilled
+                        if (variable.getDefaultValue() != null && expression == null) {
+                            clauses.add(new Clause("ADD COLUMN `" + getFillColumn(variable) + "` BOOLEAN NOT NULL DEFAULT TRUE", true));
+                            fills.add(variable);
+                        }
+                    } else if (!type.matches(column) || column.isNullable() != variable.isNullable()) {
+                        clauses.add(new Clause("MODIFY COLUMN `" + variable.getId() + "` " + definition, false));
+                    } else if (expression != null && !Column.isSameDefault(column.getDefaultValue(), expression)) {
+                        // Only the column metadata changes
+                        clauses.add(new Clause("ALTER COLUMN `" + variable.getId() + "` SET DEFAULT " + expression, true));
+                    }
+
+                    // A backfill interrupted before it finished is resumed
+                    @Nullable Column fill = columns.get(getFillColumn(variable));
+                    if (column != null && fill != null && "1".equals(fill.getDefaultValue()) && !backfills.containsKey(variable)) {
+                        fills.add(variable);
+                    }
+                }
+
+                // The version column of the optimistic concurrency
+                if (getTable().isVersioned() && !columns.containsKey("row_version")) {
+                    clauses.add(new Clause("ADD COLUMN `row_version` BIGINT NOT NULL DEFAULT 0", true));
+                }
+
+                // The change time column of the delta sync, the existing rows receive the current time
+                if (getTable().getDeltaSync().isEnabled() && !columns.containsKey("row_updated")) {
+                    clauses.add(new Clause("ADD COLUMN `row_updated` " + DeltaSync.DEFINITION, true));
+                }
+                if (getTable().getDeltaSync().isEnabled() && !keys.containsKey("row_updated")) {
+                    clauses.add(new Clause("ADD KEY `row_updated` (`row_updated`)", false));
+                }
+
+                // Indexes
+                for (@NotNull Index index : getTable().getIndexes()) {
+                    boolean available = index.getColumns().stream().map(Index.Column::getVariable).allMatch(variable -> columns.containsKey(variable.getId().toLowerCase()) || created.contains(variable));
+                    @Nullable TableKey key = keys.get(index.getId().toLowerCase());
+
+                    if (!available || (key != null && index.matches(key))) {
+                        continue;
+                    }
+
+                    if (key != null) {
+                        clauses.add(new Clause("DROP INDEX `" + key.getName() + "`", false));
+                    }
+                    clauses.add(new Clause("ADD " + index.getDefinition(), false));
+                }
+
+                if (!clauses.isEmpty()) {
+                    alter(connection, clauses);
+                    reload().join();
+                }
+
+                for (@NotNull MysqlVariable<?> variable : fills) {
+                    backfill(variable);
+                }
+
+                // Types that doesn't extends the abstract type have their own configuration
+                for (@NotNull MysqlVariable<?> variable : others) {
+                    if (configure(variable)) {
+                        created.add(variable);
+                    }
+                }
+                if (!others.isEmpty()) {
+                    invalidate();
+                }
+
+                future.complete(created);
+            } catch (@NotNull Throwable throwable) {
+                future.completeExceptionally(throwable);
+            }
+        }, Transaction.getExecutor(getClass()));
+
+        return future;
+    }
+
+    @Blocking
+    private void alter(@NotNull Connection connection, @NotNull List<Clause> clauses) throws Throwable {
+        @NotNull MysqlVersion version = getTable().getDatabase().getAuthentication().getVersion();
+        @NotNull StringBuilder builder = new StringBuilder("ALTER TABLE `" + getTable().getDatabase().getId() + "`.`" + getTable().getId() + "` ");
+
+        int index = 0;
+        for (@NotNull Clause clause : clauses) {
+            if (index > 0) builder.append(", ");
+            builder.append(clause.getSql());
+            index++;
+        }
+
+        @Nullable String algorithm = null;
+        if (version.supportsInstantAlter() && clauses.stream().allMatch(Clause::isInstant)) {
+            algorithm = "INSTANT";
+        } else if (version.supportsInplaceAlter()) {
+            algorithm = "INPLACE";
+        }
+
+        if (algorithm != null) {
+            try (@NotNull PreparedStatement statement = connection.prepareStatement(builder + ", ALGORITHM=" + algorithm)) {
+                statement.execute();
+                return;
+            } catch (@NotNull Throwable throwable) {
+                int code = SqlUtils.getErrorCode(throwable);
+
+                // The server cannot apply these changes with the algorithm, let it choose
+                if (code != 1845 && code != 1846) {
+                    throw throwable;
+                }
+            }
+        }
+
+        try (@NotNull PreparedStatement statement = connection.prepareStatement(builder.toString())) {
+            statement.execute();
+        }
+    }
+
+    /**
+     * Retrieves the background backfill of a variable, that writes the default value at the rows that existed
+     * when the column was added, if the variable type cannot represent it with a {@code DEFAULT} clause.
+     * <p>
+     * These rows are marked by a {@link #getFillColumn(MysqlVariable) fill column} added together with the
+     * variable column, and the library clears the mark every time it writes the variable, so the values written
+     * while the backfill runs are kept, whatever they are.
+     *
+     * @param variable the variable
+     * @return the backfill future, or a completed future if there's no backfill running for the variable
+     * @since 2.2
+     */
+    public @NotNull CompletableFuture<Void> getBackfill(@NotNull MysqlVariable<?> variable) {
+        return backfills.getOrDefault(variable, CompletableFuture.completedFuture(null));
+    }
+
+    /**
+     * Retrieves the fill columns of the variables with a running backfill, every write of these variables must set
+     * them to {@code FALSE}.
+     *
+     * @param variables the written variables
+     * @return the names of the fill columns
+     * @since 2.2
+     */
+    @ApiStatus.Internal
+    public @NotNull List<String> getFillColumns(@NotNull Collection<? extends MysqlVariable<?>> variables) {
+        if (backfills.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        return variables.stream().filter(backfills::containsKey).map(Schema::getFillColumn).collect(Collectors.toList());
+    }
+
+    @Contract(pure = true)
+    public @Range(from = 1, to = Integer.MAX_VALUE) int getBackfillChunkSize() {
+        return backfillChunkSize;
+    }
+    public void setBackfillChunkSize(@Range(from = 1, to = Integer.MAX_VALUE) int backfillChunkSize) {
+        if (backfillChunkSize < 1) {
+            throw new IllegalArgumentException("The backfill chunk size must be positive");
+        }
+
+        this.backfillChunkSize = backfillChunkSize;
+    }
+
+    // Only the marked rows are replaced, the fill column default is turned off at the end to record it's finished
+    private void backfill(@NotNull MysqlVariable<?> variable) {
+        @Nullable Connection connection = getTable().getDatabase().getAuthentication().getConnection();
+        if (connection == null) {
+            throw new IllegalStateException("The database's authentication aren't connected");
+        }
+
+        @NotNull CompletableFuture<Void> future = new CompletableFuture<>();
+        @NotNull String table = "`" + getTable().getDatabase().getId() + "`.`" + getTable().getId() + "`";
+
+        // Registered before starting, the writes of the variable clear the marks from now on
+        backfills.put(variable, future);
+
+        CompletableFuture.runAsync(() -> {
+            try {
+                @NotNull PrimaryKey primaryKey = getTable().getPrimaryKey();
+                @NotNull String column = "`" + variable.getId() + "`";
+                @NotNull String fill = "`" + getFillColumn(variable) + "`";
+
+                // Each chunk locks only a range of the primary key (keyset pagination)
+                @Nullable Key last = null;
+                boolean finished;
+
+                do {
+                    @Nullable Key upper;
+
+                    try (@NotNull PreparedStatement statement = connection.prepareStatement("SELECT " + primaryKey.getSelect() + " FROM " + table + (last != null ? " WHERE " + primaryKey.getComparison(">") : "") + " ORDER BY " + primaryKey.getSelect() + " LIMIT 1 OFFSET " + (getBackfillChunkSize() - 1))) {
+                        if (last != null) primaryKey.set(statement, 0, last);
+
+                        @NotNull ResultSet set = statement.executeQuery();
+                        upper = set.next() ? primaryKey.read(set) : null;
+                    }
+
+                    // The last chunk has no upper bound
+                    finished = upper == null;
+
+                    @NotNull StringBuilder builder = new StringBuilder("UPDATE " + table + " SET " + column + " = ?, " + fill + " = FALSE WHERE " + fill);
+                    if (last != null) builder.append(" AND ").append(primaryKey.getComparison(">"));
+                    if (upper != null) builder.append(" AND ").append(primaryKey.getComparison("<="));
+
+                    try (@NotNull PreparedStatement statement = connection.prepareStatement(builder.toString())) {
+                        SqlUtils.setParameter(statement, 0, variable, variable.getDefaultValue());
+
+                        int index = 1;
+                        if (last != null) index = primaryKey.set(statement, index, last);
+                        if (upper != null) primaryKey.set(statement, index, upper);
+
+                        statement.execute();
+                    }
+
+                    last = upper;
+                } while (!finished);
+
+                alter(connection, Collections.singletonList(new Clause("ALTER COLUMN " + fill + " SET DEFAULT FALSE", true)));
+                invalidate();
+
+                future.complete(null);
+            } catch (@NotNull Throwable throwable) {
+                future.completeExceptionally(throwable);
+            } finally {
+                backfills.remove(variable, future);
+            }
+        }, Transaction.getExecutor(getClass()));
+    }
+
+    /**
+     * Migrates the {@code row} column of a table created with the old {@code INT} row to {@code BIGINT}, without
+     * blocking the reads and writes of the table.
+     * <p>
+     * A shadow table is created with the {@code BIGINT} row and receives the rows in chunks of the
+     * {@link #getBackfillChunkSize() backfill chunk size}, while triggers replicate the concurrent changes into it.
+     * At the end, the shadow table atomically replaces the table with a {@code RENAME TABLE}.
+     * The connection needs the {@code TRIGGER} privilege.
+     *
+     * @return A CompletableFuture with true if the table was migrated, or false if the table doesn't need it
+     * @since 2.2
+     */
+    public @NotNull CompletableFuture<Boolean> migrateRows() {
+        if (Transaction.getCurrent() != null) {
+            throw new IllegalStateException("The table '" + getTable().getId() + "' cannot be migrated inside a transaction, its DDL statements would commit the transaction");
+        }
+        @Nullable Connection connection = getTable().getDatabase().getAuthentication().getConnection();
+        if (connection == null) {
+            throw new IllegalStateException("The database's authentication aren't connected");
+        }
+
+        @NotNull CompletableFuture<Boolean> future = new CompletableFuture<>();
+
+        @NotNull String database = "`" + getTable().getDatabase().getId() + "`";
+        @NotNull String table = database + ".`" + getTable().getId() + "`";
+        @NotNull String prefix = database + ".`_" + Integer.toHexString(getTable().getId().toLowerCase().hashCode());
+        @NotNull String shadow = prefix + "_new`", old = prefix + "_old`";
+        @NotNull String @NotNull [] triggers = new String[] { prefix + "_ins`", prefix + "_upd`", prefix + "_del`" };
+
+        CompletableFuture.runAsync(() -> {
+            try {
+                @NotNull Map<String, Column> columns = reload().join();
+                @Nullable Column row = columns.get("row");
+
+                if (!getTable().getPrimaryKey().isRow() || row == null || !Column.normalize(row.getType()).equals("int")) {
+                    future.complete(false);
+                    return;
+                }
+
+                @NotNull String names = columns.values().stream().map(column -> "`" + column.getName() + "`").collect(Collectors.joining(", "));
+                @NotNull String news = columns.values().stream().map(column -> "NEW.`" + column.getName() + "`").collect(Collectors.joining(", "));
+
+                try {
+                    execute(connection, "CREATE TABLE " + shadow + " LIKE " + table);
+                    execute(connection, "ALTER TABLE " + shadow + " MODIFY COLUMN `row` BIGINT NOT NULL AUTO_INCREMENT");
+
+                    // The changes made while copying are replicated to the shadow table
+                    execute(connection, "CREATE TRIGGER " + triggers[0] + " AFTER INSERT ON " + table + " FOR EACH ROW REPLACE INTO " + shadow + " (" + names + ") VALUES (" + news + ")");
+                    execute(connection, "CREATE TRIGGER " + triggers[1] + " AFTER UPDATE ON " + table + " FOR EACH ROW REPLACE INTO " + shadow + " (" + names + ") VALUES (" + news + ")");
+                    execute(connection, "CREATE TRIGGER " + triggers[2] + " AFTER DELETE ON " + table + " FOR EACH ROW DELETE FROM " + shadow + " WHERE `row` = OLD.`row`");
+
+                    // Copies the rows by chunks, the rows already replicated by the triggers are newer and kept
+                    @Nullable Long last = null;
+
+                    do {
+                        @Nullable Long upper;
+
+                        try (@NotNull PreparedStatement statement = connection.prepareStatement("SELECT `row` FROM " + table + (last != null ? " WHERE `row` > ?" : "") + " ORDER BY `row` LIMIT 1 OFFSET " + (getBackfillChunkSize() - 1))) {
+                            if (last != null) statement.setLong(1, last);
+
+                            @NotNull ResultSet set = statement.executeQuery();
+                            upper = set.next() ? set.getLong(1) : null;
+                        }
+
+                        @NotNull StringBuilder builder = new StringBuilder("INSERT IGNORE INTO " + shadow + " (" + names + ") SELECT " + names + " FROM " + table + " WHERE TRUE");
+                        if (last != null) builder.append(" AND `row` > ?");
+                        if (upper != null) builder.append(" AND `row` <= ?");
+
+                        try (@NotNull PreparedStatement statement = connection.prepareStatement(builder.toString())) {
+                            int index = 1;
+                            if (last != null) statement.setLong(index++, last);
+                            if (upper != null) statement.setLong(index, upper);
+
+                            statement.execute();
+                        }
+
+                        last = upper;
+                    } while (last != null);
+
+                    // Keeps the auto increment, that can be higher than the last row
+                    long increment = getTable().getAutoIncrement().getAmount().join();
+                    execute(connection, "ALTER TABLE " + shadow + " AUTO_INCREMENT = " + increment);
+
+                    execute(connection, "RENAME TABLE " + table + " TO " + old + ", " + shadow + " TO " + table);
+                    execute(connection, "DROP TABLE " + old);
+                } finally {
+                    // The triggers are dropped with the old table, these statements only clean up a failed migration
+                    for (@NotNull String trigger : triggers) {
+                        execute(connection, "DROP TRIGGER IF EXISTS " + trigger);
+                    }
+                    execute(connection, "DROP TABLE IF EXISTS " + shadow);
+                }
+
+                reload().join();
+                future.complete(true);
+            } catch (@NotNull Throwable throwable) {
+                future.completeExceptionally(throwable);
+            }
+        }, Transaction.getExecutor(getClass()));
+
+        return future;
+    }
+
+    /**
+     * Retrieves the name of the column that marks the rows waiting for the backfill of a variable.
+     *
+     * @param variable the variable
+     * @return the fill column name
+     * @since 2.2
+     */
+    public static @NotNull String getFillColumn(@NotNull MysqlVariable<?> variable) {
+        return "row_fill_" + Integer.toHexString(variable.getId().toLowerCase().hashCode());
+    }
+
+    // The column definition of a variable with an abstract type
+    static <T> @NotNull String getDefinition(@NotNull MysqlVariable<T> variable) {
+        return ((AbstractType<T>) variable.getType()).getDefinition(variable);
+    }
+
+    @Blocking
+    private static <T> boolean configure(@NotNull MysqlVariable<T> variable) {
+        return variable.getType().configure(variable).join() == Boolean.TRUE;
+    }
+
+    @Blocking
+    private static void execute(@NotNull Connection connection, @NotNull String sql) throws Throwable {
+        try (@NotNull PreparedStatement statement = connection.prepareStatement(sql)) {
+            statement.execute();
+        }
+    }
+
+    @Override
+    public @NotNull String toString() {
+        return "Schema{" +
+                "table=" + table.getId() +
+                ", columns=" + columns +
+                '}';
+    }
+
+    // Classes
+
+    /**
+     * Represents a column definition as it currently is at the database.
+     *
+     * @since 2.2
+     */
+    public static final class Column {
+
+        private final @NotNull String name;
+        private final @NotNull String type;
+        private final boolean nullable;
+        private final @Nullable String defaultValue;
+
+        private Column(@NotNull String name, @NotNull String type, boolean nullable, @Nullable String defaultValue) {
+            this.name = name;
+            this.type = type;
+            this.nullable = nullable;
+            this.defaultValue = defaultValue;
+        }
+
+        @Contract(pure = true)
+        public @NotNull String getName() {
+            return name;
+        }
+
+        /**
+         * @return the column type exactly as reported by the server (e.g. {@code int(11)} or {@code tinytext})
+         */
+        @Contract(pure = true)
+        public @NotNull String getType() {
+            return type;
+        }
+
+        @Contract(pure = true)
+        public boolean isNullable() {
+            return nullable;
+        }
+
+        @Contract(pure = true)
+        public @Nullable String getDefaultValue() {
+            return defaultValue;
+        }
+
+        /**
+         * Normalizes a sql type name, so types written on different ways can be compared.
+         * The display width of integer types is ignored (newer servers doesn't report it anymore) and the boolean
+         * aliases are converted to the real type.
+         *
+         * @param type the sql type
+         * @return the normalized type
+         */
+        public static @NotNull String normalize(@NotNull String type) {
+            @NotNull String normalized = type.trim().toLowerCase().replaceAll("\\s+", " ");
+
+            if (normalized.equals("bool") || normalized.equals("boolean")) {
+                normalized = "tinyint";
+            } else if (normalized.startsWith("integer")) {
+                normalized = "int" + normalized.substring(7);
+            }
+
+            return normalized.replaceFirst("^(tinyint|smallint|mediumint|int|bigint) ?\\(\\d+\\)", "$1");
+        }
+
+        /**
+         * Compares the default value of a column, as reported by the server, with a default sql literal.
+         * Numeric values are compared by their value, since the server may format them differently.
+         *
+         * @param current the current column default value, or null if there's no default
+         * @param expression the sql literal
+         * @return true if both represents the same default value
+         */
+        public static boolean isSameDefault(@Nullable String current, @NotNull String expression) {
+            if (current == null || current.equalsIgnoreCase("NULL")) {
+                return expression.equalsIgnoreCase("NULL");
+            } else if (expression.equalsIgnoreCase("NULL")) {
+                return false;
+            }
+
+            // Some servers report the literals between quotes
+            if (current.length() >= 2 && current.startsWith("'") && current.endsWith("'")) {
+                current = current.substring(1, current.length() - 1);
+            }
+
+            try {
+                return new BigDecimal(current).compareTo(new BigDecimal(expression)) == 0;
+            } catch (NumberFormatException ignore) {
+                return current.equals(expression);
+            }
+        }
+
+        @Override
+        public boolean equals(@Nullable Object object) {
+            if (this == object) return true;
+            if (!(object instanceof Column)) return false;
+            Column column = (Column) object;
+            return isNullable() == column.isNullable() && getName().equalsIgnoreCase(column.getName()) && Objects.equals(normalize(getType()), normalize(column.getType())) && Objects.equals(getDefaultValue(), column.getDefaultValue());
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(getName().toLowerCase(), normalize(getType()), isNullable(), getDefaultValue());
+        }
+
+        @Override
+        public @NotNull String toString() {
+            return "Column{" +
+                    "name='" + name + '\'' +
+                    ", type='" + type + '\'' +
+                    ", nullable=" + nullable +
+                    ", default='" + defaultValue + '\'' +
+                    '}';
+        }
+    }
+
+    /**
+     * Represents an index as it currently is at the database.
+     *
+     * @since 2.2
+     */
+    public static final class TableKey {
+
+        private final @NotNull String name;
+        private final boolean unique;
+
+        private final @NotNull List<String> columns = new ArrayList<>();
+        private final @NotNull List<Integer> lengths = new ArrayList<>();
+
+        private TableKey(@NotNull String name, boolean unique) {
+            this.name = name;
+            this.unique = unique;
+        }
+
+        private void add(@NotNull String column, @Nullable Integer length) {
+            columns.add(column);
+            lengths.add(length);
+        }
+
+        @Contract(pure = true)
+        public @NotNull String getName() {
+            return name;
+        }
+
+        @Contract(pure = true)
+        public boolean isUnique() {
+            return unique;
+        }
+
+        /**
+         * @return the column names, at the index order
+         */
+        @Contract(pure = true)
+        public @NotNull @Unmodifiable List<String> getColumns() {
+            return Collections.unmodifiableList(columns);
+        }
+
+        /**
+         * @return the prefix lengths of the columns, null for the columns that are entirely indexed
+         */
+        @Contract(pure = true)
+        public @NotNull @Unmodifiable List<@Nullable Integer> getLengths() {
+            return Collections.unmodifiableList(lengths);
+        }
+
+        @Override
+        public boolean equals(@Nullable Object object) {
+            if (this == object) return true;
+            if (!(object instanceof TableKey)) return false;
+            TableKey key = (TableKey) object;
+            return isUnique() == key.isUnique() && getName().equalsIgnoreCase(key.getName()) && getColumns().equals(key.getColumns()) && getLengths().equals(key.getLengths());
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(getName().toLowerCase(), isUnique(), getColumns(), getLengths());
+        }
+
+        @Override
+        public @NotNull String toString() {
+            return "TableKey{" +
+                    "name='" + name + '\'' +
+                    ", unique=" + unique +
+                    ", columns=" + columns +
+                    ", lengths=" + lengths +
+                    '}';
+        }
+    }
+
+    private static final class Clause {
+
+        private final @NotNull String sql;
+        private final boolean instant;
+
+        private Clause(@NotNull String sql, boolean instant) {
+            this.sql = sql;
+            this.instant = instant;
+        }
+
+        public @NotNull String getSql() {
+            return sql;
+        }
+
+        /**
+         * @return true if the clause can be applied with {@code ALGORITHM=INSTANT}
+         */
+        public boolean isInstant() {
+            return instant;
+        }
+    }
+
+}
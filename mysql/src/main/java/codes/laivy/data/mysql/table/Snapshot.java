@@ -0,0 +1,309 @@
+package codes.laivy.data.mysql.table;
+
+import codes.laivy.data.mysql.coherence.ValueCodec;
+import codes.laivy.data.mysql.data.Key;
+import codes.laivy.data.mysql.data.MysqlData;
+import codes.laivy.data.mysql.variable.MysqlVariable;
+import org.jetbrains.annotations.*;
+
+import java.io.*;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.*;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.*;
+
+/**
+ * A local file with the loaded datas of a table, written when the table stops and read when it starts again, so the
+ * hot rows don't need to be read one by one from the database after a restart.
+ * <p>
+ * The file carries the schema of the table, and it's ignored if the schema changed. At the load, the rows of a
+ * {@link MysqlTable#isVersioned() versioned} table are checked against the database with a single query of the
+ * primary keys and versions, only the rows that changed since the snapshot are read again. The rows of the other
+ * tables are read again with batched {@code IN} queries, since there's nothing to compare.
+ *
+ * @since 2.2
+ */
+public final class Snapshot {
+
+    private static final int MAGIC = 0x4C44534E;
+    private static final byte FORMAT = 1;
+
+    // The amount of keys read by each query
+    private static final int BATCH = 500;
+
+    private final @NotNull MysqlTable table;
+
+    private volatile @Nullable Path file;
+    private volatile int maxRows = 0;
+
+    Snapshot(@NotNull MysqlTable table) {
+        this.table = table;
+    }
+
+    @Contract(pure = true)
+    public @NotNull MysqlTable getTable() {
+        return table;
+    }
+
+    /**
+     * @return the snapshot file, or null (default) if the snapshots are disabled
+     */
+    @Contract(pure = true)
+    public @Nullable Path getFile() {
+        return file;
+    }
+    public void setFile(@Nullable Path file) {
+        this.file = file;
+    }
+
+    /**
+     * @return the maximum amount of rows written at the snapshot, the most accessed first if the accesses are tracked, 0 (default) to write all the loaded datas
+     */
+    @Contract(pure = true)
+    public int getMaxRows() {
+        return maxRows;
+    }
+    public void setMaxRows(int maxRows) {
+        if (maxRows < 0) {
+            throw new IllegalArgumentException("The snapshot maximum rows cannot be negative");
+        }
+
+        this.maxRows = maxRows;
+    }
+
+    /**
+     * Writes the loaded datas to the snapshot file, the rows with values unsupported by the
+     * {@link ValueCodec#DEFAULT default codec} are skipped.
+     *
+     * @return the amount of rows written
+     */
+    @ApiStatus.Internal
+    @Blocking
+    public int write() throws IOException {
+        @Nullable Path file = getFile();
+        if (file == null) {
+            return 0;
+        }
+
+        @NotNull List<MysqlVariable<?>> variables = getVariables();
+        @NotNull Path temporary = file.resolveSibling(file.getFileName() + ".tmp");
+        int amount = 0;
+
+        try (@NotNull DataOutputStream output = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temporary)))) {
+            output.writeInt(MAGIC);
+            output.writeByte(FORMAT);
+            output.writeUTF(getSchema(variables));
+
+            @NotNull List<MysqlData> datas = new ArrayList<>(getTable().getDataContent().toCollection());
+            @NotNull AccessTracker tracker = getTable().getDataContent().getAccessTracker();
+
+            // The hottest rows first, if only a part of them is written
+            if (getMaxRows() > 0 && tracker.isEnabled()) {
+                @NotNull Map<Key, Double> scores = new HashMap<>();
+                for (@NotNull MysqlData data : datas) scores.put(data.getKey(), tracker.getScore(data.getKey()));
+
+                datas.sort(Comparator.comparingDouble((MysqlData data) -> scores.get(data.getKey())).reversed());
+            }
+
+            for (@NotNull MysqlData data : datas) {
+                if (getMaxRows() > 0 && amount >= getMaxRows()) {
+                    break;
+                } else if (!data.isLoaded() || data.isNew()) {
+                    continue;
+                }
+
+                @NotNull ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+                @NotNull DataOutputStream row = new DataOutputStream(bytes);
+
+                try {
+                    for (@Nullable Object value : data.getKey().getValues()) {
+                        ValueCodec.DEFAULT.write(row, value);
+                    }
+                    row.writeLong(data.getVersion());
+
+                    for (@NotNull MysqlVariable<?> variable : variables) {
+                        ValueCodec.DEFAULT.write(row, data.getData().get(variable));
+                    }
+                } catch (@NotNull IllegalArgumentException ignore) {
+                    // Unsupported value, this row will be read from the database
+                    continue;
+                }
+
+                output.writeBoolean(true);
+                bytes.writeTo(output);
+                amount++;
+            }
+
+            output.writeBoolean(false);
+        }
+
+        try {
+            Files.move(temporary, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (@NotNull AtomicMoveNotSupportedException ignore) {
+            Files.move(temporary, file, StandardCopyOption.REPLACE_EXISTING);
+        }
+
+        return amount;
+    }
+
+    /**
+     * Loads the rows of the snapshot file, checking them against the database.
+     *
+     * @return the amount of datas loaded
+     */
+    @ApiStatus.Internal
+    @Blocking
+    public int load() throws IOException, SQLException {
+        @Nullable Path file = getFile();
+        if (file == null || !Files.isRegularFile(file)) {
+            return 0;
+        }
+
+        @Nullable Connection connection = getTable().getDatabase().getAuthentication().getConnection();
+        if (connection == null) {
+            throw new IllegalStateException("The table's authentication aren't connected");
+        }
+
+        @NotNull List<MysqlVariable<?>> variables = getVariables();
+        @NotNull Map<Key, Row> rows = new LinkedHashMap<>();
+
+        try (@NotNull FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            @NotNull MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            @NotNull DataInputStream input = new DataInputStream(new InputStream() {
+                @Override
+                public int read() {
+                    return buffer.hasRemaining() ? buffer.get() & 0xFF : -1;
+                }
+
+                @Override
+                public int read(byte @NotNull [] bytes, int offset, int length) {
+                    if (!buffer.hasRemaining()) return -1;
+
+                    length = Math.min(length, buffer.remaining());
+                    buffer.get(bytes, offset, length);
+                    return length;
+                }
+            });
+
+            if (input.readInt() != MAGIC || input.readByte() != FORMAT || !input.readUTF().equals(getSchema(variables))) {
+                // Another format or schema, the snapshot is ignored
+                return 0;
+            }
+
+            int columns = getTable().getPrimaryKey().getColumns().size();
+
+            while (input.readBoolean()) {
+                @NotNull Object[] values = new Object[columns];
+                for (int index = 0; index < columns; index++) {
+                    values[index] = ValueCodec.DEFAULT.read(input);
+                }
+
+                @NotNull Key key = getTable().getPrimaryKey().normalize(Key.of(values));
+                @NotNull Row row = new Row(input.readLong());
+
+                for (@NotNull MysqlVariable<?> variable : variables) {
+                    row.values.put(variable, ValueCodec.DEFAULT.read(input));
+                }
+
+                rows.put(key, row);
+            }
+        }
+
+        @NotNull PrimaryKey primaryKey = getTable().getPrimaryKey();
+        @NotNull String from = " FROM `" + getTable().getDatabase().getId() + "`.`" + getTable().getId() + "` WHERE ";
+        @NotNull List<Key> keys = new ArrayList<>(rows.keySet());
+        @NotNull Set<Key> outdated = new LinkedHashSet<>(keys);
+        int amount = 0;
+
+        // Only the versions are read, the rows with the same version are loaded from the snapshot
+        if (getTable().isVersioned()) {
+            for (int start = 0; start < keys.size(); start += BATCH) {
+                @NotNull List<Key> batch = keys.subList(start, Math.min(keys.size(), start + BATCH));
+
+                try (@NotNull PreparedStatement statement = connection.prepareStatement("SELECT " + primaryKey.getSelect() + ", `row_version`" + from + primaryKey.getIn(batch.size()))) {
+                    int index = 0;
+                    for (@NotNull Key key : batch) index = primaryKey.set(statement, index, key);
+
+                    @NotNull ResultSet set = statement.executeQuery();
+                    while (set.next()) {
+                        @NotNull Key key = primaryKey.read(set);
+                        @Nullable Row row = rows.get(key);
+
+                        if (row != null && row.version == set.getLong("row_version")) {
+                            outdated.remove(key);
+                            if (MysqlData.load(getTable(), key, row.version, row.values) != null) amount++;
+                        } else if (row == null) {
+                            outdated.remove(key);
+                        }
+                    }
+                }
+            }
+        }
+
+        // The changed rows (or all of them if there's no versions) are read again, the deleted ones aren't found
+        @NotNull List<Key> reload = new ArrayList<>(outdated);
+        for (int start = 0; start < reload.size(); start += BATCH) {
+            @NotNull List<Key> batch = reload.subList(start, Math.min(reload.size(), start + BATCH));
+
+            try (@NotNull PreparedStatement statement = connection.prepareStatement("SELECT *" + from + primaryKey.getIn(batch.size()))) {
+                int index = 0;
+                for (@NotNull Key key : batch) index = primaryKey.set(statement, index, key);
+
+                @NotNull ResultSet set = statement.executeQuery();
+                while (set.next()) {
+                    if (MysqlData.load(getTable(), set) != null) amount++;
+                }
+            }
+        }
+
+        return amount;
+    }
+
+    // The variables written at the snapshot, at a stable order
+    private @NotNull List<MysqlVariable<?>> getVariables() {
+        @NotNull List<MysqlVariable<?>> variables = new ArrayList<>();
+        for (@NotNull MysqlVariable<?> variable : getTable().getVariables()) {
+            if (variable.isLoaded()) variables.add(variable);
+        }
+
+        variables.sort(Comparator.comparing(variable -> variable.getId().toLowerCase()));
+        return variables;
+    }
+    // The schema version of the snapshot, the columns with their types
+    private @NotNull String getSchema(@NotNull List<MysqlVariable<?>> variables) {
+        @NotNull StringBuilder builder = new StringBuilder(getTable().getPrimaryKey().getColumns().toString());
+        builder.append(getTable().isVersioned() ? ";versioned" : "");
+
+        for (@NotNull MysqlVariable<?> variable : variables) {
+            builder.append(";").append(variable.getId().toLowerCase()).append(":").append(variable.getType().getClass().getName());
+        }
+
+        return builder.toString();
+    }
+
+    @Override
+    public @NotNull String toString() {
+        return "Snapshot{" +
+                "file=" + file +
+                ", maxRows=" + maxRows +
+                '}';
+    }
+
+    // Classes
+
+    private static final class Row {
+
+        private final long version;
+        private final @NotNull Map<MysqlVariable<?>, Object> values = new HashMap<>();
+
+        private Row(long version) {
+            this.version = version;
+        }
+
+    }
+
+}
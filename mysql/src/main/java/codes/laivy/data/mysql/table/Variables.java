@@ -4,17 +4,16 @@ import codes.laivy.data.content.Content;
 import codes.laivy.data.mysql.variable.MysqlVariable;
 import org.jetbrains.annotations.Contract;
 import org.jetbrains.annotations.NotNull;
-import org.jetbrains.annotations.Unmodifiable;
 
 import java.util.*;
 
-public final class Variables extends Content.SetProvider<MysqlVariable<?>> {
+public final class Variables extends Content.KeyedProvider<MysqlVariable<?>> {
 
     private final @NotNull Default defaultVariables = new Default();
     private final @NotNull MysqlTable table;
 
     public Variables(@NotNull MysqlTable table) {
-        super(new HashSet<>());
+        super(MysqlVariable::getId);
         this.table = table;
     }
 
@@ -28,20 +27,21 @@ public final class Variables extends Content.SetProvider<MysqlVariable<?>> {
     }
 
     public @NotNull Optional<MysqlVariable<?>> getById(@NotNull String id) {
-        return stream().filter(v -> v.getId().equalsIgnoreCase(id)).findFirst();
+        return Optional.ofNullable(lookup(id));
     }
 
     @Override
     public boolean add(@NotNull MysqlVariable<?> object) {
-        if (!getTable().isLoaded()) {
-            throw new IllegalStateException("The table aren't loaded");
-        } else if (stream().anyMatch(var -> var.getId().equalsIgnoreCase(object.getId()))) {
-            throw new IllegalStateException("A variable with id '" + object.getId() + "' already are added at table '" + getTable().getId() + "'");
-        } else if (!object.getTable().equals(getTable())) {
-            throw new IllegalStateException("Illegal variable table '" + object.getId() + "'");
-        }
-
+        // The id is checked and the variable added at once, a duplicated id always throws
         synchronized (this) {
+            if (!getTable().isLoaded()) {
+                throw new IllegalStateException("The table aren't loaded");
+            } else if (containsKey(object.getId())) {
+                throw new IllegalStateException("A variable with id '" + object.getId() + "' already are added at table '" + getTable().getId() + "'");
+            } else if (!object.getTable().equals(getTable())) {
+                throw new IllegalStateException("Illegal variable table '" + object.getId() + "'");
+            }
+
             return super.add(object);
         }
     }
@@ -54,38 +54,22 @@ public final class Variables extends Content.SetProvider<MysqlVariable<?>> {
             throw new IllegalStateException("Illegal variable table '" + object.getId() + "'");
         }
 
-        synchronized (this) {
-            return super.remove(object);
-        }
+        return super.remove(object);
     }
 
     public boolean contains(@NotNull String id) {
-        return stream().anyMatch(variable -> variable.getId().equalsIgnoreCase(id));
+        return containsKey(id);
     }
 
     public @NotNull Optional<MysqlVariable<?>> get(@NotNull String id) {
-        return stream().filter(variable -> variable.getId().equalsIgnoreCase(id)).findFirst();
-    }
-
-    @Override
-    public @NotNull Iterator<MysqlVariable<?>> iterator() {
-        synchronized (this) {
-            return super.iterator();
-        }
-    }
-
-    @Override
-    public @Unmodifiable @NotNull Collection<MysqlVariable<?>> toCollection() {
-        synchronized (this) {
-            return super.toCollection();
-        }
+        return getById(id);
     }
 
     // Classes
 
     public final class Default implements Iterable<MysqlVariable<?>> {
 
-        private final @NotNull Set<MysqlVariable<?>> variables = new HashSet<>();
+        private final @NotNull Set<MysqlVariable<?>> variables = new LinkedHashSet<>();
 
         public void addAll(@NotNull MysqlVariable<?>... variables) {
             for (MysqlVariable<?> variable : variables) {
@@ -104,6 +88,9 @@ public final class Variables extends Content.SetProvider<MysqlVariable<?>> {
         public boolean remove(@NotNull MysqlVariable<?> object) {
             return variables.remove(object);
         }
+        public boolean contains(@NotNull MysqlVariable<?> object) {
+            return variables.contains(object);
+        }
 
         @NotNull
         @Override
@@ -0,0 +1,226 @@
+package codes.laivy.data.mysql.utils;
+
+import org.jetbrains.annotations.*;
+
+import java.util.*;
+import java.util.function.Consumer;
+
+/**
+ * A map that keeps its entries at an immutable snapshot, replaced at every change. The reads never lock and always
+ * see a complete snapshot, the iterations never fail while the map changes. The changes are serialized by the lock
+ * object, so the callers can change the map together with other state while holding the lock.
+ * <p>
+ * The snapshots keeps the positions of the keys at an index shared while the keys doesn't change, and the values
+ * at an array. Changing the value of an existing key copies only the values array, adding or removing keys builds a
+ * new index; use {@link #update(Consumer)} to apply many changes with a single copy.
+ *
+ * @param <K> the key type
+ * @param <V> the value type, null values are supported
+ * @since 2.2
+ */
+@ApiStatus.Internal
+public final class CopyOnWriteMap<K, V> extends AbstractMap<K, V> {
+
+    private final @NotNull Object lock;
+    private volatile @NotNull Snapshot<K, V> snapshot = new Snapshot<>(Collections.emptyMap(), new Object[0]);
+
+    public CopyOnWriteMap(@NotNull Object lock) {
+        this.lock = lock;
+    }
+
+    /**
+     * @return the current immutable snapshot of the entries
+     */
+    public @NotNull @Unmodifiable Map<K, V> snapshot() {
+        return snapshot;
+    }
+
+    /**
+     * Applies many changes at once, the readers see all of them or none.
+     *
+     * @param changes changes a mutable copy of the entries
+     */
+    public void update(@NotNull Consumer<@NotNull Map<K, V>> changes) {
+        synchronized (lock) {
+            @NotNull Map<K, V> map = new HashMap<>(snapshot);
+            changes.accept(map);
+            snapshot = Snapshot.of(map, snapshot);
+        }
+    }
+
+    @Override
+    public int size() {
+        return snapshot.size();
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return snapshot.isEmpty();
+    }
+
+    @Override
+    public boolean containsKey(@Nullable Object key) {
+        return snapshot.containsKey(key);
+    }
+
+    @Override
+    public @Nullable V get(@Nullable Object key) {
+        return snapshot.get(key);
+    }
+
+    @Override
+    public @Nullable V put(K key, V value) {
+        synchronized (lock) {
+            @Nullable Integer position = snapshot.index.get(key);
+
+            if (position != null) {
+                // The keys are the same, only the values are copied
+                @Nullable V previous = snapshot.value(position);
+                @Nullable Object @NotNull [] values = snapshot.values.clone();
+                values[position] = value;
+
+                snapshot = new Snapshot<>(snapshot.index, values);
+                return previous;
+            }
+
+            @NotNull Map<K, V> map = new HashMap<>(snapshot);
+            map.put(key, value);
+            snapshot = Snapshot.of(map, snapshot);
+
+            return null;
+        }
+    }
+
+    @Override
+    public void putAll(@NotNull Map<? extends K, ? extends V> entries) {
+        if (!entries.isEmpty()) {
+            update(map -> map.putAll(entries));
+        }
+    }
+
+    @Override
+    public @Nullable V remove(@Nullable Object key) {
+        synchronized (lock) {
+            if (!snapshot.containsKey(key)) {
+                return null;
+            }
+
+            @NotNull Map<K, V> map = new HashMap<>(snapshot);
+            @Nullable V previous = map.remove(key);
+            snapshot = Snapshot.of(map, snapshot);
+
+            return previous;
+        }
+    }
+
+    @Override
+    public void clear() {
+        synchronized (lock) {
+            snapshot = new Snapshot<>(Collections.emptyMap(), new Object[0]);
+        }
+    }
+
+    @Override
+    public @NotNull Set<K> keySet() {
+        return snapshot.keySet();
+    }
+
+    @Override
+    public @NotNull Collection<V> values() {
+        return snapshot.values();
+    }
+
+    @Override
+    public @NotNull Set<Entry<K, V>> entrySet() {
+        return snapshot.entrySet();
+    }
+
+    // Classes
+
+    private static final class Snapshot<K, V> extends AbstractMap<K, V> {
+
+        // The index is reused by the next snapshots while they have the same keys
+        private static <K, V> @NotNull Snapshot<K, V> of(@NotNull Map<K, V> map, @NotNull Snapshot<K, V> previous) {
+            @NotNull Map<K, Integer> index = previous.index;
+
+            if (!index.keySet().equals(map.keySet())) {
+                @NotNull Map<K, Integer> created = new HashMap<>();
+                for (@NotNull K key : map.keySet()) created.put(key, created.size());
+
+                index = Collections.unmodifiableMap(created);
+            }
+
+            @Nullable Object @NotNull [] values = new Object[index.size()];
+            for (@NotNull Entry<K, Integer> entry : index.entrySet()) {
+                values[entry.getValue()] = map.get(entry.getKey());
+            }
+
+            return new Snapshot<>(index, values);
+        }
+
+        private final @NotNull Map<K, Integer> index;
+        private final @Nullable Object @NotNull [] values;
+
+        private Snapshot(@NotNull Map<K, Integer> index, @Nullable Object @NotNull [] values) {
+            this.index = index;
+            this.values = values;
+        }
+
+        // The values array only holds values of the map
+        @SuppressWarnings("unchecked")
+        private @Nullable V value(int position) {
+            return (V) values[position];
+        }
+
+        @Override
+        public int size() {
+            return values.length;
+        }
+
+        @Override
+        public boolean containsKey(@Nullable Object key) {
+            return index.containsKey(key);
+        }
+
+        @Override
+        public @Nullable V get(@Nullable Object key) {
+            @Nullable Integer position = index.get(key);
+            return position != null ? value(position) : null;
+        }
+
+        @Override
+        public @NotNull Set<K> keySet() {
+            return index.keySet();
+        }
+
+        @Override
+        public @NotNull Set<Entry<K, V>> entrySet() {
+            return new AbstractSet<Entry<K, V>>() {
+                @Override
+                public @NotNull Iterator<Entry<K, V>> iterator() {
+                    @NotNull Iterator<Entry<K, Integer>> iterator = index.entrySet().iterator();
+
+                    return new Iterator<Entry<K, V>>() {
+                        @Override
+                        public boolean hasNext() {
+                            return iterator.hasNext();
+                        }
+
+                        @Override
+                        public @NotNull Entry<K, V> next() {
+                            @NotNull Entry<K, Integer> entry = iterator.next();
+                            return new SimpleImmutableEntry<>(entry.getKey(), value(entry.getValue()));
+                        }
+                    };
+                }
+
+                @Override
+                public int size() {
+                    return values.length;
+                }
+            };
+        }
+
+    }
+
+}
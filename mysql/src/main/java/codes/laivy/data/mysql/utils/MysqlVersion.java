@@ -4,6 +4,7 @@ import org.jetbrains.annotations.Contract;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
+import java.util.Arrays;
 import java.util.Objects;
 
 
@@ -82,6 +83,101 @@ public final class MysqlVersion {
         return minor;
     }
 
+    /**
+     * Gets the patch version number, parsed from the full version string.
+     *
+     * @return The patch version number, or 0 if the version string doesn't have one
+     * @since 2.2
+     */
+    @Contract(pure = true)
+    public int getPatch() {
+        int[] components = getComponents();
+        return components.length > 2 ? components[2] : 0;
+    }
+
+    /**
+     * Checks if the server is a MariaDB server instead of an Oracle MySQL one.
+     *
+     * @return True if this is a MariaDB version, false otherwise
+     * @since 2.2
+     */
+    @Contract(pure = true)
+    public boolean isMariaDB() {
+        return version.toLowerCase().contains("mariadb");
+    }
+
+    /**
+     * Checks if this version is equal or newer than the specified version.
+     * The comparison uses the numbers of the full version string, so MariaDB versions are compared by its own numbering.
+     *
+     * @param major The major version number
+     * @param minor The minor version number
+     * @param patch The patch version number
+     * @return True if this version is at least the specified one, false otherwise
+     * @since 2.2
+     */
+    @Contract(pure = true)
+    public boolean isAtLeast(int major, int minor, int patch) {
+        int[] components = getComponents();
+        int[] expected = new int[] { major, minor, patch };
+
+        for (int index = 0; index < expected.length; index++) {
+            int value = index < components.length ? components[index] : 0;
+
+            if (value != expected[index]) {
+                return value > expected[index];
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * Checks if the server supports the {@code ALGORITHM=INSTANT} clause for adding columns.
+     * It's available since MySQL 8.0.12 and MariaDB 10.3.2.
+     *
+     * @return True if instant alterations are supported, false otherwise
+     * @since 2.2
+     */
+    @Contract(pure = true)
+    public boolean supportsInstantAlter() {
+        return isMariaDB() ? isAtLeast(10, 3, 2) : isAtLeast(8, 0, 12);
+    }
+
+    /**
+     * Checks if the server supports the {@code ALGORITHM=INPLACE} clause (online DDL).
+     * It's available since MySQL 5.6 and MariaDB 10.0.
+     *
+     * @return True if in-place alterations are supported, false otherwise
+     * @since 2.2
+     */
+    @Contract(pure = true)
+    public boolean supportsInplaceAlter() {
+        return isMariaDB() ? isAtLeast(10, 0, 0) : isAtLeast(5, 6, 0);
+    }
+
+    private int @NotNull [] getComponents() {
+        @NotNull String string = version;
+
+        // MariaDB servers may prefix the real version with a fake "5.5.5-" for replication compatibility
+        if (isMariaDB() && string.startsWith("5.5.5-")) {
+            string = string.substring(6);
+        }
+
+        @NotNull String[] parts = string.split("[^0-9.]", 2)[0].split("\\.");
+        int[] components = new int[parts.length];
+
+        for (int index = 0; index < parts.length; index++) {
+            try {
+                components[index] = Integer.parseInt(parts[index]);
+            } catch (NumberFormatException ignore) {
+                return index == 0 ? new int[] { major, minor } : Arrays.copyOf(components, index);
+            }
+        }
+
+        return components;
+    }
+
     /**
      * Checks if this MysqlVersion is equal to another object.
      *
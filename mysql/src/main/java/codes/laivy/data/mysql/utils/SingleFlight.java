@@ -0,0 +1,85 @@
+package codes.laivy.data.mysql.utils;
+
+import codes.laivy.data.mysql.authentication.Transaction;
+import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/**
+ * Coalesces concurrent identical reads: while a read of a key is in flight, the other callers of the same key
+ * receive its result instead of executing their own query. The reads made inside a {@link Transaction} are never
+ * shared, since they can see uncommitted changes.
+ *
+ * @param <K> the key type, the reads of the same key must have the same result type
+ * @since 2.2
+ */
+@ApiStatus.Internal
+public final class SingleFlight<K> {
+
+    private final @NotNull Map<K, CompletableFuture<?>> flights = new ConcurrentHashMap<>();
+
+    public SingleFlight() {
+    }
+
+    /**
+     * Executes the read of a key, or joins the one already in flight.
+     *
+     * @param key the read key
+     * @param supplier the read, only executed if there's no read of the key in flight
+     * @return a future with the read result, each caller receives its own future
+     */
+    public <V> @NotNull CompletableFuture<V> execute(@NotNull K key, @NotNull Supplier<@NotNull CompletableFuture<V>> supplier) {
+        if (Transaction.getCurrent() != null) {
+            return supplier.get();
+        }
+
+        @NotNull CompletableFuture<V> flight = new CompletableFuture<>();
+        @SuppressWarnings("unchecked")
+        @Nullable CompletableFuture<V> current = (CompletableFuture<V>) flights.putIfAbsent(key, flight);
+
+        if (current == null) {
+            current = flight;
+
+            try {
+                supplier.get().whenComplete((value, throwable) -> {
+                    flights.remove(key, flight);
+
+                    if (throwable != null) flight.completeExceptionally(throwable);
+                    else flight.complete(value);
+                });
+            } catch (@NotNull Throwable throwable) {
+                flights.remove(key, flight);
+                flight.completeExceptionally(throwable);
+
+                throw throwable;
+            }
+        }
+
+        // A caller completing its own future doesn't affects the others
+        return current.thenApply(value -> value);
+    }
+
+    /**
+     * Detaches the reads in flight of the keys, the next callers execute a new read. Used after writes, since
+     * the reads in flight can have started before it.
+     *
+     * @param predicate the keys to forget
+     */
+    public void forget(@NotNull Predicate<? super K> predicate) {
+        flights.keySet().removeIf(predicate);
+    }
+
+    /**
+     * @return the amount of reads in flight
+     */
+    public int size() {
+        return flights.size();
+    }
+
+}
@@ -1,11 +1,18 @@
 package codes.laivy.data.mysql.utils;
 
 import codes.laivy.data.mysql.data.Condition;
+import codes.laivy.data.mysql.data.Key;
+import codes.laivy.data.mysql.table.PrimaryKey;
+import codes.laivy.data.mysql.variable.MysqlVariable;
+import codes.laivy.data.mysql.variable.Parameter;
+import codes.laivy.data.mysql.variable.type.Type;
 import org.jetbrains.annotations.ApiStatus;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
+import java.sql.PreparedStatement;
 import java.sql.SQLException;
-import java.util.Set;
+import java.util.Collection;
 
 public final class SqlUtils {
 
@@ -21,46 +28,62 @@ public final class SqlUtils {
         return -1;
     }
 
-    public static @NotNull String rowNotIn(@NotNull Set<Integer> excluded) {
-        @NotNull StringBuilder builder = new StringBuilder();
-
-        if (!excluded.isEmpty()) {
-            builder.append("`row` NOT IN (");
-
-            int index = 0;
-            for (int row : excluded) {
-                builder.append(row);
+    /**
+     * Builds the where clause of the conditions, excluding an amount of primary keys (generally the loaded datas,
+     * that are checked in memory).
+     *
+     * @param primaryKey the primary key of the table
+     * @param excluded the amount of excluded keys
+     * @param conditions the conditions
+     * @return the where clause, with the parameters to be set by {@link #setParameters(PreparedStatement, PrimaryKey, Collection, Condition[])}
+     */
+    @ApiStatus.Internal
+    public static @NotNull String buildWhereCondition(@NotNull PrimaryKey primaryKey, int excluded, @NotNull Condition<?> @NotNull ... conditions) {
+        @NotNull StringBuilder builder = new StringBuilder("WHERE");
 
-                if (index + 1 < excluded.size()) {
-                    builder.append(",");
-                }
+        int index = 0;
+        for (@NotNull Condition<?> condition : conditions) {
+            if (index > 0) builder.append(" &&");
+            builder.append(" `").append(condition.getVariable().getId()).append("` = ?");
+            index++;
+        }
 
-                index++;
-            }
-            builder.append(")");
-        } else {
-            builder.append("`row` NOT IN (-999)");
+        if (excluded > 0) {
+            if (index > 0) builder.append(" &&");
+            builder.append(" ").append(primaryKey.getNotIn(excluded));
+        } else if (index == 0) {
+            builder.append(" TRUE");
         }
 
         return builder.toString();
     }
 
     @ApiStatus.Internal
-    public static @NotNull String buildWhereCondition(@NotNull Set<Integer> excluded, @NotNull Condition<?> @NotNull ... conditions) {
-        @NotNull StringBuilder builder = new StringBuilder("WHERE");
-
+    public static void setParameters(@NotNull PreparedStatement statement, @NotNull PrimaryKey primaryKey, @NotNull Collection<Key> excluded, @NotNull Condition<?> @NotNull ... conditions) throws SQLException {
         int index = 0;
         for (@NotNull Condition<?> condition : conditions) {
-            if (index > 0) builder.append(" && ");
-            builder.append(" `").append(condition.getVariable().getId()).append("` = ?");
+            setParameter(statement, index, condition.getVariable(), condition.getValue());
             index++;
         }
 
-        if (!excluded.isEmpty()) {
-            builder.append(" && ").append(rowNotIn(excluded));
+        for (@NotNull Key key : excluded) {
+            index = primaryKey.set(statement, index, key);
         }
+    }
 
-        return builder.toString();
+    /**
+     * Sets a value of the variable to a statement parameter, using the variable type.
+     *
+     * @param statement the statement
+     * @param index the parameter index, starting at zero
+     * @param variable the variable of the value
+     * @param value the value, it must be a value of the variable
+     */
+    @ApiStatus.Internal
+    @SuppressWarnings("unchecked")
+    public static void setParameter(@NotNull PreparedStatement statement, int index, @NotNull MysqlVariable<?> variable, @Nullable Object value) {
+        @NotNull Type<Object> type = (Type<Object>) variable.getType();
+        type.set(Parameter.of(statement, type.isNullSupported(), index), value);
     }
 
 }
@@ -0,0 +1,30 @@
+package codes.laivy.data.mysql.variable;
+
+import codes.laivy.data.mysql.table.MysqlTable;
+import codes.laivy.data.mysql.variable.type.Type;
+import codes.laivy.data.mysql.variable.type.provider.MysqlIntType;
+import codes.laivy.data.mysql.variable.type.provider.MysqlLongType;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Objects;
+
+/**
+ * A numeric variable for very hot counters. The increments made with {@code MysqlData#increment} are accumulated
+ * in memory without locks, and only the accumulated delta is written ({@code `column` = `column` + delta}) when
+ * the data is saved, with {@code MysqlData#flushCounters}, or periodically by the {@link MysqlTable#getCounterFlushInterval() table}. Since only
+ * deltas are written, many nodes can increment the same row without losing updates.
+ *
+ * @param <T> the counter type, integer or long
+ * @since 2.2
+ */
+public class MysqlCounterVariable<T extends Number> extends MysqlVariable<T> {
+
+    public MysqlCounterVariable(@NotNull String id, @NotNull MysqlTable table, @NotNull Type<T> type) {
+        super(id, table, type, Objects.requireNonNull(type.get(0L)), false);
+
+        if (!(type instanceof MysqlIntType) && !(type instanceof MysqlLongType)) {
+            throw new IllegalStateException("The counter variable '" + id + "' must have an integer or long type");
+        }
+    }
+
+}
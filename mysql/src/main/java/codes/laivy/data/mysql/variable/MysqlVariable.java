@@ -1,16 +1,19 @@
 package codes.laivy.data.mysql.variable;
 
-import codes.laivy.data.Main;
 import codes.laivy.data.data.Data;
+import codes.laivy.data.mysql.authentication.Transaction;
 import codes.laivy.data.mysql.data.MysqlData;
 import codes.laivy.data.mysql.database.MysqlDatabase;
+import codes.laivy.data.mysql.table.Index;
 import codes.laivy.data.mysql.table.MysqlTable;
 import codes.laivy.data.mysql.utils.SqlUtils;
 import codes.laivy.data.mysql.variable.type.Type;
 import codes.laivy.data.variable.Variable;
+import org.jetbrains.annotations.ApiStatus;
 import org.jetbrains.annotations.Contract;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
+import org.jetbrains.annotations.Range;
 import org.jetbrains.annotations.UnknownNullability;
 
 import java.sql.Connection;
@@ -45,7 +48,7 @@ public class MysqlVariable<T> extends Variable<T> {
             throw new IllegalStateException("This variable id '" + id + "' doesn't follows the regex '^[a-zA-Z0-9_]{0,63}$'");
         } else if (getDefaultValue() == null && !isNullable()) {
             throw new IllegalStateException("This variable id '" + id + "' have a nullable default value, but it doesn't supports");
-        } else if (id.equalsIgnoreCase("row")) {
+        } else if (id.equalsIgnoreCase("row") || id.equalsIgnoreCase("row_version") || id.equalsIgnoreCase("row_updated") || id.toLowerCase().startsWith("row_fill_")) {
             throw new IllegalStateException("Illegal variable id '" + id + "'");
         }
     }
@@ -74,8 +77,40 @@ public class MysqlVariable<T> extends Variable<T> {
         return nullable;
     }
 
+    /**
+     * Declares a single variable index at the table, with the same id of this variable.
+     * For composite indexes, use {@link Index#of(String, boolean, MysqlVariable[])}.
+     *
+     * @param unique true if the values of this variable must be unique
+     * @return the declared index
+     * @since 2.2
+     */
+    public final @NotNull Index index(boolean unique) {
+        @NotNull Index index = Index.of(getId(), unique, this);
+        getTable().getIndexes().add(index);
+        return index;
+    }
+
+    /**
+     * Declares a single variable index at the table, with the same id of this variable, that only indexes the
+     * first characters (or bytes) of the values. It's required for TEXT and BLOB variables.
+     *
+     * @param unique true if the prefixes of this variable must be unique
+     * @param length the prefix length
+     * @return the declared index
+     * @since 2.2
+     */
+    public final @NotNull Index index(boolean unique, @Range(from = 1, to = Integer.MAX_VALUE) int length) {
+        @NotNull Index index = Index.of(getId(), unique, Index.Column.of(this, length));
+        getTable().getIndexes().add(index);
+        return index;
+    }
+
     @Override
     public @NotNull CompletableFuture<Void> start() {
+        if (Transaction.getCurrent() != null) {
+            throw new IllegalStateException("The variable '" + getId() + "' cannot be started inside a transaction, its DDL statements would commit the transaction");
+        }
         @Nullable Connection connection = getDatabase().getAuthentication().getConnection();
 
         if (isLoaded()) {
@@ -92,30 +127,66 @@ public class MysqlVariable<T> extends Variable<T> {
                     throw new IllegalStateException("The table of this variable aren't loaded or created");
                 }
 
-                isNew = !exists().join();
-                getType().configure(this).join();
+                boolean created = getType().configure(this).join();
+                start(created).join();
+
+                future.complete(null);
+            } catch (Throwable throwable) {
+                future.completeExceptionally(throwable);
+            }
+        }, Transaction.getExecutor(getClass()));
+
+        return future;
+    }
+
+    /**
+     * Starts the variable without configuring its column, the table schema must already be synchronized with it.
+     * It's used by the table to start all the default variables after a single schema synchronization, so
+     * the variable is only registered in memory, no statement is executed.
+     *
+     * @param created true if the column of this variable has just been created
+     * @return A CompletableFuture representing the asynchronous start operation
+     * @since 2.2
+     */
+    @ApiStatus.Internal
+    public @NotNull CompletableFuture<Void> start(boolean created) {
+        if (Transaction.getCurrent() != null) {
+            throw new IllegalStateException("The variable '" + getId() + "' cannot be started inside a transaction, its DDL statements would commit the transaction");
+        }
+        @Nullable Connection connection = getDatabase().getAuthentication().getConnection();
+
+        if (isLoaded()) {
+            throw new IllegalStateException("The variable '" + getId() + "' is already loaded");
+        } else if (connection == null) {
+            throw new IllegalStateException("The variable's authentication aren't connected");
+        } else if (!getTable().isLoaded()) {
+            throw new IllegalStateException("The table of this variable aren't loaded");
+        }
+
+        @NotNull CompletableFuture<Void> future = new CompletableFuture<>();
+
+        CompletableFuture.runAsync(() -> {
+            try {
+                isNew = created;
                 getTable().getVariables().add(this);
 
                 // Sync with cache data for the receptors
                 @NotNull List<MysqlData> datas = getTable().getDataContent().stream().filter(Data::isLoaded).collect(Collectors.toList());
                 for (MysqlData data : datas) {
-                    if (isNew) {
-                        data.getData().put(this, getDefaultValue());
-                    } else if (data.getCache().containsKey(getId().toLowerCase())) {
-                        @Nullable Object o = data.getCache().get(getId().toLowerCase());
-                        data.getCache().remove(getId().toLowerCase());
-
-                        data.getData().put(this, getType().get(o));
-                    } else {
-                        data.getData().put(this, getDefaultValue());
+                    synchronized (data) {
+                        if (isNew) {
+                            data.getData().put(this, getDefaultValue());
+                        } else if (data.getCache().containsKey(getId().toLowerCase())) {
+                            @Nullable Object o = data.getCache().get(getId().toLowerCase());
+                            data.getCache().remove(getId().toLowerCase());
+
+                            data.getData().put(this, getType().get(o));
+                        } else {
+                            data.getData().put(this, getDefaultValue());
+                        }
                     }
-                }
 
-                if (isNew) {
-                    try (@NotNull PreparedStatement statement = connection.prepareStatement("UPDATE `" + getDatabase().getId() + "`.`" + getTable().getId() + "` SET `" + getId() + "` = ? WHERE " + SqlUtils.rowNotIn(datas.stream().map(MysqlData::getRow).collect(Collectors.toSet())))) {
-                        getType().set(Parameter.of(statement, getType().isNullSupported(), 0), getDefaultValue());
-                        statement.execute();
-                    }
+                    getTable().getDataContent().index(data);
                 }
 
                 loaded = true;
@@ -123,7 +194,7 @@ public class MysqlVariable<T> extends Variable<T> {
             } catch (Throwable throwable) {
                 future.completeExceptionally(throwable);
             }
-        }, Main.getExecutor(getClass()));
+        }, Transaction.getExecutor(getClass()));
 
         return future;
     }
@@ -145,13 +216,16 @@ public class MysqlVariable<T> extends Variable<T> {
             } catch (Throwable throwable) {
                 future.completeExceptionally(throwable);
             }
-        }, Main.getExecutor(getClass()));
+        }, Transaction.getExecutor(getClass()));
 
         return future;
     }
 
     @Override
     public @NotNull CompletableFuture<Boolean> delete() {
+        if (Transaction.getCurrent() != null) {
+            throw new IllegalStateException("The variable '" + getId() + "' cannot be deleted inside a transaction, its DDL statements would commit the transaction");
+        }
         @Nullable Connection connection = getDatabase().getAuthentication().getConnection();
         if (connection == null) {
             throw new IllegalStateException("The database's authentication aren't connected");
@@ -166,16 +240,18 @@ public class MysqlVariable<T> extends Variable<T> {
                 }
 
                 statement.execute();
+                getTable().getSchema().invalidate();
 
                 future.complete(true);
             } catch (@NotNull Throwable throwable) {
                 if (SqlUtils.getErrorCode(throwable) == 1091) {
+                    getTable().getSchema().invalidate();
                     future.complete(false);
                 } else {
                     future.completeExceptionally(throwable);
                 }
             }
-        }, Main.getExecutor(getClass()));
+        }, Transaction.getExecutor(getClass()));
 
         return future;
     }
@@ -204,7 +280,7 @@ public class MysqlVariable<T> extends Variable<T> {
                     future.completeExceptionally(throwable);
                 }
             }
-        }, Main.getExecutor(getClass()));
+        }, Transaction.getExecutor(getClass()));
 
         return future;
     }
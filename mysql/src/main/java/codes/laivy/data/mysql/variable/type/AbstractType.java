@@ -1,13 +1,12 @@
 package codes.laivy.data.mysql.variable.type;
 
-import codes.laivy.data.Main;
+import codes.laivy.data.mysql.table.Schema;
 import codes.laivy.data.mysql.variable.MysqlVariable;
 import org.jetbrains.annotations.Contract;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
-import java.sql.Connection;
-import java.sql.PreparedStatement;
+import java.util.Collections;
 import java.util.concurrent.CompletableFuture;
 
 public abstract class AbstractType<T> implements Type<T> {
@@ -23,33 +22,55 @@ public abstract class AbstractType<T> implements Type<T> {
         return sqlName;
     }
 
+    /**
+     * Generates the column definition of a variable with this type, used at the {@code CREATE TABLE} and
+     * {@code ALTER TABLE} statements.
+     *
+     * @param variable the sql variable
+     * @return the column definition, without the column name
+     * @since 2.2
+     */
+    public @NotNull String getDefinition(@NotNull MysqlVariable<T> variable) {
+        @Nullable String expression = getDefaultExpression(variable.getDefaultValue());
+        return getSqlName() + (variable.isNullable() ? " NULL" : " NOT NULL") + (expression != null ? " DEFAULT " + expression : "");
+    }
+
+    /**
+     * Converts a value into a sql literal that can be used at the column {@code DEFAULT} clause.
+     * Types that cannot represent the value as a literal (like TEXT and BLOB on most of the servers) must return null,
+     * and the default value will be written at the existing rows by a background backfill instead.
+     *
+     * @param value the default value of the variable
+     * @return the sql literal, or null if this type cannot represent the value
+     * @since 2.2
+     */
+    public @Nullable String getDefaultExpression(@Nullable T value) {
+        return value == null ? "NULL" : null;
+    }
+
+    /**
+     * Checks if a column that currently exists at the database has this type.
+     *
+     * @param column the column definition
+     * @return true if the column has the same type, false otherwise
+     * @since 2.2
+     */
+    public boolean matches(@NotNull Schema.Column column) {
+        return Schema.Column.normalize(getSqlName()).equals(Schema.Column.normalize(column.getType()));
+    }
+
+    /**
+     * Checks if the variables with this type must declare a prefix length to be indexed, like TEXT and BLOB.
+     *
+     * @return true if a prefix length is required, false otherwise
+     * @since 2.2
+     */
+    public boolean isIndexPrefixRequired() {
+        return false;
+    }
+
     @Override
     public final @NotNull CompletableFuture<Boolean> configure(@NotNull MysqlVariable<T> variable) {
-        @Nullable Connection connection = variable.getDatabase().getAuthentication().getConnection();
-        if (connection == null) {
-            throw new IllegalStateException("The variable's authentication aren't connected");
-        }
-
-        @NotNull CompletableFuture<Boolean> future = new CompletableFuture<>();
-
-        CompletableFuture.runAsync(() -> {
-            try {
-                boolean exists = variable.exists().join();
-
-                if (!exists) {
-                    try (@NotNull PreparedStatement statement = connection.prepareStatement("ALTER TABLE `" + variable.getDatabase().getId() + "`.`" + variable.getTable().getId() + "` ADD COLUMN `" + variable.getId() + "` " + getSqlName() + (variable.isNullable() ? "" : " NOT NULL") + ";")) {
-                        statement.execute();
-                    }
-                } else try (@NotNull PreparedStatement statement = connection.prepareStatement("ALTER TABLE `" + variable.getDatabase().getId() + "`.`" + variable.getTable().getId() + "` MODIFY COLUMN `" + variable.getId() + "` " + getSqlName() + ";")) {
-                    statement.execute();
-                }
-
-                future.complete(!exists);
-            } catch (@NotNull Throwable throwable) {
-                future.completeExceptionally(throwable);
-            }
-        }, Main.getExecutor(getClass()));
-
-        return future;
+        return variable.getTable().getSchema().sync(Collections.singleton(variable)).thenApply(created -> !created.isEmpty());
     }
 }
@@ -70,6 +70,11 @@ public final class MysqlBlobType extends AbstractType<byte[]> {
         return false;
     }
 
+    @Override
+    public boolean isIndexPrefixRequired() {
+        return true;
+    }
+
     public enum Size {
         TINYBLOB(255L),
         BLOB(65535L),
@@ -43,6 +43,11 @@ public final class MysqlBooleanType extends AbstractType<Boolean> {
         }
     }
 
+    @Override
+    public @Nullable String getDefaultExpression(@Nullable Boolean value) {
+        return value != null ? (value ? "1" : "0") : super.getDefaultExpression(null);
+    }
+
     @Override
     public boolean isNullSupported() {
         return true;
@@ -43,6 +43,17 @@ public final class MysqlDoubleType extends AbstractType<Double> {
         return value;
     }
 
+    @Override
+    public @Nullable String getDefaultExpression(@Nullable Double value) {
+        if (value == null) {
+            return super.getDefaultExpression(null);
+        } else if (value.isNaN() || value.isInfinite()) {
+            return null;
+        }
+
+        return String.valueOf(value);
+    }
+
     @Override
     public boolean isNullSupported() {
         return true;
@@ -42,6 +42,17 @@ public final class MysqlFloatType extends AbstractType<Float> {
         return value;
     }
 
+    @Override
+    public @Nullable String getDefaultExpression(@Nullable Float value) {
+        if (value == null) {
+            return super.getDefaultExpression(null);
+        } else if (value.isNaN() || value.isInfinite()) {
+            return null;
+        }
+
+        return String.valueOf(value);
+    }
+
     @Override
     public boolean isNullSupported() {
         return true;
@@ -42,6 +42,11 @@ public final class MysqlIntType extends AbstractType<Integer> {
         return value;
     }
 
+    @Override
+    public @Nullable String getDefaultExpression(@Nullable Integer value) {
+        return value != null ? String.valueOf(value) : super.getDefaultExpression(null);
+    }
+
     @Override
     public boolean isNullSupported() {
         return true;
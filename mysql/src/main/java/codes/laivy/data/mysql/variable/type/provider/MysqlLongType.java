@@ -42,6 +42,11 @@ public final class MysqlLongType extends AbstractType<Long> {
         return value;
     }
 
+    @Override
+    public @Nullable String getDefaultExpression(@Nullable Long value) {
+        return value != null ? String.valueOf(value) : super.getDefaultExpression(null);
+    }
+
     @Override
     public boolean isNullSupported() {
         return true;
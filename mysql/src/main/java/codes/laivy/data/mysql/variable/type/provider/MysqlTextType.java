@@ -61,6 +61,11 @@ public final class MysqlTextType extends AbstractType<String> {
         return true;
     }
 
+    @Override
+    public boolean isIndexPrefixRequired() {
+        return true;
+    }
+
     public enum Size {
         TINYTEXT(255L),
         TEXT(65535L),
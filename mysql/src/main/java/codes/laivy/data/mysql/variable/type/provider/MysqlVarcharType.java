@@ -0,0 +1,70 @@
+package codes.laivy.data.mysql.variable.type.provider;
+
+import codes.laivy.data.mysql.variable.Parameter;
+import codes.laivy.data.mysql.variable.type.AbstractType;
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.jetbrains.annotations.Range;
+
+import java.sql.SQLException;
+
+/**
+ * Stores a string with a maximum length as {@code VARCHAR}. Unlike the TEXT types, it can be entirely indexed
+ * and used as a primary key.
+ *
+ * @since 2.2
+ */
+public final class MysqlVarcharType extends AbstractType<String> {
+
+    private final int length;
+
+    public MysqlVarcharType(@Range(from = 1, to = 16383) int length) {
+        super("VARCHAR(" + length + ")");
+        this.length = length;
+
+        if (length < 1 || length > 16383) {
+            throw new IllegalArgumentException("Illegal varchar length '" + length + "'");
+        }
+    }
+
+    @Contract(pure = true)
+    public int getLength() {
+        return length;
+    }
+
+    @Override
+    public void set(@NotNull Parameter parameter, @Nullable String value) {
+        if (value != null && value.length() > getLength()) {
+            throw new IllegalArgumentException("The string overflow the varchar length '" + getLength() + "'");
+        } else try {
+            if (value != null) {
+                parameter.setString(value);
+            } else {
+                parameter.setNull();
+            }
+        } catch (SQLException e) {
+            throw new RuntimeException("Cannot set parameter value for '" + getClass().getSimpleName() + "' type", e);
+        }
+    }
+
+    @Override
+    public @Nullable String get(@Nullable Object object) {
+        if (object == null) {
+            return null;
+        }
+
+        @NotNull String string = object instanceof String ? (String) object : String.valueOf(object);
+        return string.substring(0, Math.min(string.length(), getLength()));
+    }
+
+    @Override
+    public @Nullable String getDefaultExpression(@Nullable String value) {
+        return value != null ? "'" + value.replace("\\", "\\\\").replace("'", "''") + "'" : super.getDefaultExpression(null);
+    }
+
+    @Override
+    public boolean isNullSupported() {
+        return true;
+    }
+}
@@ -0,0 +1,69 @@
+package codes.laivy.data.mysql;
+
+import codes.laivy.data.mysql.data.MysqlData;
+import codes.laivy.data.mysql.data.MysqlDataCache;
+import codes.laivy.data.mysql.database.MysqlDatabase;
+import codes.laivy.data.mysql.table.MysqlTable;
+import codes.laivy.data.mysql.variable.MysqlVariable;
+import codes.laivy.data.mysql.variable.type.provider.MysqlIntType;
+import org.jetbrains.annotations.NotNull;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+public class MysqlBatchingTest extends MysqlTableFixture {
+
+    @Test
+    public void testSettings() throws Exception {
+        @NotNull MysqlTable table = offline();
+
+        table.getReadBatcher().setWindow(5);
+        // The table isn't loaded yet
+        Assert.assertFalse(table.getReadBatcher().isEnabled());
+
+        try {
+            table.getReadBatcher().setMaxSize(0);
+            Assert.fail();
+        } catch (@NotNull IllegalArgumentException ignore) {
+        }
+    }
+
+    @Test
+    public void testBatching() throws Exception {
+        @NotNull MysqlDatabase database = connect();
+
+        @NotNull MysqlTable table = new MysqlTable("test_table", database);
+        @NotNull MysqlVariable<Integer> integer = new MysqlVariable<>("test_int", table, new MysqlIntType(), 0, false);
+        table.getVariables().getDefault().add(integer);
+        table.start().get(2, TimeUnit.SECONDS);
+
+        for (int row = 1; row <= 10; row++) {
+            @NotNull MysqlData data = MysqlData.retrieve(table, row);
+            data.start().get(2, TimeUnit.SECONDS);
+            data.set(integer, row * 10);
+            data.stop(true).get(2, TimeUnit.SECONDS);
+        }
+
+        table.getReadBatcher().setWindow(10);
+        table.getReadBatcher().setMaxSize(4);
+
+        // The reads of different rows are executed together
+        @SuppressWarnings("unchecked")
+        @NotNull CompletableFuture<?>[] values = new CompletableFuture<?>[10];
+        for (int row = 1; row <= 10; row++) {
+            values[row - 1] = MysqlDataCache.get(integer, row);
+        }
+        for (int row = 1; row <= 10; row++) {
+            Assert.assertEquals((Integer) (row * 10), values[row - 1].get(2, TimeUnit.SECONDS));
+        }
+
+        Assert.assertTrue(MysqlData.exists(table, 5).get(2, TimeUnit.SECONDS));
+        Assert.assertFalse(MysqlData.exists(table, 11).get(2, TimeUnit.SECONDS));
+        Assert.assertNull(MysqlDataCache.retrieve(table, 11).get(2, TimeUnit.SECONDS));
+
+        disconnect(database);
+    }
+
+}
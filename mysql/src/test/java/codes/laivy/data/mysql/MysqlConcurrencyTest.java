@@ -0,0 +1,121 @@
+package codes.laivy.data.mysql;
+
+import codes.laivy.data.mysql.authentication.MysqlAuthentication;
+import codes.laivy.data.mysql.data.MysqlData;
+import codes.laivy.data.mysql.data.MysqlDataCache;
+import codes.laivy.data.mysql.database.MysqlDatabase;
+import codes.laivy.data.mysql.table.MysqlTable;
+import codes.laivy.data.mysql.utils.CopyOnWriteMap;
+import codes.laivy.data.mysql.variable.MysqlVariable;
+import codes.laivy.data.mysql.variable.type.provider.MysqlIntType;
+import org.jetbrains.annotations.NotNull;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.net.InetAddress;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class MysqlConcurrencyTest {
+
+    public final @NotNull String USERNAME;
+    public final @NotNull String PASSWORD;
+    public final @NotNull InetAddress ADDRESS;
+    public final int PORT;
+
+    public MysqlConcurrencyTest() throws Throwable {
+        PASSWORD = "";
+        USERNAME = "root";
+        PORT = 3306;
+        ADDRESS = InetAddress.getByName("localhost");
+    }
+
+    @Test
+    public void testCopyOnWriteMap() {
+        @NotNull CopyOnWriteMap<String, Integer> map = new CopyOnWriteMap<>(new Object());
+        map.put("a", 1);
+        map.put("b", null);
+
+        // The snapshots doesn't change
+        @NotNull Map<String, Integer> snapshot = map.snapshot();
+        map.update(values -> {
+            values.put("a", 2);
+            values.remove("b");
+        });
+
+        Assert.assertEquals((Integer) 1, snapshot.get("a"));
+        Assert.assertTrue(snapshot.containsKey("b"));
+        Assert.assertEquals(Collections.singletonMap("a", 2), map);
+
+        // Changing an existing key only copies the values
+        snapshot = map.snapshot();
+        Assert.assertEquals((Integer) 2, map.put("a", 3));
+        Assert.assertEquals((Integer) 2, snapshot.get("a"));
+        Assert.assertEquals((Integer) 3, map.get("a"));
+
+        // The iterations never fail while the map changes
+        map.putAll(Collections.singletonMap("c", 3));
+        for (@NotNull String key : map.keySet()) {
+            map.remove(key);
+        }
+        Assert.assertTrue(map.isEmpty());
+    }
+
+    @Test
+    public void testAtomicSet() throws Exception {
+        @NotNull MysqlAuthentication authentication = new MysqlAuthentication(USERNAME, PASSWORD, ADDRESS, PORT);
+        authentication.connect().get(5, TimeUnit.SECONDS);
+        @NotNull MysqlDatabase database = MysqlDatabase.getOrCreate(authentication, "test");
+        database.start().get(2, TimeUnit.SECONDS);
+
+        @NotNull MysqlTable table = new MysqlTable("test_table", database);
+        @NotNull MysqlVariable<Integer> first = new MysqlVariable<>("test_first", table, new MysqlIntType(), 0, false);
+        @NotNull MysqlVariable<Integer> second = new MysqlVariable<>("test_second", table, new MysqlIntType(), 0, false);
+        table.getVariables().getDefault().addAll(first, second);
+        table.start().get(2, TimeUnit.SECONDS);
+
+        @NotNull MysqlData data = MysqlData.retrieve(table, 1);
+        data.start().get(2, TimeUnit.SECONDS);
+
+        // The readers never see only one of the variables changed
+        @NotNull AtomicBoolean running = new AtomicBoolean(true);
+        @NotNull AtomicInteger torn = new AtomicInteger();
+        @NotNull List<Thread> readers = new ArrayList<>();
+
+        for (int index = 0; index < 4; index++) {
+            @NotNull Thread reader = new Thread(() -> {
+                while (running.get()) {
+                    @NotNull MysqlDataCache copy = MysqlDataCache.copy(data);
+                    if (!Objects.equals(copy.get(first), copy.get(second))) torn.incrementAndGet();
+                }
+            });
+            reader.start();
+            readers.add(reader);
+        }
+
+        for (int value = 1; value <= 10_000; value++) {
+            @NotNull Map<String, Object> values = new HashMap<>();
+            values.put("test_first", value);
+            values.put("test_second", value);
+
+            data.set(values);
+        }
+
+        running.set(false);
+        for (@NotNull Thread reader : readers) reader.join();
+
+        Assert.assertEquals(0, torn.get());
+        Assert.assertEquals((Integer) 10_000, data.get(first));
+        Assert.assertTrue(data.hasChanges(first) && data.hasChanges(second));
+
+        // The saved values aren't changed anymore
+        data.save().get(2, TimeUnit.SECONDS);
+        Assert.assertFalse(data.hasChanges());
+
+        database.delete().get(2, TimeUnit.SECONDS);
+        authentication.disconnect().get(5, TimeUnit.SECONDS);
+    }
+
+}
@@ -0,0 +1,68 @@
+package codes.laivy.data.mysql;
+
+import codes.laivy.data.content.Content;
+import codes.laivy.data.mysql.authentication.MysqlAuthentication;
+import codes.laivy.data.mysql.database.MysqlDatabase;
+import org.jetbrains.annotations.NotNull;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.net.InetAddress;
+import java.util.Arrays;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+public class MysqlContentTest {
+
+    public final @NotNull String USERNAME;
+    public final @NotNull String PASSWORD;
+    public final @NotNull InetAddress ADDRESS;
+    public final int PORT;
+
+    public MysqlContentTest() throws Throwable {
+        PASSWORD = "";
+        USERNAME = "root";
+        PORT = 3306;
+        ADDRESS = InetAddress.getByName("localhost");
+    }
+
+    @Test
+    public void testKeyedProvider() {
+        @NotNull Content.KeyedProvider<String> content = new Content.KeyedProvider<>(Function.identity());
+        Assert.assertTrue(content.add("First"));
+        Assert.assertTrue(content.add("second"));
+
+        // The keys are case-insensitive
+        Assert.assertFalse(content.add("FIRST"));
+        Assert.assertEquals("First", content.lookup("first"));
+        Assert.assertTrue(content.containsKey("SECOND"));
+        Assert.assertNull(content.lookup("third"));
+
+        // The iterations are made over a snapshot
+        for (@NotNull String element : content) {
+            content.add(element + "_copy");
+        }
+        Assert.assertEquals(Arrays.asList("First", "second", "First_copy", "second_copy"), content.stream().collect(Collectors.toList()));
+
+        Assert.assertFalse(content.remove("FIRST"));
+        Assert.assertTrue(content.remove("First"));
+        Assert.assertEquals(3, content.size());
+
+        content.clear();
+        Assert.assertTrue(content.isEmpty());
+    }
+
+    @Test
+    public void testDatabases() throws Exception {
+        @NotNull MysqlAuthentication authentication = new MysqlAuthentication(USERNAME, PASSWORD, ADDRESS, PORT);
+        @NotNull MysqlDatabase database = MysqlDatabase.getOrCreate(authentication, "test");
+
+        // Not started yet
+        Assert.assertFalse(MysqlDatabase.get(authentication, "TEST").isPresent());
+
+        authentication.getDatabases().add(database);
+        Assert.assertSame(database, MysqlDatabase.get(authentication, "TEST").orElse(null));
+        Assert.assertSame(database, MysqlDatabase.getOrCreate(authentication, "test"));
+    }
+
+}
@@ -0,0 +1,233 @@
+package codes.laivy.data.mysql;
+
+import codes.laivy.data.mysql.authentication.MysqlAuthentication;
+import codes.laivy.data.mysql.data.Expression;
+import codes.laivy.data.mysql.data.MysqlData;
+import codes.laivy.data.mysql.data.MysqlDataCache;
+import codes.laivy.data.mysql.database.MysqlDatabase;
+import codes.laivy.data.mysql.table.MysqlTable;
+import codes.laivy.data.mysql.variable.MysqlCounterVariable;
+import codes.laivy.data.mysql.variable.type.provider.MysqlDoubleType;
+import codes.laivy.data.mysql.variable.type.provider.MysqlLongType;
+import org.jetbrains.annotations.NotNull;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.net.InetAddress;
+import java.nio.file.Files;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class MysqlCounterTest {
+
+    public final @NotNull String USERNAME;
+    public final @NotNull String PASSWORD;
+    public final @NotNull InetAddress ADDRESS;
+    public final int PORT;
+
+    public MysqlCounterTest() throws Throwable {
+        PASSWORD = "";
+        USERNAME = "root";
+        PORT = 3306;
+        ADDRESS = InetAddress.getByName("localhost");
+    }
+
+    @Test
+    public void testTypes() throws Exception {
+        @NotNull MysqlAuthentication authentication = new MysqlAuthentication(USERNAME, PASSWORD, ADDRESS, PORT);
+        @NotNull MysqlTable table = new MysqlTable("test_table", MysqlDatabase.getOrCreate(authentication, "test"));
+
+        @NotNull MysqlCounterVariable<Long> counter = new MysqlCounterVariable<>("test_counter", table, new MysqlLongType());
+        Assert.assertEquals((Long) 0L, counter.getDefaultValue());
+        Assert.assertFalse(counter.isNullable());
+
+        try {
+            new MysqlCounterVariable<>("test_double", table, new MysqlDoubleType());
+            Assert.fail();
+        } catch (@NotNull IllegalStateException ignore) {
+        }
+    }
+
+    @Test
+    public void testIncrement() throws Exception {
+        @NotNull MysqlAuthentication authentication = new MysqlAuthentication(USERNAME, PASSWORD, ADDRESS, PORT);
+        authentication.connect().get(5, TimeUnit.SECONDS);
+        @NotNull MysqlDatabase database = MysqlDatabase.getOrCreate(authentication, "test");
+        database.start().get(2, TimeUnit.SECONDS);
+
+        @NotNull MysqlTable table = new MysqlTable("test_table", database);
+        table.setCounterFlushInterval(0);
+        @NotNull MysqlCounterVariable<Long> counter = new MysqlCounterVariable<>("test_counter", table, new MysqlLongType());
+        table.getVariables().getDefault().add(counter);
+        table.start().get(2, TimeUnit.SECONDS);
+
+        @NotNull MysqlData data = MysqlData.create(table).get(2, TimeUnit.SECONDS);
+        data.start().get(2, TimeUnit.SECONDS);
+
+        // Increments from many threads, without locks
+        @NotNull CompletableFuture<?>[] futures = new CompletableFuture<?>[8];
+        for (int index = 0; index < futures.length; index++) {
+            futures[index] = CompletableFuture.runAsync(() -> {
+                for (int amount = 0; amount < 1000; amount++) {
+                    data.increment(counter);
+                }
+            });
+        }
+        CompletableFuture.allOf(futures).get(5, TimeUnit.SECONDS);
+
+        Assert.assertEquals((Long) 8000L, data.get(counter));
+        Assert.assertTrue(data.hasChanges());
+
+        // The delta is written when the data is saved
+        data.save().get(2, TimeUnit.SECONDS);
+        Assert.assertFalse(data.hasChanges());
+        Assert.assertEquals((Long) 8000L, data.get(counter));
+        Assert.assertEquals((Long) 8000L, MysqlDataCache.get(counter, data.getRow()).get(2, TimeUnit.SECONDS));
+
+        // Another node incrementing the same row
+        MysqlData.update(table, data.getRow(), Expression.increment(counter, 100L)).get(2, TimeUnit.SECONDS);
+        data.increment(counter, -50);
+        table.flushCounters().get(2, TimeUnit.SECONDS);
+        Assert.assertEquals((Long) 8050L, MysqlDataCache.get(counter, data.getRow()).get(2, TimeUnit.SECONDS));
+        Assert.assertEquals((Long) 8050L, data.get(counter));
+
+        database.delete().get(2, TimeUnit.SECONDS);
+        authentication.disconnect().get(5, TimeUnit.SECONDS);
+    }
+
+    @Test
+    public void testReadDuringFlush() throws Exception {
+        @NotNull MysqlAuthentication authentication = new MysqlAuthentication(USERNAME, PASSWORD, ADDRESS, PORT);
+        authentication.connect().get(5, TimeUnit.SECONDS);
+        @NotNull MysqlDatabase database = MysqlDatabase.getOrCreate(authentication, "test");
+        database.start().get(2, TimeUnit.SECONDS);
+
+        @NotNull MysqlTable table = new MysqlTable("test_table", database);
+        table.setCounterFlushInterval(0);
+        @NotNull MysqlCounterVariable<Long> counter = new MysqlCounterVariable<>("test_counter", table, new MysqlLongType());
+        table.getVariables().getDefault().add(counter);
+        table.start().get(2, TimeUnit.SECONDS);
+
+        @NotNull MysqlData data = MysqlData.create(table).get(2, TimeUnit.SECONDS);
+        data.start().get(2, TimeUnit.SECONDS);
+        data.save().get(2, TimeUnit.SECONDS);
+
+        // The value only grows, the readers never miss a flushed delta or see it twice
+        @NotNull AtomicBoolean running = new AtomicBoolean(true);
+        @NotNull AtomicInteger wrong = new AtomicInteger();
+
+        @NotNull Thread reader = new Thread(() -> {
+            long last = 0;
+
+            while (running.get()) {
+                long value = data.get(counter);
+                if (value < last) wrong.incrementAndGet();
+                last = value;
+            }
+        });
+        reader.start();
+
+        for (int flush = 0; flush < 100; flush++) {
+            for (int amount = 0; amount < 10; amount++) {
+                data.increment(counter);
+            }
+            data.flushCounters().get(2, TimeUnit.SECONDS);
+        }
+
+        running.set(false);
+        reader.join();
+
+        Assert.assertEquals(0, wrong.get());
+        Assert.assertEquals((Long) 1000L, data.get(counter));
+        Assert.assertEquals((Long) 1000L, MysqlDataCache.get(counter, data.getRow()).get(2, TimeUnit.SECONDS));
+
+        database.delete().get(2, TimeUnit.SECONDS);
+        authentication.disconnect().get(5, TimeUnit.SECONDS);
+    }
+
+    @Test
+    public void testFlushDuringIncrements() throws Exception {
+        @NotNull MysqlAuthentication authentication = new MysqlAuthentication(USERNAME, PASSWORD, ADDRESS, PORT);
+        authentication.connect().get(5, TimeUnit.SECONDS);
+        @NotNull MysqlDatabase database = MysqlDatabase.getOrCreate(authentication, "test");
+        database.start().get(2, TimeUnit.SECONDS);
+
+        @NotNull MysqlTable table = new MysqlTable("test_table", database);
+        table.setCounterFlushInterval(0);
+        table.getJournal().setFile(Files.createTempFile("journal", ".bin"));
+        @NotNull MysqlCounterVariable<Long> counter = new MysqlCounterVariable<>("test_counter", table, new MysqlLongType());
+        table.getVariables().getDefault().add(counter);
+        table.start().get(2, TimeUnit.SECONDS);
+
+        @NotNull MysqlData data = MysqlData.create(table).get(2, TimeUnit.SECONDS);
+        data.start().get(2, TimeUnit.SECONDS);
+        data.save().get(2, TimeUnit.SECONDS);
+
+        // The flushes run while the increments are journaled
+        @NotNull CompletableFuture<?>[] futures = new CompletableFuture<?>[4];
+        for (int index = 0; index < futures.length; index++) {
+            futures[index] = CompletableFuture.runAsync(() -> {
+                for (int amount = 0; amount < 1000; amount++) {
+                    data.increment(counter);
+                }
+            });
+        }
+        while (!CompletableFuture.allOf(futures).isDone()) {
+            data.flushCounters().get(2, TimeUnit.SECONDS);
+        }
+        data.flushCounters().get(2, TimeUnit.SECONDS);
+
+        // Every journaled increment was committed by the flush that wrote it, a replay doesn't apply it again
+        Assert.assertEquals(0, table.getJournal().size());
+        Assert.assertEquals((Long) 4000L, data.get(counter));
+        Assert.assertEquals((Long) 4000L, MysqlDataCache.get(counter, data.getRow()).get(2, TimeUnit.SECONDS));
+
+        database.delete().get(2, TimeUnit.SECONDS);
+        authentication.disconnect().get(5, TimeUnit.SECONDS);
+    }
+
+    @Test
+    public void testFlushRollback() throws Exception {
+        @NotNull MysqlAuthentication authentication = new MysqlAuthentication(USERNAME, PASSWORD, ADDRESS, PORT);
+        authentication.connect().get(5, TimeUnit.SECONDS);
+        @NotNull MysqlDatabase database = MysqlDatabase.getOrCreate(authentication, "test");
+        database.start().get(2, TimeUnit.SECONDS);
+
+        @NotNull MysqlTable table = new MysqlTable("test_table", database);
+        table.setCounterFlushInterval(0);
+        @NotNull MysqlCounterVariable<Long> counter = new MysqlCounterVariable<>("test_counter", table, new MysqlLongType());
+        table.getVariables().getDefault().add(counter);
+        table.start().get(2, TimeUnit.SECONDS);
+
+        @NotNull MysqlData data = MysqlData.create(table).get(2, TimeUnit.SECONDS);
+        data.start().get(2, TimeUnit.SECONDS);
+        data.save().get(2, TimeUnit.SECONDS);
+
+        data.increment(counter, 10);
+
+        try {
+            authentication.transaction(transaction -> {
+                data.flushCounters().join();
+                Assert.assertEquals((Long) 10L, data.get(counter));
+
+                throw new IllegalStateException("Rollback");
+            }).get(5, TimeUnit.SECONDS);
+            Assert.fail("The transaction didn't roll back");
+        } catch (@NotNull ExecutionException ignore) {
+        }
+
+        // The delta flushed by the rolled back transaction is pending again
+        Assert.assertEquals((Long) 10L, data.get(counter));
+        Assert.assertEquals((Long) 0L, MysqlDataCache.get(counter, data.getRow()).get(2, TimeUnit.SECONDS));
+
+        data.flushCounters().get(2, TimeUnit.SECONDS);
+        Assert.assertEquals((Long) 10L, MysqlDataCache.get(counter, data.getRow()).get(2, TimeUnit.SECONDS));
+
+        database.delete().get(2, TimeUnit.SECONDS);
+        authentication.disconnect().get(5, TimeUnit.SECONDS);
+    }
+
+}
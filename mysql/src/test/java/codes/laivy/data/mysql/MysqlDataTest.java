@@ -180,7 +180,7 @@ public class MysqlDataTest {
         // Data code
         @NotNull MysqlData data = MysqlData.create(table).get(2, TimeUnit.SECONDS);
         data.start().get(2, TimeUnit.SECONDS);
-        int row = data.getRow();
+        long row = data.getRow();
 
         Assert.assertTrue(data.isNew());
         Assert.assertEquals(expected, data.get(variable));
@@ -0,0 +1,84 @@
+package codes.laivy.data.mysql;
+
+import codes.laivy.data.mysql.authentication.MysqlAuthentication;
+import codes.laivy.data.mysql.data.MysqlData;
+import codes.laivy.data.mysql.database.MysqlDatabase;
+import codes.laivy.data.mysql.table.MysqlTable;
+import codes.laivy.data.mysql.variable.MysqlVariable;
+import codes.laivy.data.mysql.variable.type.provider.MysqlIntType;
+import org.jetbrains.annotations.NotNull;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.concurrent.TimeUnit;
+
+public class MysqlDeltaSyncTest extends MysqlTableFixture {
+
+    @Test
+    public void testSettings() throws Exception {
+        @NotNull MysqlTable table = offline();
+
+        try {
+            table.getDeltaSync().setOverlap(-1);
+            Assert.fail();
+        } catch (@NotNull IllegalArgumentException ignore) {
+        }
+        try {
+            new MysqlVariable<>("row_updated", table, new MysqlIntType(), 0, false);
+            Assert.fail();
+        } catch (@NotNull IllegalStateException ignore) {
+        }
+    }
+
+    @Test
+    public void testSync() throws Exception {
+        // The first node writes, the second one keeps the table cached
+        @NotNull MysqlAuthentication first = new MysqlAuthentication(USERNAME, PASSWORD, ADDRESS, PORT);
+        first.connect().get(5, TimeUnit.SECONDS);
+        @NotNull MysqlDatabase writer = MysqlDatabase.getOrCreate(first, "test");
+        writer.start().get(2, TimeUnit.SECONDS);
+        @NotNull MysqlTable writerTable = new MysqlTable("test_table", writer);
+        writerTable.getDeltaSync().setEnabled(true);
+        @NotNull MysqlVariable<Integer> writerVariable = new MysqlVariable<>("test_int", writerTable, new MysqlIntType(), 0, false);
+        writerTable.getVariables().getDefault().add(writerVariable);
+        writerTable.start().get(2, TimeUnit.SECONDS);
+
+        for (int row = 1; row <= 10; row++) {
+            MysqlData.retrieve(writerTable, row).save().get(2, TimeUnit.SECONDS);
+        }
+
+        @NotNull MysqlAuthentication second = new MysqlAuthentication(USERNAME, PASSWORD, ADDRESS, PORT);
+        second.connect().get(5, TimeUnit.SECONDS);
+        @NotNull MysqlDatabase reader = MysqlDatabase.getOrCreate(second, "test");
+        reader.start().get(2, TimeUnit.SECONDS);
+        @NotNull MysqlTable readerTable = new MysqlTable("test_table", reader);
+        readerTable.getDeltaSync().setEnabled(true);
+        readerTable.getDeltaSync().setInterval(0);
+        @NotNull MysqlVariable<Integer> readerVariable = new MysqlVariable<>("test_int", readerTable, new MysqlIntType(), 0, false);
+        readerTable.getVariables().getDefault().add(readerVariable);
+        readerTable.start().get(2, TimeUnit.SECONDS);
+
+        @NotNull MysqlData[] datas = new MysqlData[10];
+        for (int row = 1; row <= 10; row++) {
+            datas[row - 1] = MysqlData.retrieve(readerTable, row);
+            datas[row - 1].start().get(2, TimeUnit.SECONDS);
+        }
+        Assert.assertNotNull(readerTable.getDeltaSync().getWatermark());
+
+        // Only the changed and deleted rows are synchronized
+        MysqlData.set(writerVariable, 5, 3).get(2, TimeUnit.SECONDS);
+        MysqlData.delete(writerTable, 7).get(2, TimeUnit.SECONDS);
+
+        readerTable.getDeltaSync().setOverlap(0);
+        Assert.assertEquals((Integer) 2, readerTable.getDeltaSync().sync().get(2, TimeUnit.SECONDS));
+        Assert.assertEquals((Integer) 5, datas[2].get(readerVariable));
+        Assert.assertFalse(datas[6].isLoaded());
+        Assert.assertTrue(datas[0].isLoaded());
+
+        writerTable.delete().get(2, TimeUnit.SECONDS);
+        writer.delete().get(2, TimeUnit.SECONDS);
+        first.disconnect().get(5, TimeUnit.SECONDS);
+        second.disconnect().get(5, TimeUnit.SECONDS);
+    }
+
+}
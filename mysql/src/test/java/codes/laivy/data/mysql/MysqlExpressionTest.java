@@ -0,0 +1,85 @@
+package codes.laivy.data.mysql;
+
+import codes.laivy.data.mysql.authentication.MysqlAuthentication;
+import codes.laivy.data.mysql.data.Condition;
+import codes.laivy.data.mysql.data.Expression;
+import codes.laivy.data.mysql.data.MysqlData;
+import codes.laivy.data.mysql.data.MysqlDataCache;
+import codes.laivy.data.mysql.database.MysqlDatabase;
+import codes.laivy.data.mysql.table.MysqlTable;
+import codes.laivy.data.mysql.variable.MysqlVariable;
+import codes.laivy.data.mysql.variable.type.provider.MysqlIntType;
+import org.jetbrains.annotations.NotNull;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.net.InetAddress;
+import java.util.concurrent.TimeUnit;
+
+public class MysqlExpressionTest {
+
+    public final @NotNull String USERNAME;
+    public final @NotNull String PASSWORD;
+    public final @NotNull InetAddress ADDRESS;
+    public final int PORT;
+
+    public MysqlExpressionTest() throws Throwable {
+        PASSWORD = "";
+        USERNAME = "root";
+        PORT = 3306;
+        ADDRESS = InetAddress.getByName("localhost");
+    }
+
+    @Test
+    public void testAssignments() throws Exception {
+        @NotNull MysqlAuthentication authentication = new MysqlAuthentication(USERNAME, PASSWORD, ADDRESS, PORT);
+        @NotNull MysqlTable table = new MysqlTable("test_table", MysqlDatabase.getOrCreate(authentication, "test"));
+        @NotNull MysqlVariable<Integer> integer = new MysqlVariable<>("test_int", table, new MysqlIntType(), 0, false);
+
+        Assert.assertEquals("`test_int` = ?", Expression.value(integer, 1).getAssignment());
+        Assert.assertEquals("`test_int` = COALESCE(`test_int`, 0) + ?", Expression.increment(integer, 1).getAssignment());
+        Assert.assertEquals("`test_int` = COALESCE(GREATEST(`test_int`, ?), ?)", Expression.greatest(integer, 1).getAssignment());
+        Assert.assertEquals("`test_int` = COALESCE(LEAST(`test_int`, ?), ?)", Expression.least(integer, 1).getAssignment());
+    }
+
+    @Test
+    public void testUpdate() throws Exception {
+        @NotNull MysqlAuthentication authentication = new MysqlAuthentication(USERNAME, PASSWORD, ADDRESS, PORT);
+        authentication.connect().get(5, TimeUnit.SECONDS);
+        @NotNull MysqlDatabase database = MysqlDatabase.getOrCreate(authentication, "test");
+        database.start().get(2, TimeUnit.SECONDS);
+
+        @NotNull MysqlTable table = new MysqlTable("test_table", database);
+        @NotNull MysqlVariable<Integer> integer = new MysqlVariable<>("test_int", table, new MysqlIntType(), 0, false);
+        @NotNull MysqlVariable<Integer> group = new MysqlVariable<>("test_group", table, new MysqlIntType(), 0, false);
+        table.getVariables().getDefault().addAll(integer, group);
+        table.start().get(2, TimeUnit.SECONDS);
+
+        @NotNull MysqlData data = MysqlData.create(table).get(2, TimeUnit.SECONDS);
+        data.start().get(2, TimeUnit.SECONDS);
+        data.save().get(2, TimeUnit.SECONDS);
+
+        // Single row, the loaded data receives the new value
+        Assert.assertTrue(MysqlData.update(table, data.getRow(), Expression.increment(integer, 5)).get(2, TimeUnit.SECONDS));
+        Assert.assertTrue(MysqlData.update(table, data.getRow(), Expression.increment(integer, 5)).get(2, TimeUnit.SECONDS));
+        Assert.assertEquals((Integer) 10, data.get(integer));
+        Assert.assertFalse(data.hasChanges());
+
+        Assert.assertTrue(MysqlData.update(table, data.getRow(), Expression.greatest(integer, 7)).get(2, TimeUnit.SECONDS));
+        Assert.assertEquals((Integer) 10, data.get(integer));
+
+        // Compare and set
+        Assert.assertFalse(MysqlData.compareAndSet(integer, 9, 20, data.getRow()).get(2, TimeUnit.SECONDS));
+        Assert.assertTrue(MysqlData.compareAndSet(integer, 10, 20, data.getRow()).get(2, TimeUnit.SECONDS));
+        Assert.assertEquals((Integer) 20, data.get(integer));
+
+        // Rows selected by conditions
+        data.stop(true).get(2, TimeUnit.SECONDS);
+        Assert.assertEquals((Integer) 1, MysqlData.update(table, new Expression<?>[] { Expression.least(integer, 3) }, Condition.of(group, 0)).get(2, TimeUnit.SECONDS));
+        Assert.assertEquals((Integer) 3, MysqlDataCache.get(integer, data.getRow()).get(2, TimeUnit.SECONDS));
+
+        database.delete().get(2, TimeUnit.SECONDS);
+        authentication.disconnect().get(5, TimeUnit.SECONDS);
+    }
+
+}
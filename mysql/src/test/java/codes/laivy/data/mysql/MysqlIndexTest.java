@@ -0,0 +1,124 @@
+package codes.laivy.data.mysql;
+
+import codes.laivy.data.mysql.authentication.MysqlAuthentication;
+import codes.laivy.data.mysql.data.MysqlData;
+import codes.laivy.data.mysql.data.MysqlDataCache;
+import codes.laivy.data.mysql.database.MysqlDatabase;
+import codes.laivy.data.mysql.table.Index;
+import codes.laivy.data.mysql.table.MysqlTable;
+import codes.laivy.data.mysql.table.Schema;
+import codes.laivy.data.mysql.variable.MysqlVariable;
+import codes.laivy.data.mysql.variable.type.provider.MysqlIntType;
+import codes.laivy.data.mysql.variable.type.provider.MysqlTextType;
+import org.jetbrains.annotations.NotNull;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.net.InetAddress;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+public class MysqlIndexTest {
+
+    public final @NotNull String USERNAME;
+    public final @NotNull String PASSWORD;
+    public final @NotNull InetAddress ADDRESS;
+    public final int PORT;
+
+    public MysqlIndexTest() throws Throwable {
+        PASSWORD = "";
+        USERNAME = "root";
+        PORT = 3306;
+        ADDRESS = InetAddress.getByName("localhost");
+    }
+
+    @Test
+    public void testDefinition() throws Exception {
+        @NotNull MysqlAuthentication authentication = new MysqlAuthentication(USERNAME, PASSWORD, ADDRESS, PORT);
+        @NotNull MysqlTable table = new MysqlTable("test_table", MysqlDatabase.getOrCreate(authentication, "test"));
+
+        @NotNull MysqlVariable<String> text = new MysqlVariable<>("test_text", table, new MysqlTextType(), "", false);
+        @NotNull MysqlVariable<Integer> integer = new MysqlVariable<>("test_int", table, new MysqlIntType(), 0, false);
+
+        Assert.assertEquals("INDEX `test_index` (`test_int`)", Index.of("test_index", false, integer).getDefinition());
+        Assert.assertEquals("UNIQUE INDEX `test_index` (`test_int`, `test_text`(16))", Index.unique("test_index", Index.Column.of(integer), Index.Column.of(text, 16)).getDefinition());
+
+        // Text and blob variables requires a prefix length
+        Assert.assertThrows(IllegalStateException.class, () -> Index.of("test_index", false, text));
+        // Duplicated variables
+        Assert.assertThrows(IllegalStateException.class, () -> Index.of("test_index", false, integer, integer));
+
+        // Declaration twice
+        integer.index(true);
+        Assert.assertThrows(IllegalStateException.class, () -> integer.index(false));
+        Assert.assertTrue(table.getIndexes().contains("TEST_INT"));
+    }
+
+    @Test
+    public void testKey() {
+        Assert.assertEquals(Index.key(new byte[] { 1, 2 }, 3), Index.key(new byte[] { 1, 2 }, 3));
+        Assert.assertNotEquals(Index.key(new byte[] { 1, 2 }, 3), Index.key(new byte[] { 1, 3 }, 3));
+    }
+
+    @Test
+    public void testReconcile() throws Exception {
+        @NotNull MysqlAuthentication authentication = new MysqlAuthentication(USERNAME, PASSWORD, ADDRESS, PORT);
+        authentication.connect().get(5, TimeUnit.SECONDS);
+        @NotNull MysqlDatabase database = MysqlDatabase.getOrCreate(authentication, "test");
+        database.start().get(2, TimeUnit.SECONDS);
+
+        @NotNull MysqlTable table = new MysqlTable("test_table", database);
+        @NotNull MysqlVariable<String> text = new MysqlVariable<>("test_text", table, new MysqlTextType(), "", false);
+        @NotNull MysqlVariable<Integer> integer = new MysqlVariable<>("test_int", table, new MysqlIntType(), 0, false);
+        table.getVariables().getDefault().addAll(text, integer);
+        table.getIndexes().add(Index.of("test_composite", false, Index.Column.of(integer), Index.Column.of(text, 8)));
+
+        table.start().get(2, TimeUnit.SECONDS);
+
+        @NotNull Map<String, Schema.TableKey> keys = table.getSchema().getKeys().get(2, TimeUnit.SECONDS);
+        Assert.assertTrue(keys.containsKey("test_composite"));
+        Assert.assertFalse(keys.get("test_composite").isUnique());
+
+        // The index changes to unique
+        table.stop().get(2, TimeUnit.SECONDS);
+        table.getIndexes().remove(table.getIndexes().get("test_composite").orElseThrow(NullPointerException::new));
+        table.getIndexes().add(Index.unique("test_composite", Index.Column.of(integer), Index.Column.of(text, 8)));
+        table.start().get(2, TimeUnit.SECONDS);
+
+        Assert.assertTrue(table.getSchema().getKeys().get(2, TimeUnit.SECONDS).get("test_composite").isUnique());
+
+        database.delete().get(2, TimeUnit.SECONDS);
+        authentication.disconnect().get(5, TimeUnit.SECONDS);
+    }
+
+    @Test
+    public void testUniqueRetrieve() throws Exception {
+        @NotNull MysqlAuthentication authentication = new MysqlAuthentication(USERNAME, PASSWORD, ADDRESS, PORT);
+        authentication.connect().get(5, TimeUnit.SECONDS);
+        @NotNull MysqlDatabase database = MysqlDatabase.getOrCreate(authentication, "test");
+        database.start().get(2, TimeUnit.SECONDS);
+
+        @NotNull MysqlTable table = new MysqlTable("test_table", database);
+        @NotNull MysqlVariable<Integer> integer = new MysqlVariable<>("test_int", table, new MysqlIntType(), 0, false);
+        table.getVariables().getDefault().add(integer);
+        @NotNull Index index = integer.index(true);
+        table.start().get(2, TimeUnit.SECONDS);
+
+        @NotNull MysqlData data = MysqlData.create(table).get(2, TimeUnit.SECONDS);
+        data.start().get(2, TimeUnit.SECONDS);
+        data.set(integer, 10);
+
+        // Loaded data, found in memory
+        Assert.assertEquals(data, MysqlData.retrieve(index, 10).get(2, TimeUnit.SECONDS));
+        Assert.assertNull(MysqlData.retrieve(index, 5).get(2, TimeUnit.SECONDS));
+
+        // Unloaded data, found at the database
+        data.stop(true).get(2, TimeUnit.SECONDS);
+        @NotNull MysqlDataCache cache = MysqlDataCache.retrieve(index, 10).get(2, TimeUnit.SECONDS);
+        Assert.assertEquals(data.getRow(), cache.getRow());
+
+        database.delete().get(2, TimeUnit.SECONDS);
+        authentication.disconnect().get(5, TimeUnit.SECONDS);
+    }
+
+}
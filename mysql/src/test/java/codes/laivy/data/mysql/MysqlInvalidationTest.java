@@ -0,0 +1,141 @@
+package codes.laivy.data.mysql;
+
+import codes.laivy.data.mysql.authentication.MysqlAuthentication;
+import codes.laivy.data.mysql.coherence.*;
+import codes.laivy.data.mysql.data.MysqlData;
+import codes.laivy.data.mysql.database.MysqlDatabase;
+import codes.laivy.data.mysql.table.MysqlTable;
+import codes.laivy.data.mysql.variable.MysqlVariable;
+import codes.laivy.data.mysql.variable.type.provider.MysqlIntType;
+import org.jetbrains.annotations.NotNull;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.*;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+public class MysqlInvalidationTest {
+
+    public final @NotNull String USERNAME;
+    public final @NotNull String PASSWORD;
+    public final @NotNull InetAddress ADDRESS;
+    public final int PORT;
+
+    public MysqlInvalidationTest() throws Throwable {
+        PASSWORD = "";
+        USERNAME = "root";
+        PORT = 3306;
+        ADDRESS = InetAddress.getByName("localhost");
+    }
+
+    @Test
+    public void testCodec() throws Exception {
+        @NotNull Object[] values = new Object[] { null, 1, 2L, 3D, 4F, true, "Laivy", UUID.randomUUID(), (short) 5, (byte) 6 };
+
+        @NotNull ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        @NotNull DataOutputStream output = new DataOutputStream(bytes);
+        for (Object value : values) {
+            ValueCodec.DEFAULT.write(output, value);
+        }
+        ValueCodec.DEFAULT.write(output, new byte[] { 1, 2, 3 });
+
+        @NotNull DataInputStream input = new DataInputStream(new ByteArrayInputStream(bytes.toByteArray()));
+        for (Object value : values) {
+            Assert.assertEquals(value, ValueCodec.DEFAULT.read(input));
+        }
+        Assert.assertArrayEquals(new byte[] { 1, 2, 3 }, (byte[]) ValueCodec.DEFAULT.read(input));
+
+        try {
+            ValueCodec.DEFAULT.write(output, new Object());
+            Assert.fail();
+        } catch (@NotNull IllegalArgumentException ignore) {
+        }
+    }
+
+    @Test
+    public void testLoopback() throws Exception {
+        @NotNull LoopbackTransport first = new LoopbackTransport("test");
+        @NotNull LoopbackTransport second = new LoopbackTransport("test");
+        @NotNull CompletableFuture<byte[]> received = new CompletableFuture<>();
+
+        first.start(message -> Assert.fail("The sender cannot receive its own messages"));
+        second.start(received::complete);
+
+        first.publish(new byte[] { 1, 2, 3 });
+        Assert.assertArrayEquals(new byte[] { 1, 2, 3 }, received.get(2, TimeUnit.SECONDS));
+
+        first.close();
+        second.close();
+    }
+
+    @Test
+    public void testTcp() throws Exception {
+        int firstPort, secondPort;
+        try (@NotNull ServerSocket a = new ServerSocket(0); @NotNull ServerSocket b = new ServerSocket(0)) {
+            firstPort = a.getLocalPort();
+            secondPort = b.getLocalPort();
+        }
+
+        @NotNull TcpTransport first = new TcpTransport(firstPort, new InetSocketAddress(InetAddress.getLoopbackAddress(), secondPort));
+        @NotNull TcpTransport second = new TcpTransport(secondPort, new InetSocketAddress(InetAddress.getLoopbackAddress(), firstPort));
+        @NotNull CompletableFuture<byte[]> received = new CompletableFuture<>();
+
+        first.start(message -> {});
+        second.start(received::complete);
+
+        first.publish(new byte[] { 4, 5, 6 });
+        Assert.assertArrayEquals(new byte[] { 4, 5, 6 }, received.get(2, TimeUnit.SECONDS));
+
+        first.close();
+        second.close();
+    }
+
+    @Test
+    public void testPatch() throws Exception {
+        // Two nodes using the same database
+        @NotNull MysqlAuthentication[] authentications = new MysqlAuthentication[2];
+        @NotNull InvalidationBus[] buses = new InvalidationBus[2];
+        @NotNull MysqlVariable<?>[] variables = new MysqlVariable<?>[2];
+        @NotNull MysqlData[] datas = new MysqlData[2];
+        @NotNull MysqlDatabase[] databases = new MysqlDatabase[2];
+
+        for (int index = 0; index < 2; index++) {
+            authentications[index] = new MysqlAuthentication(USERNAME, PASSWORD, ADDRESS, PORT);
+            authentications[index].connect().get(5, TimeUnit.SECONDS);
+            buses[index] = new InvalidationBus(authentications[index], new LoopbackTransport("test_patch"));
+            buses[index].start().get(2, TimeUnit.SECONDS);
+
+            databases[index] = MysqlDatabase.getOrCreate(authentications[index], "test");
+            databases[index].start().get(2, TimeUnit.SECONDS);
+
+            @NotNull MysqlTable table = new MysqlTable("test_table", databases[index]);
+            variables[index] = new MysqlVariable<>("test_int", table, new MysqlIntType(), 0, false);
+            table.getVariables().getDefault().add(variables[index]);
+            table.start().get(2, TimeUnit.SECONDS);
+
+            datas[index] = MysqlData.retrieve(table, 1);
+            if (index == 0) datas[index].save().get(2, TimeUnit.SECONDS);
+            datas[index].start().get(2, TimeUnit.SECONDS);
+        }
+
+        // The change of the first node is patched at the second one
+        datas[0].set(variables[0].getId(), 10);
+        datas[0].save().get(2, TimeUnit.SECONDS);
+        buses[0].stop().get(5, TimeUnit.SECONDS);
+
+        Assert.assertEquals(10, datas[1].get(variables[1].getId()));
+        Assert.assertFalse(datas[1].hasChanges());
+
+        buses[1].stop().get(5, TimeUnit.SECONDS);
+        databases[0].delete().get(2, TimeUnit.SECONDS);
+        for (@NotNull MysqlAuthentication authentication : authentications) {
+            authentication.disconnect().get(5, TimeUnit.SECONDS);
+        }
+    }
+
+}
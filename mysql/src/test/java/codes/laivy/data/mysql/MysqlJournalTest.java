@@ -0,0 +1,196 @@
+package codes.laivy.data.mysql;
+
+import codes.laivy.data.mysql.data.Key;
+import codes.laivy.data.mysql.data.MysqlData;
+import codes.laivy.data.mysql.data.MysqlDataCache;
+import codes.laivy.data.mysql.database.MysqlDatabase;
+import codes.laivy.data.mysql.table.Journal;
+import codes.laivy.data.mysql.table.MysqlTable;
+import codes.laivy.data.mysql.variable.MysqlCounterVariable;
+import codes.laivy.data.mysql.variable.MysqlVariable;
+import codes.laivy.data.mysql.variable.type.provider.MysqlIntType;
+import codes.laivy.data.mysql.variable.type.provider.MysqlLongType;
+import org.jetbrains.annotations.NotNull;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+
+public class MysqlJournalTest extends MysqlTableFixture {
+
+    @Test
+    public void testSettings() throws Exception {
+        @NotNull MysqlTable table = offline();
+
+        // Disabled journals doesn't replays anything
+        Assert.assertEquals(0, table.getJournal().open());
+
+        try {
+            table.getJournal().setSyncInterval(-1);
+            Assert.fail();
+        } catch (@NotNull IllegalArgumentException ignore) {
+        }
+        try {
+            table.getJournal().setCapacity(0);
+            Assert.fail();
+        } catch (@NotNull IllegalArgumentException ignore) {
+        }
+    }
+
+    @Test
+    public void testCommits() throws Exception {
+        @NotNull Path file = Files.createTempFile("journal", ".bin");
+
+        @NotNull MysqlTable table = offline();
+        @NotNull MysqlVariable<Integer> integer = new MysqlVariable<>("test_int", table, new MysqlIntType(), 0, false);
+        @NotNull MysqlCounterVariable<Long> counter = new MysqlCounterVariable<>("test_counter", table, new MysqlLongType());
+
+        @NotNull Journal journal = table.getJournal();
+        journal.setFile(file);
+        journal.setCapacity(1024);
+        journal.setSyncInterval(0);
+        Assert.assertEquals(0, journal.open());
+        Assert.assertTrue(journal.isEnabled());
+
+        journal.set(Key.of(1L), integer, 1);
+        journal.increment(Key.of(1L), counter, 5);
+        journal.set(Key.of(2L), integer, 2);
+        Assert.assertEquals(2, journal.size());
+
+        // The changes made after the save aren't committed
+        long sequence = journal.getSequence();
+        journal.set(Key.of(2L), integer, 3);
+        journal.commit(Key.of(2L), sequence, null);
+        Assert.assertEquals(2, journal.size());
+
+        // The counters are committed separately
+        journal.commit(Key.of(1L), journal.getSequence(), Collections.singleton("test_int"));
+        Assert.assertEquals(2, journal.size());
+        journal.commit(Key.of(1L), journal.getSequence(), null);
+        journal.commit(Key.of(2L), journal.getSequence(), null);
+        Assert.assertEquals(0, journal.size());
+
+        // The file grows when the changes doesn't fit
+        for (int row = 1; row <= 100; row++) {
+            journal.set(Key.of((long) row), integer, row);
+        }
+        Assert.assertEquals(100, journal.size());
+
+        journal.close();
+        Files.deleteIfExists(file);
+    }
+
+    @Test
+    public void testReplay() throws Exception {
+        @NotNull Path file = Files.createTempFile("journal", ".bin");
+
+        @NotNull MysqlDatabase database = connect();
+
+        @NotNull MysqlTable table = new MysqlTable("test_table", database);
+        table.getJournal().setFile(file);
+        @NotNull MysqlVariable<Integer> integer = new MysqlVariable<>("test_int", table, new MysqlIntType(), 0, false);
+        table.getVariables().getDefault().add(integer);
+        table.start().get(2, TimeUnit.SECONDS);
+
+        @NotNull MysqlData data = MysqlData.retrieve(table, 1);
+        data.start().get(2, TimeUnit.SECONDS);
+        data.save().get(2, TimeUnit.SECONDS);
+        data.set(integer, 10);
+
+        // A crash, the change isn't saved
+        table.getJournal().sync();
+        table.getJournal().close();
+        data.stop(false).get(2, TimeUnit.SECONDS);
+        table.stop().get(2, TimeUnit.SECONDS);
+
+        @NotNull MysqlTable restarted = new MysqlTable("test_table", database);
+        restarted.getJournal().setFile(file);
+        @NotNull MysqlVariable<Integer> restartedInteger = new MysqlVariable<>("test_int", restarted, new MysqlIntType(), 0, false);
+        restarted.getVariables().getDefault().add(restartedInteger);
+        restarted.start().get(2, TimeUnit.SECONDS);
+
+        // The journaled change was saved at the start
+        Assert.assertEquals(0, restarted.getJournal().size());
+        Assert.assertEquals((Integer) 10, MysqlDataCache.get(restartedInteger, 1).get(2, TimeUnit.SECONDS));
+
+        disconnect(database);
+        Files.deleteIfExists(file);
+    }
+
+    @Test
+    public void testReplayAfterCompaction() throws Exception {
+        @NotNull Path file = Files.createTempFile("journal", ".bin");
+
+        @NotNull MysqlDatabase database = connect();
+
+        @NotNull MysqlTable table = new MysqlTable("test_table", database);
+        table.getJournal().setFile(file);
+        table.getJournal().setCapacity(256);
+        @NotNull MysqlVariable<Integer> integer = new MysqlVariable<>("test_int", table, new MysqlIntType(), 0, false);
+        table.getVariables().getDefault().add(integer);
+        table.start().get(2, TimeUnit.SECONDS);
+
+        // The changes and the commits doesn't fit, the file is compacted many times
+        @NotNull MysqlData[] datas = new MysqlData[50];
+        for (int row = 1; row <= datas.length; row++) {
+            @NotNull MysqlData data = datas[row - 1] = MysqlData.retrieve(table, row);
+            data.start().get(2, TimeUnit.SECONDS);
+            data.save().get(2, TimeUnit.SECONDS);
+            data.set(integer, row * 10);
+        }
+        datas[0].save().get(2, TimeUnit.SECONDS);
+
+        // A crash, while writing the compacted file
+        table.getJournal().sync();
+        table.getJournal().close();
+        Files.write(file.resolveSibling(file.getFileName() + ".tmp"), new byte[] { 1, 2, 3 });
+
+        for (@NotNull MysqlData data : datas) {
+            data.stop(false).get(2, TimeUnit.SECONDS);
+        }
+        table.stop().get(2, TimeUnit.SECONDS);
+
+        @NotNull MysqlTable restarted = new MysqlTable("test_table", database);
+        restarted.getJournal().setFile(file);
+        @NotNull MysqlVariable<Integer> restartedInteger = new MysqlVariable<>("test_int", restarted, new MysqlIntType(), 0, false);
+        restarted.getVariables().getDefault().add(restartedInteger);
+        restarted.start().get(5, TimeUnit.SECONDS);
+
+        // Every change not committed was kept by the compactions and saved at the start
+        Assert.assertEquals(0, restarted.getJournal().size());
+        for (int row = 1; row <= datas.length; row++) {
+            Assert.assertEquals((Integer) (row * 10), MysqlDataCache.get(restartedInteger, row).get(2, TimeUnit.SECONDS));
+        }
+
+        disconnect(database);
+        Files.deleteIfExists(file);
+        Files.deleteIfExists(file.resolveSibling(file.getFileName() + ".tmp"));
+    }
+
+    @Test
+    public void testUnsupportedValue() throws Exception {
+        @NotNull Path file = Files.createTempFile("journal", ".bin");
+
+        @NotNull MysqlTable table = offline();
+        @NotNull MysqlVariable<Integer> integer = new MysqlVariable<>("test_int", table, new MysqlIntType(), 0, false);
+
+        @NotNull Journal journal = table.getJournal();
+        journal.setFile(file);
+        journal.open();
+
+        // The change couldn't be recovered, it's rejected before the data changes
+        try {
+            journal.check(Key.of(1L), integer, new Object());
+            Assert.fail();
+        } catch (@NotNull IllegalStateException ignore) {
+        }
+        journal.check(Key.of(1L), integer, 1);
+
+        journal.close();
+        Files.deleteIfExists(file);
+    }
+
+}
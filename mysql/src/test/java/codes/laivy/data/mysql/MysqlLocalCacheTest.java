@@ -0,0 +1,71 @@
+package codes.laivy.data.mysql;
+
+import codes.laivy.data.mysql.authentication.MysqlAuthentication;
+import codes.laivy.data.mysql.data.MysqlData;
+import codes.laivy.data.mysql.data.MysqlDataCache;
+import codes.laivy.data.mysql.database.MysqlDatabase;
+import codes.laivy.data.mysql.table.MysqlTable;
+import codes.laivy.data.mysql.variable.MysqlVariable;
+import codes.laivy.data.mysql.variable.type.provider.MysqlIntType;
+import org.jetbrains.annotations.NotNull;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.PreparedStatement;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+
+public class MysqlLocalCacheTest extends MysqlTableFixture {
+
+    @Test
+    public void testSettings() throws Exception {
+        @NotNull MysqlTable table = offline();
+
+        try {
+            table.getLocalCache().setTtl(0);
+            Assert.fail();
+        } catch (@NotNull IllegalArgumentException ignore) {
+        }
+    }
+
+    @Test
+    public void testTiers() throws Exception {
+        @NotNull Path file = Files.createTempFile("local", ".db");
+
+        @NotNull MysqlDatabase database = connect();
+        @NotNull MysqlAuthentication authentication = database.getAuthentication();
+
+        @NotNull MysqlTable table = new MysqlTable("test_table", database);
+        table.getLocalCache().setFile(file);
+        @NotNull MysqlVariable<Integer> integer = new MysqlVariable<>("test_int", table, new MysqlIntType(), 0, false);
+        table.getVariables().getDefault().add(integer);
+        table.start().get(2, TimeUnit.SECONDS);
+
+        // The stopped data is kept at the local cache
+        @NotNull MysqlData data = MysqlData.retrieve(table, 1);
+        data.start().get(2, TimeUnit.SECONDS);
+        data.set(integer, 1);
+        data.stop(true).get(2, TimeUnit.SECONDS);
+
+        // A change that the caches doesn't knows
+        try (@NotNull PreparedStatement statement = Objects.requireNonNull(authentication.getConnection()).prepareStatement("UPDATE `test`.`test_table` SET `test_int` = 2")) {
+            statement.execute();
+        }
+
+        Assert.assertEquals((Integer) 1, MysqlDataCache.get(integer, 1).get(2, TimeUnit.SECONDS));
+        data.start().get(2, TimeUnit.SECONDS);
+        Assert.assertEquals((Integer) 1, data.get(integer));
+
+        // The writes invalidates the local cache
+        data.set(integer, 3);
+        data.stop(true).get(2, TimeUnit.SECONDS);
+        MysqlData.set(integer, 4, 1).get(2, TimeUnit.SECONDS);
+        Assert.assertEquals((Integer) 4, Objects.requireNonNull(MysqlDataCache.retrieve(table, 1).get(2, TimeUnit.SECONDS)).get(integer));
+
+        disconnect(database);
+        Files.deleteIfExists(file);
+    }
+
+}
@@ -0,0 +1,76 @@
+package codes.laivy.data.mysql;
+
+import codes.laivy.data.mysql.data.MysqlData;
+import codes.laivy.data.mysql.database.MysqlDatabase;
+import codes.laivy.data.mysql.table.MysqlTable;
+import codes.laivy.data.mysql.variable.MysqlVariable;
+import codes.laivy.data.mysql.variable.type.provider.MysqlIntType;
+import org.jetbrains.annotations.NotNull;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.nio.file.Files;
+import java.util.concurrent.TimeUnit;
+
+public class MysqlMemoryTest extends MysqlTableFixture {
+
+    @Test
+    public void testSettings() throws Exception {
+        @NotNull MysqlTable table = offline();
+
+        table.getMemoryGuard().setWatermark(0.8);
+        // The table isn't loaded yet
+        Assert.assertFalse(table.getMemoryGuard().isEnabled());
+        Assert.assertEquals(0, (int) table.getMemoryGuard().evict().get(2, TimeUnit.SECONDS));
+
+        try {
+            table.getMemoryGuard().setWatermark(1);
+            Assert.fail();
+        } catch (@NotNull IllegalArgumentException ignore) {
+        }
+        try {
+            table.getMemoryGuard().setRatio(0);
+            Assert.fail();
+        } catch (@NotNull IllegalArgumentException ignore) {
+        }
+    }
+
+    @Test
+    public void testEviction() throws Exception {
+        @NotNull MysqlDatabase database = connect();
+
+        @NotNull MysqlTable table = new MysqlTable("test_table", database);
+        @NotNull MysqlVariable<Integer> integer = new MysqlVariable<>("test_int", table, new MysqlIntType(), 0, false);
+        table.getVariables().getDefault().add(integer);
+        table.getMemoryGuard().setWatermark(0.9);
+        table.getMemoryGuard().setRatio(0.5);
+        // The accesses are only tracked with a preloader file
+        table.getPreloader().setFile(Files.createTempFile("preloader", ".bin"));
+        table.start().get(2, TimeUnit.SECONDS);
+
+        for (int row = 1; row <= 10; row++) {
+            @NotNull MysqlData data = MysqlData.retrieve(table, row);
+            data.start().get(2, TimeUnit.SECONDS);
+            data.create().get(2, TimeUnit.SECONDS);
+        }
+        Assert.assertTrue(table.getMemoryGuard().getDataBytes() > 0);
+
+        // The hot rows are kept, the dirty cold rows are saved before evicted
+        for (int row = 6; row <= 10; row++) {
+            MysqlData.retrieve(table, row);
+        }
+        MysqlData.retrieve(table, 1).set(integer, 100);
+
+        Assert.assertEquals(5, (int) table.getMemoryGuard().evict().get(5, TimeUnit.SECONDS));
+        Assert.assertEquals(5, table.getDataContent().size());
+        Assert.assertNull(table.getDataContent().get(1));
+        Assert.assertNotNull(table.getDataContent().get(10));
+
+        @NotNull MysqlData data = MysqlData.retrieve(table, 1);
+        data.start().get(2, TimeUnit.SECONDS);
+        Assert.assertEquals((Integer) 100, data.get(integer));
+
+        disconnect(database);
+    }
+
+}
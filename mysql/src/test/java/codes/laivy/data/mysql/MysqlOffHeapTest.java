@@ -0,0 +1,85 @@
+package codes.laivy.data.mysql;
+
+import codes.laivy.data.mysql.data.MysqlData;
+import codes.laivy.data.mysql.data.MysqlDataCache;
+import codes.laivy.data.mysql.database.MysqlDatabase;
+import codes.laivy.data.mysql.table.MysqlTable;
+import codes.laivy.data.mysql.variable.MysqlVariable;
+import codes.laivy.data.mysql.variable.type.provider.MysqlIntType;
+import org.jetbrains.annotations.NotNull;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+
+public class MysqlOffHeapTest extends MysqlTableFixture {
+
+    @Test
+    public void testSettings() throws Exception {
+        @NotNull MysqlTable table = offline();
+
+        table.getOffHeapStore().setEnabled(true);
+        // The table isn't loaded yet
+        Assert.assertFalse(table.getOffHeapStore().isEnabled());
+        Assert.assertEquals(0, table.getOffHeapStore().getAllocated());
+
+        try {
+            table.getOffHeapStore().setSlabSize(1000);
+            Assert.fail();
+        } catch (@NotNull IllegalArgumentException ignore) {
+        }
+
+        // The resident tables keeps their rows at the heap
+        try {
+            table.setResident(true);
+            Assert.fail();
+        } catch (@NotNull IllegalStateException ignore) {
+        }
+        table.getOffHeapStore().setEnabled(false);
+        table.setResident(true);
+        try {
+            table.getOffHeapStore().setEnabled(true);
+            Assert.fail();
+        } catch (@NotNull IllegalStateException ignore) {
+        }
+    }
+
+    @Test
+    public void testStore() throws Exception {
+        @NotNull MysqlDatabase database = connect();
+
+        @NotNull MysqlTable table = new MysqlTable("test_table", database);
+        @NotNull MysqlVariable<Integer> integer = new MysqlVariable<>("test_int", table, new MysqlIntType(), 0, false);
+        table.getVariables().getDefault().add(integer);
+        table.start().get(2, TimeUnit.SECONDS);
+
+        for (int row = 1; row <= 100; row++) {
+            @NotNull MysqlData data = MysqlData.retrieve(table, row);
+            data.start().get(2, TimeUnit.SECONDS);
+            data.set(integer, row);
+            data.stop(true).get(2, TimeUnit.SECONDS);
+        }
+        table.stop().get(2, TimeUnit.SECONDS);
+
+        @NotNull MysqlTable restarted = new MysqlTable("test_table", database);
+        restarted.getOffHeapStore().setEnabled(true);
+        @NotNull MysqlVariable<Integer> restartedInteger = new MysqlVariable<>("test_int", restarted, new MysqlIntType(), 0, false);
+        restarted.getVariables().getDefault().add(restartedInteger);
+        restarted.start().get(2, TimeUnit.SECONDS);
+
+        // All the rows are outside the heap
+        Assert.assertEquals(100, restarted.getOffHeapStore().size());
+        Assert.assertEquals((Integer) 50, MysqlDataCache.get(restartedInteger, 50).get(2, TimeUnit.SECONDS));
+        Assert.assertNull(MysqlDataCache.retrieve(restarted, 101).get(2, TimeUnit.SECONDS));
+
+        // The written rows are read from the database again
+        MysqlData.set(restartedInteger, 500, 50).get(2, TimeUnit.SECONDS);
+        Assert.assertEquals(99, restarted.getOffHeapStore().size());
+        Assert.assertEquals((Integer) 500, Objects.requireNonNull(MysqlDataCache.retrieve(restarted, 50).get(2, TimeUnit.SECONDS)).get(restartedInteger));
+        Assert.assertEquals(100, restarted.getOffHeapStore().size());
+
+        disconnect(database);
+    }
+
+}
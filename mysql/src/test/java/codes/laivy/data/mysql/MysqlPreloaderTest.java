@@ -0,0 +1,123 @@
+package codes.laivy.data.mysql;
+
+import codes.laivy.data.mysql.data.Key;
+import codes.laivy.data.mysql.data.MysqlData;
+import codes.laivy.data.mysql.data.MysqlDataCache;
+import codes.laivy.data.mysql.database.MysqlDatabase;
+import codes.laivy.data.mysql.table.AccessTracker;
+import codes.laivy.data.mysql.table.MysqlTable;
+import codes.laivy.data.mysql.variable.MysqlVariable;
+import codes.laivy.data.mysql.variable.type.provider.MysqlIntType;
+import org.jetbrains.annotations.NotNull;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+public class MysqlPreloaderTest extends MysqlTableFixture {
+
+    @Test
+    public void testSettings() throws Exception {
+        @NotNull MysqlTable table = offline();
+
+        // Disabled preloaders doesn't writes or loads anything
+        Assert.assertEquals(0, table.getPreloader().write());
+        Assert.assertEquals(0, table.getPreloader().load());
+
+        try {
+            table.getPreloader().setConcurrency(0);
+            Assert.fail();
+        } catch (@NotNull IllegalArgumentException ignore) {
+        }
+        try {
+            table.getPreloader().setRateLimit(-1);
+            Assert.fail();
+        } catch (@NotNull IllegalArgumentException ignore) {
+        }
+    }
+
+    @Test
+    public void testTracking() throws Exception {
+        @NotNull MysqlTable table = offline();
+        @NotNull AccessTracker tracker = table.getDataContent().getAccessTracker();
+
+        // The accesses are only tracked with a preloader file
+        tracker.record(Key.of(1L));
+        Assert.assertEquals(0, tracker.size());
+
+        table.getPreloader().setFile(Paths.get("preloader.bin"));
+        tracker.setCapacity(4);
+
+        for (int amount = 1; amount <= 5; amount++) {
+            for (int access = 0; access < amount; access++) {
+                tracker.record(Key.of((long) amount));
+            }
+        }
+
+        // The coldest keys are discarded when the capacity is exceeded
+        Assert.assertTrue(tracker.size() <= 4);
+        Assert.assertEquals(Arrays.asList(Key.of(5L), Key.of(4L)), tracker.getTop(2));
+
+        // The old accesses weights less than the recent ones
+        tracker.setHalfLife(50);
+        Thread.sleep(200);
+        tracker.record(Key.of(1L));
+        tracker.record(Key.of(1L));
+        Assert.assertEquals(Key.of(1L), tracker.getTop(1).get(0));
+    }
+
+    @Test
+    public void testPreload() throws Exception {
+        @NotNull Path file = Files.createTempFile("preloader", ".bin");
+        Files.delete(file);
+
+        @NotNull MysqlDatabase database = connect();
+
+        @NotNull MysqlTable table = new MysqlTable("test_table", database);
+        table.getPreloader().setFile(file);
+        table.getPreloader().setTopK(3);
+        @NotNull MysqlVariable<Integer> integer = new MysqlVariable<>("test_int", table, new MysqlIntType(), 0, false);
+        table.getVariables().getDefault().add(integer);
+        table.start().get(2, TimeUnit.SECONDS);
+
+        for (int row = 1; row <= 10; row++) {
+            @NotNull MysqlData data = MysqlData.retrieve(table, row);
+            data.start().get(2, TimeUnit.SECONDS);
+            data.set(integer, row);
+            data.stop(true).get(2, TimeUnit.SECONDS);
+        }
+
+        // The rows 8, 9 and 10 are the hottest
+        for (int row = 8; row <= 10; row++) {
+            for (int access = 0; access < 10; access++) {
+                MysqlDataCache.get(integer, row).get(2, TimeUnit.SECONDS);
+            }
+        }
+
+        table.stop().get(2, TimeUnit.SECONDS);
+        Assert.assertTrue(Files.isRegularFile(file));
+
+        @NotNull MysqlTable restarted = new MysqlTable("test_table", database);
+        restarted.getPreloader().setFile(file);
+        restarted.getPreloader().setConcurrency(2);
+        restarted.getPreloader().setBatchSize(1);
+        @NotNull MysqlVariable<Integer> restartedInteger = new MysqlVariable<>("test_int", restarted, new MysqlIntType(), 0, false);
+        restarted.getVariables().getDefault().add(restartedInteger);
+        restarted.start().get(2, TimeUnit.SECONDS);
+
+        Assert.assertEquals(3, restarted.getPreloader().getPreloaded());
+        Assert.assertTrue(restarted.getDataContent().get(Key.of(9L)).isLoaded());
+
+        Assert.assertEquals((Integer) 9, MysqlDataCache.get(restartedInteger, 9).get(2, TimeUnit.SECONDS));
+        Assert.assertEquals(1, restarted.getPreloader().getHits());
+        Assert.assertEquals(1d / 3, restarted.getPreloader().getHitRate(), 0.001);
+
+        disconnect(database);
+        Files.deleteIfExists(file);
+    }
+
+}
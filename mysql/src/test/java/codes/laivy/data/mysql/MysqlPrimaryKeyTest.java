@@ -0,0 +1,109 @@
+package codes.laivy.data.mysql;
+
+import codes.laivy.data.mysql.authentication.MysqlAuthentication;
+import codes.laivy.data.mysql.data.Key;
+import codes.laivy.data.mysql.data.MysqlData;
+import codes.laivy.data.mysql.data.MysqlDataCache;
+import codes.laivy.data.mysql.database.MysqlDatabase;
+import codes.laivy.data.mysql.table.MysqlTable;
+import codes.laivy.data.mysql.table.PrimaryKey;
+import codes.laivy.data.mysql.variable.MysqlVariable;
+import codes.laivy.data.mysql.variable.type.provider.MysqlIntType;
+import codes.laivy.data.mysql.variable.type.provider.MysqlTextType;
+import codes.laivy.data.mysql.variable.type.provider.MysqlUuidType;
+import codes.laivy.data.mysql.variable.type.provider.MysqlVarcharType;
+import org.jetbrains.annotations.NotNull;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.net.InetAddress;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+public class MysqlPrimaryKeyTest {
+
+    public final @NotNull String USERNAME;
+    public final @NotNull String PASSWORD;
+    public final @NotNull InetAddress ADDRESS;
+    public final int PORT;
+
+    public MysqlPrimaryKeyTest() throws Throwable {
+        PASSWORD = "";
+        USERNAME = "root";
+        PORT = 3306;
+        ADDRESS = InetAddress.getByName("localhost");
+    }
+
+    @Test
+    public void testStatements() throws Exception {
+        @NotNull MysqlAuthentication authentication = new MysqlAuthentication(USERNAME, PASSWORD, ADDRESS, PORT);
+        @NotNull MysqlTable table = new MysqlTable("test_table", MysqlDatabase.getOrCreate(authentication, "test"));
+
+        @NotNull MysqlVariable<String> name = new MysqlVariable<>("test_name", table, new MysqlVarcharType(32), "", false);
+        @NotNull MysqlVariable<Integer> integer = new MysqlVariable<>("test_int", table, new MysqlIntType(), 0, false);
+
+        Assert.assertTrue(PrimaryKey.row().isRow());
+        Assert.assertEquals("`row` = ?", PrimaryKey.row().getWhere());
+        Assert.assertEquals("`row` NOT IN (?, ?)", PrimaryKey.row().getNotIn(2));
+
+        @NotNull PrimaryKey key = PrimaryKey.of(name, integer);
+        Assert.assertEquals("PRIMARY KEY (`test_name`, `test_int`)", key.getDefinition());
+        Assert.assertEquals("`test_name` = ? AND `test_int` = ?", key.getWhere());
+        Assert.assertEquals("(`test_name`, `test_int`) > (?, ?)", key.getComparison(">"));
+        Assert.assertEquals("(`test_name`, `test_int`) NOT IN ((?, ?), (?, ?))", key.getNotIn(2));
+        Assert.assertEquals(Key.of("a", 1), key.normalize(Key.of("a", 1L)));
+
+        // Nullable and text variables cannot be keys
+        Assert.assertThrows(IllegalStateException.class, () -> PrimaryKey.of(new MysqlVariable<>("test_nullable", table, new MysqlIntType(), 0, true)));
+        Assert.assertThrows(IllegalStateException.class, () -> PrimaryKey.of(new MysqlVariable<>("test_text", table, new MysqlTextType(), "", false)));
+    }
+
+    @Test
+    public void testKey() {
+        Assert.assertEquals(Key.of(new byte[] { 1, 2 }), Key.of(new byte[] { 1, 2 }));
+        Assert.assertEquals(Key.of("a", 1).hashCode(), Key.of("a", 1).hashCode());
+        Assert.assertNotEquals(Key.of("a", 1), Key.of(1, "a"));
+        Assert.assertThrows(IllegalStateException.class, Key::of);
+    }
+
+    @Test
+    public void testUuidType() {
+        @NotNull MysqlUuidType type = new MysqlUuidType();
+        @NotNull UUID uuid = UUID.randomUUID();
+
+        Assert.assertEquals(uuid, type.get(uuid.toString()));
+        Assert.assertNull(type.get(null));
+    }
+
+    @Test
+    public void testUuidKey() throws Exception {
+        @NotNull MysqlAuthentication authentication = new MysqlAuthentication(USERNAME, PASSWORD, ADDRESS, PORT);
+        authentication.connect().get(5, TimeUnit.SECONDS);
+        @NotNull MysqlDatabase database = MysqlDatabase.getOrCreate(authentication, "test");
+        database.start().get(2, TimeUnit.SECONDS);
+
+        @NotNull MysqlTable table = new MysqlTable("test_table", database);
+        @NotNull MysqlVariable<UUID> uuid = new MysqlVariable<>("test_uuid", table, new MysqlUuidType(), new UUID(0, 0), false);
+        @NotNull MysqlVariable<Integer> integer = new MysqlVariable<>("test_int", table, new MysqlIntType(), 0, false);
+        table.setPrimaryKey(PrimaryKey.of(uuid));
+        table.getVariables().getDefault().add(integer);
+        table.start().get(2, TimeUnit.SECONDS);
+
+        @NotNull UUID id = UUID.randomUUID();
+        @NotNull MysqlData data = MysqlData.retrieve(table, Key.of(id));
+        data.start().get(2, TimeUnit.SECONDS);
+        Assert.assertTrue(data.isNew());
+        Assert.assertEquals(id, data.get(uuid));
+        Assert.assertThrows(IllegalStateException.class, data::getRow);
+
+        data.set(integer, 10);
+        data.stop(true).get(2, TimeUnit.SECONDS);
+
+        Assert.assertTrue(MysqlData.exists(table, Key.of(id)).get(2, TimeUnit.SECONDS));
+        Assert.assertEquals((Integer) 10, MysqlDataCache.get(integer, Key.of(id)).get(2, TimeUnit.SECONDS));
+
+        database.delete().get(2, TimeUnit.SECONDS);
+        authentication.disconnect().get(5, TimeUnit.SECONDS);
+    }
+
+}
@@ -0,0 +1,62 @@
+package codes.laivy.data.mysql;
+
+import codes.laivy.data.mysql.data.Condition;
+import codes.laivy.data.mysql.data.MysqlData;
+import codes.laivy.data.mysql.data.MysqlDataCache;
+import codes.laivy.data.mysql.database.MysqlDatabase;
+import codes.laivy.data.mysql.table.MysqlTable;
+import codes.laivy.data.mysql.variable.MysqlVariable;
+import codes.laivy.data.mysql.variable.type.provider.MysqlIntType;
+import org.jetbrains.annotations.NotNull;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.concurrent.TimeUnit;
+
+public class MysqlResidentTest extends MysqlTableFixture {
+
+    @Test
+    public void testResident() throws Exception {
+        @NotNull MysqlDatabase database = connect();
+
+        @NotNull MysqlTable table = new MysqlTable("test_table", database);
+        @NotNull MysqlVariable<Integer> integer = new MysqlVariable<>("test_int", table, new MysqlIntType(), 0, false);
+        table.getVariables().getDefault().add(integer);
+        table.start().get(2, TimeUnit.SECONDS);
+
+        for (int row = 1; row <= 10; row++) {
+            @NotNull MysqlData data = MysqlData.retrieve(table, row);
+            data.start().get(2, TimeUnit.SECONDS);
+            data.set(integer, row % 2);
+            data.stop(true).get(2, TimeUnit.SECONDS);
+        }
+
+        table.stop().get(2, TimeUnit.SECONDS);
+        table.setResident(true);
+        table.start().get(2, TimeUnit.SECONDS);
+
+        // All the rows were loaded by the table start
+        for (int row = 1; row <= 10; row++) {
+            Assert.assertTrue(MysqlData.retrieve(table, row).isLoaded());
+        }
+        Assert.assertEquals(10, MysqlData.retrieve(table).get(2, TimeUnit.SECONDS).length);
+        Assert.assertEquals(5, MysqlData.retrieve(table, Condition.of(integer, 1)).get(2, TimeUnit.SECONDS).length);
+        Assert.assertEquals((Integer) 5, MysqlData.exists(table, Condition.of(integer, 0)).get(2, TimeUnit.SECONDS));
+        Assert.assertFalse(MysqlData.exists(table, 11).get(2, TimeUnit.SECONDS));
+        Assert.assertNull(MysqlDataCache.retrieve(table, 11).get(2, TimeUnit.SECONDS));
+
+        // Writes go through to the database
+        @NotNull MysqlData data = MysqlData.retrieve(table, 11);
+        data.start().get(2, TimeUnit.SECONDS);
+        data.save().get(2, TimeUnit.SECONDS);
+        Assert.assertTrue(MysqlData.exists(table, 11).get(2, TimeUnit.SECONDS));
+        Assert.assertEquals((Long) 11L, table.getRows().get(2, TimeUnit.SECONDS));
+
+        MysqlData.delete(table, 11).get(2, TimeUnit.SECONDS);
+        Assert.assertFalse(MysqlData.exists(table, 11).get(2, TimeUnit.SECONDS));
+        Assert.assertEquals((Long) 10L, table.getRows().get(2, TimeUnit.SECONDS));
+
+        disconnect(database);
+    }
+
+}
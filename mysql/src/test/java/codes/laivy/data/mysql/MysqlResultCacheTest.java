@@ -0,0 +1,112 @@
+package codes.laivy.data.mysql;
+
+import codes.laivy.data.mysql.authentication.MysqlAuthentication;
+import codes.laivy.data.mysql.data.Condition;
+import codes.laivy.data.mysql.data.MysqlData;
+import codes.laivy.data.mysql.data.MysqlDataCache;
+import codes.laivy.data.mysql.database.MysqlDatabase;
+import codes.laivy.data.mysql.table.MysqlTable;
+import codes.laivy.data.mysql.variable.MysqlVariable;
+import codes.laivy.data.mysql.variable.type.provider.MysqlIntType;
+import org.jetbrains.annotations.NotNull;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.sql.PreparedStatement;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+
+public class MysqlResultCacheTest extends MysqlTableFixture {
+
+    @Test
+    public void testSettings() throws Exception {
+        @NotNull MysqlTable table = offline();
+        @NotNull MysqlVariable<Integer> integer = new MysqlVariable<>("test_int", table, new MysqlIntType(), 0, false);
+
+        try {
+            table.getResultCache().setTtl(-1);
+            Assert.fail();
+        } catch (@NotNull IllegalArgumentException ignore) {
+        }
+        try {
+            table.getResultCache().setSoftTtl(-1);
+            Assert.fail();
+        } catch (@NotNull IllegalArgumentException ignore) {
+        }
+
+        // The conditions are part of the cache keys
+        Assert.assertEquals(Condition.of(integer, 1), Condition.of(integer, 1));
+        Assert.assertEquals(Condition.of(integer, 1).hashCode(), Condition.of(integer, 1).hashCode());
+        Assert.assertNotEquals(Condition.of(integer, 1), Condition.of(integer, 2));
+    }
+
+    @Test
+    public void testInvalidation() throws Exception {
+        @NotNull MysqlDatabase database = connect();
+
+        @NotNull MysqlTable table = new MysqlTable("test_table", database);
+        @NotNull MysqlVariable<Integer> integer = new MysqlVariable<>("test_int", table, new MysqlIntType(), 0, false);
+        table.getVariables().getDefault().add(integer);
+        table.getResultCache().setTtl(TimeUnit.MINUTES.toMillis(1));
+        table.start().get(2, TimeUnit.SECONDS);
+
+        for (int row = 1; row <= 5; row++) {
+            @NotNull MysqlData data = MysqlData.retrieve(table, row);
+            data.start().get(2, TimeUnit.SECONDS);
+            data.set(integer, 1);
+            data.stop(true).get(2, TimeUnit.SECONDS);
+        }
+
+        // Results and misses are cached
+        Assert.assertEquals((Integer) 1, MysqlDataCache.get(integer, 1).get(2, TimeUnit.SECONDS));
+        Assert.assertNull(MysqlDataCache.retrieve(table, 6).get(2, TimeUnit.SECONDS));
+        Assert.assertEquals(5, MysqlDataCache.retrieve(table, Condition.of(integer, 1)).get(2, TimeUnit.SECONDS).length);
+        Assert.assertEquals(3, table.getResultCache().size());
+
+        // A write of the row 1 removes its result and the condition queries
+        MysqlData.set(integer, 2, 1).get(2, TimeUnit.SECONDS);
+        Assert.assertEquals(1, table.getResultCache().size());
+        Assert.assertEquals((Integer) 2, MysqlDataCache.get(integer, 1).get(2, TimeUnit.SECONDS));
+        Assert.assertEquals(4, MysqlDataCache.retrieve(table, Condition.of(integer, 1)).get(2, TimeUnit.SECONDS).length);
+
+        // The created rows aren't misses anymore
+        MysqlData.retrieve(table, 6).save().get(2, TimeUnit.SECONDS);
+        Assert.assertNotNull(MysqlDataCache.retrieve(table, 6).get(2, TimeUnit.SECONDS));
+
+        disconnect(database);
+    }
+
+    @Test
+    public void testRefreshAhead() throws Exception {
+        @NotNull MysqlDatabase database = connect();
+        @NotNull MysqlAuthentication authentication = database.getAuthentication();
+
+        @NotNull MysqlTable table = new MysqlTable("test_table", database);
+        @NotNull MysqlVariable<Integer> integer = new MysqlVariable<>("test_int", table, new MysqlIntType(), 0, false);
+        table.getVariables().getDefault().add(integer);
+        table.getResultCache().setTtl(TimeUnit.MINUTES.toMillis(1));
+        table.getResultCache().setSoftTtl(50);
+        table.start().get(2, TimeUnit.SECONDS);
+
+        @NotNull MysqlData data = MysqlData.retrieve(table, 1);
+        data.start().get(2, TimeUnit.SECONDS);
+        data.set(integer, 1);
+        data.stop(true).get(2, TimeUnit.SECONDS);
+
+        Assert.assertEquals((Integer) 1, MysqlDataCache.get(integer, 1).get(2, TimeUnit.SECONDS));
+
+        // A change that the cache doesn't knows
+        try (@NotNull PreparedStatement statement = Objects.requireNonNull(authentication.getConnection()).prepareStatement("UPDATE `test`.`test_table` SET `test_int` = 2")) {
+            statement.execute();
+        }
+        Thread.sleep(100);
+
+        // The stale value is returned immediately, and refreshed in background
+        Assert.assertEquals((Integer) 1, MysqlDataCache.get(integer, 1).get(2, TimeUnit.SECONDS));
+        Thread.sleep(100);
+        Assert.assertEquals((Integer) 2, MysqlDataCache.get(integer, 1).get(2, TimeUnit.SECONDS));
+
+        disconnect(database);
+    }
+
+}
@@ -0,0 +1,177 @@
+package codes.laivy.data.mysql;
+
+import codes.laivy.data.mysql.authentication.MysqlAuthentication;
+import codes.laivy.data.mysql.data.MysqlData;
+import codes.laivy.data.mysql.data.MysqlDataCache;
+import codes.laivy.data.mysql.database.MysqlDatabase;
+import codes.laivy.data.mysql.table.MysqlTable;
+import codes.laivy.data.mysql.table.Schema;
+import codes.laivy.data.mysql.variable.MysqlVariable;
+import codes.laivy.data.mysql.variable.type.provider.MysqlIntType;
+import codes.laivy.data.mysql.variable.type.provider.MysqlLongType;
+import codes.laivy.data.mysql.variable.type.provider.MysqlTextType;
+import org.jetbrains.annotations.NotNull;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.net.InetAddress;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+
+public class MysqlSchemaTest {
+
+    public final @NotNull String USERNAME;
+    public final @NotNull String PASSWORD;
+    public final @NotNull InetAddress ADDRESS;
+    public final int PORT;
+
+    public MysqlSchemaTest() throws Throwable {
+        PASSWORD = "";
+        USERNAME = "root";
+        PORT = 3306;
+        ADDRESS = InetAddress.getByName("localhost");
+    }
+
+    @Test
+    public void testNormalize() {
+        Assert.assertEquals("int", Schema.Column.normalize("INT(11)"));
+        Assert.assertEquals("bigint", Schema.Column.normalize("BIGINT(19)"));
+        Assert.assertEquals("tinyint", Schema.Column.normalize("BOOL"));
+        Assert.assertEquals("tinyint", Schema.Column.normalize("tinyint(1)"));
+        Assert.assertEquals("mediumtext", Schema.Column.normalize("MEDIUMTEXT"));
+    }
+
+    @Test
+    public void testSyncWithoutChanges() throws Exception {
+        @NotNull MysqlAuthentication authentication = new MysqlAuthentication(USERNAME, PASSWORD, ADDRESS, PORT);
+        authentication.connect().get(5, TimeUnit.SECONDS);
+        @NotNull MysqlDatabase database = MysqlDatabase.getOrCreate(authentication, "test");
+        database.start().get(2, TimeUnit.SECONDS);
+
+        @NotNull MysqlTable table = new MysqlTable("test_table", database);
+        @NotNull MysqlVariable<String> text = new MysqlVariable<>("test_text", table, new MysqlTextType(), "", false);
+        @NotNull MysqlVariable<Integer> integer = new MysqlVariable<>("test_int", table, new MysqlIntType(), 0, false);
+        table.getVariables().getDefault().addAll(text, integer);
+
+        table.start().get(2, TimeUnit.SECONDS);
+        Assert.assertTrue(text.isNew());
+        Assert.assertTrue(integer.isNew());
+
+        @NotNull Map<String, Schema.Column> columns = table.getSchema().getColumns().get(2, TimeUnit.SECONDS);
+        Assert.assertTrue(columns.containsKey("test_text"));
+        Assert.assertTrue(columns.containsKey("test_int"));
+
+        // Restarting must not change anything
+        table.stop().get(2, TimeUnit.SECONDS);
+        table.start().get(2, TimeUnit.SECONDS);
+        Assert.assertFalse(text.isNew());
+        Assert.assertFalse(integer.isNew());
+        Assert.assertEquals(columns, table.getSchema().reload().get(2, TimeUnit.SECONDS));
+
+        database.delete().get(2, TimeUnit.SECONDS);
+        authentication.disconnect().get(5, TimeUnit.SECONDS);
+    }
+
+    @Test
+    public void testSyncModifiedType() throws Exception {
+        @NotNull MysqlAuthentication authentication = new MysqlAuthentication(USERNAME, PASSWORD, ADDRESS, PORT);
+        authentication.connect().get(5, TimeUnit.SECONDS);
+        @NotNull MysqlDatabase database = MysqlDatabase.getOrCreate(authentication, "test");
+        database.start().get(2, TimeUnit.SECONDS);
+
+        @NotNull MysqlTable table = new MysqlTable("test_table", database);
+        table.start().get(2, TimeUnit.SECONDS);
+
+        @NotNull MysqlVariable<Integer> integer = new MysqlVariable<>("test_var", table, new MysqlIntType(), 0);
+        integer.start().get(2, TimeUnit.SECONDS);
+        integer.stop().get(2, TimeUnit.SECONDS);
+
+        @NotNull MysqlVariable<Long> value = new MysqlVariable<>("test_var", table, new MysqlLongType(), 0L);
+        value.start().get(2, TimeUnit.SECONDS);
+        Assert.assertFalse(value.isNew());
+        Assert.assertEquals("bigint", Schema.Column.normalize(table.getSchema().getColumns().get(2, TimeUnit.SECONDS).get("test_var").getType()));
+
+        database.delete().get(2, TimeUnit.SECONDS);
+        authentication.disconnect().get(5, TimeUnit.SECONDS);
+    }
+
+    @Test
+    public void testSameDefault() {
+        Assert.assertTrue(Schema.Column.isSameDefault(null, "NULL"));
+        Assert.assertTrue(Schema.Column.isSameDefault("1", "1.0"));
+        Assert.assertTrue(Schema.Column.isSameDefault("'10'", "10"));
+        Assert.assertFalse(Schema.Column.isSameDefault("0", "1"));
+        Assert.assertFalse(Schema.Column.isSameDefault(null, "0"));
+    }
+
+    @Test
+    public void testDefaultValues() throws Exception {
+        @NotNull MysqlAuthentication authentication = new MysqlAuthentication(USERNAME, PASSWORD, ADDRESS, PORT);
+        authentication.connect().get(5, TimeUnit.SECONDS);
+        @NotNull MysqlDatabase database = MysqlDatabase.getOrCreate(authentication, "test");
+        database.start().get(2, TimeUnit.SECONDS);
+
+        @NotNull MysqlTable table = new MysqlTable("test_table", database);
+        table.start().get(2, TimeUnit.SECONDS);
+
+        @NotNull MysqlData data = MysqlData.create(table).get(2, TimeUnit.SECONDS);
+        data.create().get(2, TimeUnit.SECONDS);
+
+        // Represented by the DEFAULT clause
+        @NotNull MysqlVariable<Integer> integer = new MysqlVariable<>("test_int", table, new MysqlIntType(), 5, false);
+        integer.start().get(2, TimeUnit.SECONDS);
+        Assert.assertEquals("5", table.getSchema().getColumns().get(2, TimeUnit.SECONDS).get("test_int").getDefaultValue());
+        Assert.assertEquals((Integer) 5, MysqlDataCache.get(integer, data.getRow()).get(2, TimeUnit.SECONDS));
+
+        // Written by the backfill
+        @NotNull MysqlVariable<String> text = new MysqlVariable<>("test_text", table, new MysqlTextType(), "default", false);
+        text.start().get(2, TimeUnit.SECONDS);
+        table.getSchema().getBackfill(text).get(5, TimeUnit.SECONDS);
+        Assert.assertEquals("default", MysqlDataCache.get(text, data.getRow()).get(2, TimeUnit.SECONDS));
+
+        database.delete().get(2, TimeUnit.SECONDS);
+        authentication.disconnect().get(5, TimeUnit.SECONDS);
+    }
+
+    @Test
+    public void testBackfillKeepsWrites() throws Exception {
+        @NotNull MysqlAuthentication authentication = new MysqlAuthentication(USERNAME, PASSWORD, ADDRESS, PORT);
+        authentication.connect().get(5, TimeUnit.SECONDS);
+        @NotNull MysqlDatabase database = MysqlDatabase.getOrCreate(authentication, "test");
+        database.start().get(2, TimeUnit.SECONDS);
+
+        @NotNull MysqlTable table = new MysqlTable("test_table", database);
+        table.getSchema().setBackfillChunkSize(1);
+        table.start().get(2, TimeUnit.SECONDS);
+
+        for (int amount = 0; amount < 5; amount++) {
+            MysqlData.create(table).get(2, TimeUnit.SECONDS).create().get(2, TimeUnit.SECONDS);
+        }
+
+        @NotNull MysqlVariable<String> text = new MysqlVariable<>("test_text", table, new MysqlTextType(), "default", false);
+        text.start().get(2, TimeUnit.SECONDS);
+
+        // The values written by the library while the backfill runs are kept, even empty or equal to an implicit one
+        MysqlData.set(text, "", 1).get(2, TimeUnit.SECONDS);
+
+        table.getSchema().getBackfill(text).get(5, TimeUnit.SECONDS);
+        Assert.assertEquals("", MysqlDataCache.get(text, 1).get(2, TimeUnit.SECONDS));
+        for (int existing = 2; existing <= 5; existing++) {
+            Assert.assertEquals("default", MysqlDataCache.get(text, existing).get(2, TimeUnit.SECONDS));
+        }
+
+        // No marked rows are left
+        try (@NotNull PreparedStatement statement = Objects.requireNonNull(authentication.getConnection()).prepareStatement("SELECT COUNT(*) FROM `test`.`test_table` WHERE `" + Schema.getFillColumn(text) + "`")) {
+            @NotNull ResultSet set = statement.executeQuery();
+            Assert.assertTrue(set.next());
+            Assert.assertEquals(0, set.getInt(1));
+        }
+
+        database.delete().get(2, TimeUnit.SECONDS);
+        authentication.disconnect().get(5, TimeUnit.SECONDS);
+    }
+
+}
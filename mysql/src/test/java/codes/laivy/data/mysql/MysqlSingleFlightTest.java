@@ -0,0 +1,66 @@
+package codes.laivy.data.mysql;
+
+import codes.laivy.data.mysql.utils.SingleFlight;
+import org.jetbrains.annotations.NotNull;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class MysqlSingleFlightTest {
+
+    @Test
+    public void testCoalescing() throws Exception {
+        @NotNull SingleFlight<String> flights = new SingleFlight<>();
+        @NotNull AtomicInteger reads = new AtomicInteger();
+        @NotNull CompletableFuture<Integer> read = new CompletableFuture<>();
+
+        @NotNull CompletableFuture<?>[] futures = new CompletableFuture<?>[30];
+        for (int index = 0; index < futures.length; index++) {
+            futures[index] = flights.execute("row", () -> {
+                reads.incrementAndGet();
+                return read;
+            });
+        }
+
+        // Only one read was executed, and all the callers receive its result
+        Assert.assertEquals(1, reads.get());
+        Assert.assertEquals(1, flights.size());
+
+        read.complete(10);
+        for (@NotNull CompletableFuture<?> future : futures) {
+            Assert.assertEquals(10, future.get(2, TimeUnit.SECONDS));
+        }
+        Assert.assertEquals(0, flights.size());
+
+        // The completed reads aren't shared
+        Assert.assertEquals((Integer) 20, flights.execute("row", () -> CompletableFuture.completedFuture(20)).get(2, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void testForget() throws Exception {
+        @NotNull SingleFlight<String> flights = new SingleFlight<>();
+        @NotNull CompletableFuture<Integer> old = new CompletableFuture<>();
+
+        @NotNull CompletableFuture<Integer> first = flights.execute("row", () -> old);
+        flights.forget(key -> key.equals("row"));
+
+        // A write happened, the next caller doesn't receives the old read
+        @NotNull CompletableFuture<Integer> second = flights.execute("row", () -> CompletableFuture.completedFuture(2));
+        old.complete(1);
+
+        Assert.assertEquals((Integer) 1, first.get(2, TimeUnit.SECONDS));
+        Assert.assertEquals((Integer) 2, second.get(2, TimeUnit.SECONDS));
+
+        // A caller completing its future doesn't affects the others
+        @NotNull CompletableFuture<Integer> shared = new CompletableFuture<>();
+        @NotNull CompletableFuture<Integer> a = flights.execute("other", () -> shared);
+        @NotNull CompletableFuture<Integer> b = flights.execute("other", () -> shared);
+        a.cancel(true);
+        shared.complete(3);
+        Assert.assertEquals((Integer) 3, b.get(2, TimeUnit.SECONDS));
+    }
+
+}
@@ -0,0 +1,83 @@
+package codes.laivy.data.mysql;
+
+import codes.laivy.data.mysql.data.MysqlData;
+import codes.laivy.data.mysql.database.MysqlDatabase;
+import codes.laivy.data.mysql.table.MysqlTable;
+import codes.laivy.data.mysql.variable.MysqlVariable;
+import codes.laivy.data.mysql.variable.type.provider.MysqlIntType;
+import org.jetbrains.annotations.NotNull;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+public class MysqlSnapshotTest extends MysqlTableFixture {
+
+    @Test
+    public void testSettings() throws Exception {
+        @NotNull MysqlTable table = offline();
+
+        // Disabled snapshots doesn't writes or loads anything
+        Assert.assertEquals(0, table.getSnapshot().write());
+        Assert.assertEquals(0, table.getSnapshot().load());
+
+        try {
+            table.getSnapshot().setMaxRows(-1);
+            Assert.fail();
+        } catch (@NotNull IllegalArgumentException ignore) {
+        }
+    }
+
+    @Test
+    public void testWarmRestart() throws Exception {
+        @NotNull Path file = Files.createTempFile("snapshot", ".bin");
+        Files.delete(file);
+
+        @NotNull MysqlDatabase database = connect();
+
+        @NotNull MysqlTable table = new MysqlTable("test_table", database);
+        table.setVersioned(true);
+        table.getSnapshot().setFile(file);
+        @NotNull MysqlVariable<Integer> integer = new MysqlVariable<>("test_int", table, new MysqlIntType(), 0, false);
+        table.getVariables().getDefault().add(integer);
+        table.start().get(2, TimeUnit.SECONDS);
+
+        for (int row = 1; row <= 10; row++) {
+            @NotNull MysqlData data = MysqlData.retrieve(table, row);
+            data.start().get(2, TimeUnit.SECONDS);
+            data.set(integer, row);
+        }
+
+        // The changes are saved before the snapshot
+        table.stop().get(2, TimeUnit.SECONDS);
+        Assert.assertTrue(Files.isRegularFile(file));
+
+        // A row changed while the table was stopped
+        MysqlTable other = new MysqlTable("test_table", database);
+        other.setVersioned(true);
+        @NotNull MysqlVariable<Integer> otherInteger = new MysqlVariable<>("test_int", other, new MysqlIntType(), 0, false);
+        other.getVariables().getDefault().add(otherInteger);
+        other.start().get(2, TimeUnit.SECONDS);
+        MysqlData.set(otherInteger, 50, 5).get(2, TimeUnit.SECONDS);
+        other.stop().get(2, TimeUnit.SECONDS);
+
+        @NotNull MysqlTable restarted = new MysqlTable("test_table", database);
+        restarted.setVersioned(true);
+        restarted.getSnapshot().setFile(file);
+        @NotNull MysqlVariable<Integer> restartedInteger = new MysqlVariable<>("test_int", restarted, new MysqlIntType(), 0, false);
+        restarted.getVariables().getDefault().add(restartedInteger);
+        restarted.start().get(2, TimeUnit.SECONDS);
+
+        for (int row = 1; row <= 10; row++) {
+            @NotNull MysqlData data = MysqlData.retrieve(restarted, row);
+            Assert.assertTrue(data.isLoaded());
+            Assert.assertEquals((Integer) (row == 5 ? 50 : row), data.get(restartedInteger));
+        }
+
+        disconnect(database);
+        Files.deleteIfExists(file);
+    }
+
+}
@@ -0,0 +1,52 @@
+package codes.laivy.data.mysql;
+
+import codes.laivy.data.mysql.authentication.MysqlAuthentication;
+import codes.laivy.data.mysql.database.MysqlDatabase;
+import codes.laivy.data.mysql.table.MysqlTable;
+import org.jetbrains.annotations.NotNull;
+
+import java.net.InetAddress;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The connection to the local test database, shared by the tests of the table features.
+ */
+public abstract class MysqlTableFixture {
+
+    public final @NotNull String USERNAME = "root";
+    public final @NotNull String PASSWORD = "";
+    public final @NotNull InetAddress ADDRESS = InetAddress.getLoopbackAddress();
+    public final int PORT = 3306;
+
+    /**
+     * @return the started test database of a new connected authentication
+     */
+    protected final @NotNull MysqlDatabase connect() throws Exception {
+        @NotNull MysqlAuthentication authentication = new MysqlAuthentication(USERNAME, PASSWORD, ADDRESS, PORT);
+        authentication.connect().get(5, TimeUnit.SECONDS);
+
+        @NotNull MysqlDatabase database = MysqlDatabase.getOrCreate(authentication, "test");
+        database.start().get(2, TimeUnit.SECONDS);
+
+        return database;
+    }
+
+    /**
+     * Deletes the test database and disconnects its authentication.
+     *
+     * @param database the database returned by {@link #connect()}
+     */
+    protected final void disconnect(@NotNull MysqlDatabase database) throws Exception {
+        database.delete().get(2, TimeUnit.SECONDS);
+        database.getAuthentication().disconnect().get(5, TimeUnit.SECONDS);
+    }
+
+    /**
+     * @return a test table of an authentication that isn't connected, to check the settings without a database
+     */
+    protected final @NotNull MysqlTable offline() {
+        @NotNull MysqlAuthentication authentication = new MysqlAuthentication(USERNAME, PASSWORD, ADDRESS, PORT);
+        return new MysqlTable("test_table", MysqlDatabase.getOrCreate(authentication, "test"));
+    }
+
+}
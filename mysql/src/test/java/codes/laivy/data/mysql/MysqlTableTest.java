@@ -2,13 +2,20 @@ package codes.laivy.data.mysql;
 
 import codes.laivy.data.mysql.authentication.MysqlAuthentication;
 import codes.laivy.data.mysql.data.MysqlData;
+import codes.laivy.data.mysql.data.MysqlDataCache;
 import codes.laivy.data.mysql.database.MysqlDatabase;
 import codes.laivy.data.mysql.table.MysqlTable;
+import codes.laivy.data.mysql.table.Schema;
+import codes.laivy.data.mysql.variable.MysqlVariable;
+import codes.laivy.data.mysql.variable.type.provider.MysqlIntType;
+import codes.laivy.data.mysql.variable.type.provider.MysqlTextType;
 import org.jetbrains.annotations.NotNull;
 import org.junit.Assert;
 import org.junit.Test;
 
 import java.net.InetAddress;
+import java.sql.PreparedStatement;
+import java.util.Objects;
 import java.util.concurrent.TimeUnit;
 
 public class MysqlTableTest {
@@ -39,7 +46,7 @@ public class MysqlTableTest {
         Assert.assertTrue(table.isNew());
 
         table.getAutoIncrement().setAmount(100).get(2, TimeUnit.SECONDS);
-        Assert.assertEquals(100, (int) table.getAutoIncrement().getAmount().get(2, TimeUnit.SECONDS));
+        Assert.assertEquals(100L, (long) table.getAutoIncrement().getAmount().get(2, TimeUnit.SECONDS));
 
         table.stop().get(2, TimeUnit.SECONDS);
         Assert.assertFalse(table.isLoaded());
@@ -92,13 +99,13 @@ public class MysqlTableTest {
         // Table code
         MysqlTable table = new MysqlTable("test_table", database);
         table.start().get(2, TimeUnit.SECONDS);
-        Assert.assertEquals(1, (int) table.getAutoIncrement().getAmount().get(2, TimeUnit.SECONDS));
+        Assert.assertEquals(1L, (long) table.getAutoIncrement().getAmount().get(2, TimeUnit.SECONDS));
 
         @NotNull MysqlData data = MysqlData.create(table).get(2, TimeUnit.SECONDS);
         data.start().get(2, TimeUnit.SECONDS);
         data.stop(true).get(2, TimeUnit.SECONDS);
 
-        Assert.assertEquals(2, (int) table.getAutoIncrement().getAmount().get(2, TimeUnit.SECONDS));
+        Assert.assertEquals(2L, (long) table.getAutoIncrement().getAmount().get(2, TimeUnit.SECONDS));
         //
 
         database.delete().get(2, TimeUnit.SECONDS);
@@ -126,5 +133,96 @@ public class MysqlTableTest {
         database.delete().get(2, TimeUnit.SECONDS);
         authentication.disconnect().get(5, TimeUnit.SECONDS);
     }
+    @Test
+    public void testCreateWithDefaultVariables() throws Exception {
+        @NotNull MysqlAuthentication authentication = new MysqlAuthentication(USERNAME, PASSWORD, ADDRESS, PORT);
+        authentication.connect().get(5, TimeUnit.SECONDS);
+        @NotNull MysqlDatabase database = MysqlDatabase.getOrCreate(authentication, "test");
+        database.start().get(2, TimeUnit.SECONDS);
+
+        // Table code
+        MysqlTable table = new MysqlTable("test_table", database);
+        @NotNull MysqlVariable<String> text = new MysqlVariable<>("test_text", table, new MysqlTextType(), null);
+        @NotNull MysqlVariable<Integer> integer = new MysqlVariable<>("test_int", table, new MysqlIntType(), 10, false);
+        table.getVariables().getDefault().addAll(text, integer);
+
+        table.start().get(2, TimeUnit.SECONDS);
+        Assert.assertTrue(table.isNew());
+        Assert.assertTrue(text.isLoaded() && text.isNew());
+        Assert.assertTrue(integer.isLoaded() && integer.isNew());
+        Assert.assertEquals(3, table.getSchema().getColumns().get(2, TimeUnit.SECONDS).size());
+
+        @NotNull MysqlData data = MysqlData.create(table).get(2, TimeUnit.SECONDS);
+        data.start().get(2, TimeUnit.SECONDS);
+        Assert.assertEquals((Integer) 10, data.get(integer));
+        data.stop(true).get(2, TimeUnit.SECONDS);
+        //
+
+        database.delete().get(2, TimeUnit.SECONDS);
+        authentication.disconnect().get(5, TimeUnit.SECONDS);
+    }
+    @Test
+    public void testBigRows() throws Exception {
+        @NotNull MysqlAuthentication authentication = new MysqlAuthentication(USERNAME, PASSWORD, ADDRESS, PORT);
+        authentication.connect().get(5, TimeUnit.SECONDS);
+        @NotNull MysqlDatabase database = MysqlDatabase.getOrCreate(authentication, "test");
+        database.start().get(2, TimeUnit.SECONDS);
+
+        // Table code
+        MysqlTable table = new MysqlTable("test_table", database);
+        table.start().get(2, TimeUnit.SECONDS);
+        Assert.assertEquals("bigint", Schema.Column.normalize(table.getSchema().getColumns().get(2, TimeUnit.SECONDS).get("row").getType()));
+
+        long row = Integer.MAX_VALUE + 10L;
+        table.getAutoIncrement().setAmount(row).get(2, TimeUnit.SECONDS);
+
+        @NotNull MysqlData data = MysqlData.create(table).get(2, TimeUnit.SECONDS);
+        data.start().get(2, TimeUnit.SECONDS);
+        data.stop(true).get(2, TimeUnit.SECONDS);
+
+        Assert.assertEquals(row, data.getRow());
+        Assert.assertTrue(MysqlData.exists(table, row).get(2, TimeUnit.SECONDS));
+        //
+
+        database.delete().get(2, TimeUnit.SECONDS);
+        authentication.disconnect().get(5, TimeUnit.SECONDS);
+    }
+    @Test
+    public void testMigrateRows() throws Exception {
+        @NotNull MysqlAuthentication authentication = new MysqlAuthentication(USERNAME, PASSWORD, ADDRESS, PORT);
+        authentication.connect().get(5, TimeUnit.SECONDS);
+        @NotNull MysqlDatabase database = MysqlDatabase.getOrCreate(authentication, "test");
+        database.start().get(2, TimeUnit.SECONDS);
+
+        // A table created with the old INT row
+        try (@NotNull PreparedStatement statement = Objects.requireNonNull(authentication.getConnection()).prepareStatement("CREATE TABLE `test`.`test_table` (`row` INT(11) NOT NULL AUTO_INCREMENT, `test_int` INT NOT NULL DEFAULT 0, PRIMARY KEY (`row`))")) {
+            statement.execute();
+        }
+
+        // Table code
+        MysqlTable table = new MysqlTable("test_table", database);
+        @NotNull MysqlVariable<Integer> integer = new MysqlVariable<>("test_int", table, new MysqlIntType(), 0, false);
+        table.getVariables().getDefault().add(integer);
+        table.getSchema().setBackfillChunkSize(2);
+        table.start().get(2, TimeUnit.SECONDS);
+
+        for (int amount = 0; amount < 5; amount++) {
+            @NotNull MysqlData data = MysqlData.create(table).get(2, TimeUnit.SECONDS);
+            data.start().get(2, TimeUnit.SECONDS);
+            data.set(integer, amount);
+            data.stop(true).get(2, TimeUnit.SECONDS);
+        }
+
+        Assert.assertTrue(table.getSchema().migrateRows().get(5, TimeUnit.SECONDS));
+        Assert.assertFalse(table.getSchema().migrateRows().get(5, TimeUnit.SECONDS));
+
+        Assert.assertEquals("bigint", Schema.Column.normalize(table.getSchema().getColumns().get(2, TimeUnit.SECONDS).get("row").getType()));
+        Assert.assertEquals((Long) 5L, table.getRows().get(2, TimeUnit.SECONDS));
+        Assert.assertEquals((Integer) 4, MysqlDataCache.get(integer, 5).get(2, TimeUnit.SECONDS));
+        //
+
+        database.delete().get(2, TimeUnit.SECONDS);
+        authentication.disconnect().get(5, TimeUnit.SECONDS);
+    }
 
 }
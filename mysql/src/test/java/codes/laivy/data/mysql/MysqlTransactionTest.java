@@ -0,0 +1,127 @@
+package codes.laivy.data.mysql;
+
+import codes.laivy.data.mysql.authentication.MysqlAuthentication;
+import codes.laivy.data.mysql.authentication.Transaction;
+import codes.laivy.data.mysql.data.MysqlData;
+import codes.laivy.data.mysql.data.MysqlDataCache;
+import codes.laivy.data.mysql.database.MysqlDatabase;
+import codes.laivy.data.mysql.table.MysqlTable;
+import codes.laivy.data.mysql.variable.MysqlVariable;
+import codes.laivy.data.mysql.variable.type.provider.MysqlIntType;
+import org.jetbrains.annotations.NotNull;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.net.InetAddress;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+public class MysqlTransactionTest {
+
+    public final @NotNull String USERNAME;
+    public final @NotNull String PASSWORD;
+    public final @NotNull InetAddress ADDRESS;
+    public final int PORT;
+
+    public MysqlTransactionTest() throws Throwable {
+        PASSWORD = "";
+        USERNAME = "root";
+        PORT = 3306;
+        ADDRESS = InetAddress.getByName("localhost");
+    }
+
+    @Test
+    public void testCommit() throws Exception {
+        @NotNull MysqlAuthentication authentication = new MysqlAuthentication(USERNAME, PASSWORD, ADDRESS, PORT);
+        authentication.connect().get(5, TimeUnit.SECONDS);
+        @NotNull MysqlDatabase database = MysqlDatabase.getOrCreate(authentication, "test");
+        database.start().get(2, TimeUnit.SECONDS);
+
+        @NotNull MysqlTable table = new MysqlTable("test_table", database);
+        @NotNull MysqlVariable<Integer> integer = new MysqlVariable<>("test_int", table, new MysqlIntType(), 0, false);
+        table.getVariables().getDefault().add(integer);
+        table.start().get(2, TimeUnit.SECONDS);
+
+        @NotNull MysqlData[] datas = new MysqlData[20];
+        for (int index = 0; index < datas.length; index++) {
+            datas[index] = MysqlData.retrieve(table, index + 1);
+            datas[index].start().get(2, TimeUnit.SECONDS);
+        }
+
+        authentication.transaction(Transaction.Isolation.READ_COMMITTED, transaction -> {
+            Assert.assertSame(transaction, Transaction.getCurrent());
+            Assert.assertSame(transaction.getConnection(), authentication.getConnection());
+
+            for (@NotNull MysqlData data : datas) {
+                data.set(integer, 10);
+                data.save().join();
+            }
+        }).get(5, TimeUnit.SECONDS);
+
+        Assert.assertNull(Transaction.getCurrent());
+        Assert.assertEquals((Long) 20L, table.getRows().get(2, TimeUnit.SECONDS));
+        Assert.assertEquals((Integer) 10, MysqlDataCache.get(integer, 20).get(2, TimeUnit.SECONDS));
+
+        database.delete().get(2, TimeUnit.SECONDS);
+        authentication.disconnect().get(5, TimeUnit.SECONDS);
+    }
+
+    @Test
+    public void testRollback() throws Exception {
+        @NotNull MysqlAuthentication authentication = new MysqlAuthentication(USERNAME, PASSWORD, ADDRESS, PORT);
+        authentication.connect().get(5, TimeUnit.SECONDS);
+        @NotNull MysqlDatabase database = MysqlDatabase.getOrCreate(authentication, "test");
+        database.start().get(2, TimeUnit.SECONDS);
+
+        @NotNull MysqlTable table = new MysqlTable("test_table", database);
+        @NotNull MysqlVariable<Integer> integer = new MysqlVariable<>("test_int", table, new MysqlIntType(), 0, false);
+        table.getVariables().getDefault().add(integer);
+        table.start().get(2, TimeUnit.SECONDS);
+
+        @NotNull MysqlData data = MysqlData.retrieve(table, 1);
+        data.start().get(2, TimeUnit.SECONDS);
+        data.set(integer, 10);
+
+        try {
+            authentication.transaction(transaction -> {
+                data.save().join();
+                throw new IllegalStateException("Rollback");
+            }).get(5, TimeUnit.SECONDS);
+
+            Assert.fail();
+        } catch (@NotNull ExecutionException ignore) {
+        }
+
+        Assert.assertFalse(data.exists().get(2, TimeUnit.SECONDS));
+        // The changes are kept to the next save
+        Assert.assertTrue(data.hasChanges());
+
+        database.delete().get(2, TimeUnit.SECONDS);
+        authentication.disconnect().get(5, TimeUnit.SECONDS);
+    }
+
+    @Test
+    public void testDdlRejected() throws Exception {
+        @NotNull MysqlAuthentication authentication = new MysqlAuthentication(USERNAME, PASSWORD, ADDRESS, PORT);
+        authentication.connect().get(5, TimeUnit.SECONDS);
+        @NotNull MysqlDatabase database = MysqlDatabase.getOrCreate(authentication, "test");
+        database.start().get(2, TimeUnit.SECONDS);
+
+        @NotNull MysqlTable table = new MysqlTable("test_table", database);
+
+        // The DDL statements would commit the transaction implicitly
+        authentication.transaction(transaction -> {
+            try {
+                table.start();
+                Assert.fail("The table started inside a transaction");
+            } catch (@NotNull IllegalStateException ignore) {
+            }
+        }).get(5, TimeUnit.SECONDS);
+
+        Assert.assertFalse(table.isLoaded());
+
+        database.delete().get(2, TimeUnit.SECONDS);
+        authentication.disconnect().get(5, TimeUnit.SECONDS);
+    }
+
+}
@@ -0,0 +1,122 @@
+package codes.laivy.data.mysql;
+
+import codes.laivy.data.mysql.authentication.MysqlAuthentication;
+import codes.laivy.data.mysql.data.ConflictException;
+import codes.laivy.data.mysql.data.ConflictStrategy;
+import codes.laivy.data.mysql.data.MysqlData;
+import codes.laivy.data.mysql.database.MysqlDatabase;
+import codes.laivy.data.mysql.table.MysqlTable;
+import codes.laivy.data.mysql.variable.MysqlVariable;
+import codes.laivy.data.mysql.variable.type.provider.MysqlIntType;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.net.InetAddress;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+public class MysqlVersionTest {
+
+    public final @NotNull String USERNAME;
+    public final @NotNull String PASSWORD;
+    public final @NotNull InetAddress ADDRESS;
+    public final int PORT;
+
+    public MysqlVersionTest() throws Throwable {
+        PASSWORD = "";
+        USERNAME = "root";
+        PORT = 3306;
+        ADDRESS = InetAddress.getByName("localhost");
+    }
+
+    @Test
+    public void testReservedColumn() throws Exception {
+        @NotNull MysqlAuthentication authentication = new MysqlAuthentication(USERNAME, PASSWORD, ADDRESS, PORT);
+        @NotNull MysqlTable table = new MysqlTable("test_table", MysqlDatabase.getOrCreate(authentication, "test"));
+
+        try {
+            new MysqlVariable<>("row_version", table, new MysqlIntType(), 0, false);
+            Assert.fail();
+        } catch (@NotNull IllegalStateException ignore) {
+        }
+    }
+
+    @Test
+    public void testConflicts() throws Exception {
+        // Two nodes using the same database
+        @NotNull MysqlAuthentication first = new MysqlAuthentication(USERNAME, PASSWORD, ADDRESS, PORT);
+        @NotNull MysqlAuthentication second = new MysqlAuthentication(USERNAME, PASSWORD, ADDRESS, PORT);
+
+        @SuppressWarnings({"unchecked", "rawtypes"})
+        @NotNull MysqlVariable<Integer>[] variables = new MysqlVariable[4];
+        @NotNull MysqlData[] datas = new MysqlData[2];
+        @Nullable MysqlDatabase database = null;
+
+        int index = 0;
+        for (@NotNull MysqlAuthentication authentication : new MysqlAuthentication[] { first, second }) {
+            authentication.connect().get(5, TimeUnit.SECONDS);
+            database = MysqlDatabase.getOrCreate(authentication, "test");
+            database.start().get(2, TimeUnit.SECONDS);
+
+            @NotNull MysqlTable table = new MysqlTable("test_table", database);
+            table.setVersioned(true);
+            variables[index * 2] = new MysqlVariable<>("test_a", table, new MysqlIntType(), 0, false);
+            variables[index * 2 + 1] = new MysqlVariable<>("test_b", table, new MysqlIntType(), 0, false);
+            table.getVariables().getDefault().addAll(variables[index * 2], variables[index * 2 + 1]);
+            table.start().get(2, TimeUnit.SECONDS);
+
+            datas[index] = MysqlData.retrieve(table, 1);
+            if (index == 0) {
+                datas[index].save().get(2, TimeUnit.SECONDS);
+            }
+            datas[index].start().get(2, TimeUnit.SECONDS);
+
+            index++;
+        }
+
+        Assert.assertEquals(0, datas[0].getVersion());
+        Assert.assertEquals(0, datas[1].getVersion());
+
+        // The second node saves first
+        datas[1].set(variables[3], 5);
+        datas[1].save().get(2, TimeUnit.SECONDS);
+        Assert.assertEquals(1, datas[1].getVersion());
+
+        // The first node has an outdated version
+        datas[0].set(variables[0], 10);
+        try {
+            datas[0].save().get(2, TimeUnit.SECONDS);
+            Assert.fail();
+        } catch (@NotNull ExecutionException exception) {
+            Assert.assertTrue(exception.getCause() instanceof ConflictException);
+            Assert.assertEquals((Long) 1L, ((ConflictException) exception.getCause()).getConflict().getCurrentVersion());
+        }
+        Assert.assertTrue(datas[0].hasChanges());
+
+        // Merge keeps the local change and receives the other one
+        datas[0].save(ConflictStrategy.MERGE).get(2, TimeUnit.SECONDS);
+        Assert.assertEquals(2, datas[0].getVersion());
+        Assert.assertEquals((Integer) 10, datas[0].get(variables[0]));
+        Assert.assertEquals((Integer) 5, datas[0].get(variables[1]));
+
+        // Reload discards the local changes
+        datas[1].set(variables[2], 20);
+        try {
+            datas[1].save(ConflictStrategy.RELOAD).get(2, TimeUnit.SECONDS);
+            Assert.fail();
+        } catch (@NotNull ExecutionException exception) {
+            Assert.assertTrue(exception.getCause() instanceof ConflictException);
+        }
+        Assert.assertFalse(datas[1].hasChanges());
+        Assert.assertEquals(2, datas[1].getVersion());
+        Assert.assertEquals((Integer) 10, datas[1].get(variables[2]));
+
+        Assert.assertNotNull(database);
+        database.delete().get(2, TimeUnit.SECONDS);
+        first.disconnect().get(5, TimeUnit.SECONDS);
+        second.disconnect().get(5, TimeUnit.SECONDS);
+    }
+
+}
@@ -25,7 +25,7 @@ public final class SqliteData extends Data {
 
     // Static methods
 
-    public static @NotNull CompletableFuture<Boolean> exists(@NotNull SqliteTable table, final int row) {
+    public static @NotNull CompletableFuture<Boolean> exists(@NotNull SqliteTable table, final long row) {
         @NotNull CompletableFuture<Boolean> future = new CompletableFuture<>();
 
         CompletableFuture.runAsync(() -> {
@@ -80,7 +80,7 @@ public final class SqliteData extends Data {
 
                 int amount = 0;
 
-                @NotNull Set<Integer> excluded = new HashSet<>();
+                @NotNull Set<Long> excluded = new HashSet<>();
 
                 for (SqliteData data : table.getDataContent()) {
                     if (data.isLoaded()) {
@@ -137,7 +137,7 @@ public final class SqliteData extends Data {
 
         CompletableFuture.runAsync(() -> {
             try {
-                @NotNull Set<Integer> excluded = new HashSet<>();
+                @NotNull Set<Long> excluded = new HashSet<>();
                 for (SqliteData data : table.getDataContent()) {
                     if (!data.matches(finalConditions)) {
                         excluded.add(data.row);
@@ -169,7 +169,7 @@ public final class SqliteData extends Data {
 
         return future;
     }
-    public static @NotNull CompletableFuture<Void> delete(@NotNull SqliteTable table, int row) {
+    public static @NotNull CompletableFuture<Void> delete(@NotNull SqliteTable table, long row) {
         @Nullable Connection connection = table.getDatabase().getConnection();
         if (connection == null) {
             throw new IllegalStateException("The database's authentication aren't connected");
@@ -179,12 +179,10 @@ public final class SqliteData extends Data {
 
         CompletableFuture.runAsync(() -> {
             try {
-                @NotNull Optional<SqliteData> optional = table.getDataContent().stream().filter(data -> data.getRow() == row).findFirst();
-                optional.ifPresent(data -> {
-                    if (data.isLoaded()) {
-                        data.stop(false).join();
-                    }
-                });
+                @Nullable SqliteData data = table.getDataContent().get(row);
+                if (data != null && data.isLoaded()) {
+                    data.stop(false).join();
+                }
 
                 if (table.exists().join()) {
                     try (PreparedStatement statement = connection.prepareStatement("DELETE FROM `" + table.getDatabase().getId() + "`.`" + table.getId() + "` WHERE `row` = " + row)) {
@@ -205,9 +203,10 @@ public final class SqliteData extends Data {
 
         CompletableFuture.runAsync(() -> {
             try {
-                int row = table.getAutoIncrement().getAndIncrement(1).join();
+                long row = table.getAutoIncrement().getAndIncrement(1).join();
 
-                if (table.getDataContent().stream().anyMatch(data -> data.getRow() == row && !data.exists().join())) {
+                @Nullable SqliteData existent = table.getDataContent().get(row);
+                if (existent != null && !existent.exists().join()) {
                     throw new IllegalStateException("cannot create date because this table was illegally modified");
                 }
 
@@ -219,16 +218,17 @@ public final class SqliteData extends Data {
 
         return future;
     }
-    public static @NotNull SqliteData retrieve(@NotNull SqliteTable table, final int row) {
-        @NotNull Optional<SqliteData> optional = table.getDataContent().stream().filter(data -> data.getRow() == row).findFirst();
+    public static @NotNull SqliteData retrieve(@NotNull SqliteTable table, final long row) {
+        synchronized (table.getDataContent()) {
+            @Nullable SqliteData data = table.getDataContent().get(row);
 
-        if (optional.isPresent()) {
-            return optional.get();
-        }
+            if (data == null) {
+                data = new SqliteData(table, row);
+                table.getDataContent().add(data);
+            }
 
-        @NotNull SqliteData data = new SqliteData(table, row);
-        table.getDataContent().add(data);
-        return data;
+            return data;
+        }
     }
     public static @NotNull CompletableFuture<SqliteData[]> retrieve(@NotNull SqliteTable table) {
         @Nullable Connection connection = table.getDatabase().getConnection();
@@ -255,7 +255,7 @@ public final class SqliteData extends Data {
                 try (PreparedStatement statement = connection.prepareStatement("SELECT `row` FROM `" + table.getDatabase().getId() + "`.`" + table.getId() + "` WHERE " + SqlUtils.rowNotIn(datas.stream().map(SqliteData::getRow).collect(Collectors.toSet())))) {
                     @NotNull ResultSet set = statement.executeQuery();
                     while (set.next()) {
-                        int row = set.getInt("row");
+                        long row = set.getLong("row");
                         @NotNull SqliteData data = new SqliteData(table, row);
                         datas.add(data);
                     }
@@ -290,8 +290,8 @@ public final class SqliteData extends Data {
 
         CompletableFuture.runAsync(() -> {
             try {
-                @NotNull Set<Integer> excluded = new HashSet<>();
-                @NotNull Map<Integer, SqliteData> datas = new TreeMap<>(Integer::compare);
+                @NotNull Set<Long> excluded = new HashSet<>();
+                @NotNull Map<Long, SqliteData> datas = new TreeMap<>(Long::compare);
 
                 for (SqliteData data : table.getDataContent()) {
                     if (data.isLoaded()) {
@@ -317,7 +317,7 @@ public final class SqliteData extends Data {
 
                     @NotNull ResultSet set = statement.executeQuery();
                     while (set.next()) {
-                        int row = set.getInt("row");
+                        long row = set.getLong("row");
                         @NotNull SqliteData data = new SqliteData(table, row);
                         table.getDataContent().add(data);
 
@@ -336,7 +336,7 @@ public final class SqliteData extends Data {
         return future;
     }
 
-    public static <T> @NotNull CompletableFuture<Void> set(@NotNull SqliteVariable<T> variable, @UnknownNullability T value, final int row) throws SQLException {
+    public static <T> @NotNull CompletableFuture<Void> set(@NotNull SqliteVariable<T> variable, @UnknownNullability T value, final long row) throws SQLException {
         @NotNull SqliteTable table = variable.getTable();
         @Nullable Connection connection = table.getDatabase().getConnection();
 
@@ -429,9 +429,9 @@ public final class SqliteData extends Data {
     private final @NotNull Set<@NotNull String> changed = new HashSet<>();
 
     private final @NotNull SqliteTable table;
-    private final int row;
+    private final long row;
 
-    private SqliteData(@NotNull SqliteTable table, int row) {
+    private SqliteData(@NotNull SqliteTable table, long row) {
         this.table = table;
         this.row = row;
     }
@@ -445,7 +445,7 @@ public final class SqliteData extends Data {
         return cache;
     }
 
-    public int getRow() {
+    public long getRow() {
         return row;
     }
 
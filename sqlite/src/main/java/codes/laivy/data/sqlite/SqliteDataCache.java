@@ -25,7 +25,7 @@ public final class SqliteDataCache {
 
     // Static initializers
 
-    public static <T> @UnknownNullability CompletableFuture<T> get(@NotNull SqliteVariable<T> variable, int row) {
+    public static <T> @UnknownNullability CompletableFuture<T> get(@NotNull SqliteVariable<T> variable, long row) {
         @NotNull SqliteTable table = variable.getTable();
         @Nullable Connection connection = table.getDatabase().getConnection();
 
@@ -81,7 +81,7 @@ public final class SqliteDataCache {
 
     // TODO: 08/11/2023 Add a retrieve method that limits the columns
 
-    public static @NotNull CompletableFuture<@Nullable SqliteDataCache> retrieve(@NotNull SqliteTable table, int row) {
+    public static @NotNull CompletableFuture<@Nullable SqliteDataCache> retrieve(@NotNull SqliteTable table, long row) {
         @Nullable Connection connection = table.getDatabase().getConnection();
         @NotNull CompletableFuture<SqliteDataCache> future = new CompletableFuture<>();
 
@@ -136,8 +136,8 @@ public final class SqliteDataCache {
 
             CompletableFuture.runAsync(() -> {
                 try {
-                    @NotNull Set<Integer> excluded = new HashSet<>();
-                    @NotNull Map<Integer, Map<String, Object>> datas = new HashMap<>();
+                    @NotNull Set<Long> excluded = new HashSet<>();
+                    @NotNull Map<Long, Map<String, Object>> datas = new HashMap<>();
 
                     for (SqliteData data : table.getDataContent()) {
                         if (data.isLoaded()) {
@@ -165,7 +165,7 @@ public final class SqliteDataCache {
 
                         @NotNull ResultSet set = statement.executeQuery();
                         while (set.next()) {
-                            int row = set.getInt("row");
+                            long row = set.getLong("row");
 
                             if (!datas.containsKey(row)) {
                                 datas.put(row, new HashMap<>());
@@ -181,7 +181,7 @@ public final class SqliteDataCache {
                     }
 
                     @NotNull Set<SqliteDataCache> caches = new HashSet<>();
-                    for (Map.Entry<Integer, Map<String, Object>> entry : datas.entrySet()) {
+                    for (Map.Entry<Long, Map<String, Object>> entry : datas.entrySet()) {
                         caches.add(new SqliteDataCache(table, entry.getKey(), entry.getValue()));
                     }
                     future.complete(caches.toArray(new SqliteDataCache[0]));
@@ -205,7 +205,7 @@ public final class SqliteDataCache {
 
             CompletableFuture.runAsync(() -> {
                 try {
-                    @NotNull Map<Integer, Map<String, Object>> datas = new HashMap<>();
+                    @NotNull Map<Long, Map<String, Object>> datas = new HashMap<>();
 
                     for (SqliteData data : table.getDataContent()) {
                         if (data.isLoaded()) {
@@ -218,7 +218,7 @@ public final class SqliteDataCache {
                     try (PreparedStatement statement = connection.prepareStatement("SELECT * FROM `" + table.getDatabase().getId() + "`.`" + table.getId() + "` WHERE " + SqlUtils.rowNotIn(datas.keySet()))) {
                         @NotNull ResultSet set = statement.executeQuery();
                         while (set.next()) {
-                            int row = set.getInt("row");
+                            long row = set.getLong("row");
 
                             if (!datas.containsKey(row)) {
                                 datas.put(row, new HashMap<>());
@@ -234,7 +234,7 @@ public final class SqliteDataCache {
                     }
 
                     @NotNull Set<SqliteDataCache> caches = new HashSet<>();
-                    for (Map.Entry<Integer, Map<String, Object>> entry : datas.entrySet()) {
+                    for (Map.Entry<Long, Map<String, Object>> entry : datas.entrySet()) {
                         caches.add(new SqliteDataCache(table, entry.getKey(), entry.getValue()));
                     }
                     future.complete(caches.toArray(new SqliteDataCache[0]));
@@ -250,11 +250,11 @@ public final class SqliteDataCache {
     // Object
 
     private final @NotNull SqliteTable table;
-    private final int row;
+    private final long row;
 
     private final @NotNull Map<@NotNull String, @Nullable Object> data;
 
-    SqliteDataCache(@NotNull SqliteTable table, int row, @NotNull Map<@NotNull String, @Nullable Object> data) {
+    SqliteDataCache(@NotNull SqliteTable table, long row, @NotNull Map<@NotNull String, @Nullable Object> data) {
         this.table = table;
         this.row = row;
         this.data = new HashMap<>();
@@ -268,7 +268,7 @@ public final class SqliteDataCache {
         return table;
     }
 
-    public int getRow() {
+    public long getRow() {
         return row;
     }
 
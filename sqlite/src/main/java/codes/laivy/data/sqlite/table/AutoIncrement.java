@@ -12,13 +12,13 @@ import java.util.concurrent.CompletableFuture;
 
 public interface AutoIncrement {
 
-    default @NotNull CompletableFuture<Integer> getAndIncrement(int increment) {
+    default @NotNull CompletableFuture<Long> getAndIncrement(long increment) {
         throw new UnsupportedOperationException("cannot change sqlite table auto increment values");
     }
 
-    @NotNull CompletableFuture<Integer> getAmount();
+    @NotNull CompletableFuture<Long> getAmount();
 
-    @NotNull CompletableFuture<Void> setAmount(int value);
+    @NotNull CompletableFuture<Void> setAmount(long value);
 
     // Static initializers
 
@@ -26,8 +26,8 @@ public interface AutoIncrement {
     static @NotNull AutoIncrement of(@NotNull SqliteTable table) {
         return new AutoIncrement() {
             @Override
-            public @NotNull CompletableFuture<Integer> getAmount() {
-                @NotNull CompletableFuture<Integer> future = new CompletableFuture<>();
+            public @NotNull CompletableFuture<Long> getAmount() {
+                @NotNull CompletableFuture<Long> future = new CompletableFuture<>();
 
                 CompletableFuture.runAsync(() -> {
                     try {
@@ -43,7 +43,7 @@ public interface AutoIncrement {
                                 throw new IllegalStateException("the table '" + table.getId() + "' doesn't exists");
                             }
 
-                            future.complete(set.getInt("auto_increment"));
+                            future.complete(set.getLong("auto_increment"));
                         }
                     } catch (@NotNull Throwable throwable) {
                         future.completeExceptionally(throwable);
@@ -54,7 +54,7 @@ public interface AutoIncrement {
             }
 
             @Override
-            public @NotNull CompletableFuture<Void> setAmount(int value) {
+            public @NotNull CompletableFuture<Void> setAmount(long value) {
                 throw new UnsupportedOperationException("cannot change sqlite table auto increment values");
             }
         };
@@ -1,10 +1,12 @@
 package codes.laivy.data.sqlite.table;
 
 import codes.laivy.data.content.Content;
+import codes.laivy.data.content.LongMap;
 import codes.laivy.data.sqlite.SqliteData;
 import codes.laivy.data.sqlite.utils.Condition;
 import org.jetbrains.annotations.Contract;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 import org.jetbrains.annotations.Unmodifiable;
 
 import java.util.Collection;
@@ -14,6 +16,7 @@ import java.util.Iterator;
 public final class DataContent extends Content.SetProvider<SqliteData> {
 
     private final @NotNull SqliteTable table;
+    private final @NotNull LongMap<@NotNull SqliteData> rows = new LongMap<>();
 
     public DataContent(@NotNull SqliteTable table) {
         super(new HashSet<>());
@@ -32,17 +35,32 @@ public final class DataContent extends Content.SetProvider<SqliteData> {
         }
 
         synchronized (this) {
-            return super.add(object);
+            if (super.add(object)) {
+                rows.put(object.getRow(), object);
+                return true;
+            }
+            return false;
         }
     }
 
-    public boolean contains(int row) {
+    public boolean contains(long row) {
+        return get(row) != null;
+    }
+
+    /**
+     * Retrieves the data with a row, in constant time and without boxing the row.
+     *
+     * @param row the row
+     * @return the data, or null if there's no data with that row
+     * @since 2.2
+     */
+    public @Nullable SqliteData get(long row) {
         if (!getTable().isLoaded()) {
             throw new IllegalStateException("The table aren't loaded");
         }
 
         synchronized (this) {
-            return stream().anyMatch(d -> d.getRow() == row);
+            return rows.get(row);
         }
     }
     public boolean contains(@NotNull Condition<?> @NotNull ... conditions) {
@@ -62,6 +80,7 @@ public final class DataContent extends Content.SetProvider<SqliteData> {
         }
 
         synchronized (this) {
+            rows.remove(object.getRow(), object);
             return super.remove(object);
         }
     }
@@ -20,14 +20,14 @@ public final class SqlUtils {
         return -1;
     }
 
-    public static @NotNull String rowNotIn(@NotNull Set<Integer> excluded) {
+    public static @NotNull String rowNotIn(@NotNull Set<Long> excluded) {
         @NotNull StringBuilder builder = new StringBuilder();
 
         if (!excluded.isEmpty()) {
             builder.append("`row` NOT IN (");
 
             int index = 0;
-            for (int row : excluded) {
+            for (long row : excluded) {
                 builder.append(row);
 
                 if (index + 1 < excluded.size()) {
@@ -45,7 +45,7 @@ public final class SqlUtils {
     }
 
     @ApiStatus.Internal
-    public static @NotNull String buildWhereCondition(@NotNull Set<Integer> excluded, @NotNull Condition<?> @NotNull ... conditions) {
+    public static @NotNull String buildWhereCondition(@NotNull Set<Long> excluded, @NotNull Condition<?> @NotNull ... conditions) {
         @NotNull StringBuilder builder = new StringBuilder("WHERE");
 
         int index = 0;
@@ -70,13 +70,13 @@ public class SqliteTableTest {
         // Table code
         SqliteTable table = new SqliteTable("test_table", database);
         table.start().get(2, TimeUnit.SECONDS);
-        Assert.assertEquals(1, (int) table.getAutoIncrement().getAmount().get(2, TimeUnit.SECONDS));
+        Assert.assertEquals(1L, (long) table.getAutoIncrement().getAmount().get(2, TimeUnit.SECONDS));
 
         @NotNull SqliteData data = SqliteData.create(table).get(2, TimeUnit.SECONDS);
         data.start().get(2, TimeUnit.SECONDS);
         data.stop(true).get(2, TimeUnit.SECONDS);
 
-        Assert.assertEquals(2, (int) table.getAutoIncrement().getAmount().get(2, TimeUnit.SECONDS));
+        Assert.assertEquals(2L, (long) table.getAutoIncrement().getAmount().get(2, TimeUnit.SECONDS));
         //
 
         database.delete().get(2, TimeUnit.SECONDS);